@@ -0,0 +1,76 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.abort;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooperative cancellation of {@code llama_decode()} through {@code llama_set_abort_callback}.
+ * <p>
+ * Each attached context gets a Java abort callback backed by a {@link LlamaAbortSignal}. When the
+ * signal trips, the CPU backend stops between graph nodes and {@code llama_decode()} returns
+ * {@code LlamaProcessingBinding.DECODE_RESULT_ABORTED}; the generation bindings stop on that result.
+ * Other backends only check the callback between micro-batches.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * Future<LlamaParallelSamplingResult> future = abortService.submit(executor, context, 30, TimeUnit.SECONDS,
+ *         () -> parallelSamplingService.generate(context, model, sampler, promptTokens, params));
+ *
+ * // client disconnected: stops the decode in progress, not just the next one
+ * future.cancel(false);
+ * }</pre>
+ */
+public interface LlamaAbortBinding {
+
+    /**
+     * Register an abort callback for the context, or return the signal already registered.
+     *
+     * @param context context to control
+     * @return signal of the context
+     */
+    LlamaAbortSignal attach(LlamaContext context);
+
+    /**
+     * @param context context
+     * @return signal of the context if it is attached
+     */
+    Optional<LlamaAbortSignal> getSignal(LlamaContext context);
+
+    /**
+     * Remove the abort callback. Must be called before the context is freed.
+     *
+     * @param context context to release
+     */
+    void detach(LlamaContext context);
+
+    /**
+     * Run a task using the context on the executor. Cancelling the returned future, or reaching
+     * the timeout, aborts the decode in progress once the task runs; cancelling a task that is still
+     * queued only keeps it from starting and leaves the running task alone. The signal is reset
+     * before the task starts.
+     *
+     * @param executor executor running the task
+     * @param context  context used by the task
+     * @param timeout  time limit counted from submission, 0 or less for none
+     * @param unit     unit of the timeout
+     * @param task     task using the context
+     * @return future of the task
+     */
+    <T> Future<T> submit(ExecutorService executor, LlamaContext context, long timeout, TimeUnit unit, Callable<T> task);
+
+    /**
+     * Run a task using the context on the calling thread, aborting its decodes at the deadline.
+     *
+     * @param context context used by the task
+     * @param timeout time limit, 0 or less for none
+     * @param unit    unit of the timeout
+     * @param task    task using the context
+     * @return result of the task
+     */
+    <T> T callWithTimeout(LlamaContext context, long timeout, TimeUnit unit, Callable<T> task);
+}
@@ -0,0 +1,11 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.abort;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaAbortBindingFactory {
+
+    public LlamaAbortBinding create(LlamaLibrary llamaLibrary) {
+        return new LlamaAbortBindingImpl(new LlamaContextBindingFactory().create(llamaLibrary));
+    }
+}
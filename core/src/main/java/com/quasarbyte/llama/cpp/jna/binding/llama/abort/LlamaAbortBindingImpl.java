@@ -0,0 +1,186 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.abort;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LlamaAbortBindingImpl implements LlamaAbortBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaAbortBindingImpl.class);
+
+    private final LlamaContextBinding llamaContextBinding;
+
+    // Callbacks must stay strongly reachable while registered with llama.cpp
+    private final Map<Long, Registration> registrations = new ConcurrentHashMap<>();
+
+    public LlamaAbortBindingImpl(LlamaContextBinding llamaContextBinding) {
+        this.llamaContextBinding = llamaContextBinding;
+    }
+
+    @Override
+    public LlamaAbortSignal attach(LlamaContext context) {
+        return register(context).signal;
+    }
+
+    private Registration register(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        return registrations.computeIfAbsent(contextAddress(context), address -> {
+            LlamaAbortSignal signal = new LlamaAbortSignal();
+            LlamaLibrary.GgmlAbortCallback callback = data -> signal.shouldAbort();
+
+            // The callback is polled many times per decode: keep compute threads attached to the JVM
+            Native.setCallbackThreadInitializer(callback, new CallbackThreadInitializer(true, false, "llama-compute"));
+
+            llamaContextBinding.setTypedAbortCallback(context, callback, Pointer.NULL);
+            logger.debug("Abort callback attached to context: {}", context.getContextPointer());
+            return new Registration(signal, callback);
+        });
+    }
+
+    @Override
+    public Optional<LlamaAbortSignal> getSignal(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        Registration registration = registrations.get(contextAddress(context));
+        return registration == null ? Optional.empty() : Optional.of(registration.signal);
+    }
+
+    @Override
+    public void detach(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        Registration registration = registrations.remove(contextAddress(context));
+        if (registration != null) {
+            llamaContextBinding.setTypedAbortCallback(context, null, Pointer.NULL);
+            logger.debug("Abort callback detached from context: {}, aborted requests: {}", context.getContextPointer(), registration.signal.getAbortCount());
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(ExecutorService executor, LlamaContext context, long timeout, TimeUnit unit, Callable<T> task) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(unit);
+        Objects.requireNonNull(task);
+
+        Registration registration = register(context);
+        LlamaAbortSignal signal = registration.signal;
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0L;
+
+        AbortableTask<T> future = new AbortableTask<>(() -> {
+            if (timeout > 0) {
+                signal.setDeadline(deadline);
+            }
+            try {
+                return task.call();
+            } finally {
+                signal.clearDeadline();
+            }
+        }, registration);
+
+        executor.execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> T callWithTimeout(LlamaContext context, long timeout, TimeUnit unit, Callable<T> task) {
+        Objects.requireNonNull(unit);
+        Objects.requireNonNull(task);
+
+        LlamaAbortSignal signal = attach(context);
+        signal.reset();
+        if (timeout > 0) {
+            signal.setTimeout(timeout, unit);
+        }
+
+        try {
+            return task.call();
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run task with timeout, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run task with timeout, error: %s", e.getMessage()), e);
+        } finally {
+            signal.clearDeadline();
+        }
+    }
+
+    private static long contextAddress(LlamaContext context) {
+        return Pointer.nativeValue(context.getContextPointer().getPointer());
+    }
+
+    private static final class Registration {
+        private final LlamaAbortSignal signal;
+        private final LlamaLibrary.GgmlAbortCallback callback;
+
+        // Task submitted through submit() that currently owns the signal
+        private final AtomicReference<AbortableTask<?>> running = new AtomicReference<>();
+
+        private Registration(LlamaAbortSignal signal, LlamaLibrary.GgmlAbortCallback callback) {
+            this.signal = signal;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Future that trips the context signal when cancelled, since interrupting the
+     * worker thread has no effect on native code.
+     * <p>
+     * The signal is shared by every task of the context, so only the running task trips it;
+     * cancelling a queued task just keeps it from starting. The task takes ownership and resets
+     * the signal before its state is checked: a cancel that lands after the reset either stops the
+     * task from starting or sees it as the owner and trips the signal it runs with.
+     */
+    private static final class AbortableTask<T> extends FutureTask<T> {
+        private final Registration registration;
+
+        private AbortableTask(Callable<T> callable, Registration registration) {
+            super(callable);
+            this.registration = registration;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && registration.running.get() == this) {
+                registration.signal.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                // Cancelled while queued, leave the signal to the task that owns it
+                return;
+            }
+            registration.running.set(this);
+            registration.signal.reset();
+            try {
+                super.run();
+            } finally {
+                registration.running.compareAndSet(this, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.abort;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation state of one context, polled by the native abort callback.
+ * <p>
+ * The callback runs on the compute thread between graph nodes, so checks are limited to volatile
+ * reads and, when a deadline is set, one {@link System#nanoTime()} call. A signal can be cancelled
+ * explicitly, expire at a deadline, or follow the cancellation of a {@link Future}.
+ * Call {@link #reset()} before reusing the context for another request.
+ */
+public final class LlamaAbortSignal {
+
+    /**
+     * Why a computation was aborted.
+     */
+    public enum Reason {
+        NONE,
+        CANCELLED,
+        DEADLINE_EXCEEDED,
+        FUTURE_CANCELLED
+    }
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private volatile boolean cancelled;
+    private volatile boolean hasDeadline;
+    private volatile long deadlineNanos = NO_DEADLINE;
+    private volatile Future<?> future;
+    private volatile Reason reason = Reason.NONE;
+
+    private volatile long abortCount;
+
+    /**
+     * Request the running and any following decode to stop.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Abort decoding once the timeout elapses from now.
+     */
+    public LlamaAbortSignal setTimeout(long timeout, TimeUnit unit) {
+        return setDeadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Abort decoding once {@link System#nanoTime()} passes the deadline.
+     */
+    public LlamaAbortSignal setDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = true;
+        return this;
+    }
+
+    public LlamaAbortSignal clearDeadline() {
+        this.hasDeadline = false;
+        this.deadlineNanos = NO_DEADLINE;
+        return this;
+    }
+
+    /**
+     * Abort decoding when the future is cancelled, e.g. the handle of the request using this context.
+     */
+    public LlamaAbortSignal bind(Future<?> future) {
+        this.future = future;
+        return this;
+    }
+
+    /**
+     * Clear cancellation, deadline and bound future.
+     */
+    public void reset() {
+        cancelled = false;
+        hasDeadline = false;
+        deadlineNanos = NO_DEADLINE;
+        future = null;
+        reason = Reason.NONE;
+    }
+
+    /**
+     * @return true when decoding should stop; records the reason of the first abort
+     */
+    public boolean shouldAbort() {
+        Reason current;
+        if (cancelled) {
+            current = Reason.CANCELLED;
+        } else if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            current = Reason.DEADLINE_EXCEEDED;
+        } else {
+            Future<?> boundFuture = future;
+            if (boundFuture == null || !boundFuture.isCancelled()) {
+                return false;
+            }
+            current = Reason.FUTURE_CANCELLED;
+        }
+
+        if (reason == Reason.NONE) {
+            reason = current;
+            abortCount++;
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * @return nanoseconds left until the deadline, Long.MAX_VALUE without one
+     */
+    public long getRemainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return reason of the abort since the last reset
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return number of requests aborted through this signal
+     */
+    public long getAbortCount() {
+        return abortCount;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaAbortSignal{" +
+                "cancelled=" + cancelled +
+                ", hasDeadline=" + hasDeadline +
+                ", reason=" + reason +
+                ", abortCount=" + abortCount +
+                '}';
+    }
+}
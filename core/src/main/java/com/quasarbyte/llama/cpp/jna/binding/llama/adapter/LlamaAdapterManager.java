@@ -0,0 +1,105 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapter;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSet;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+/**
+ * Cache of LoRA adapters loaded for one base model, and the adapter sets applied to its contexts.
+ * <p>
+ * Loading an adapter reads and uploads its tensors, so adapters are kept in a bounded LRU keyed by
+ * path and only loaded on a miss. Every context an adapter is applied to, and every
+ * {@link #acquire(String)}, holds a reference to it; only unreferenced adapters are evicted and
+ * freed. When all adapters are referenced the cache grows past its capacity until they are released.
+ * <p>
+ * {@link #apply(LlamaContext, LlamaAdapterSet)} compares the requested set with the one the context
+ * has and only removes, adds or rescales the adapters that differ; a request with the same set
+ * costs no native call. The time of every switch is tracked.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaAdapterManager adapters = new LlamaAdapterManagerFactory().create(llamaLibrary, model, 8);
+ *
+ * // per request, on the thread that decodes with the context
+ * adapters.apply(context, LlamaAdapterSet.of("/opt/lora/tenant-a.gguf", 1.0f));
+ * // ... generate ...
+ *
+ * // before freeing the context, and before freeing the model
+ * adapters.release(context);
+ * adapters.close();
+ * }</pre>
+ * Implementations are thread-safe and load adapters without blocking switches of other contexts;
+ * a context must not decode while its adapters are changed.
+ */
+public interface LlamaAdapterManager extends AutoCloseable {
+
+    /**
+     * Make {@code adapters} the adapter set of the context, loading adapters that are not cached.
+     *
+     * @param context  context of the manager's model
+     * @param adapters adapters and scales, {@link LlamaAdapterSet#EMPTY} for the base model
+     * @return true when the context's adapters changed, false when it already had this set
+     */
+    boolean apply(LlamaContext context, LlamaAdapterSet adapters);
+
+    /**
+     * Remove the adapters from the context and drop its references, e.g. before the context is freed.
+     */
+    void release(LlamaContext context);
+
+    /**
+     * Adapter set currently applied to the context.
+     */
+    LlamaAdapterSet getApplied(LlamaContext context);
+
+    /**
+     * Get an adapter, loading it on a miss, and keep it cached until {@link #release(String)}.
+     */
+    LlamaAdapter acquire(String path);
+
+    /**
+     * Drop a reference taken with {@link #acquire(String)}.
+     */
+    void release(String path);
+
+    /**
+     * Number of cached adapters.
+     */
+    int size();
+
+    /**
+     * Maximum number of unreferenced adapters kept cached.
+     */
+    int getCapacity();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    /**
+     * Number of {@link #apply(LlamaContext, LlamaAdapterSet)} calls that changed a context's adapters.
+     */
+    long getSwitchCount();
+
+    /**
+     * Number of {@link #apply(LlamaContext, LlamaAdapterSet)} calls that found the set already applied.
+     */
+    long getSkippedSwitchCount();
+
+    /**
+     * Total time of all switches, including adapter loads.
+     */
+    long getTotalSwitchNanos();
+
+    long getMaxSwitchNanos();
+
+    long getLastSwitchNanos();
+
+    /**
+     * Free all cached adapters. Release the contexts first, and close the manager before the model is freed.
+     */
+    @Override
+    void close();
+}
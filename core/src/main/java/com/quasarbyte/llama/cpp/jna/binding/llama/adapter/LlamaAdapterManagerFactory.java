@@ -0,0 +1,26 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaMetricsRegistry;
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaPerformanceMetricsBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+
+public class LlamaAdapterManagerFactory {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    public LlamaAdapterManager create(LlamaLibrary llamaLibrary, LlamaModel model) {
+        return create(llamaLibrary, model, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create the manager with the first metrics registry found through {@link java.util.ServiceLoader}, or the no-op registry.
+     */
+    public LlamaAdapterManager create(LlamaLibrary llamaLibrary, LlamaModel model, int capacity) {
+        return create(llamaLibrary, model, capacity, LlamaPerformanceMetricsBindingFactory.discoverRegistry());
+    }
+
+    public LlamaAdapterManager create(LlamaLibrary llamaLibrary, LlamaModel model, int capacity, LlamaMetricsRegistry registry) {
+        return new LlamaAdapterManagerImpl(new LlamaAdapterBindingFactory().create(llamaLibrary), model, capacity, registry);
+    }
+}
@@ -0,0 +1,446 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaMetricsRegistry;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapter;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSet;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class LlamaAdapterManagerImpl implements LlamaAdapterManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaAdapterManagerImpl.class);
+
+    private final LlamaAdapterBinding llamaAdapterBinding;
+    private final LlamaModel model;
+    private final int capacity;
+
+    private final LinkedHashMap<String, AdapterEntry> adapters;
+    private final Map<Long, LlamaAdapterSet> applied = new HashMap<>();
+
+    private final LlamaMetricsRegistry.Counter switchCounter;
+    private final LlamaMetricsRegistry.Counter loadCounter;
+    private final LlamaMetricsRegistry.Counter evictionCounter;
+    private final LlamaMetricsRegistry.Histogram switchHistogram;
+    private final LlamaMetricsRegistry.Histogram loadHistogram;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long switchCount;
+    private long skippedSwitchCount;
+    private long totalSwitchNanos;
+    private long maxSwitchNanos;
+    private long lastSwitchNanos;
+    private boolean closed;
+
+    public LlamaAdapterManagerImpl(LlamaAdapterBinding llamaAdapterBinding, LlamaModel model, int capacity, LlamaMetricsRegistry registry) {
+        if (capacity < 1) {
+            throw new LlamaCppJnaException(String.format("Adapter cache capacity must be positive, value: %d", capacity));
+        }
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(model.getModelPointer());
+        Objects.requireNonNull(registry);
+
+        this.llamaAdapterBinding = llamaAdapterBinding;
+        this.model = model;
+        this.capacity = capacity;
+        this.adapters = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.switchCounter = registry.counter("llama.adapter.switches");
+        this.loadCounter = registry.counter("llama.adapter.loads");
+        this.evictionCounter = registry.counter("llama.adapter.evictions");
+        this.switchHistogram = registry.histogram("llama.adapter.switch.ms");
+        this.loadHistogram = registry.histogram("llama.adapter.load.ms");
+    }
+
+    @Override
+    public boolean apply(LlamaContext context, LlamaAdapterSet requested) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+        Objects.requireNonNull(requested);
+
+        Long key = contextKey(context);
+        long start = System.nanoTime();
+
+        AdapterEntry[] entries = new AdapterEntry[requested.size()];
+        boolean[] loads = new boolean[requested.size()];
+
+        synchronized (this) {
+            ensureOpen();
+            if (applied.getOrDefault(key, LlamaAdapterSet.EMPTY).equals(requested)) {
+                skippedSwitchCount++;
+                return false;
+            }
+
+            // Reference the requested adapters first, so adapters shared with the current set stay cached
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = reference(requested.getPath(i), loads, i);
+            }
+        }
+
+        // Disk loads run outside the lock, so switches of other contexts are not held up
+        try {
+            load(requested, entries, loads);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                unreference(entries);
+                evictOverCapacity();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            LlamaAdapterSet current = applied.getOrDefault(key, LlamaAdapterSet.EMPTY);
+            try {
+                ensureOpen();
+            } catch (RuntimeException e) {
+                unreference(entries);
+                throw e;
+            }
+
+            try {
+                update(context, current, requested, entries);
+            } catch (RuntimeException e) {
+                unreference(entries);
+                // The native update failed part way, the context's adapters are unknown
+                clearAfterFailure(context, key, current);
+                evictOverCapacity();
+                throw e;
+            }
+
+            if (requested.isEmpty()) {
+                applied.remove(key);
+            } else {
+                applied.put(key, requested);
+            }
+            unreference(current);
+            evictOverCapacity();
+
+            long elapsed = System.nanoTime() - start;
+            switchCount++;
+            totalSwitchNanos += elapsed;
+            maxSwitchNanos = Math.max(maxSwitchNanos, elapsed);
+            lastSwitchNanos = elapsed;
+            switchCounter.increment(1);
+            switchHistogram.record(elapsed / 1_000_000.0);
+
+            logger.debug("Adapters switched, from: {}, to: {}, time us: {}", current, requested, elapsed / 1_000);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void release(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        LlamaAdapterSet current = applied.remove(contextKey(context));
+        if (current == null) {
+            return;
+        }
+
+        try {
+            llamaAdapterBinding.clearLoraAdapters(context);
+        } finally {
+            unreference(current);
+            evictOverCapacity();
+        }
+    }
+
+    @Override
+    public synchronized LlamaAdapterSet getApplied(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+        return applied.getOrDefault(contextKey(context), LlamaAdapterSet.EMPTY);
+    }
+
+    @Override
+    public LlamaAdapter acquire(String path) {
+        Objects.requireNonNull(path);
+
+        boolean[] load = new boolean[1];
+        AdapterEntry entry;
+        synchronized (this) {
+            ensureOpen();
+            entry = reference(path, load, 0);
+        }
+
+        try {
+            if (load[0]) {
+                loadInto(path, entry);
+            }
+            LlamaAdapter adapter = entry.get();
+            synchronized (this) {
+                evictOverCapacity();
+            }
+            return adapter;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entry.references--;
+                evictOverCapacity();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void release(String path) {
+        Objects.requireNonNull(path);
+
+        AdapterEntry entry = adapters.get(path);
+        if (entry == null || entry.references == 0) {
+            throw new LlamaCppJnaException(String.format("Adapter is not acquired, path: %s", path));
+        }
+        entry.references--;
+        evictOverCapacity();
+    }
+
+    @Override
+    public synchronized int size() {
+        return adapters.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized long getSwitchCount() {
+        return switchCount;
+    }
+
+    @Override
+    public synchronized long getSkippedSwitchCount() {
+        return skippedSwitchCount;
+    }
+
+    @Override
+    public synchronized long getTotalSwitchNanos() {
+        return totalSwitchNanos;
+    }
+
+    @Override
+    public synchronized long getMaxSwitchNanos() {
+        return maxSwitchNanos;
+    }
+
+    @Override
+    public synchronized long getLastSwitchNanos() {
+        return lastSwitchNanos;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (!applied.isEmpty()) {
+            logger.warn("Closing adapter manager with adapters applied to {} contexts", applied.size());
+        }
+
+        for (AdapterEntry entry : adapters.values()) {
+            if (entry.isLoaded()) {
+                llamaAdapterBinding.freeAdapter(entry.get());
+            } else {
+                // Still loading outside the lock: free it once the load completes
+                entry.loaded.thenAccept(llamaAdapterBinding::freeAdapter);
+            }
+        }
+        adapters.clear();
+        applied.clear();
+    }
+
+    /**
+     * Remove, add and rescale only the adapters that differ between the sets.
+     */
+    private void update(LlamaContext context, LlamaAdapterSet current, LlamaAdapterSet requested, AdapterEntry[] entries) {
+        if (requested.isEmpty()) {
+            llamaAdapterBinding.clearLoraAdapters(context);
+            return;
+        }
+
+        for (int i = 0; i < current.size(); i++) {
+            if (requested.indexOf(current.getPath(i)) < 0) {
+                llamaAdapterBinding.removeLoraAdapter(context, adapters.get(current.getPath(i)).get());
+            }
+        }
+
+        for (int i = 0; i < requested.size(); i++) {
+            int index = current.indexOf(requested.getPath(i));
+            if (index < 0 || Float.compare(current.getScale(index), requested.getScale(i)) != 0) {
+                llamaAdapterBinding.setLoraAdapter(context, entries[i].get(), requested.getScale(i));
+            }
+        }
+    }
+
+    private void clearAfterFailure(LlamaContext context, Long key, LlamaAdapterSet current) {
+        applied.remove(key);
+        unreference(current);
+        try {
+            llamaAdapterBinding.clearLoraAdapters(context);
+        } catch (RuntimeException e) {
+            logger.error("Failed to clear adapters after a failed switch, error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reference the cached entry of the path, or add a pending one that the caller must load
+     * ({@code loads[index]} is set) with {@link #loadInto(String, AdapterEntry)} outside the lock.
+     */
+    private AdapterEntry reference(String path, boolean[] loads, int index) {
+        AdapterEntry entry = adapters.get(path);
+
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            entry = new AdapterEntry();
+            adapters.put(path, entry);
+            loads[index] = true;
+        }
+
+        entry.references++;
+        return entry;
+    }
+
+    /**
+     * Run the loads this caller owns, then wait for the ones started by other callers.
+     * Every owned load is attempted, so no waiter is left with a pending entry.
+     */
+    private void load(LlamaAdapterSet requested, AdapterEntry[] entries, boolean[] loads) {
+        RuntimeException failure = null;
+        for (int i = 0; i < entries.length; i++) {
+            if (loads[i]) {
+                try {
+                    loadInto(requested.getPath(i), entries[i]);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        for (AdapterEntry entry : entries) {
+            entry.get();
+        }
+    }
+
+    private void loadInto(String path, AdapterEntry entry) {
+        long start = System.nanoTime();
+        LlamaAdapter adapter;
+        try {
+            adapter = llamaAdapterBinding.loadLoraAdapter(model, path);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                adapters.remove(path, entry);
+            }
+            entry.loaded.completeExceptionally(e);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        loadCounter.increment(1);
+        loadHistogram.record(elapsed / 1_000_000.0);
+        logger.debug("LoRA adapter loaded, path: {}, time ms: {}", path, elapsed / 1_000_000);
+
+        entry.loaded.complete(adapter);
+    }
+
+    private static void unreference(AdapterEntry[] entries) {
+        for (AdapterEntry entry : entries) {
+            entry.references--;
+        }
+    }
+
+    private void unreference(LlamaAdapterSet set) {
+        for (int i = 0; i < set.size(); i++) {
+            AdapterEntry entry = adapters.get(set.getPath(i));
+            if (entry != null) {
+                entry.references--;
+            }
+        }
+    }
+
+    private void evictOverCapacity() {
+        Iterator<Map.Entry<String, AdapterEntry>> iterator = adapters.entrySet().iterator();
+        while (adapters.size() > capacity && iterator.hasNext()) {
+            Map.Entry<String, AdapterEntry> next = iterator.next();
+            if (next.getValue().references > 0 || !next.getValue().isLoaded()) {
+                continue;
+            }
+            iterator.remove();
+            llamaAdapterBinding.freeAdapter(next.getValue().get());
+            evictionCount++;
+            evictionCounter.increment(1);
+            logger.debug("LoRA adapter evicted, path: {}", next.getKey());
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new LlamaCppJnaException("Adapter manager is closed");
+        }
+    }
+
+    private static Long contextKey(LlamaContext context) {
+        return Pointer.nativeValue(context.getContextPointer().getPointer());
+    }
+
+    /**
+     * Cache entry, added before its adapter is loaded so concurrent callers wait for one load.
+     * {@code references} is guarded by the manager lock.
+     */
+    private static final class AdapterEntry {
+        private final CompletableFuture<LlamaAdapter> loaded = new CompletableFuture<>();
+        private int references;
+
+        private boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+
+        private LlamaAdapter get() {
+            try {
+                return loaded.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new LlamaCppJnaException(String.format("Failed to load LoRA adapter, error: %s", e.getCause().getMessage()), e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterQueueStats;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSet;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs requests for many adapter sets on a pool of contexts of one model, grouping them by adapter set.
+ * <p>
+ * Serving requests in arrival order switches a context's adapters whenever consecutive requests
+ * belong to different tenants. The scheduler instead queues requests per adapter set and lets every
+ * context keep serving the set it has applied. A context whose set has no more requests, or that
+ * served {@link com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSchedulerParams#getMaxConsecutive()}
+ * requests in a row while another set waits without a context, switches to the set that has waited
+ * longest, counted from its oldest request or its last started one. A set that already has an idle
+ * context is left to it. A set that waited longer than
+ * {@link com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSchedulerParams#getMaxWaitMillis()}
+ * is served next, so no tenant starves behind a busy one.
+ * <p>
+ * Every context is served by its own platform thread. Adapters are applied through a
+ * {@link LlamaAdapterManager}, which skips the native calls when the set is already applied.
+ * Switches per second and the queue time of every adapter set are tracked and published to the
+ * metrics registry.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaAdapterManager adapters = new LlamaAdapterManagerFactory().create(llamaLibrary, model, 16);
+ * try (LlamaAdapterScheduler scheduler = new LlamaAdapterSchedulerFactory().create(adapters, contexts)) {
+ *
+ *     CompletableFuture<LlamaGeneratorResult> answer = scheduler.submit(
+ *             LlamaAdapterSet.of("/opt/lora/tenant-a.gguf", 1.0f),
+ *             context -> generators.get(context).generate(prompt, options));
+ * }
+ * }</pre>
+ * Implementations are thread-safe.
+ */
+public interface LlamaAdapterScheduler extends AutoCloseable {
+
+    /**
+     * Queue a task for the adapter set.
+     *
+     * @return future completed with the task's result, or exceptionally when the task fails,
+     * the queue is full or the scheduler is closed
+     */
+    <T> CompletableFuture<T> submit(LlamaAdapterSet adapters, LlamaAdapterTask<T> task);
+
+    /**
+     * Number of pooled contexts.
+     */
+    int getContextCount();
+
+    /**
+     * Requests waiting over all adapter sets.
+     */
+    int getQueuedCount();
+
+    long getCompletedCount();
+
+    long getRejectedCount();
+
+    /**
+     * Number of times a context's adapters were changed.
+     */
+    long getSwapCount();
+
+    /**
+     * Adapter switches per second over the last minute.
+     */
+    double getSwapsPerSecond();
+
+    /**
+     * Queue statistics of the adapter sets that have queued requests or a context serving them.
+     * Statistics of a set are dropped once it drains and no context has it applied.
+     */
+    List<LlamaAdapterQueueStats> getQueueStats();
+
+    /**
+     * Fail the waiting requests, wait for the running ones and remove the adapters from the contexts.
+     * The contexts stay owned by the caller.
+     */
+    @Override
+    void close();
+}
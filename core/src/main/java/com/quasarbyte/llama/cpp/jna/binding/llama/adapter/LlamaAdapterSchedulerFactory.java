@@ -0,0 +1,30 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaMetricsRegistry;
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaPerformanceMetricsBindingFactory;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSchedulerParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+import java.util.List;
+
+public class LlamaAdapterSchedulerFactory {
+
+    public LlamaAdapterScheduler create(LlamaAdapterManager adapterManager, List<LlamaContext> contexts) {
+        return create(adapterManager, contexts, new LlamaAdapterSchedulerParams());
+    }
+
+    /**
+     * Create the scheduler with the first metrics registry found through {@link java.util.ServiceLoader}, or the no-op registry.
+     *
+     * @param adapterManager manager of the contexts' model
+     * @param contexts       contexts to pool, owned by the caller and used only by the scheduler until it is closed
+     */
+    public LlamaAdapterScheduler create(LlamaAdapterManager adapterManager, List<LlamaContext> contexts, LlamaAdapterSchedulerParams params) {
+        return create(adapterManager, contexts, params, LlamaPerformanceMetricsBindingFactory.discoverRegistry());
+    }
+
+    public LlamaAdapterScheduler create(LlamaAdapterManager adapterManager, List<LlamaContext> contexts,
+                                        LlamaAdapterSchedulerParams params, LlamaMetricsRegistry registry) {
+        return new LlamaAdapterSchedulerImpl(adapterManager, contexts, params, registry);
+    }
+}
@@ -0,0 +1,510 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaMetricsRegistry;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterQueueStats;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSchedulerParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAdapterSet;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LlamaAdapterSchedulerImpl implements LlamaAdapterScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaAdapterSchedulerImpl.class);
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private static final String QUEUE_HISTOGRAM = "llama.adapter.queue.ms";
+    private static final String ADAPTERS_TAG = "adapters";
+
+    private final LlamaAdapterManager adapterManager;
+    private final LlamaMetricsRegistry registry;
+    private final int maxQueued;
+    private final int maxConsecutive;
+    private final long maxWaitNanos;
+    private final long startNanos = System.nanoTime();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<LlamaAdapterSet, Group> groups = new HashMap<>();
+    // Groups with queued requests
+    private final LinkedHashSet<Group> waiting = new LinkedHashSet<>();
+    private final List<Worker> workers = new ArrayList<>();
+
+    private final LlamaMetricsRegistry.Counter swapCounter;
+    private final long[] swapBuckets = new long[RATE_WINDOW_SECONDS];
+    private final long[] swapBucketSeconds = new long[RATE_WINDOW_SECONDS];
+
+    private int queuedCount;
+    private long completedCount;
+    private long rejectedCount;
+    private long swapCount;
+    private boolean closed;
+
+    public LlamaAdapterSchedulerImpl(LlamaAdapterManager adapterManager,
+                                     List<LlamaContext> contexts,
+                                     LlamaAdapterSchedulerParams params,
+                                     LlamaMetricsRegistry registry) {
+        Objects.requireNonNull(adapterManager);
+        Objects.requireNonNull(contexts);
+        Objects.requireNonNull(params);
+        Objects.requireNonNull(registry);
+
+        if (contexts.isEmpty()) {
+            throw new LlamaCppJnaException("Adapter scheduler needs at least one context");
+        }
+
+        if (params.getMaxQueued() < 0) {
+            throw new LlamaCppJnaException(String.format("Max queued requests cannot be negative, value: %d", params.getMaxQueued()));
+        }
+
+        if (params.getMaxConsecutive() < 1) {
+            throw new LlamaCppJnaException(String.format("Max consecutive requests must be positive, value: %d", params.getMaxConsecutive()));
+        }
+
+        if (params.getMaxWaitMillis() < 0) {
+            throw new LlamaCppJnaException(String.format("Max wait cannot be negative, value: %d", params.getMaxWaitMillis()));
+        }
+
+        this.adapterManager = adapterManager;
+        this.registry = registry;
+        this.maxQueued = params.getMaxQueued();
+        this.maxConsecutive = params.getMaxConsecutive();
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(params.getMaxWaitMillis());
+        this.swapCounter = registry.counter("llama.adapter.scheduler.swaps");
+
+        for (int i = 0; i < contexts.size(); i++) {
+            LlamaContext context = Objects.requireNonNull(contexts.get(i));
+            Worker worker = new Worker(context, adapterManager.getApplied(context));
+            Thread thread = new Thread(worker, params.getThreadNamePrefix() + "-" + i);
+            thread.setDaemon(true);
+            worker.thread = thread;
+            workers.add(worker);
+        }
+
+        lock.lock();
+        try {
+            // Contexts that already have adapters start out serving them
+            for (Worker worker : workers) {
+                worker.group = group(worker.applied);
+                worker.group.workerCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+
+        logger.debug("Adapter scheduler started, contexts: {}, params: {}", contexts.size(), params);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(LlamaAdapterSet adapters, LlamaAdapterTask<T> task) {
+        Objects.requireNonNull(adapters);
+        Objects.requireNonNull(task);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        lock.lock();
+        try {
+            if (closed) {
+                future.completeExceptionally(new LlamaCppJnaException("Adapter scheduler is closed"));
+                return future;
+            }
+
+            if (maxQueued > 0 && queuedCount >= maxQueued) {
+                rejectedCount++;
+                future.completeExceptionally(new LlamaCppJnaException(String.format("Adapter scheduler queue is full, queued: %d", queuedCount)));
+                return future;
+            }
+
+            Group group = group(adapters);
+            group.queue.add(new Request<>(task, future, System.nanoTime()));
+            waiting.add(group);
+            queuedCount++;
+
+            // Wake all, the context that has these adapters takes the request
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        return future;
+    }
+
+    @Override
+    public int getContextCount() {
+        return workers.size();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queuedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getCompletedCount() {
+        lock.lock();
+        try {
+            return completedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getSwapCount() {
+        lock.lock();
+        try {
+            return swapCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getSwapsPerSecond() {
+        long now = System.nanoTime();
+        long second = TimeUnit.NANOSECONDS.toSeconds(now - startNanos);
+
+        lock.lock();
+        try {
+            long swaps = 0;
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                if (second - swapBucketSeconds[i] < RATE_WINDOW_SECONDS) {
+                    swaps += swapBuckets[i];
+                }
+            }
+            // Use the elapsed time until the window is full
+            double seconds = Math.min(RATE_WINDOW_SECONDS, Math.max(1.0, (now - startNanos) / 1_000_000_000.0));
+            return swaps / seconds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<LlamaAdapterQueueStats> getQueueStats() {
+        lock.lock();
+        try {
+            List<LlamaAdapterQueueStats> stats = new ArrayList<>(groups.size());
+            for (Group group : groups.values()) {
+                stats.add(new LlamaAdapterQueueStats()
+                        .setAdapters(group.adapters)
+                        .setQueuedCount(group.queue.size())
+                        .setContextCount(group.workerCount)
+                        .setStartedCount(group.startedCount)
+                        .setTotalQueueNanos(group.totalQueueNanos)
+                        .setMaxQueueNanos(group.maxQueueNanos));
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Request<?>> pending = new ArrayList<>();
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            for (Group group : waiting) {
+                pending.addAll(group.queue);
+                group.queue.clear();
+            }
+            waiting.clear();
+            queuedCount = 0;
+
+            for (Group group : new ArrayList<>(groups.values())) {
+                retireIfIdle(group);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Request<?> request : pending) {
+            request.future.completeExceptionally(new LlamaCppJnaException("Adapter scheduler is closed"));
+        }
+
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(TimeUnit.SECONDS.toMillis(30));
+                if (worker.thread.isAlive()) {
+                    logger.warn("Adapter scheduler thread {} did not finish its running task", worker.thread.getName());
+                    continue;
+                }
+                adapterManager.release(worker.context);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Failed to remove adapters from a pooled context, error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Take the next request for the worker, or null when it should wait. Called with the lock held.
+     */
+    private Request<?> next(Worker worker, long now) {
+        Group current = worker.group;
+        Group oldest = null;
+        Group oldestUnserved = null;
+
+        for (Group group : waiting) {
+            // An idle context that already has these adapters takes the request
+            if (group != current && group.idleWorkerCount > 0) {
+                continue;
+            }
+            long since = group.waitingSince();
+            if (oldest == null || since - oldest.waitingSince() < 0) {
+                oldest = group;
+            }
+            if (group.workerCount == 0 && (oldestUnserved == null || since - oldestUnserved.waitingSince() < 0)) {
+                oldestUnserved = group;
+            }
+        }
+
+        if (oldest == null) {
+            return null;
+        }
+
+        boolean starving = maxWaitNanos > 0 && now - oldest.waitingSince() > maxWaitNanos;
+
+        Group target;
+        if (starving) {
+            target = oldest;
+        } else if (!current.queue.isEmpty() && (worker.consecutive < maxConsecutive || oldestUnserved == null)) {
+            target = current;
+        } else {
+            target = oldestUnserved != null ? oldestUnserved : oldest;
+        }
+
+        if (target != current) {
+            current.workerCount--;
+            target.workerCount++;
+            worker.group = target;
+            worker.consecutive = 0;
+            retireIfIdle(current);
+        }
+        worker.consecutive++;
+
+        Request<?> request = target.queue.poll();
+        if (target.queue.isEmpty()) {
+            waiting.remove(target);
+        }
+        queuedCount--;
+
+        long queueNanos = now - request.submittedNanos;
+        target.lastStartedNanos = now;
+        target.startedCount++;
+        target.totalQueueNanos += queueNanos;
+        target.maxQueueNanos = Math.max(target.maxQueueNanos, queueNanos);
+        target.queueHistogram.record(queueNanos / 1_000_000.0);
+
+        return request;
+    }
+
+    private Group group(LlamaAdapterSet adapters) {
+        Group group = groups.get(adapters);
+        if (group == null) {
+            String tag = tagValue(adapters);
+            group = new Group(adapters, tag, registry.histogram(QUEUE_HISTOGRAM, ADAPTERS_TAG, tag));
+            groups.put(adapters, group);
+        }
+        return group;
+    }
+
+    /**
+     * Drop a group that has no queued requests and no context serving it, so that adapter sets
+     * seen once do not keep their entry and histogram forever. Called with the lock held.
+     */
+    private void retireIfIdle(Group group) {
+        if (!group.queue.isEmpty() || group.workerCount > 0) {
+            return;
+        }
+        groups.remove(group.adapters);
+        registry.remove(QUEUE_HISTOGRAM, ADAPTERS_TAG, group.tag);
+    }
+
+    private void recordSwap() {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        int bucket = (int) (second % RATE_WINDOW_SECONDS);
+
+        lock.lock();
+        try {
+            if (swapBucketSeconds[bucket] != second) {
+                swapBucketSeconds[bucket] = second;
+                swapBuckets[bucket] = 0;
+            }
+            swapBuckets[bucket]++;
+            swapCount++;
+        } finally {
+            lock.unlock();
+        }
+        swapCounter.increment(1);
+    }
+
+    private static String tagValue(LlamaAdapterSet adapters) {
+        if (adapters.isEmpty()) {
+            return "none";
+        }
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < adapters.size(); i++) {
+            if (i > 0) {
+                value.append(',');
+            }
+            value.append(adapters.getPath(i));
+        }
+        return value.toString();
+    }
+
+    private final class Worker implements Runnable {
+
+        private final LlamaContext context;
+        private final LlamaAdapterSet applied;
+        private Thread thread;
+        private Group group;
+        private int consecutive;
+
+        private Worker(LlamaContext context, LlamaAdapterSet applied) {
+            this.context = context;
+            this.applied = applied;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Request<?> request;
+
+                lock.lock();
+                try {
+                    while (true) {
+                        if (closed) {
+                            return;
+                        }
+                        request = next(this, System.nanoTime());
+                        if (request != null) {
+                            break;
+                        }
+                        group.idleWorkerCount++;
+                        try {
+                            available.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } finally {
+                            group.idleWorkerCount--;
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                run(request, group.adapters);
+            }
+        }
+
+        private <T> void run(Request<T> request, LlamaAdapterSet adapters) {
+            if (request.future.isDone()) {
+                // Cancelled while queued
+                return;
+            }
+
+            try {
+                if (adapterManager.apply(context, adapters)) {
+                    recordSwap();
+                }
+                request.future.complete(request.task.run(context));
+            } catch (Throwable e) {
+                request.future.completeExceptionally(e);
+            } finally {
+                lock.lock();
+                try {
+                    completedCount++;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private static final class Group {
+
+        private final LlamaAdapterSet adapters;
+        private final String tag;
+        private final LlamaMetricsRegistry.Histogram queueHistogram;
+        private final ArrayDeque<Request<?>> queue = new ArrayDeque<>();
+        private int workerCount;
+        private int idleWorkerCount;
+        private long startedCount;
+        private long totalQueueNanos;
+        private long maxQueueNanos;
+        private long lastStartedNanos;
+
+        private Group(LlamaAdapterSet adapters, String tag, LlamaMetricsRegistry.Histogram queueHistogram) {
+            this.adapters = adapters;
+            this.tag = tag;
+            this.queueHistogram = queueHistogram;
+            this.lastStartedNanos = System.nanoTime();
+        }
+
+        /**
+         * Time since the group last made progress: its oldest request arrived or a request was started.
+         */
+        private long waitingSince() {
+            long submitted = queue.peek().submittedNanos;
+            return submitted - lastStartedNanos > 0 ? submitted : lastStartedNanos;
+        }
+    }
+
+    private static final class Request<T> {
+
+        private final LlamaAdapterTask<T> task;
+        private final CompletableFuture<T> future;
+        private final long submittedNanos;
+
+        private Request(LlamaAdapterTask<T> task, CompletableFuture<T> future, long submittedNanos) {
+            this.task = task;
+            this.future = future;
+            this.submittedNanos = submittedNanos;
+        }
+    }
+}
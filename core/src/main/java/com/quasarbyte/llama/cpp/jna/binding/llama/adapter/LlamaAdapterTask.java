@@ -0,0 +1,14 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.adapter;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+/**
+ * Work run by {@link LlamaAdapterScheduler} on a context that has the requested adapters applied.
+ */
+public interface LlamaAdapterTask<T> {
+
+    /**
+     * @param context pooled context, owned by the scheduler's caller; leave its adapters unchanged
+     */
+    T run(LlamaContext context) throws Exception;
+}
@@ -7,6 +7,38 @@ import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
 public interface LlamaBatchBinding {
     LlamaBatch createBatch(int[] tokens);
 
+    /**
+     * Create an empty reusable batch backed by {@code llama_batch_init}.
+     * <p>
+     * The batch is filled with {@link #addToken(LlamaBatch, int, int, int, boolean)} and
+     * reset with {@link #clearBatch(LlamaBatch)}, so a single allocation can serve a whole
+     * decoding loop. Free it with {@link #freeBatch(LlamaBatch)}.
+     *
+     * @param capacity maximum number of tokens
+     * @param nSeqMax  maximum number of sequences a single token can belong to
+     * @return empty batch
+     */
+    LlamaBatch createBatch(int capacity, int nSeqMax);
+
+    /**
+     * Append a token to a batch created with {@link #createBatch(int, int)}.
+     *
+     * @param batch        the batch
+     * @param token        token id
+     * @param position     position of the token in its sequence
+     * @param sequenceId   sequence the token belongs to
+     * @param outputLogits whether logits should be computed for this token
+     * @return index of the token inside the batch
+     */
+    int addToken(LlamaBatch batch, int token, int position, int sequenceId, boolean outputLogits);
+
+    /**
+     * Reset the token count of a batch created with {@link #createBatch(int, int)}.
+     *
+     * @param batch the batch
+     */
+    void clearBatch(LlamaBatch batch);
+
     void freeBatch(LlamaBatch llamaBatch);
 
     /**
@@ -6,6 +6,7 @@ import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatchNative;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
 import com.sun.jna.Memory;
+import com.sun.jna.Native;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +81,41 @@ public class LlamaBatchBindingImpl implements LlamaBatchBinding {
         }
     }
 
+    @Override
+    public LlamaBatch createBatch(int capacity, int nSeqMax) {
+        LlamaBatchNative batch = initializeBatch(capacity, 0, nSeqMax);
+        batch.n_tokens = 0;
+        return new LlamaBatch().setNativeBatch(batch).setCapacity(capacity);
+    }
+
+    @Override
+    public int addToken(LlamaBatch batch, int token, int position, int sequenceId, boolean outputLogits) {
+        LlamaBatchNative nativeBatch = requireInitializedBatch(batch);
+
+        int index = nativeBatch.n_tokens;
+
+        if (index >= batch.getCapacity()) {
+            logger.error("Batch is full, capacity: {}", batch.getCapacity());
+            throw new LlamaCppJnaException(String.format("Batch is full, capacity: %d", batch.getCapacity()));
+        }
+
+        // Same layout as common_batch_add() in llama.cpp: one int32 slot per token, one seq_id pointer per token
+        long offset = index * 4L;
+        nativeBatch.token.setInt(offset, token);
+        nativeBatch.pos.setInt(offset, position);
+        nativeBatch.n_seq_id.setInt(offset, 1);
+        nativeBatch.seq_id.getPointer((long) index * Native.POINTER_SIZE).setInt(0, sequenceId);
+        nativeBatch.logits.setByte(index, (byte) (outputLogits ? 1 : 0));
+        nativeBatch.n_tokens = index + 1;
+
+        return index;
+    }
+
+    @Override
+    public void clearBatch(LlamaBatch batch) {
+        requireInitializedBatch(batch).n_tokens = 0;
+    }
+
 
     @Override
     public void freeBatch(LlamaBatch llamaBatch) {
@@ -192,4 +228,15 @@ public class LlamaBatchBindingImpl implements LlamaBatchBinding {
             throw new LlamaCppJnaException(String.format("Failed to get batch size, error: '%s'", e.getMessage()), e);
         }
     }
+
+    private static LlamaBatchNative requireInitializedBatch(LlamaBatch batch) {
+        Objects.requireNonNull(batch);
+        Objects.requireNonNull(batch.getNativeBatch());
+
+        if (batch.getTokensMemory() != null || batch.getCapacity() <= 0) {
+            throw new LlamaCppJnaException("Batch was not created with llama_batch_init");
+        }
+
+        return batch.getNativeBatch();
+    }
 }
@@ -0,0 +1,49 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.beam;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBeamSearchParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBeamSearchResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * Beam search decoding over multi-sequence batches.
+ * <p>
+ * Every beam is a KV sequence. All beams are advanced by one {@code llama_decode} per step,
+ * candidates are scored with the log-softmax of the logits, read in place from the native
+ * logits buffer. Beams that branch are forked with {@code llama_memory_seq_cp} and pruned
+ * beams are released with {@code llama_memory_seq_rm}, so the shared prefix is never re-decoded.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaContextParamsNative contextParams = llamaLibrary.llama_context_default_params();
+ * contextParams.n_ctx = 4096;
+ * contextParams.n_seq_max = 4;
+ * contextParams.kv_unified = 1;
+ * LlamaContext context = contextService.create(model, contextParams);
+ *
+ * LlamaBeamSearchResult result = beamSearchService.generate(context, vocabulary, prompt,
+ *         new LlamaBeamSearchParams().setBeamWidth(4).setMaxTokens(128).setLengthPenalty(1.0f));
+ *
+ * System.out.println(result.getBest().getText());
+ * }</pre>
+ * A unified KV cache is recommended: sequence copies then only share cells instead of
+ * copying per-sequence buffers.
+ */
+public interface LlamaBeamSearchBinding {
+
+    /**
+     * Run beam search for the prompt.
+     * <p>
+     * Sequences 0..W-1 are cleared before the prompt is processed.
+     *
+     * @param context      context created with {@code n_seq_max} of at least the beam width
+     * @param vocabulary   vocabulary of the model
+     * @param promptTokens tokenized prompt, must not be empty
+     * @param params       beam search settings
+     * @return best hypotheses ordered by score
+     */
+    LlamaBeamSearchResult generate(LlamaContext context,
+                                   LlamaVocabulary vocabulary,
+                                   int[] promptTokens,
+                                   LlamaBeamSearchParams params);
+}
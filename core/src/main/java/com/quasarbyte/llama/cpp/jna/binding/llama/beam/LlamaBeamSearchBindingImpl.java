@@ -0,0 +1,420 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.beam;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBeamSearchHypothesis;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBeamSearchParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBeamSearchResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaMemoryManager;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class LlamaBeamSearchBindingImpl implements LlamaBeamSearchBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaBeamSearchBindingImpl.class);
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final LlamaMemoryBinding llamaMemoryBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaResultBinding llamaResultBinding;
+    private final LlamaTokenBinding llamaTokenBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    public LlamaBeamSearchBindingImpl(LlamaBatchBinding llamaBatchBinding,
+                                      LlamaContextBinding llamaContextBinding,
+                                      LlamaMemoryBinding llamaMemoryBinding,
+                                      LlamaProcessingBinding llamaProcessingBinding,
+                                      LlamaResultBinding llamaResultBinding,
+                                      LlamaTokenBinding llamaTokenBinding,
+                                      LlamaVocabularyBinding llamaVocabularyBinding) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaMemoryBinding = llamaMemoryBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaResultBinding = llamaResultBinding;
+        this.llamaTokenBinding = llamaTokenBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+    }
+
+    @Override
+    public LlamaBeamSearchResult generate(LlamaContext context,
+                                          LlamaVocabulary vocabulary,
+                                          int[] promptTokens,
+                                          LlamaBeamSearchParams params) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(promptTokens);
+        Objects.requireNonNull(params);
+
+        if (promptTokens.length == 0) {
+            throw new LlamaCppJnaException("Prompt tokens cannot be empty");
+        }
+
+        if (params.getMaxTokens() < 1) {
+            throw new LlamaCppJnaException(String.format("Max tokens must be positive, value: %d", params.getMaxTokens()));
+        }
+
+        int beamWidth = params.getBeamWidth();
+        long maxSequences = llamaContextBinding.getMaxNumberOfSequences(context);
+        int batchSize = (int) llamaBatchBinding.getBatchSize(context);
+        long contextSize = llamaContextBinding.getContextSize(context);
+
+        if (beamWidth < 1 || beamWidth > maxSequences || beamWidth > batchSize) {
+            logger.error("Invalid beam width: {}, max sequences: {}, batch size: {}", beamWidth, maxSequences, batchSize);
+            throw new LlamaCppJnaException(String.format("Invalid beam width: %d, max sequences: %d, batch size: %d", beamWidth, maxSequences, batchSize));
+        }
+
+        int maxTokens = params.getMaxTokens();
+        int vocabularySize = llamaResultBinding.getVocabularySize(context);
+
+        // W + 1 candidates per beam guarantee W continuations even if one of them ends the hypothesis
+        int candidatesPerBeam = Math.min(beamWidth + 1, vocabularySize);
+        int candidateCapacity = beamWidth * candidatesPerBeam;
+
+        LlamaMemoryManager memory = llamaMemoryBinding.getMemory(context);
+
+        for (int s = 0; s < beamWidth; s++) {
+            llamaMemoryBinding.sequenceRemove(memory, s, -1, -1);
+        }
+
+        // Active beams, double-buffered between steps
+        int beamCount = 1;
+        int[] beamSequences = new int[beamWidth];
+        int[] nextSequences = new int[beamWidth];
+        double[] beamLogProbabilities = new double[beamWidth];
+        double[] nextLogProbabilities = new double[beamWidth];
+        int[][] beamTokens = new int[beamWidth][maxTokens];
+        int[][] nextTokens = new int[beamWidth][maxTokens];
+        int[] lastTokens = new int[beamWidth];
+        int[] batchIndexes = new int[beamWidth];
+        int generatedLength = 0;
+
+        // Sequence 0 holds the prompt, the others are free until a beam forks
+        int[] freeSequences = new int[beamWidth];
+        int freeSequenceCount = 0;
+        for (int s = beamWidth - 1; s >= 1; s--) {
+            freeSequences[freeSequenceCount++] = s;
+        }
+
+        int[] candidateBeams = new int[candidateCapacity];
+        int[] candidateTokens = new int[candidateCapacity];
+        double[] candidateLogProbabilities = new double[candidateCapacity];
+        int[] candidateOrder = new int[candidateCapacity];
+        int[] topTokens = new int[candidatesPerBeam];
+        float[] topLogits = new float[candidatesPerBeam];
+
+        int[] selectedParents = new int[beamWidth];
+        int[] childCounts = new int[beamWidth];
+        boolean[] inherited = new boolean[beamWidth];
+
+        List<Hypothesis> finished = new ArrayList<>(beamWidth + 1);
+
+        LlamaBatch batch = null;
+
+        try {
+            batch = llamaBatchBinding.createBatch(batchSize, beamWidth);
+
+            long promptStart = System.nanoTime();
+
+            // The last prompt token is decoded with the first beam step
+            int promptResult = promptTokens.length > 1
+                    ? llamaProcessingBinding.decodeTokens(context, batch, Arrays.copyOf(promptTokens, promptTokens.length - 1), 0, 0)
+                    : 0;
+            boolean aborted = llamaProcessingBinding.isAborted(promptResult);
+            if (promptResult != 0) {
+                logger.warn("Stopping beam search, prompt decode result: {}", llamaProcessingBinding.getResultDescription(promptResult));
+            }
+
+            long generationStart = System.nanoTime();
+            long promptTimeNanos = generationStart - promptStart;
+
+            lastTokens[0] = promptTokens[promptTokens.length - 1];
+            int position = promptTokens.length - 1;
+            int decodeCount = 0;
+
+            while (beamCount > 0 && promptResult == 0) {
+
+                if (position >= contextSize) {
+                    logger.warn("Context size exceeded, context size: {}", contextSize);
+                    break;
+                }
+
+                llamaBatchBinding.clearBatch(batch);
+                for (int b = 0; b < beamCount; b++) {
+                    batchIndexes[b] = llamaBatchBinding.addToken(batch, lastTokens[b], position, beamSequences[b], true);
+                }
+
+                int result = llamaProcessingBinding.decodeBatch(context, batch);
+                decodeCount++;
+
+                if (result != 0) {
+                    aborted = llamaProcessingBinding.isAborted(result);
+                    logger.warn("Stopping beam search, decode result: {}", llamaProcessingBinding.getResultDescription(result));
+                    break;
+                }
+
+                position++;
+
+                // Expand every beam with its best continuations
+                int candidateCount = 0;
+                for (int b = 0; b < beamCount; b++) {
+                    FloatBuffer logits = logitsView(context, batchIndexes[b], vocabularySize);
+                    double logSumExp = selectTop(logits, vocabularySize, topTokens, topLogits, candidatesPerBeam);
+
+                    for (int k = 0; k < candidatesPerBeam; k++) {
+                        candidateBeams[candidateCount] = b;
+                        candidateTokens[candidateCount] = topTokens[k];
+                        candidateLogProbabilities[candidateCount] = beamLogProbabilities[b] + topLogits[k] - logSumExp;
+                        candidateOrder[candidateCount] = candidateCount;
+                        candidateCount++;
+                    }
+                }
+
+                sortByDescending(candidateOrder, candidateCount, candidateLogProbabilities);
+
+                // Keep the best W continuations; end-of-generation candidates ranked among them finish a hypothesis
+                int nextCount = 0;
+                for (int i = 0; i < candidateCount && nextCount < beamWidth; i++) {
+                    int c = candidateOrder[i];
+                    int parent = candidateBeams[c];
+
+                    if (llamaVocabularyBinding.isEndOfGeneration(vocabulary, candidateTokens[c])) {
+                        addHypothesis(finished, beamWidth, Arrays.copyOf(beamTokens[parent], generatedLength),
+                                candidateLogProbabilities[c], params.getLengthPenalty(), true);
+                        continue;
+                    }
+
+                    selectedParents[nextCount] = parent;
+                    System.arraycopy(beamTokens[parent], 0, nextTokens[nextCount], 0, generatedLength);
+                    nextTokens[nextCount][generatedLength] = candidateTokens[c];
+                    nextLogProbabilities[nextCount] = candidateLogProbabilities[c];
+                    nextCount++;
+                }
+
+                // Release sequences of pruned beams first, so forks can reuse them
+                Arrays.fill(childCounts, 0);
+                Arrays.fill(inherited, false);
+                for (int j = 0; j < nextCount; j++) {
+                    childCounts[selectedParents[j]]++;
+                }
+                for (int b = 0; b < beamCount; b++) {
+                    if (childCounts[b] == 0) {
+                        llamaMemoryBinding.sequenceRemove(memory, beamSequences[b], -1, -1);
+                        freeSequences[freeSequenceCount++] = beamSequences[b];
+                    }
+                }
+
+                // The first child continues in the parent sequence, further children fork it
+                for (int j = 0; j < nextCount; j++) {
+                    int parent = selectedParents[j];
+                    if (!inherited[parent]) {
+                        inherited[parent] = true;
+                        nextSequences[j] = beamSequences[parent];
+                    } else {
+                        nextSequences[j] = freeSequences[--freeSequenceCount];
+                        llamaMemoryBinding.sequenceCopy(memory, beamSequences[parent], nextSequences[j], -1, -1);
+                    }
+                }
+
+                int[] swapSequences = beamSequences;
+                beamSequences = nextSequences;
+                nextSequences = swapSequences;
+
+                double[] swapLogProbabilities = beamLogProbabilities;
+                beamLogProbabilities = nextLogProbabilities;
+                nextLogProbabilities = swapLogProbabilities;
+
+                int[][] swapTokens = beamTokens;
+                beamTokens = nextTokens;
+                nextTokens = swapTokens;
+
+                beamCount = nextCount;
+                generatedLength++;
+
+                for (int b = 0; b < beamCount; b++) {
+                    lastTokens[b] = beamTokens[b][generatedLength - 1];
+                }
+
+                if (generatedLength >= maxTokens || isDone(finished, beamWidth, beamLogProbabilities, beamCount, generatedLength, params)) {
+                    break;
+                }
+            }
+
+            // Beams still running when the search stopped compete with the finished hypotheses
+            for (int b = 0; b < beamCount; b++) {
+                addHypothesis(finished, beamWidth, Arrays.copyOf(beamTokens[b], generatedLength),
+                        beamLogProbabilities[b], params.getLengthPenalty(), false);
+            }
+
+            long generationTimeNanos = System.nanoTime() - generationStart;
+
+            List<LlamaBeamSearchHypothesis> hypotheses = new ArrayList<>(finished.size());
+            for (Hypothesis hypothesis : finished) {
+                hypotheses.add(new LlamaBeamSearchHypothesis()
+                        .setTokens(hypothesis.tokens)
+                        .setText(hypothesis.tokens.length > 0 ? llamaTokenBinding.detokenize(vocabulary, hypothesis.tokens, false, false, params.getDetokenizeBytesPerToken()) : "")
+                        .setLogProbability(hypothesis.logProbability)
+                        .setScore(hypothesis.score)
+                        .setEndOfGeneration(hypothesis.endOfGeneration));
+            }
+
+            LlamaBeamSearchResult result = new LlamaBeamSearchResult()
+                    .setHypotheses(hypotheses)
+                    .setDecodeCount(decodeCount)
+                    .setPromptTimeNanos(promptTimeNanos)
+                    .setGenerationTimeNanos(generationTimeNanos)
+                    .setAborted(aborted);
+
+            logger.info("Beam search completed, beam width: {}, steps: {}, hypotheses: {}, best score: {}",
+                    beamWidth, decodeCount, hypotheses.size(), hypotheses.isEmpty() ? "n/a" : String.format("%.4f", hypotheses.get(0).getScore()));
+
+            return result;
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run beam search, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run beam search, error: %s", e.getMessage()), e);
+        } finally {
+            if (batch != null) {
+                llamaBatchBinding.freeBatch(batch);
+            }
+        }
+    }
+
+    /**
+     * View of the native logits of one batch position, without copying them to the Java heap.
+     */
+    private FloatBuffer logitsView(LlamaContext context, int batchIndex, int vocabularySize) {
+        Pointer pointer = llamaResultBinding.getLogitsRawAt(context, batchIndex)
+                .orElseThrow(() -> new LlamaCppJnaException(String.format("Logits are not available for batch index: %d", batchIndex)));
+        return pointer.getByteBuffer(0, (long) vocabularySize * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /**
+     * Collect the {@code count} largest logits in descending order and return the log-sum-exp
+     * over the whole vocabulary, computed in the same pass.
+     */
+    private static double selectTop(FloatBuffer logits, int vocabularySize, int[] topTokens, float[] topLogits, int count) {
+        int size = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0.0;
+
+        for (int token = 0; token < vocabularySize; token++) {
+            float logit = logits.get(token);
+
+            if (logit == Float.NEGATIVE_INFINITY) {
+                // masked token, e.g. by a logit bias
+                continue;
+            }
+
+            if (logit > max) {
+                sum = sum * Math.exp(max - logit) + 1.0;
+                max = logit;
+            } else {
+                sum += Math.exp(logit - max);
+            }
+
+            if (size < count || logit > topLogits[size - 1]) {
+                int i = size < count ? size++ : size - 1;
+                while (i > 0 && topLogits[i - 1] < logit) {
+                    topLogits[i] = topLogits[i - 1];
+                    topTokens[i] = topTokens[i - 1];
+                    i--;
+                }
+                topLogits[i] = logit;
+                topTokens[i] = token;
+            }
+        }
+
+        return max + Math.log(sum);
+    }
+
+    private static void sortByDescending(int[] order, int count, double[] values) {
+        for (int i = 1; i < count; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && values[order[j]] < values[current]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static double normalize(double logProbability, int length, float lengthPenalty) {
+        return logProbability / Math.pow(Math.max(length, 1), lengthPenalty);
+    }
+
+    /**
+     * Insert a hypothesis keeping at most {@code beamWidth} entries ordered by descending score.
+     */
+    private static void addHypothesis(List<Hypothesis> hypotheses, int beamWidth, int[] tokens, double logProbability,
+                                      float lengthPenalty, boolean endOfGeneration) {
+        double score = normalize(logProbability, tokens.length, lengthPenalty);
+
+        if (hypotheses.size() >= beamWidth && score <= hypotheses.get(hypotheses.size() - 1).score) {
+            return;
+        }
+
+        int index = 0;
+        while (index < hypotheses.size() && hypotheses.get(index).score >= score) {
+            index++;
+        }
+        hypotheses.add(index, new Hypothesis(tokens, logProbability, score, endOfGeneration));
+
+        if (hypotheses.size() > beamWidth) {
+            hypotheses.remove(hypotheses.size() - 1);
+        }
+    }
+
+    private static boolean isDone(List<Hypothesis> finished, int beamWidth, double[] beamLogProbabilities, int beamCount,
+                                  int generatedLength, LlamaBeamSearchParams params) {
+        if (finished.size() < beamWidth) {
+            return false;
+        }
+
+        if (params.isEarlyStopping()) {
+            return true;
+        }
+
+        double bestActive = Double.NEGATIVE_INFINITY;
+        for (int b = 0; b < beamCount; b++) {
+            bestActive = Math.max(bestActive, normalize(beamLogProbabilities[b], generatedLength, params.getLengthPenalty()));
+        }
+
+        return finished.get(finished.size() - 1).score >= bestActive;
+    }
+
+    private static final class Hypothesis {
+        private final int[] tokens;
+        private final double logProbability;
+        private final double score;
+        private final boolean endOfGeneration;
+
+        private Hypothesis(int[] tokens, double logProbability, double score, boolean endOfGeneration) {
+            this.tokens = tokens;
+            this.logProbability = logProbability;
+            this.score = score;
+            this.endOfGeneration = endOfGeneration;
+        }
+    }
+}
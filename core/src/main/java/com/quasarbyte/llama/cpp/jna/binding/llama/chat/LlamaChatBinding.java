@@ -2,6 +2,7 @@ package com.quasarbyte.llama.cpp.jna.binding.llama.chat;
 
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,8 +25,8 @@ public interface LlamaChatBinding {
      * @param template the chat template string
      * @param messages list of chat messages to format
      * @param addAssistant whether to add an assistant message placeholder at the end
-     * @param maxLength maximum length of the output string
-     * @return formatted chat string (truncated if necessary), or null on error
+     * @param maxLength initial size of the output buffer in bytes, grown when the template needs more
+     * @return formatted chat string
      */
     String applyChatTemplate(String template, List<LlamaChatMessage> messages, 
                            boolean addAssistant, int maxLength);
@@ -75,4 +76,13 @@ public interface LlamaChatBinding {
 
     Optional<String> getChatTemplate(LlamaModel model, String name);
 
+    /**
+     * Create a conversation that caches its templated text and tokens between turns.
+     *
+     * @param template   the chat template string
+     * @param vocabulary the vocabulary used to tokenize the rendered text
+     * @return a new empty conversation, not thread-safe
+     */
+    LlamaChatConversation createConversation(String template, LlamaVocabulary vocabulary);
+
 }
\ No newline at end of file
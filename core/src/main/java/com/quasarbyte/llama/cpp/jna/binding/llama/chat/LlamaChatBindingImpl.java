@@ -6,6 +6,7 @@ import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessageNative;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
 import com.quasarbyte.llama.cpp.jna.binding.stringbuffer.LlamaStringBufferReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,12 @@ public class LlamaChatBindingImpl implements LlamaChatBinding {
             // Call native function with contiguous memory
             int length = llamaLibrary.llama_chat_apply_template(template, nativeMessages, messages.size(), addAssistant, buffer, buffer.length);
 
+            if (length > buffer.length) {
+                // The return value is the full length, render again into a buffer that fits
+                buffer = new byte[length];
+                length = llamaLibrary.llama_chat_apply_template(template, nativeMessages, messages.size(), addAssistant, buffer, buffer.length);
+            }
+
             if (length < 0) {
                 logger.error("Failed to apply chat template, length: {}, addAssistant: {}, maxLength: {}", length, addAssistant, maxLength);
                 throw new LlamaFunctionCallIntResultException(length, String.format("Failed to apply chat template, length: %d, addAssistant: %b, maxLength: %d", length, addAssistant, maxLength));
@@ -139,6 +146,21 @@ public class LlamaChatBindingImpl implements LlamaChatBinding {
         return Optional.ofNullable(llamaLibrary.llama_model_chat_template(model.getModelPointer(), name));
     }
 
+    @Override
+    public LlamaChatConversation createConversation(String template, LlamaVocabulary vocabulary) {
+        if (template == null) {
+            throw new LlamaCppJnaException("Template cannot be null");
+        }
+
+        if (template.trim().isEmpty()) {
+            throw new LlamaCppJnaException("Template cannot be blank");
+        }
+
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(vocabulary.getVocabularyPointer());
+        return new LlamaChatConversation(llamaLibrary, template, vocabulary.getVocabularyPointer());
+    }
+
     private static LlamaChatMessageNative[] createNativeChatMessageArray(List<LlamaChatMessage> messages) {
         if (messages.isEmpty()) {
             return new LlamaChatMessageNative[0];
@@ -0,0 +1,381 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.chat;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallIntResultException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatDelta;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessageNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabularyNative;
+import com.sun.jna.Memory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A chat conversation that keeps its templated text and tokens between turns.
+ * <p>
+ * {@code llama_chat_apply_template} can only render a whole conversation, so every
+ * {@link #update(boolean)} renders all messages once, into a byte buffer that is reused and grown
+ * when the returned length exceeds it. The render is compared byte by byte with the cached one and
+ * only the bytes after the common prefix are decoded and tokenized; the cached tokens before it are
+ * kept. Tokens are cached per update, so when a template renders the history differently (for
+ * example when it drops an earlier part), only the updates after the first changed byte are
+ * tokenized again.
+ * <p>
+ * The assistant prompt added for generation is tokenized on its own, so a turn stays cached when
+ * the next message is not the answer to it. The native message array is kept as well and only
+ * messages added since the previous update are written to it.
+ * <p>
+ * Instances are not thread-safe; create one per conversation with
+ * {@link LlamaChatBinding#createConversation}.
+ */
+public final class LlamaChatConversation {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int INITIAL_MESSAGE_CAPACITY = 8;
+    private static final int INITIAL_TOKEN_CAPACITY = 256;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private final LlamaLibrary llamaLibrary;
+    private final String template;
+    private final LlamaVocabularyNative vocabulary;
+    private final boolean addSpecial;
+
+    private final List<LlamaChatMessage> messages = new ArrayList<>();
+    private LlamaChatMessageNative[] nativeMessages;
+    private int nativeMessageCount;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private byte[] rendered = new byte[INITIAL_BUFFER_SIZE];
+    private int renderedLength;
+
+    private int[] tokens = new int[INITIAL_TOKEN_CAPACITY];
+    private int tokenCount;
+
+    // End byte offset and end token index of every tokenized update
+    private int[] segmentByteEnds = new int[INITIAL_SEGMENT_CAPACITY];
+    private int[] segmentTokenEnds = new int[INITIAL_SEGMENT_CAPACITY];
+    private int segmentCount;
+
+    private byte[] text = new byte[INITIAL_BUFFER_SIZE];
+    private Memory tokenMemory;
+    private byte[] assistantPrompt;
+
+    private long renderCount;
+    private long tokenizedByteCount;
+    private long discardedTokenCount;
+
+    LlamaChatConversation(LlamaLibrary llamaLibrary, String template, LlamaVocabularyNative vocabulary) {
+        this.llamaLibrary = llamaLibrary;
+        this.template = template;
+        this.vocabulary = vocabulary;
+        this.addSpecial = llamaLibrary.llama_vocab_get_add_bos(vocabulary);
+        this.nativeMessages = createNativeMessageArray(INITIAL_MESSAGE_CAPACITY);
+    }
+
+    /**
+     * Append a message; it is rendered by the next {@link #update(boolean)}.
+     */
+    public LlamaChatConversation add(LlamaChatMessage message) {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(message.getRole());
+        Objects.requireNonNull(message.getContent());
+        messages.add(message);
+        return this;
+    }
+
+    public LlamaChatConversation add(String role, String content) {
+        return add(new LlamaChatMessage(role, content));
+    }
+
+    /**
+     * Replace the message at {@code index}, e.g. after the user edited it.
+     */
+    public LlamaChatConversation set(int index, LlamaChatMessage message) {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(message.getRole());
+        Objects.requireNonNull(message.getContent());
+        if (index < 0 || index >= messages.size()) {
+            throw new LlamaCppJnaException(String.format("Message index %d is out of range, messages: %d", index, messages.size()));
+        }
+        messages.set(index, message);
+        nativeMessageCount = Math.min(nativeMessageCount, index);
+        return this;
+    }
+
+    /**
+     * Keep only the first {@code messageCount} messages, e.g. to regenerate the last answer.
+     * The cached tokens are dropped lazily by the next {@link #update(boolean)}, from the first byte
+     * that renders differently.
+     */
+    public LlamaChatConversation truncate(int messageCount) {
+        if (messageCount < 0 || messageCount > messages.size()) {
+            throw new LlamaCppJnaException(String.format("Message count %d is out of range, messages: %d", messageCount, messages.size()));
+        }
+        messages.subList(messageCount, messages.size()).clear();
+        nativeMessageCount = Math.min(nativeMessageCount, messageCount);
+        return this;
+    }
+
+    /**
+     * Remove all messages and the cached render and tokens.
+     */
+    public void clear() {
+        messages.clear();
+        nativeMessageCount = 0;
+        renderedLength = 0;
+        tokenCount = 0;
+        segmentCount = 0;
+    }
+
+    /**
+     * Render the conversation and tokenize the part that changed since the previous update.
+     * <p>
+     * With {@code addAssistant} the render ends with the assistant prompt, ready for generation.
+     * Templates render an assistant message that follows that prompt as its continuation, so after
+     * the answer was added only its text and the next turn are tokenized.
+     *
+     * @param addAssistant whether to end the render with the assistant prompt
+     * @return the new tokens and where they start in {@link #getTokens()}
+     */
+    public LlamaChatDelta update(boolean addAssistant) {
+        syncNativeMessages();
+
+        if (addAssistant && assistantPrompt == null && !messages.isEmpty()) {
+            detectAssistantPrompt();
+        }
+
+        int length = render(addAssistant);
+        int common = commonPrefixLength(buffer, length, rendered, renderedLength);
+
+        // Keep the updates that end inside the unchanged prefix
+        int keptSegments = 0;
+        while (keptSegments < segmentCount && segmentByteEnds[keptSegments] <= common) {
+            keptSegments++;
+        }
+        int keptBytes = keptSegments > 0 ? segmentByteEnds[keptSegments - 1] : 0;
+        int keptTokens = keptSegments > 0 ? segmentTokenEnds[keptSegments - 1] : 0;
+        int discarded = tokenCount - keptTokens;
+
+        byte[] previous = rendered;
+        rendered = buffer;
+        buffer = previous;
+        renderedLength = length;
+        segmentCount = keptSegments;
+        tokenCount = keptTokens;
+        discardedTokenCount += discarded;
+
+        // The assistant prompt is its own update, so a following user message does not invalidate the turn
+        int bodyEnd = addAssistant ? assistantPromptStart(length) : length;
+        if (bodyEnd > keptBytes) {
+            tokenize(keptBytes, bodyEnd);
+        }
+        if (length > Math.max(bodyEnd, keptBytes)) {
+            tokenize(Math.max(bodyEnd, keptBytes), length);
+        }
+
+        return new LlamaChatDelta()
+                .setText(new String(rendered, keptBytes, length - keptBytes, StandardCharsets.UTF_8))
+                .setTokens(Arrays.copyOfRange(tokens, keptTokens, tokenCount))
+                .setFirstTokenIndex(keptTokens)
+                .setDiscardedTokenCount(discarded)
+                .setTotalTokenCount(tokenCount);
+    }
+
+    public List<LlamaChatMessage> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Tokens of the last render.
+     */
+    public int[] getTokens() {
+        return Arrays.copyOf(tokens, tokenCount);
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public int getToken(int index) {
+        if (index < 0 || index >= tokenCount) {
+            throw new LlamaCppJnaException(String.format("Token index %d is out of range, tokens: %d", index, tokenCount));
+        }
+        return tokens[index];
+    }
+
+    /**
+     * Text of the last render.
+     */
+    public String getRenderedText() {
+        return new String(rendered, 0, renderedLength, StandardCharsets.UTF_8);
+    }
+
+    public int getRenderedByteCount() {
+        return renderedLength;
+    }
+
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Bytes passed to the tokenizer over the lifetime of the conversation.
+     */
+    public long getTokenizedByteCount() {
+        return tokenizedByteCount;
+    }
+
+    /**
+     * Cached tokens dropped because the template rendered the history differently.
+     */
+    public long getDiscardedTokenCount() {
+        return discardedTokenCount;
+    }
+
+    private void syncNativeMessages() {
+        int size = messages.size();
+        if (size > nativeMessages.length) {
+            // Structures of a contiguous array cannot be moved, write all messages to a new one
+            nativeMessages = createNativeMessageArray(Math.max(size, nativeMessages.length * 2));
+            nativeMessageCount = 0;
+        }
+        for (int i = nativeMessageCount; i < size; i++) {
+            LlamaChatMessage message = messages.get(i);
+            nativeMessages[i].role = message.getRole();
+            nativeMessages[i].content = message.getContent();
+        }
+        for (int i = size; i < nativeMessageCount; i++) {
+            nativeMessages[i].role = null;
+            nativeMessages[i].content = null;
+        }
+        nativeMessageCount = size;
+    }
+
+    /**
+     * Offset of the assistant prompt at the end of the last render, or {@code length} when it is not known.
+     */
+    private int assistantPromptStart(int length) {
+        if (assistantPrompt == null) {
+            return length;
+        }
+        int start = length - assistantPrompt.length;
+        if (start < 0) {
+            return length;
+        }
+        for (int i = 0; i < assistantPrompt.length; i++) {
+            if (rendered[start + i] != assistantPrompt[i]) {
+                return length;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Find the text the template appends for {@code addAssistant}, once per conversation.
+     */
+    private void detectAssistantPrompt() {
+        int withoutPrompt = render(false);
+        byte[] body = Arrays.copyOf(buffer, withoutPrompt);
+        int withPrompt = render(true);
+        if (withPrompt > withoutPrompt && commonPrefixLength(buffer, withPrompt, body, withoutPrompt) == withoutPrompt) {
+            assistantPrompt = Arrays.copyOfRange(buffer, withoutPrompt, withPrompt);
+        } else {
+            assistantPrompt = new byte[0];
+        }
+    }
+
+    private int render(boolean addAssistant) {
+        int length = llamaLibrary.llama_chat_apply_template(template, nativeMessages, nativeMessageCount, addAssistant, buffer, buffer.length);
+        if (length > buffer.length) {
+            // The return value is the full length, the output was truncated
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            length = llamaLibrary.llama_chat_apply_template(template, nativeMessages, nativeMessageCount, addAssistant, buffer, buffer.length);
+        }
+        if (length < 0 || length > buffer.length) {
+            throw new LlamaFunctionCallIntResultException(length, String.format("Failed to apply chat template, length: %d, messages: %d, addAssistant: %b", length, nativeMessageCount, addAssistant));
+        }
+        renderCount++;
+        return length;
+    }
+
+    private void tokenize(int start, int end) {
+        int count = tokenize(start, end - start, tokenCount == 0);
+        if (count > 0) {
+            appendSegment(end, tokenCount);
+        }
+    }
+
+    private int tokenize(int offset, int length, boolean first) {
+        if (length > text.length) {
+            text = new byte[Math.max(length, text.length * 2)];
+        }
+        System.arraycopy(rendered, offset, text, 0, length);
+        tokenizedByteCount += length;
+
+        // A token covers at least one byte, plus the special tokens added at the start
+        int capacity = length + 2;
+        int count = tokenizeInto(length, capacity, first);
+        if (count < 0 && count != Integer.MIN_VALUE) {
+            count = tokenizeInto(length, -count, first);
+        }
+        if (count < 0) {
+            throw new LlamaFunctionCallIntResultException(count, String.format("Failed to tokenize chat template delta, bytes: %d, result: %d", length, count));
+        }
+
+        ensureTokenCapacity(tokenCount + count);
+        tokenMemory.read(0, tokens, tokenCount, count);
+        tokenCount += count;
+        return count;
+    }
+
+    private int tokenizeInto(int length, int capacity, boolean first) {
+        if (tokenMemory == null || tokenMemory.size() < (long) capacity * 4L) {
+            tokenMemory = new Memory((long) Math.max(capacity, INITIAL_TOKEN_CAPACITY) * 4L);
+        }
+        return llamaLibrary.llama_tokenize(vocabulary, text, length, tokenMemory, capacity, first && addSpecial, true);
+    }
+
+    private void ensureTokenCapacity(int capacity) {
+        if (capacity > tokens.length) {
+            tokens = Arrays.copyOf(tokens, Math.max(capacity, tokens.length * 2));
+        }
+    }
+
+    private void appendSegment(int byteEnd, int tokenEnd) {
+        if (segmentCount == segmentByteEnds.length) {
+            segmentByteEnds = Arrays.copyOf(segmentByteEnds, segmentCount * 2);
+            segmentTokenEnds = Arrays.copyOf(segmentTokenEnds, segmentCount * 2);
+        }
+        segmentByteEnds[segmentCount] = byteEnd;
+        segmentTokenEnds[segmentCount] = tokenEnd;
+        segmentCount++;
+    }
+
+    private static int commonPrefixLength(byte[] a, int aLength, byte[] b, int bLength) {
+        int limit = Math.min(aLength, bLength);
+        int i = 0;
+        while (i < limit && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static LlamaChatMessageNative[] createNativeMessageArray(int capacity) {
+        LlamaChatMessageNative[] array = (LlamaChatMessageNative[]) new LlamaChatMessageNative().toArray(capacity);
+        for (LlamaChatMessageNative message : array) {
+            // The template only reads the messages, skip copying them back after every call
+            message.setAutoRead(false);
+        }
+        return array;
+    }
+}
@@ -1,5 +1,6 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.context;
 
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaContextParamsNative;
 import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
@@ -40,5 +41,7 @@ public interface LlamaContextBinding {
 
     void setAbortCallback(LlamaContext context, Pointer abortCallback, Pointer abortCallbackData);
 
+    void setTypedAbortCallback(LlamaContext context, LlamaLibrary.GgmlAbortCallback abortCallback, Pointer abortCallbackData);
+
     void synchronize(LlamaContext context);
 }
@@ -287,6 +287,21 @@ public class LlamaContextBindingImpl implements LlamaContextBinding {
         }
     }
 
+    @Override
+    public void setTypedAbortCallback(LlamaContext context, LlamaLibrary.GgmlAbortCallback abortCallback, Pointer abortCallbackData) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        try {
+            logger.debug("Setting abort callback for context: {}", context.getContextPointer());
+            llamaLibrary.llama_set_abort_callback_typed(context.getContextPointer(), abortCallback, abortCallbackData);
+            logger.debug("Successfully set abort callback for context: {}", context.getContextPointer());
+        } catch (Exception e) {
+            logger.error("Error setting abort callback for context: {}", context.getContextPointer(), e);
+            throw new LlamaCppJnaException(String.format("Error setting abort callback, error: '%s'", e.getMessage()), e);
+        }
+    }
+
     @Override
     public void synchronize(LlamaContext context) {
         Objects.requireNonNull(context);
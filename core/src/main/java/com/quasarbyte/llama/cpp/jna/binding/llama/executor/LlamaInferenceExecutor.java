@@ -0,0 +1,65 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.executor;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs native inference on a small set of dedicated platform threads.
+ * <p>
+ * A virtual thread that calls into llama.cpp cannot unmount until the native call returns, so
+ * request handlers running as virtual threads should not call the bindings directly. They submit
+ * the work here instead and wait on the returned future, which parks without holding a carrier.
+ * <p>
+ * Each context is bound to one lane on first use and all of its tasks run there in submission
+ * order, so a context is never used from two threads at once. Tasks submitted from a lane's own
+ * thread run inline. Cancelling a future skips the task if it has not started; to stop a running
+ * decode, {@link com.quasarbyte.llama.cpp.jna.binding.llama.abort.LlamaAbortSignal#bind bind} an
+ * abort signal to the future.
+ */
+public interface LlamaInferenceExecutor extends AutoCloseable {
+
+    /**
+     * Run a task on the lane of the context.
+     *
+     * @param context context the task uses
+     * @param task    native work
+     * @return future completed with the result of the task
+     */
+    <T> CompletableFuture<T> submit(LlamaContext context, Callable<T> task);
+
+    /**
+     * Run a task on the lane with the shortest queue, for work not tied to a context
+     * such as tokenization or model loading.
+     */
+    <T> CompletableFuture<T> submit(Callable<T> task);
+
+    /**
+     * Forget the lane binding of a context, call when the context is freed.
+     */
+    void release(LlamaContext context);
+
+    /**
+     * @return true when the current thread is one of the inference threads
+     */
+    boolean isInferenceThread();
+
+    int getLaneCount();
+
+    /**
+     * @return tasks waiting across all lanes
+     */
+    int getQueuedCount();
+
+    /**
+     * @return lanes currently running a task
+     */
+    int getActiveCount();
+
+    /**
+     * Stop accepting tasks, fail the queued ones and wait for the running ones to finish.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,14 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.executor;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaInferenceExecutorParams;
+
+public class LlamaInferenceExecutorFactory {
+
+    public LlamaInferenceExecutor create() {
+        return create(new LlamaInferenceExecutorParams());
+    }
+
+    public LlamaInferenceExecutor create(LlamaInferenceExecutorParams params) {
+        return new LlamaInferenceExecutorImpl(params);
+    }
+}
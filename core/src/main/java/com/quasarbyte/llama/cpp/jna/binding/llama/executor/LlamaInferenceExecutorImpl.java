@@ -0,0 +1,271 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.executor;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaInferenceExecutorParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class LlamaInferenceExecutorImpl implements LlamaInferenceExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaInferenceExecutorImpl.class);
+
+    private static final ThreadLocal<Lane> currentLane = new ThreadLocal<>();
+
+    private final List<Lane> lanes;
+    private final Executor completionExecutor;
+    private final Map<LlamaContext, Lane> contextLanes = new IdentityHashMap<>();
+    private volatile boolean closed;
+
+    LlamaInferenceExecutorImpl(LlamaInferenceExecutorParams params) {
+        Objects.requireNonNull(params);
+
+        if (params.getLaneCount() <= 0) {
+            throw new LlamaCppJnaException(String.format("Lane count must be positive, laneCount: %d", params.getLaneCount()));
+        }
+        if (params.getMaxQueuedPerLane() < 0) {
+            throw new LlamaCppJnaException(String.format("Maximum queued tasks must not be negative, maxQueuedPerLane: %d", params.getMaxQueuedPerLane()));
+        }
+
+        this.completionExecutor = params.getCompletionExecutor();
+        this.lanes = new ArrayList<>(params.getLaneCount());
+        for (int i = 0; i < params.getLaneCount(); i++) {
+            lanes.add(new Lane(i, params));
+        }
+
+        logger.debug("Inference executor started, params: {}", params);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(LlamaContext context, Callable<T> task) {
+        Objects.requireNonNull(context);
+        return submit(laneOf(context), task);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        Lane current = currentLane.get();
+        return submit(current != null && lanes.contains(current) ? current : shortestQueue(), task);
+    }
+
+    @Override
+    public void release(LlamaContext context) {
+        Objects.requireNonNull(context);
+        synchronized (contextLanes) {
+            Lane lane = contextLanes.remove(context);
+            if (lane != null) {
+                lane.boundContexts--;
+            }
+        }
+    }
+
+    @Override
+    public boolean isInferenceThread() {
+        Lane current = currentLane.get();
+        return current != null && lanes.contains(current);
+    }
+
+    @Override
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        int queued = 0;
+        for (Lane lane : lanes) {
+            queued += lane.executor.getQueue().size();
+        }
+        return queued;
+    }
+
+    @Override
+    public int getActiveCount() {
+        int active = 0;
+        for (Lane lane : lanes) {
+            active += lane.executor.getActiveCount();
+        }
+        return active;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+            List<Runnable> pending = new ArrayList<>();
+            lane.executor.getQueue().drainTo(pending);
+            for (Runnable task : pending) {
+                ((LaneTask<?>) task).fail(new LlamaCppJnaException("Inference executor is closed"));
+            }
+        }
+
+        for (Lane lane : lanes) {
+            try {
+                if (!lane.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Inference lane {} did not finish its running task", lane.index);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        synchronized (contextLanes) {
+            contextLanes.clear();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Lane lane, Callable<T> task) {
+        Objects.requireNonNull(task);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (closed) {
+            future.completeExceptionally(new LlamaCppJnaException("Inference executor is closed"));
+            return future;
+        }
+
+        LaneTask<T> laneTask = new LaneTask<>(task, future);
+
+        if (currentLane.get() == lane) {
+            // Waiting for a task queued behind the current one would deadlock the lane
+            laneTask.run();
+            return future;
+        }
+
+        try {
+            lane.executor.execute(laneTask);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(closed
+                    ? new LlamaCppJnaException("Inference executor is closed")
+                    : new LlamaCppJnaException(String.format("Inference lane %d queue is full", lane.index), e));
+        }
+        return future;
+    }
+
+    private Lane laneOf(LlamaContext context) {
+        synchronized (contextLanes) {
+            Lane lane = contextLanes.get(context);
+            if (lane == null) {
+                lane = lanes.get(0);
+                for (Lane candidate : lanes) {
+                    if (candidate.boundContexts < lane.boundContexts) {
+                        lane = candidate;
+                    }
+                }
+                lane.boundContexts++;
+                contextLanes.put(context, lane);
+            }
+            return lane;
+        }
+    }
+
+    private Lane shortestQueue() {
+        Lane best = lanes.get(0);
+        int bestLoad = Integer.MAX_VALUE;
+        for (Lane lane : lanes) {
+            int load = lane.executor.getQueue().size() + lane.executor.getActiveCount();
+            if (load < bestLoad) {
+                best = lane;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private final class LaneTask<T> implements Runnable {
+
+        private final Callable<T> task;
+        private final CompletableFuture<T> future;
+
+        private LaneTask(Callable<T> task, CompletableFuture<T> future) {
+            this.task = task;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // Cancelled while queued
+                return;
+            }
+
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+
+            if (completionExecutor == null) {
+                future.complete(result);
+            } else {
+                try {
+                    completionExecutor.execute(() -> future.complete(result));
+                } catch (RejectedExecutionException e) {
+                    future.complete(result);
+                }
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (completionExecutor == null) {
+                future.completeExceptionally(error);
+            } else {
+                try {
+                    completionExecutor.execute(() -> future.completeExceptionally(error));
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(error);
+                }
+            }
+        }
+    }
+
+    private static final class Lane {
+
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private int boundContexts;
+
+        private Lane(int index, LlamaInferenceExecutorParams params) {
+            this.index = index;
+
+            BlockingQueue<Runnable> queue = params.getMaxQueuedPerLane() > 0
+                    ? new ArrayBlockingQueue<>(params.getMaxQueuedPerLane())
+                    : new LinkedBlockingQueue<>();
+
+            String threadName = params.getThreadNamePrefix() + "-" + index;
+
+            // new Thread() always creates a platform thread, even when called from a virtual thread
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+                Thread thread = new Thread(() -> {
+                    currentLane.set(this);
+                    runnable.run();
+                }, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Detects virtual threads on Java 21 and later without requiring it; always false on older runtimes.
+ */
+public final class LlamaVirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaVirtualThreads.class);
+
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private static final AtomicBoolean warned = new AtomicBoolean();
+
+    private LlamaVirtualThreads() {
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    public static boolean isCurrentVirtual() {
+        return isVirtual(Thread.currentThread());
+    }
+
+    /**
+     * Log once per JVM when a long native call is made from a virtual thread, which holds its
+     * carrier for the whole call.
+     *
+     * @param operation name of the native call
+     */
+    public static void warnIfVirtual(String operation) {
+        if (IS_VIRTUAL != null && !warned.get() && isCurrentVirtual() && warned.compareAndSet(false, true)) {
+            logger.warn("{} called from virtual thread {}, it pins the carrier thread for the whole call; "
+                    + "run inference through LlamaInferenceExecutor instead", operation, Thread.currentThread());
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.generator;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorOptions;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+
+/**
+ * Reusable tokenize, decode and sample loop over one context.
+ * <p>
+ * The generator owns a batch sized to the context's batch size, a sampler chain, a streaming
+ * detokenizer and its token and text buffers, all created once and reused by every call. The
+ * per-token path writes into the preallocated native batch and decodes text into a reused
+ * builder, so it does not allocate. Generation uses sequence 0 of the context.
+ * <p>
+ * Instances are not thread-safe. The model and context stay owned by the caller.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * try (LlamaGenerator generator = new LlamaGeneratorFactory().create(llamaLibrary, model, context,
+ *         new LlamaSamplerConfig().setTemperature(0.7f).setTopP(0.9f))) {
+ *
+ *     LlamaGeneratorResult result = generator.generate("The capital of France is",
+ *             new LlamaGeneratorOptions().setMaxTokens(32).setStopSequences(Collections.singletonList("\n")));
+ *
+ *     System.out.println(result.getText() + " (" + result.getTokensPerSecond() + " tokens/s)");
+ * }
+ * }</pre>
+ */
+public interface LlamaGenerator extends AutoCloseable {
+
+    /**
+     * Tokenize the prompt and generate.
+     */
+    LlamaGeneratorResult generate(String prompt, LlamaGeneratorOptions options);
+
+    /**
+     * Tokenize the prompt and generate, reporting tokens as they are produced.
+     */
+    LlamaGeneratorResult generate(String prompt, LlamaGeneratorOptions options, LlamaGeneratorListener listener);
+
+    /**
+     * Generate from prompt tokens, reporting tokens as they are produced.
+     * <p>
+     * With {@link LlamaGeneratorOptions#isClearMemory()} disabled, the prompt continues the
+     * sequence of the previous call, after its last generated token.
+     *
+     * @param promptTokens tokens to decode before sampling, must not be empty
+     * @param options      generation settings
+     * @param listener     receives the tokens
+     * @return text, tokens and timings
+     */
+    LlamaGeneratorResult generate(int[] promptTokens, LlamaGeneratorOptions options, LlamaGeneratorListener listener);
+
+    /**
+     * Remove the tokens from {@code position} on from sequence 0, the next call with
+     * {@link LlamaGeneratorOptions#isClearMemory()} disabled decodes its prompt there. The last
+     * sampled token of the previous call is dropped rather than decoded first.
+     * <p>
+     * Memory that cannot remove a partial range, such as the state of recurrent models, is cleared.
+     *
+     * @param position new end of the sequence, at most {@link #getPosition()}
+     * @return the position the next call continues from, {@code position} or 0 when the sequence was cleared
+     */
+    int rewind(int position);
+
+    /**
+     * Sampler chain currently used, owned by the generator.
+     */
+    LlamaSampler getSampler();
+
+    LlamaContext getContext();
+
+    /**
+     * Next KV position of sequence 0.
+     */
+    int getPosition();
+
+    /**
+     * Free the batch and the sampler chain.
+     */
+    @Override
+    void close();
+}
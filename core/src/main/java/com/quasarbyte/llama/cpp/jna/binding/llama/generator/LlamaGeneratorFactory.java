@@ -0,0 +1,37 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.generator;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerChainBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+
+public class LlamaGeneratorFactory {
+
+    /**
+     * @param model         model of the context
+     * @param context       context to generate with, owned by the caller
+     * @param samplerConfig initial sampler chain
+     */
+    public LlamaGenerator create(LlamaLibrary llamaLibrary, LlamaModel model, LlamaContext context, LlamaSamplerConfig samplerConfig) {
+        return new LlamaGeneratorImpl(
+                new LlamaBatchBindingFactory().create(llamaLibrary),
+                new LlamaContextBindingFactory().create(llamaLibrary),
+                new LlamaMemoryBindingFactory().create(llamaLibrary),
+                new LlamaProcessingBindingFactory().create(llamaLibrary),
+                new LlamaSamplerBindingFactory().create(llamaLibrary),
+                new LlamaSamplerChainBindingFactory().create(llamaLibrary),
+                new LlamaTokenBindingFactory().create(llamaLibrary),
+                new LlamaVocabularyBindingFactory().create(llamaLibrary),
+                model,
+                context,
+                samplerConfig);
+    }
+}
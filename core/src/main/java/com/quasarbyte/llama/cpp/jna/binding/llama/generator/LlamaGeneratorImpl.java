@@ -0,0 +1,384 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.generator;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerChainBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStopSequenceMatcher;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStreamingDetokenizer;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaFinishReason;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorOptions;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaMemoryManager;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class LlamaGeneratorImpl implements LlamaGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaGeneratorImpl.class);
+
+    private static final int SEQUENCE_ID = 0;
+    private static final int NO_TOKEN = -1;
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaMemoryBinding llamaMemoryBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaSamplerChainBinding llamaSamplerChainBinding;
+    private final LlamaTokenBinding llamaTokenBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    private final LlamaModel model;
+    private final LlamaContext context;
+    private final LlamaVocabulary vocabulary;
+    private final LlamaMemoryManager memory;
+    private final boolean addBos;
+    private final long contextSize;
+    private final LlamaBatch batch;
+    private final StringBuilder text = new StringBuilder(1024);
+    private final TextView textView = new TextView(text);
+
+    private LlamaSampler sampler;
+    private LlamaSamplerConfig samplerConfig;
+
+    private LlamaStreamingDetokenizer detokenizer;
+    private List<String> detokenizerStopSequences;
+    private int[] detokenizerStopTokens;
+    private boolean detokenizerSpecial;
+
+    private int[] tokens = new int[256];
+    private int position;
+    private int pendingToken = NO_TOKEN;
+    private boolean closed;
+
+    LlamaGeneratorImpl(LlamaBatchBinding llamaBatchBinding,
+                       LlamaContextBinding llamaContextBinding,
+                       LlamaMemoryBinding llamaMemoryBinding,
+                       LlamaProcessingBinding llamaProcessingBinding,
+                       LlamaSamplerBinding llamaSamplerBinding,
+                       LlamaSamplerChainBinding llamaSamplerChainBinding,
+                       LlamaTokenBinding llamaTokenBinding,
+                       LlamaVocabularyBinding llamaVocabularyBinding,
+                       LlamaModel model,
+                       LlamaContext context,
+                       LlamaSamplerConfig samplerConfig) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaMemoryBinding = llamaMemoryBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaSamplerChainBinding = llamaSamplerChainBinding;
+        this.llamaTokenBinding = llamaTokenBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+        this.model = Objects.requireNonNull(model);
+        this.context = Objects.requireNonNull(context);
+        Objects.requireNonNull(samplerConfig);
+
+        this.vocabulary = llamaVocabularyBinding.getVocabulary(model);
+        this.memory = llamaMemoryBinding.getMemory(context);
+        this.addBos = llamaVocabularyBinding.getAddBos(vocabulary);
+        this.contextSize = llamaContextBinding.getContextSize(context);
+
+        this.batch = llamaBatchBinding.createBatch((int) llamaBatchBinding.getBatchSize(context), 1);
+        try {
+            this.sampler = llamaSamplerChainBinding.build(model, samplerConfig);
+            this.samplerConfig = samplerConfig.copy();
+        } catch (RuntimeException e) {
+            llamaBatchBinding.freeBatch(batch);
+            throw e;
+        }
+    }
+
+    @Override
+    public LlamaGeneratorResult generate(String prompt, LlamaGeneratorOptions options) {
+        return generate(prompt, options, LlamaGeneratorListener.NONE);
+    }
+
+    @Override
+    public LlamaGeneratorResult generate(String prompt, LlamaGeneratorOptions options, LlamaGeneratorListener listener) {
+        Objects.requireNonNull(prompt);
+        Objects.requireNonNull(options);
+
+        // BOS only starts a sequence, not a continuation of one
+        boolean bos = addBos && (options.isClearMemory() || position == 0);
+        return generate(llamaTokenBinding.tokenize(model, vocabulary, prompt, bos, options.isParseSpecial()), options, listener);
+    }
+
+    @Override
+    public LlamaGeneratorResult generate(int[] promptTokens, LlamaGeneratorOptions options, LlamaGeneratorListener listener) {
+        Objects.requireNonNull(promptTokens);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(listener);
+
+        if (closed) {
+            throw new LlamaCppJnaException("Generator is closed");
+        }
+
+        if (promptTokens.length == 0) {
+            throw new LlamaCppJnaException("Prompt tokens cannot be empty");
+        }
+
+        if (options.getMaxTokens() < 1) {
+            throw new LlamaCppJnaException(String.format("Max tokens must be positive, value: %d", options.getMaxTokens()));
+        }
+
+        try {
+            long startNanos = System.nanoTime();
+
+            prepare(options);
+
+            int[] input = promptTokens;
+            int previousPendingToken = pendingToken;
+            if (options.isClearMemory()) {
+                llamaMemoryBinding.sequenceRemove(memory, SEQUENCE_ID, -1, -1);
+                position = 0;
+            } else if (pendingToken != NO_TOKEN) {
+                // The last token of the previous call was sampled but never decoded
+                input = new int[promptTokens.length + 1];
+                input[0] = pendingToken;
+                System.arraycopy(promptTokens, 0, input, 1, promptTokens.length);
+            }
+            pendingToken = NO_TOKEN;
+
+            if (position + input.length > contextSize) {
+                throw new LlamaCppJnaException(String.format("Prompt does not fit the context, position: %d, prompt tokens: %d, context size: %d",
+                        position, input.length, contextSize));
+            }
+
+            int result = llamaProcessingBinding.decodeTokens(context, batch, input, position, SEQUENCE_ID);
+            if (result == 0) {
+                position += input.length;
+            } else {
+                // Chunks decoded before the failure are dropped, so a continuation decodes from the same position
+                llamaMemoryBinding.sequenceRemove(memory, SEQUENCE_ID, position, -1);
+                if (!options.isClearMemory()) {
+                    pendingToken = previousPendingToken;
+                }
+            }
+
+            long promptTimeNanos = System.nanoTime() - startNanos;
+
+            LlamaFinishReason finishReason = result == 0 ? null : decodeFailure(result);
+            int logitsIndex = (input.length - 1) % batch.getCapacity();
+            int generated = 0;
+            long firstTokenNanos = 0;
+
+            while (finishReason == null) {
+                int token = llamaSamplerBinding.sampleToken(sampler, context, logitsIndex);
+
+                if (generated == 0) {
+                    firstTokenNanos = System.nanoTime();
+                }
+
+                if (llamaVocabularyBinding.isEndOfGeneration(vocabulary, token)) {
+                    finishReason = LlamaFinishReason.END_OF_GENERATION;
+                    break;
+                }
+
+                int textStart = text.length();
+                detokenizer.push(token, text);
+
+                if (detokenizer.isStopped() && detokenizer.getStopToken() == token) {
+                    finishReason = LlamaFinishReason.STOP_SEQUENCE;
+                    break;
+                }
+
+                if (generated == tokens.length) {
+                    tokens = Arrays.copyOf(tokens, tokens.length * 2);
+                }
+                tokens[generated++] = token;
+                pendingToken = token;
+
+                if (!listener.onToken(token, textView.of(textStart, text.length()))) {
+                    finishReason = LlamaFinishReason.CANCELLED;
+                } else if (detokenizer.isStopped()) {
+                    finishReason = LlamaFinishReason.STOP_SEQUENCE;
+                } else if (generated >= options.getMaxTokens()) {
+                    finishReason = LlamaFinishReason.MAX_TOKENS;
+                } else if (position >= contextSize) {
+                    finishReason = LlamaFinishReason.CONTEXT_FULL;
+                } else {
+                    llamaBatchBinding.clearBatch(batch);
+                    llamaBatchBinding.addToken(batch, token, position, SEQUENCE_ID, true);
+
+                    result = llamaProcessingBinding.decodeBatch(context, batch);
+                    if (result != 0) {
+                        finishReason = decodeFailure(result);
+                    } else {
+                        position++;
+                        pendingToken = NO_TOKEN;
+                        logitsIndex = 0;
+                    }
+                }
+            }
+
+            detokenizer.flush(text);
+
+            long endNanos = System.nanoTime();
+
+            LlamaGeneratorResult generatorResult = new LlamaGeneratorResult()
+                    .setText(text.toString())
+                    .setTokens(Arrays.copyOf(tokens, generated))
+                    .setFinishReason(finishReason)
+                    .setStopSequence(detokenizer.getStopSequence())
+                    .setPromptTokenCount(input.length)
+                    .setPromptTimeNanos(promptTimeNanos)
+                    .setTimeToFirstTokenNanos(firstTokenNanos > 0 ? firstTokenNanos - startNanos : 0)
+                    .setGenerationTimeNanos(endNanos - startNanos - promptTimeNanos);
+
+            logger.debug("Generation completed, result: {}", generatorResult);
+
+            return generatorResult;
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to generate, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to generate, error: %s", e.getMessage()), e);
+        } finally {
+            // Keep the capacity, drop the content
+            text.setLength(0);
+        }
+    }
+
+    @Override
+    public int rewind(int position) {
+        if (closed) {
+            throw new LlamaCppJnaException("Generator is closed");
+        }
+
+        if (position < 0 || position > this.position) {
+            throw new LlamaCppJnaException(String.format("Rewind position %d is out of range, position: %d", position, this.position));
+        }
+
+        pendingToken = NO_TOKEN;
+
+        if (position < this.position && !llamaMemoryBinding.sequenceRemove(memory, SEQUENCE_ID, position, -1)) {
+            logger.debug("Partial sequence removal failed, clearing the sequence, position: {}", position);
+            llamaMemoryBinding.sequenceRemove(memory, SEQUENCE_ID, -1, -1);
+            position = 0;
+        }
+
+        this.position = position;
+        return position;
+    }
+
+    @Override
+    public LlamaSampler getSampler() {
+        return sampler;
+    }
+
+    @Override
+    public LlamaContext getContext() {
+        return context;
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        llamaSamplerBinding.freeSampler(sampler);
+        llamaBatchBinding.freeBatch(batch);
+    }
+
+    /**
+     * Reset or rebuild the sampler chain and the detokenizer for the options.
+     */
+    private void prepare(LlamaGeneratorOptions options) {
+        LlamaSamplerConfig requested = options.getSamplerConfig();
+        if (requested != null && !requested.equals(samplerConfig)) {
+            LlamaSampler rebuilt = llamaSamplerChainBinding.build(model, requested);
+            llamaSamplerBinding.freeSampler(sampler);
+            sampler = rebuilt;
+            samplerConfig = requested.copy();
+        } else {
+            llamaSamplerBinding.resetSampler(sampler);
+        }
+
+        if (detokenizer != null
+                && detokenizerSpecial == options.isSpecial()
+                && detokenizerStopSequences.equals(options.getStopSequences())
+                && Arrays.equals(detokenizerStopTokens, options.getStopTokens())) {
+            detokenizer.reset();
+        } else {
+            detokenizer = llamaTokenBinding.createStreamingDetokenizer(vocabulary, options.isSpecial(),
+                    LlamaStopSequenceMatcher.compile(options.getStopSequences(), options.getStopTokens()));
+            detokenizerStopSequences = new ArrayList<>(options.getStopSequences());
+            detokenizerStopTokens = options.getStopTokens().clone();
+            detokenizerSpecial = options.isSpecial();
+        }
+    }
+
+    private LlamaFinishReason decodeFailure(int result) {
+        if (llamaProcessingBinding.isAborted(result)) {
+            return LlamaFinishReason.ABORTED;
+        }
+        logger.warn("Stopping generation, decode result: {}", llamaProcessingBinding.getResultDescription(result));
+        return LlamaFinishReason.CONTEXT_FULL;
+    }
+
+    /**
+     * Reused window over the generated text, handed to listeners without copying.
+     */
+    private static final class TextView implements CharSequence {
+
+        private final StringBuilder text;
+        private int start;
+        private int end;
+
+        private TextView(StringBuilder text) {
+            this.text = text;
+        }
+
+        private TextView of(int start, int end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException(String.format("Index: %d, length: %d", index, end - start));
+            }
+            return text.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return text.subSequence(start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return text.substring(start, end);
+        }
+    }
+}
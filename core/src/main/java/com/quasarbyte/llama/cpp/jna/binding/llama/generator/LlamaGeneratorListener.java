@@ -0,0 +1,18 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.generator;
+
+/**
+ * Receives tokens while {@link LlamaGenerator} runs, on the generating thread.
+ */
+@FunctionalInterface
+public interface LlamaGeneratorListener {
+
+    LlamaGeneratorListener NONE = (token, text) -> true;
+
+    /**
+     * @param token generated token
+     * @param text  text that became final with this token, often empty; a reused view that is
+     *              only valid during the call, use {@code toString()} to keep it
+     * @return true to continue, false to stop the generation
+     */
+    boolean onToken(int token, CharSequence text);
+}
@@ -0,0 +1,89 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * Cache of parsed grammar samplers.
+ * <p>
+ * Creating a grammar sampler parses the GBNF text and builds the grammar stacks, which is
+ * expensive for large grammars such as JSON schemas. The cache keeps one prototype sampler per
+ * grammar text, root rule and vocabulary and hands out {@code llama_sampler_clone} copies,
+ * which reuse the parsed rules. Prototypes are kept in a bounded LRU and freed natively when evicted.
+ * <p>
+ * Prototypes are keyed by the native vocabulary address and reference that vocabulary. Callers must
+ * call {@link #invalidate(LlamaVocabulary)} before freeing the model, otherwise a model loaded later
+ * at the same address would be served clones that point at the freed vocabulary.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaGrammarSamplerCache grammarCache = new LlamaGrammarSamplerCacheFactory().create(llamaLibrary, 32);
+ *
+ * // per request
+ * LlamaSampler chain = samplerService.createChainSampler(false);
+ * samplerService.addSamplerToChain(grammarCache.acquire(vocabulary, grammar, "root"), chain);
+ * samplerService.addSamplerToChain(samplerService.createDistributionSampler(seed), chain);
+ * // ... generate ...
+ * samplerService.freeSampler(chain);
+ *
+ * // before freeing the model
+ * grammarCache.invalidate(vocabulary);
+ * }</pre>
+ * Implementations are thread-safe.
+ */
+public interface LlamaGrammarSamplerCache {
+
+    /**
+     * Get a fresh grammar sampler, parsing the grammar only on the first request.
+     *
+     * @param vocabulary  vocabulary the grammar is compiled against
+     * @param grammarStr  GBNF grammar text
+     * @param grammarRoot name of the start rule
+     * @return a new sampler owned by the caller; free it or add it to a chain
+     */
+    LlamaSampler acquire(LlamaVocabulary vocabulary, String grammarStr, String grammarRoot);
+
+    /**
+     * Get a fresh lazy grammar sampler, which only constrains output after a trigger pattern
+     * or token has been generated.
+     *
+     * @param vocabulary      vocabulary the grammar is compiled against
+     * @param grammarStr      GBNF grammar text
+     * @param grammarRoot     name of the start rule
+     * @param triggerPatterns regular expressions that activate the grammar
+     * @param triggerTokens   tokens that activate the grammar
+     * @return a new sampler owned by the caller; free it or add it to a chain
+     */
+    LlamaSampler acquireLazy(LlamaVocabulary vocabulary, String grammarStr, String grammarRoot,
+                             String[] triggerPatterns, int[] triggerTokens);
+
+    /**
+     * Free the prototypes compiled against the vocabulary. Must be called before the model owning
+     * the vocabulary is freed. Samplers already handed out stay valid until the model is freed.
+     *
+     * @param vocabulary vocabulary of the model about to be freed
+     * @return number of freed prototypes
+     */
+    int invalidate(LlamaVocabulary vocabulary);
+
+    /**
+     * Number of cached prototypes.
+     */
+    int size();
+
+    /**
+     * Maximum number of cached prototypes.
+     */
+    int getCapacity();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    /**
+     * Free all cached prototypes. Samplers already handed out stay valid.
+     */
+    void clear();
+}
@@ -0,0 +1,17 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaGrammarSamplerCacheFactory {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    public LlamaGrammarSamplerCache create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, DEFAULT_CAPACITY);
+    }
+
+    public LlamaGrammarSamplerCache create(LlamaLibrary llamaLibrary, int capacity) {
+        return new LlamaGrammarSamplerCacheImpl(new LlamaSamplerBindingFactory().create(llamaLibrary), capacity);
+    }
+}
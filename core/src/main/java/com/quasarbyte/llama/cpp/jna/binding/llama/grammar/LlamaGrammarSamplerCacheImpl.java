@@ -0,0 +1,194 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class LlamaGrammarSamplerCacheImpl implements LlamaGrammarSamplerCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaGrammarSamplerCacheImpl.class);
+
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final int capacity;
+    private final LinkedHashMap<GrammarKey, LlamaSampler> prototypes;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public LlamaGrammarSamplerCacheImpl(LlamaSamplerBinding llamaSamplerBinding, int capacity) {
+        if (capacity < 1) {
+            throw new LlamaCppJnaException(String.format("Grammar sampler cache capacity must be positive, value: %d", capacity));
+        }
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.capacity = capacity;
+        this.prototypes = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public LlamaSampler acquire(LlamaVocabulary vocabulary, String grammarStr, String grammarRoot) {
+        return acquire(vocabulary, grammarStr, grammarRoot, null, null);
+    }
+
+    @Override
+    public LlamaSampler acquireLazy(LlamaVocabulary vocabulary, String grammarStr, String grammarRoot,
+                                    String[] triggerPatterns, int[] triggerTokens) {
+        Objects.requireNonNull(triggerPatterns);
+        Objects.requireNonNull(triggerTokens);
+        return acquire(vocabulary, grammarStr, grammarRoot, triggerPatterns, triggerTokens);
+    }
+
+    private synchronized LlamaSampler acquire(LlamaVocabulary vocabulary, String grammarStr, String grammarRoot,
+                                              String[] triggerPatterns, int[] triggerTokens) {
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(vocabulary.getVocabularyPointer());
+        Objects.requireNonNull(grammarStr);
+        Objects.requireNonNull(grammarRoot);
+
+        GrammarKey key = new GrammarKey(Pointer.nativeValue(vocabulary.getVocabularyPointer().getPointer()),
+                grammarStr, grammarRoot, triggerPatterns, triggerTokens);
+
+        LlamaSampler prototype = prototypes.get(key);
+
+        if (prototype != null) {
+            hitCount++;
+        } else {
+            missCount++;
+
+            long start = System.nanoTime();
+            prototype = triggerPatterns == null
+                    ? llamaSamplerBinding.createGrammarSampler(vocabulary, grammarStr, grammarRoot)
+                    : llamaSamplerBinding.createGrammarLazyPatternsSampler(vocabulary, grammarStr, grammarRoot, triggerPatterns, triggerTokens);
+
+            logger.debug("Grammar sampler created, grammar length: {}, root: {}, time ms: {}",
+                    grammarStr.length(), grammarRoot, (System.nanoTime() - start) / 1_000_000);
+
+            prototypes.put(key, prototype);
+            evictOverCapacity();
+        }
+
+        return llamaSamplerBinding.cloneSampler(prototype);
+    }
+
+    private void evictOverCapacity() {
+        Iterator<Map.Entry<GrammarKey, LlamaSampler>> iterator = prototypes.entrySet().iterator();
+        while (prototypes.size() > capacity && iterator.hasNext()) {
+            LlamaSampler evicted = iterator.next().getValue();
+            iterator.remove();
+            llamaSamplerBinding.freeSampler(evicted);
+            evictionCount++;
+        }
+    }
+
+    @Override
+    public synchronized int invalidate(LlamaVocabulary vocabulary) {
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(vocabulary.getVocabularyPointer());
+
+        long vocabularyAddress = Pointer.nativeValue(vocabulary.getVocabularyPointer().getPointer());
+        int freed = 0;
+
+        Iterator<Map.Entry<GrammarKey, LlamaSampler>> iterator = prototypes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<GrammarKey, LlamaSampler> entry = iterator.next();
+            if (entry.getKey().vocabularyAddress == vocabularyAddress) {
+                iterator.remove();
+                llamaSamplerBinding.freeSampler(entry.getValue());
+                freed++;
+            }
+        }
+
+        logger.debug("Grammar samplers invalidated, vocabulary: {}, freed: {}", vocabulary.getVocabularyPointer(), freed);
+        return freed;
+    }
+
+    @Override
+    public synchronized int size() {
+        return prototypes.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (LlamaSampler prototype : prototypes.values()) {
+            llamaSamplerBinding.freeSampler(prototype);
+        }
+        prototypes.clear();
+    }
+
+    private static final class GrammarKey {
+        private final long vocabularyAddress;
+        private final String grammarStr;
+        private final String grammarRoot;
+        private final String[] triggerPatterns;
+        private final int[] triggerTokens;
+        private final int hash;
+
+        private GrammarKey(long vocabularyAddress, String grammarStr, String grammarRoot,
+                           String[] triggerPatterns, int[] triggerTokens) {
+            this.vocabularyAddress = vocabularyAddress;
+            this.grammarStr = grammarStr;
+            this.grammarRoot = grammarRoot;
+            this.triggerPatterns = triggerPatterns != null ? triggerPatterns.clone() : null;
+            this.triggerTokens = triggerTokens != null ? triggerTokens.clone() : null;
+
+            int h = Long.hashCode(vocabularyAddress);
+            h = 31 * h + grammarStr.hashCode();
+            h = 31 * h + grammarRoot.hashCode();
+            h = 31 * h + Arrays.hashCode(this.triggerPatterns);
+            h = 31 * h + Arrays.hashCode(this.triggerTokens);
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GrammarKey)) {
+                return false;
+            }
+            GrammarKey other = (GrammarKey) o;
+            return vocabularyAddress == other.vocabularyAddress
+                    && hash == other.hash
+                    && grammarRoot.equals(other.grammarRoot)
+                    && grammarStr.equals(other.grammarStr)
+                    && Arrays.equals(triggerPatterns, other.triggerPatterns)
+                    && Arrays.equals(triggerTokens, other.triggerTokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for schema documents and request bodies.
+ * <p>
+ * Objects become {@link LinkedHashMap} (property order is significant for the grammar),
+ * arrays become {@link List}, numbers become {@link Long} or {@link Double}
+ * (integers outside the {@code long} range become {@link Double}).
+ */
+public final class LlamaJsonParser {
+
+    private final String text;
+    private int position;
+
+    private LlamaJsonParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a complete JSON document.
+     *
+     * @throws LlamaCppJnaException on malformed input
+     */
+    public static Object parse(String text) {
+        LlamaJsonParser parser = new LlamaJsonParser(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    private Object readValue() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+
+        char c = text.charAt(position);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                expectLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                expectLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                expectLiteral("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+
+        if (peek() == '}') {
+            position++;
+            return object;
+        }
+
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected property name");
+            }
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            object.put(name, readValue());
+            skipWhitespace();
+
+            char c = next();
+            if (c == '}') {
+                return object;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+
+        if (peek() == ']') {
+            position++;
+            return array;
+        }
+
+        while (true) {
+            skipWhitespace();
+            array.add(readValue());
+            skipWhitespace();
+
+            char c = next();
+            if (c == ']') {
+                return array;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder builder = new StringBuilder();
+
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+
+            char escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    builder.append(escaped);
+                    break;
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("Invalid escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    private Number readNumber() {
+        int start = position;
+        boolean decimal = false;
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            position++;
+        }
+
+        String number = text.substring(start, position);
+        try {
+            return decimal ? (Number) Double.valueOf(number) : (Number) Long.valueOf(number);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.valueOf(number);
+            } catch (NumberFormatException ignored) {
+                throw error("Invalid number '" + number + "'");
+            }
+        }
+    }
+
+    private void expectLiteral(String literal) {
+        if (!text.startsWith(literal, position)) {
+            throw error("Expected '" + literal + "'");
+        }
+        position += literal.length();
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            position--;
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private LlamaCppJnaException error(String message) {
+        return new LlamaCppJnaException(String.format("Invalid JSON, %s at position %d", message, position));
+    }
+}
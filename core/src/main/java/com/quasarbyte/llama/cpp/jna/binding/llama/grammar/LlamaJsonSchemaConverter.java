@@ -0,0 +1,750 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a JSON schema into a GBNF grammar, following the rule layout of llama.cpp's
+ * {@code json-schema-to-grammar}.
+ * <p>
+ * Supported: {@code type} (including type lists), {@code properties}/{@code required},
+ * {@code items}/{@code prefixItems}/{@code minItems}/{@code maxItems}, {@code enum}, {@code const},
+ * {@code oneOf}/{@code anyOf}, local {@code $ref} (recursive references allowed),
+ * {@code minLength}/{@code maxLength} and {@code pattern} for strings. Objects with declared
+ * properties only accept those properties, in declaration order.
+ */
+final class LlamaJsonSchemaConverter {
+
+    private static final String SPACE_RULE = "| \" \" | \"\\n\" [ \\t]{0,20}";
+
+    private static final Map<String, String> PRIMITIVE_RULES = new HashMap<>();
+    private static final Map<String, List<String>> PRIMITIVE_DEPENDENCIES = new HashMap<>();
+
+    static {
+        primitive("space", SPACE_RULE);
+        primitive("boolean", "(\"true\" | \"false\") space", "space");
+        primitive("null", "\"null\" space", "space");
+        primitive("char", "[^\"\\\\\\x7F\\x00-\\x1F] | [\\\\] ([\"\\\\bfnrt] | \"u\" [0-9a-fA-F]{4})");
+        primitive("integral-part", "[0] | [1-9] [0-9]{0,15}");
+        primitive("decimal-part", "[0-9]{1,16}");
+        primitive("integer", "(\"-\"? integral-part) space", "integral-part", "space");
+        primitive("number", "(\"-\"? integral-part) (\".\" decimal-part)? ([eE] [-+]? integral-part)? space",
+                "integral-part", "decimal-part", "space");
+        primitive("string", "\"\\\"\" char* \"\\\"\" space", "char", "space");
+        primitive("object", "\"{\" space ( string \":\" space value (\",\" space string \":\" space value)* )? \"}\" space",
+                "string", "value", "space");
+        primitive("array", "\"[\" space ( value (\",\" space value)* )? \"]\" space", "value", "space");
+        primitive("value", "object | array | string | number | boolean | null",
+                "object", "array", "string", "number", "boolean", "null");
+    }
+
+    private final Map<String, Object> rootSchema;
+    private final Map<String, String> rules = new LinkedHashMap<>();
+    private final Map<String, String> refRules = new HashMap<>();
+
+    private LlamaJsonSchemaConverter(Map<String, Object> rootSchema) {
+        this.rootSchema = rootSchema;
+    }
+
+    static String convert(Object schema) {
+        Map<String, Object> root = asSchema(schema, "root");
+        LlamaJsonSchemaConverter converter = new LlamaJsonSchemaConverter(root);
+        converter.visit(root, "root");
+        return converter.format();
+    }
+
+    private static void primitive(String name, String body, String... dependencies) {
+        PRIMITIVE_RULES.put(name, body);
+        PRIMITIVE_DEPENDENCIES.put(name, Arrays.asList(dependencies));
+    }
+
+    private String format() {
+        StringBuilder grammar = new StringBuilder();
+        grammar.append("root ::= ").append(rules.get("root")).append('\n');
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            if (!"root".equals(rule.getKey())) {
+                grammar.append(rule.getKey()).append(" ::= ").append(rule.getValue()).append('\n');
+            }
+        }
+        return grammar.toString();
+    }
+
+    private String visit(Object schema, String name) {
+        return addRule(name, generate(asSchema(schema, name), name));
+    }
+
+    private String addRule(String name, String body) {
+        String key = ruleKey(name);
+
+        String existing = rules.get(key);
+        if (existing == null || existing.equals(body)) {
+            rules.put(key, body);
+            return key;
+        }
+
+        int suffix = 0;
+        while (rules.containsKey(key + suffix) && !rules.get(key + suffix).equals(body)) {
+            suffix++;
+        }
+        rules.put(key + suffix, body);
+        return key + suffix;
+    }
+
+    private String reserveRule(String name) {
+        String key = ruleKey(name);
+        int suffix = 0;
+        String candidate = key;
+        while (rules.containsKey(candidate)) {
+            candidate = key + suffix++;
+        }
+        rules.put(candidate, "");
+        return candidate;
+    }
+
+    private static String ruleKey(String name) {
+        String key = name.replaceAll("[^a-zA-Z0-9-]+", "-");
+        return key.isEmpty() ? "rule" : key;
+    }
+
+    private String addPrimitive(String name) {
+        if (!rules.containsKey(name)) {
+            rules.put(name, PRIMITIVE_RULES.get(name));
+            for (String dependency : PRIMITIVE_DEPENDENCIES.get(name)) {
+                addPrimitive(dependency);
+            }
+        }
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String generate(Map<String, Object> schema, String name) {
+        for (String keyword : new String[]{"allOf", "not", "if", "patternProperties"}) {
+            if (schema.containsKey(keyword)) {
+                throw new LlamaCppJnaException(String.format("Unsupported JSON schema keyword: %s, rule: %s", keyword, name));
+            }
+        }
+
+        if (schema.containsKey("$ref")) {
+            return resolveReference(String.valueOf(schema.get("$ref")));
+        }
+
+        Object alternatives = schema.containsKey("oneOf") ? schema.get("oneOf") : schema.get("anyOf");
+        if (alternatives != null) {
+            List<Object> options = asList(alternatives, name);
+            List<String> names = new ArrayList<>(options.size());
+            for (int i = 0; i < options.size(); i++) {
+                names.add(visit(options.get(i), name + "-" + i));
+            }
+            return String.join(" | ", names);
+        }
+
+        if (schema.containsKey("const")) {
+            return literal(toJson(schema.get("const"))) + " " + addPrimitive("space");
+        }
+
+        if (schema.containsKey("enum")) {
+            List<String> values = new ArrayList<>();
+            for (Object value : asList(schema.get("enum"), name)) {
+                values.add(literal(toJson(value)));
+            }
+            return "(" + String.join(" | ", values) + ") " + addPrimitive("space");
+        }
+
+        Object type = schema.get("type");
+
+        if (type instanceof List) {
+            List<String> names = new ArrayList<>();
+            for (Object single : (List<Object>) type) {
+                Map<String, Object> copy = new LinkedHashMap<>(schema);
+                copy.put("type", single);
+                names.add(visit(copy, name + "-" + single));
+            }
+            return String.join(" | ", names);
+        }
+
+        if ("object".equals(type) || (type == null && schema.containsKey("properties"))) {
+            return generateObject(schema, name);
+        }
+
+        if ("array".equals(type) || (type == null && (schema.containsKey("items") || schema.containsKey("prefixItems")))) {
+            return generateArray(schema, name);
+        }
+
+        if ("string".equals(type)) {
+            return generateString(schema);
+        }
+
+        if (type == null) {
+            return addPrimitive("value");
+        }
+
+        switch (String.valueOf(type)) {
+            case "integer":
+            case "number":
+            case "boolean":
+            case "null":
+                return addPrimitive(String.valueOf(type));
+            default:
+                throw new LlamaCppJnaException(String.format("Unsupported JSON schema type: %s, rule: %s", type, name));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String generateObject(Map<String, Object> schema, String name) {
+        Object properties = schema.get("properties");
+
+        if (!(properties instanceof Map) || ((Map<String, Object>) properties).isEmpty()) {
+            return addPrimitive("object");
+        }
+
+        List<Object> requiredList = schema.containsKey("required") ? asList(schema.get("required"), name) : Collections.emptyList();
+
+        List<String> required = new ArrayList<>();
+        List<String> optional = new ArrayList<>();
+
+        for (Map.Entry<String, Object> property : ((Map<String, Object>) properties).entrySet()) {
+            String valueRule = visit(property.getValue(), name + "-" + property.getKey());
+            String keyValueRule = addRule(name + "-" + property.getKey() + "-kv",
+                    literal(toJson(property.getKey())) + " " + addPrimitive("space") + " \":\" space " + valueRule);
+
+            if (requiredList.contains(property.getKey())) {
+                required.add(keyValueRule);
+            } else {
+                optional.add(keyValueRule);
+            }
+        }
+
+        StringBuilder body = new StringBuilder("\"{\" space ");
+
+        if (!required.isEmpty()) {
+            body.append(String.join(" \",\" space ", required));
+            for (String keyValue : optional) {
+                body.append(" ( \",\" space ").append(keyValue).append(" )?");
+            }
+        } else {
+            // Any ordered subset of the optional properties, the first one without a leading comma
+            List<String> choices = new ArrayList<>();
+            for (int first = 0; first < optional.size(); first++) {
+                StringBuilder choice = new StringBuilder(optional.get(first));
+                for (int next = first + 1; next < optional.size(); next++) {
+                    choice.append(" ( \",\" space ").append(optional.get(next)).append(" )?");
+                }
+                choices.add(choice.toString());
+            }
+            body.append("( ").append(String.join(" | ", choices)).append(" )?");
+        }
+
+        return body.append(" \"}\" space").toString();
+    }
+
+    private String generateArray(Map<String, Object> schema, String name) {
+        addPrimitive("space");
+
+        if (schema.containsKey("prefixItems")) {
+            List<Object> prefixItems = asList(schema.get("prefixItems"), name);
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < prefixItems.size(); i++) {
+                items.add(visit(prefixItems.get(i), name + "-tuple-" + i));
+            }
+            return "\"[\" space " + String.join(" \",\" space ", items) + " \"]\" space";
+        }
+
+        String itemRule = schema.containsKey("items") ? visit(schema.get("items"), name + "-item") : addPrimitive("value");
+        int minItems = intValue(schema.get("minItems"), 0);
+        int maxItems = intValue(schema.get("maxItems"), -1);
+
+        if (maxItems == 0) {
+            return "\"[\" space \"]\" space";
+        }
+
+        String items = itemRule;
+        if (maxItems != 1) {
+            items += " ( \",\" space " + itemRule + " )" + quantifier(Math.max(minItems - 1, 0), maxItems < 0 ? -1 : maxItems - 1);
+        }
+        if (minItems == 0) {
+            items = "( " + items + " )?";
+        }
+
+        return "\"[\" space " + items + " \"]\" space";
+    }
+
+    private String generateString(Map<String, Object> schema) {
+        addPrimitive("space");
+
+        if (schema.containsKey("pattern")) {
+            return "\"\\\"\" " + new PatternTranslator(String.valueOf(schema.get("pattern"))).translate() + " \"\\\"\" space";
+        }
+
+        if (schema.containsKey("minLength") || schema.containsKey("maxLength")) {
+            int minLength = intValue(schema.get("minLength"), 0);
+            int maxLength = intValue(schema.get("maxLength"), -1);
+            return "\"\\\"\" " + addPrimitive("char") + quantifier(minLength, maxLength) + " \"\\\"\" space";
+        }
+
+        return addPrimitive("string");
+    }
+
+    private String resolveReference(String reference) {
+        String existing = refRules.get(reference);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (!reference.startsWith("#")) {
+            throw new LlamaCppJnaException(String.format("Only local JSON schema references are supported, ref: %s", reference));
+        }
+
+        Object target = rootSchema;
+        String[] segments = reference.length() > 2 ? reference.substring(2).split("/") : new String[0];
+        for (String segment : segments) {
+            String key = segment.replace("~1", "/").replace("~0", "~");
+            if (!(target instanceof Map) || !((Map<?, ?>) target).containsKey(key)) {
+                throw new LlamaCppJnaException(String.format("Unresolved JSON schema reference: %s", reference));
+            }
+            target = ((Map<?, ?>) target).get(key);
+        }
+
+        // Reserve the rule name first so recursive references resolve to it
+        String ruleName = reserveRule(segments.length > 0 ? "ref-" + segments[segments.length - 1] : "ref-root");
+        refRules.put(reference, ruleName);
+        rules.put(ruleName, generate(asSchema(target, ruleName), ruleName));
+        return ruleName;
+    }
+
+    private static String quantifier(int min, int max) {
+        if (max < 0) {
+            return min == 0 ? "*" : min == 1 ? "+" : "{" + min + ",}";
+        }
+        if (min == 0 && max == 1) {
+            return "?";
+        }
+        return min == max ? "{" + min + "}" : "{" + min + "," + max + "}";
+    }
+
+    private static int intValue(Object value, int defaultValue) {
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asSchema(Object schema, String name) {
+        if (Boolean.TRUE.equals(schema)) {
+            return Collections.emptyMap();
+        }
+        if (!(schema instanceof Map)) {
+            throw new LlamaCppJnaException(String.format("JSON schema must be an object, rule: %s", name));
+        }
+        return (Map<String, Object>) schema;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value, String name) {
+        if (!(value instanceof List)) {
+            throw new LlamaCppJnaException(String.format("JSON schema array expected, rule: %s", name));
+        }
+        return (List<Object>) value;
+    }
+
+    /**
+     * Serialize a JSON scalar the way it must appear in the output.
+     */
+    private static String toJson(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String) {
+            StringBuilder builder = new StringBuilder("\"");
+            for (char c : ((String) value).toCharArray()) {
+                builder.append(jsonEscape(c));
+            }
+            return builder.append('"').toString();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        throw new LlamaCppJnaException("Only scalar values are supported in enum and const");
+    }
+
+    private static String jsonEscape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            default:
+                return c < 0x20 || c == 0x7F ? String.format("\\u%04x", (int) c) : String.valueOf(c);
+        }
+    }
+
+    /**
+     * Quote text as a GBNF string literal.
+     */
+    private static String literal(String text) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Translates the regular expression subset commonly used in schemas: literals, escapes
+     * ({@code \d \w \s} and negations, {@code \n \t \r \f \v \0 \xHH \\uHHHH}), character classes,
+     * {@code .}, groups, alternation and the quantifiers {@code * + ? {m} {m,} {m,n}}. Patterns are
+     * treated as anchored and match the decoded string, so characters that JSON requires to be
+     * escaped are produced as escape sequences.
+     */
+    private final class PatternTranslator {
+
+        private final String pattern;
+        private int position;
+
+        private PatternTranslator(String pattern) {
+            int start = pattern.startsWith("^") ? 1 : 0;
+            int end = pattern.endsWith("$") && !pattern.endsWith("\\$") ? pattern.length() - 1 : pattern.length();
+            this.pattern = pattern.substring(start, Math.max(start, end));
+        }
+
+        private String translate() {
+            String result = alternation();
+            if (position < pattern.length()) {
+                throw error("unbalanced ')'");
+            }
+            return "(" + result + ")";
+        }
+
+        private String alternation() {
+            List<String> sequences = new ArrayList<>();
+            sequences.add(sequence());
+            while (position < pattern.length() && pattern.charAt(position) == '|') {
+                position++;
+                sequences.add(sequence());
+            }
+            return String.join(" | ", sequences);
+        }
+
+        private String sequence() {
+            // Plain characters are merged into one literal, quantified atoms stay separate
+            List<String> parts = new ArrayList<>();
+            StringBuilder pendingLiteral = new StringBuilder();
+
+            while (position < pattern.length() && pattern.charAt(position) != '|' && pattern.charAt(position) != ')') {
+                String atom;
+                String literalChar = null;
+                char c = pattern.charAt(position++);
+
+                if (c == '(') {
+                    if (pattern.startsWith("?:", position)) {
+                        position += 2;
+                    }
+                    atom = "(" + alternation() + ")";
+                    if (position >= pattern.length() || pattern.charAt(position) != ')') {
+                        throw error("missing ')'");
+                    }
+                    position++;
+                } else if (c == '[') {
+                    atom = characterClass();
+                } else if (c == '.') {
+                    atom = addPrimitive("char");
+                } else if (c == '\\') {
+                    if (position >= pattern.length()) {
+                        throw error("trailing '\\'");
+                    }
+                    char escaped = pattern.charAt(position++);
+                    atom = escapeClass(escaped);
+                    if (atom == null) {
+                        literalChar = jsonEscape(escapedChar(escaped));
+                    }
+                } else {
+                    literalChar = jsonEscape(c);
+                    atom = null;
+                }
+
+                String quantifier = quantifier();
+
+                if (literalChar != null && quantifier.isEmpty()) {
+                    pendingLiteral.append(literalChar);
+                    continue;
+                }
+
+                if (pendingLiteral.length() > 0) {
+                    parts.add(literal(pendingLiteral.toString()));
+                    pendingLiteral.setLength(0);
+                }
+                parts.add((atom != null ? atom : literal(literalChar)) + quantifier);
+            }
+
+            if (pendingLiteral.length() > 0) {
+                parts.add(literal(pendingLiteral.toString()));
+            }
+
+            return parts.isEmpty() ? "\"\"" : String.join(" ", parts);
+        }
+
+        private String quantifier() {
+            if (position >= pattern.length()) {
+                return "";
+            }
+
+            char c = pattern.charAt(position);
+            String quantifier;
+
+            if (c == '*' || c == '+' || c == '?') {
+                position++;
+                quantifier = String.valueOf(c);
+            } else if (c == '{') {
+                int end = pattern.indexOf('}', position);
+                if (end < 0 || !pattern.substring(position + 1, end).matches("\\d+(,\\d*)?")) {
+                    return "";
+                }
+                quantifier = pattern.substring(position, end + 1);
+                position = end + 1;
+            } else {
+                return "";
+            }
+
+            // Lazy and possessive modifiers do not change the accepted language
+            if (position < pattern.length() && (pattern.charAt(position) == '?' || pattern.charAt(position) == '+')) {
+                position++;
+            }
+            return quantifier;
+        }
+
+        private String characterClass() {
+            boolean negated = position < pattern.length() && pattern.charAt(position) == '^';
+            if (negated) {
+                position++;
+            }
+
+            CharacterSet set = new CharacterSet();
+            boolean first = true;
+            while (position < pattern.length() && (first || pattern.charAt(position) != ']')) {
+                char c = pattern.charAt(position++);
+                first = false;
+
+                int low;
+                if (c == '\\' && position < pattern.length()) {
+                    char escaped = pattern.charAt(position++);
+                    if (set.addShorthand(escaped)) {
+                        continue;
+                    }
+                    if (escaped == 'D' || escaped == 'W' || escaped == 'S') {
+                        throw error("negated shorthand in a character class");
+                    }
+                    low = escapedChar(escaped);
+                } else {
+                    low = c;
+                }
+
+                int high = low;
+                if (position + 1 < pattern.length() && pattern.charAt(position) == '-' && pattern.charAt(position + 1) != ']') {
+                    position++;
+                    char next = pattern.charAt(position++);
+                    high = next == '\\' && position < pattern.length() ? escapedChar(pattern.charAt(position++)) : next;
+                    if (high < low) {
+                        throw error("invalid range in a character class");
+                    }
+                }
+                set.add(low, high);
+            }
+
+            if (position >= pattern.length()) {
+                throw error("missing ']'");
+            }
+            position++;
+            return negated ? set.renderNegated() : set.render();
+        }
+
+        private String escapeClass(char escaped) {
+            CharacterSet set = new CharacterSet();
+            switch (escaped) {
+                case 'd':
+                case 'w':
+                case 's':
+                    set.addShorthand(escaped);
+                    return set.render();
+                case 'D':
+                case 'W':
+                case 'S':
+                    set.addShorthand(Character.toLowerCase(escaped));
+                    return set.renderNegated();
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Character denoted by a pattern escape: control escapes and {@code \xHH}/{@code \\uHHHH} are decoded,
+         * any other escaped character stands for itself.
+         */
+        private char escapedChar(char escaped) {
+            switch (escaped) {
+                case 'n':
+                    return '\n';
+                case 't':
+                    return '\t';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'v':
+                    return '\u000B';
+                case '0':
+                    return '\0';
+                case 'x':
+                    return hexChar(2);
+                case 'u':
+                    return hexChar(4);
+                default:
+                    return escaped;
+            }
+        }
+
+        private char hexChar(int digits) {
+            if (position + digits > pattern.length() || !pattern.substring(position, position + digits).matches("[0-9a-fA-F]+")) {
+                throw error("invalid hexadecimal escape");
+            }
+            char c = (char) Integer.parseInt(pattern.substring(position, position + digits), 16);
+            position += digits;
+            return c;
+        }
+
+        private LlamaCppJnaException error(String message) {
+            return new LlamaCppJnaException(String.format("Unsupported string pattern '%s': %s", pattern, message));
+        }
+    }
+
+    /**
+     * Character ranges of a pattern class, rendered so that the grammar only produces valid JSON
+     * string content: characters that must be escaped in JSON ({@code "}, {@code \}, control
+     * characters and DEL) are taken out of the GBNF class and matched as JSON escape sequences,
+     * and negated classes always exclude them.
+     */
+    private static final class CharacterSet {
+
+        private static final String JSON_UNSAFE = "\"\\\\\\x7F\\x00-\\x1F";
+
+        private final List<int[]> ranges = new ArrayList<>();
+
+        private void add(int low, int high) {
+            ranges.add(new int[]{low, high});
+        }
+
+        private boolean addShorthand(char shorthand) {
+            switch (shorthand) {
+                case 'd':
+                    add('0', '9');
+                    return true;
+                case 'w':
+                    add('a', 'z');
+                    add('A', 'Z');
+                    add('0', '9');
+                    add('_', '_');
+                    return true;
+                case 's':
+                    add(' ', ' ');
+                    add('\t', '\r');
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private String render() {
+            StringBuilder safe = new StringBuilder();
+            List<String> escapes = new ArrayList<>();
+
+            for (int[] range : ranges) {
+                int low = range[0];
+                for (int c = range[0]; c <= range[1]; c++) {
+                    if (isJsonUnsafe(c)) {
+                        appendRange(safe, low, c - 1);
+                        String escape = literal(jsonEscape((char) c));
+                        if (!escapes.contains(escape)) {
+                            escapes.add(escape);
+                        }
+                        low = c + 1;
+                    } else if (c > 0x7F) {
+                        // Everything above DEL is safe, finish the range in one step
+                        c = range[1];
+                    }
+                }
+                appendRange(safe, low, range[1]);
+            }
+
+            // Never empty: every range contributes safe characters, escapes or both
+            List<String> alternatives = new ArrayList<>();
+            if (safe.length() > 0) {
+                alternatives.add("[" + safe + "]");
+            }
+            alternatives.addAll(escapes);
+
+            return alternatives.size() == 1 ? alternatives.get(0) : "(" + String.join(" | ", alternatives) + ")";
+        }
+
+        private String renderNegated() {
+            StringBuilder builder = new StringBuilder("[^");
+            for (int[] range : ranges) {
+                appendRange(builder, range[0], range[1]);
+            }
+            return builder.append(JSON_UNSAFE).append(']').toString();
+        }
+
+        private static boolean isJsonUnsafe(int c) {
+            return c < 0x20 || c == '"' || c == '\\' || c == 0x7F;
+        }
+
+        private static void appendRange(StringBuilder builder, int low, int high) {
+            if (low > high) {
+                return;
+            }
+            builder.append(classChar(low));
+            if (high > low) {
+                builder.append('-').append(classChar(high));
+            }
+        }
+
+        private static String classChar(int c) {
+            switch (c) {
+                case '\\':
+                case ']':
+                case '[':
+                case '-':
+                case '^':
+                    return "\\" + (char) c;
+                default:
+                    return c < 0x20 || c == 0x7F ? String.format("\\x%02X", c) : String.valueOf((char) c);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * Structured JSON output driven by a JSON schema.
+ * <p>
+ * The schema is compiled to GBNF in Java and handed to the llama.cpp grammar sampler.
+ * Supported schema features: {@code type}, {@code properties}/{@code required},
+ * {@code items}/{@code prefixItems}/{@code minItems}/{@code maxItems}, {@code enum}, {@code const},
+ * {@code oneOf}/{@code anyOf}, local {@code $ref} and string {@code pattern}/{@code minLength}/{@code maxLength}.
+ * Objects with declared properties only accept those properties, in declaration order.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * String schema = "{\"type\":\"object\",\"properties\":{"
+ *         + "\"name\":{\"type\":\"string\"},"
+ *         + "\"age\":{\"type\":\"integer\"},"
+ *         + "\"tags\":{\"type\":\"array\",\"items\":{\"enum\":[\"a\",\"b\"]}}},"
+ *         + "\"required\":[\"name\",\"age\"]}";
+ *
+ * LlamaSampler chain = samplerService.createChainSampler(false);
+ * samplerService.addSamplerToChain(jsonSchemaService.createSampler(vocabulary, schema), chain);
+ * samplerService.addSamplerToChain(samplerService.createGreedySampler(), chain);
+ * }</pre>
+ */
+public interface LlamaJsonSchemaGrammarBinding {
+
+    /**
+     * Compile a JSON schema into a GBNF grammar with a {@code root} start rule.
+     *
+     * @param schemaJson JSON schema document
+     * @return GBNF grammar text
+     */
+    String toGrammar(String schemaJson);
+
+    /**
+     * Create a grammar sampler constraining output to the schema.
+     *
+     * @param vocabulary vocabulary of the model
+     * @param schemaJson JSON schema document
+     * @return a new sampler owned by the caller; free it or add it to a chain
+     */
+    LlamaSampler createSampler(LlamaVocabulary vocabulary, String schemaJson);
+
+    /**
+     * Create a lazy grammar sampler that leaves output unconstrained until a trigger pattern
+     * or token is generated, e.g. the opening tag of a tool call.
+     *
+     * @param vocabulary      vocabulary of the model
+     * @param schemaJson      JSON schema document
+     * @param triggerPatterns regular expressions that activate the grammar
+     * @param triggerTokens   tokens that activate the grammar
+     * @return a new sampler owned by the caller; free it or add it to a chain
+     */
+    LlamaSampler createLazySampler(LlamaVocabulary vocabulary, String schemaJson, String[] triggerPatterns, int[] triggerTokens);
+}
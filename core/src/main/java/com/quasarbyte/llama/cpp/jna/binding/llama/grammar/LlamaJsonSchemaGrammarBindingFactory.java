@@ -0,0 +1,15 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaJsonSchemaGrammarBindingFactory {
+
+    public LlamaJsonSchemaGrammarBinding create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, null);
+    }
+
+    public LlamaJsonSchemaGrammarBinding create(LlamaLibrary llamaLibrary, LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        return new LlamaJsonSchemaGrammarBindingImpl(new LlamaSamplerBindingFactory().create(llamaLibrary), llamaGrammarSamplerCache);
+    }
+}
@@ -0,0 +1,52 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.grammar;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+public class LlamaJsonSchemaGrammarBindingImpl implements LlamaJsonSchemaGrammarBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaJsonSchemaGrammarBindingImpl.class);
+
+    private static final String GRAMMAR_ROOT = "root";
+
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaGrammarSamplerCache llamaGrammarSamplerCache;
+
+    /**
+     * @param llamaSamplerBinding      sampler binding
+     * @param llamaGrammarSamplerCache optional cache of parsed grammars, may be null
+     */
+    public LlamaJsonSchemaGrammarBindingImpl(LlamaSamplerBinding llamaSamplerBinding, LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaGrammarSamplerCache = llamaGrammarSamplerCache;
+    }
+
+    @Override
+    public String toGrammar(String schemaJson) {
+        Objects.requireNonNull(schemaJson);
+        String grammar = LlamaJsonSchemaConverter.convert(LlamaJsonParser.parse(schemaJson));
+        logger.debug("JSON schema converted to grammar:\n{}", grammar);
+        return grammar;
+    }
+
+    @Override
+    public LlamaSampler createSampler(LlamaVocabulary vocabulary, String schemaJson) {
+        String grammar = toGrammar(schemaJson);
+        return llamaGrammarSamplerCache != null
+                ? llamaGrammarSamplerCache.acquire(vocabulary, grammar, GRAMMAR_ROOT)
+                : llamaSamplerBinding.createGrammarSampler(vocabulary, grammar, GRAMMAR_ROOT);
+    }
+
+    @Override
+    public LlamaSampler createLazySampler(LlamaVocabulary vocabulary, String schemaJson, String[] triggerPatterns, int[] triggerTokens) {
+        String grammar = toGrammar(schemaJson);
+        return llamaGrammarSamplerCache != null
+                ? llamaGrammarSamplerCache.acquireLazy(vocabulary, grammar, GRAMMAR_ROOT, triggerPatterns, triggerTokens)
+                : llamaSamplerBinding.createGrammarLazyPatternsSampler(vocabulary, grammar, GRAMMAR_ROOT, triggerPatterns, triggerTokens);
+    }
+}
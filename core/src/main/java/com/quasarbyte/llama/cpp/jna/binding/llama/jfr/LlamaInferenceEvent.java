@@ -0,0 +1,32 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+/**
+ * Timed event around a native inference call.
+ * <p>
+ * Events are obtained already started from {@link LlamaInferenceEvents}, filled in after the call
+ * and committed. The meaning of the generic fields depends on the event type:
+ * <ul>
+ *     <li>decode - count: tokens in the batch, result: {@code llama_decode} result</li>
+ *     <li>sample - count: logits index, result: sampled token</li>
+ *     <li>tokenize - size: UTF-8 bytes of the text, count: produced tokens</li>
+ *     <li>detokenize - count: tokens, size: produced bytes</li>
+ *     <li>model load - path: model file, size: model size in bytes, result: 1 on success</li>
+ *     <li>state save/load - path: state file or null for memory, size: bytes, count: tokens, result: call result</li>
+ * </ul>
+ * When recording is disabled {@link LlamaInferenceEvents#NOOP} is returned and all calls are no-ops.
+ */
+public interface LlamaInferenceEvent {
+
+    LlamaInferenceEvent setCount(long count);
+
+    LlamaInferenceEvent setSize(long size);
+
+    LlamaInferenceEvent setResult(long result);
+
+    LlamaInferenceEvent setPath(String path);
+
+    /**
+     * End the event and write it to the recording.
+     */
+    void commit();
+}
@@ -0,0 +1,22 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+/**
+ * Creates started inference events; each method returns {@link LlamaInferenceEvents#NOOP}
+ * when its event type is not enabled in any running recording.
+ */
+public interface LlamaInferenceEventFactory {
+
+    LlamaInferenceEvent decode();
+
+    LlamaInferenceEvent sample();
+
+    LlamaInferenceEvent tokenize();
+
+    LlamaInferenceEvent detokenize();
+
+    LlamaInferenceEvent modelLoad();
+
+    LlamaInferenceEvent stateSave();
+
+    LlamaInferenceEvent stateLoad();
+}
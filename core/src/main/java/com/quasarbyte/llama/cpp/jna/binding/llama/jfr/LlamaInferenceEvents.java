@@ -0,0 +1,108 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry point for JDK Flight Recorder events emitted by the bindings.
+ * <p>
+ * Core is compiled for Java 8, so the {@code jdk.jfr} event classes are shipped in the
+ * multi-release part of the jar ({@code META-INF/versions/11}) and loaded reflectively.
+ * On Java 8, without the {@code jdk.jfr} module, or with {@code -Dllama.jfr.enabled=false}
+ * every method returns {@link #NOOP}. Otherwise an event is only allocated and timed while
+ * a recording has its type enabled, so the cost when disabled is a single flag check.
+ * <p>
+ * Event names are {@code llama.Decode}, {@code llama.Sample}, {@code llama.Tokenize},
+ * {@code llama.Detokenize}, {@code llama.ModelLoad}, {@code llama.StateSave} and {@code llama.StateLoad}.
+ */
+public final class LlamaInferenceEvents {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaInferenceEvents.class);
+
+    public static final String ENABLED_PROPERTY = "llama.jfr.enabled";
+
+    private static final String JFR_FACTORY_CLASS = "com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaJfrInferenceEventFactory";
+
+    public static final LlamaInferenceEvent NOOP = new LlamaInferenceEvent() {
+        @Override
+        public LlamaInferenceEvent setCount(long count) {
+            return this;
+        }
+
+        @Override
+        public LlamaInferenceEvent setSize(long size) {
+            return this;
+        }
+
+        @Override
+        public LlamaInferenceEvent setResult(long result) {
+            return this;
+        }
+
+        @Override
+        public LlamaInferenceEvent setPath(String path) {
+            return this;
+        }
+
+        @Override
+        public void commit() {
+        }
+    };
+
+    private static final LlamaInferenceEventFactory FACTORY = loadFactory();
+
+    private LlamaInferenceEvents() {
+    }
+
+    public static LlamaInferenceEvent decode() {
+        return FACTORY != null ? FACTORY.decode() : NOOP;
+    }
+
+    public static LlamaInferenceEvent sample() {
+        return FACTORY != null ? FACTORY.sample() : NOOP;
+    }
+
+    public static LlamaInferenceEvent tokenize() {
+        return FACTORY != null ? FACTORY.tokenize() : NOOP;
+    }
+
+    public static LlamaInferenceEvent detokenize() {
+        return FACTORY != null ? FACTORY.detokenize() : NOOP;
+    }
+
+    public static LlamaInferenceEvent modelLoad() {
+        return FACTORY != null ? FACTORY.modelLoad() : NOOP;
+    }
+
+    public static LlamaInferenceEvent stateSave() {
+        return FACTORY != null ? FACTORY.stateSave() : NOOP;
+    }
+
+    public static LlamaInferenceEvent stateLoad() {
+        return FACTORY != null ? FACTORY.stateLoad() : NOOP;
+    }
+
+    /**
+     * Whether Flight Recorder events are available in this runtime.
+     */
+    public static boolean isAvailable() {
+        return FACTORY != null;
+    }
+
+    private static LlamaInferenceEventFactory loadFactory() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+
+        try {
+            Class<?> factoryClass = Class.forName(JFR_FACTORY_CLASS, true, LlamaInferenceEvents.class.getClassLoader());
+            return (LlamaInferenceEventFactory) factoryClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.debug("Flight Recorder events are not available, error: {}", e.toString());
+            return null;
+        } catch (Exception e) {
+            logger.warn("Failed to initialize Flight Recorder events, error: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.mask;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenMask;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+import java.util.Collection;
+
+/**
+ * Applies {@link LlamaTokenMask} bans and biases without converting them to native structures.
+ * <p>
+ * A mask can be applied directly to the logits of a decoded position, or wrapped in a
+ * custom native sampler whose callback edits the candidate array in place, so it can sit
+ * in a sampler chain. Unlike {@code llama_sampler_init_logit_bias}, nothing is marshalled per
+ * request: the mask is referenced by the sampler and released when the sampler is freed.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaTokenMask banned = tokenMaskService.createTextMask(vocabulary, Arrays.asList("darn", "heck"), true);
+ * LlamaTokenMask mask = banned.union(LlamaTokenMask.builder(banned.getVocabularySize()).bias(newlineToken, -2.0f).build());
+ *
+ * LlamaSampler chain = samplerService.createChainSampler(false);
+ * samplerService.addSamplerToChain(tokenMaskService.createSampler(mask), chain);
+ * samplerService.addSamplerToChain(samplerService.createDistributionSampler(seed), chain);
+ * }</pre>
+ */
+public interface LlamaTokenMaskBinding {
+
+    /**
+     * Apply the mask in place to the native logits of one output position.
+     * Must be called after decoding and before sampling that position.
+     *
+     * @param context    context holding the logits
+     * @param batchIndex index of the output position in the last decoded batch
+     * @param mask       mask to apply
+     */
+    void applyToLogits(LlamaContext context, int batchIndex, LlamaTokenMask mask);
+
+    /**
+     * Create a sampler that applies the mask to the candidates of a chain.
+     * All mask samplers share one native function table kept alive by this binding; the mask is
+     * held per sampler and released when the sampler is freed.
+     *
+     * @param mask mask to apply
+     * @return a new sampler owned by the caller; free it or add it to a chain
+     */
+    LlamaSampler createSampler(LlamaTokenMask mask);
+
+    /**
+     * Mask banning every token whose text contains one of the words. Results are cached per
+     * vocabulary and word list, since building the mask scans the whole vocabulary.
+     *
+     * @param vocabulary vocabulary to scan
+     * @param words      banned words
+     * @param ignoreCase match words case-insensitively
+     * @return cached mask
+     */
+    LlamaTokenMask createTextMask(LlamaVocabulary vocabulary, Collection<String> words, boolean ignoreCase);
+}
@@ -0,0 +1,15 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.mask;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaTokenMaskBindingFactory {
+
+    public LlamaTokenMaskBinding create(LlamaLibrary llamaLibrary) {
+        return new LlamaTokenMaskBindingImpl(
+                llamaLibrary,
+                new LlamaResultBindingFactory().create(llamaLibrary),
+                new LlamaVocabularyBindingFactory().create(llamaLibrary));
+    }
+}
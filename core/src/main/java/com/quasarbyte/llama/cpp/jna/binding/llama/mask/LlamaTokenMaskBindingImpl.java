@@ -0,0 +1,316 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.mask;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContextNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerInterfaceNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenDataArrayNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenMask;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LlamaTokenMaskBindingImpl implements LlamaTokenMaskBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaTokenMaskBindingImpl.class);
+
+    /** sizeof(llama_token_data): int id, float logit, float p */
+    private static final int TOKEN_DATA_SIZE = 12;
+    private static final int LOGIT_OFFSET = 4;
+
+    private static final int TEXT_MASK_CACHE_CAPACITY = 32;
+    private static final int PIECE_BUFFER_SIZE = 256;
+
+    private final LlamaLibrary llamaLibrary;
+    private final LlamaResultBinding llamaResultBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    /** One function table for every mask sampler; the mask is looked up by the sampler context id */
+    private final LlamaSamplerInterfaceNative samplerInterface;
+    private final Map<Long, LlamaTokenMask> samplerMasks = new ConcurrentHashMap<>();
+    private final AtomicLong samplerIds = new AtomicLong();
+    private final Map<TextMaskKey, LlamaTokenMask> textMasks = new LinkedHashMap<TextMaskKey, LlamaTokenMask>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TextMaskKey, LlamaTokenMask> eldest) {
+            return size() > TEXT_MASK_CACHE_CAPACITY;
+        }
+    };
+
+    public LlamaTokenMaskBindingImpl(LlamaLibrary llamaLibrary,
+                                     LlamaResultBinding llamaResultBinding,
+                                     LlamaVocabularyBinding llamaVocabularyBinding) {
+        this.llamaLibrary = llamaLibrary;
+        this.llamaResultBinding = llamaResultBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+        this.samplerInterface = createSamplerInterface();
+    }
+
+    @Override
+    public void applyToLogits(LlamaContext context, int batchIndex, LlamaTokenMask mask) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(mask);
+
+        int vocabularySize = llamaResultBinding.getVocabularySize(context);
+        if (vocabularySize != mask.getVocabularySize()) {
+            throw new LlamaCppJnaException(String.format("Token mask vocabulary size %d does not match model vocabulary size %d", mask.getVocabularySize(), vocabularySize));
+        }
+
+        Pointer logitsPointer = llamaResultBinding.getLogitsRawAt(context, batchIndex)
+                .orElseThrow(() -> new LlamaCppJnaException(String.format("Logits are not available for batch index: %d", batchIndex)));
+
+        FloatBuffer logits = logitsPointer.getByteBuffer(0, (long) vocabularySize * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+        for (int token = mask.nextBanned(0); token >= 0; token = mask.nextBanned(token + 1)) {
+            logits.put(token, Float.NEGATIVE_INFINITY);
+        }
+
+        int[] biasTokens = mask.getBiasTokens();
+        float[] biasValues = mask.getBiasValues();
+        for (int i = 0; i < biasTokens.length; i++) {
+            logits.put(biasTokens[i], logits.get(biasTokens[i]) + biasValues[i]);
+        }
+    }
+
+    @Override
+    public LlamaSampler createSampler(LlamaTokenMask mask) {
+        Objects.requireNonNull(mask);
+
+        LlamaSamplerNative samplerPointer = initSampler(mask);
+        if (samplerPointer == null) {
+            throw new LlamaCppJnaException("Failed to create token mask sampler");
+        }
+        return new LlamaSampler().setSamplerPointer(samplerPointer);
+    }
+
+    @Override
+    public LlamaTokenMask createTextMask(LlamaVocabulary vocabulary, Collection<String> words, boolean ignoreCase) {
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(vocabulary.getVocabularyPointer());
+        Objects.requireNonNull(words);
+
+        List<String> needles = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                needles.add(ignoreCase ? word.toLowerCase(Locale.ROOT) : word);
+            }
+        }
+
+        TextMaskKey key = new TextMaskKey(Pointer.nativeValue(vocabulary.getVocabularyPointer().getPointer()), needles, ignoreCase);
+
+        synchronized (textMasks) {
+            LlamaTokenMask cached = textMasks.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long start = System.nanoTime();
+        int vocabularySize = llamaVocabularyBinding.getVocabularyTokenCount(vocabulary);
+        LlamaTokenMask.Builder builder = LlamaTokenMask.builder(vocabularySize);
+        byte[] buffer = new byte[PIECE_BUFFER_SIZE];
+
+        for (int token = 0; token < vocabularySize; token++) {
+            int length = llamaLibrary.llama_token_to_piece(vocabulary.getVocabularyPointer(), token, buffer, buffer.length, 0, false);
+            if (length <= 0) {
+                continue;
+            }
+
+            String piece = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            if (ignoreCase) {
+                piece = piece.toLowerCase(Locale.ROOT);
+            }
+
+            for (String needle : needles) {
+                if (piece.contains(needle)) {
+                    builder.ban(token);
+                    break;
+                }
+            }
+        }
+
+        LlamaTokenMask mask = builder.build();
+        logger.debug("Token text mask created, words: {}, banned tokens: {}, time ms: {}",
+                needles.size(), mask.getBannedCount(), (System.nanoTime() - start) / 1_000_000);
+
+        synchronized (textMasks) {
+            textMasks.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * The sampler context is not dereferenced by llama.cpp, so it carries an id into {@link #samplerMasks}
+     * instead of a native allocation. The entry is released by the free callback.
+     */
+    private LlamaSamplerNative initSampler(LlamaTokenMask mask) {
+        long id = samplerIds.incrementAndGet();
+        samplerMasks.put(id, mask);
+
+        LlamaContextNative samplerContext = new LlamaContextNative();
+        samplerContext.setPointer(new Pointer(id));
+
+        LlamaSamplerNative samplerPointer = null;
+        try {
+            samplerPointer = llamaLibrary.llama_sampler_init(samplerInterface.getPointer(), samplerContext);
+            return samplerPointer;
+        } finally {
+            if (samplerPointer == null) {
+                samplerMasks.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Context id of a sampler, read from {@code struct llama_sampler { const llama_sampler_i * iface; void * ctx; }}.
+     */
+    private static long getSamplerId(Pointer sampler) {
+        return Pointer.nativeValue(sampler.getPointer(Native.POINTER_SIZE));
+    }
+
+    private LlamaSamplerInterfaceNative createSamplerInterface() {
+        Memory name = new Memory(16);
+        name.setString(0, "java-token-mask", StandardCharsets.US_ASCII.name());
+
+        // Exceptions must not cross the native boundary
+        LlamaSamplerInterfaceNative samplerInterface = new LlamaSamplerInterfaceNative();
+        samplerInterface.name = sampler -> name;
+        samplerInterface.apply = (sampler, tokenDataArray) -> {
+            try {
+                LlamaTokenMask mask = samplerMasks.get(getSamplerId(sampler));
+                if (mask != null) {
+                    applyToCandidates(tokenDataArray, mask);
+                }
+            } catch (Throwable e) {
+                logger.error("Failed to apply token mask, error: {}", e.getMessage(), e);
+            }
+        };
+        samplerInterface.clone = sampler -> {
+            try {
+                LlamaTokenMask mask = samplerMasks.get(getSamplerId(sampler));
+                LlamaSamplerNative clone = mask != null ? initSampler(mask) : null;
+                return clone != null ? clone.getPointer() : null;
+            } catch (Throwable e) {
+                logger.error("Failed to clone token mask sampler, error: {}", e.getMessage(), e);
+                return null;
+            }
+        };
+        samplerInterface.free = sampler -> {
+            try {
+                samplerMasks.remove(getSamplerId(sampler));
+            } catch (Throwable e) {
+                logger.error("Failed to release token mask sampler, error: {}", e.getMessage(), e);
+            }
+        };
+        samplerInterface.write();
+        return samplerInterface;
+    }
+
+    private static void applyToCandidates(Pointer tokenDataArray, LlamaTokenMask mask) {
+        LlamaTokenDataArrayNative candidates = new LlamaTokenDataArrayNative(tokenDataArray);
+        int size = (int) candidates.size;
+        if (size <= 0 || candidates.data == null || mask.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer data = candidates.data.getByteBuffer(0, (long) size * TOKEN_DATA_SIZE).order(ByteOrder.nativeOrder());
+        int[] biasTokens = mask.getBiasTokens();
+        float[] biasValues = mask.getBiasValues();
+
+        if (size == mask.getVocabularySize() && isIdentityOrdered(data, mask, biasTokens)) {
+            // Full vocabulary in token order (first stage of a chain): only touch masked entries
+            for (int token = mask.nextBanned(0); token >= 0; token = mask.nextBanned(token + 1)) {
+                data.putFloat(token * TOKEN_DATA_SIZE + LOGIT_OFFSET, Float.NEGATIVE_INFINITY);
+            }
+            for (int i = 0; i < biasTokens.length; i++) {
+                int offset = biasTokens[i] * TOKEN_DATA_SIZE + LOGIT_OFFSET;
+                data.putFloat(offset, data.getFloat(offset) + biasValues[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                int offset = i * TOKEN_DATA_SIZE;
+                int token = data.getInt(offset);
+                if (mask.isBanned(token)) {
+                    data.putFloat(offset + LOGIT_OFFSET, Float.NEGATIVE_INFINITY);
+                } else if (biasTokens.length > 0) {
+                    float bias = mask.getBias(token);
+                    if (bias != 0.0f) {
+                        data.putFloat(offset + LOGIT_OFFSET, data.getFloat(offset + LOGIT_OFFSET) + bias);
+                    }
+                }
+            }
+        }
+
+        if (candidates.isSorted()) {
+            candidates.setSorted(false);
+            candidates.writeField("sorted");
+        }
+    }
+
+    /**
+     * Spot-check that entry i holds token i, at the first, last and every masked position.
+     */
+    private static boolean isIdentityOrdered(ByteBuffer data, LlamaTokenMask mask, int[] biasTokens) {
+        int last = mask.getVocabularySize() - 1;
+        if (data.getInt(0) != 0 || data.getInt(last * TOKEN_DATA_SIZE) != last) {
+            return false;
+        }
+        for (int token = mask.nextBanned(0); token >= 0; token = mask.nextBanned(token + 1)) {
+            if (data.getInt(token * TOKEN_DATA_SIZE) != token) {
+                return false;
+            }
+        }
+        for (int token : biasTokens) {
+            if (data.getInt(token * TOKEN_DATA_SIZE) != token) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class TextMaskKey {
+        private final long vocabularyAddress;
+        private final List<String> words;
+        private final boolean ignoreCase;
+
+        private TextMaskKey(long vocabularyAddress, List<String> words, boolean ignoreCase) {
+            this.vocabularyAddress = vocabularyAddress;
+            this.words = words;
+            this.ignoreCase = ignoreCase;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TextMaskKey)) return false;
+            TextMaskKey that = (TextMaskKey) o;
+            return vocabularyAddress == that.vocabularyAddress && ignoreCase == that.ignoreCase && words.equals(that.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vocabularyAddress, words, ignoreCase);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.metrics;
+
+/**
+ * Service provider interface for publishing metrics to a monitoring system.
+ * <p>
+ * Core has no metrics dependency; an adapter (for example to Micrometer or Prometheus) implements
+ * this interface and is either passed to the factories explicitly or registered in
+ * {@code META-INF/services/com.quasarbyte.llama.cpp.jna.binding.llama.metrics.LlamaMetricsRegistry}.
+ * Without one, {@link LlamaNoopMetricsRegistry} discards everything.
+ * <p>
+ * Tags are given as alternating key and value strings. Implementations should cache meters,
+ * since lookups happen once per request.
+ */
+public interface LlamaMetricsRegistry {
+
+    /**
+     * Monotonic counter.
+     */
+    interface Counter {
+        void increment(double amount);
+    }
+
+    /**
+     * Distribution of recorded values, e.g. latencies or rates.
+     */
+    interface Histogram {
+        void record(double value);
+    }
+
+    Counter counter(String name, String... tags);
+
+    Histogram histogram(String name, String... tags);
+
+    /**
+     * Unregister a meter whose tags are no longer in use, e.g. a per-adapter-set histogram.
+     * Registries that do not cache meters can keep the default, which does nothing.
+     */
+    default void remove(String name, String... tags) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.metrics;
+
+/**
+ * Registry discarding all metrics, the default when no registry is configured.
+ */
+public final class LlamaNoopMetricsRegistry implements LlamaMetricsRegistry {
+
+    public static final LlamaNoopMetricsRegistry INSTANCE = new LlamaNoopMetricsRegistry();
+
+    private static final Counter NOOP_COUNTER = amount -> {
+    };
+
+    private static final Histogram NOOP_HISTOGRAM = value -> {
+    };
+
+    private LlamaNoopMetricsRegistry() {
+    }
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return NOOP_COUNTER;
+    }
+
+    @Override
+    public Histogram histogram(String name, String... tags) {
+        return NOOP_HISTOGRAM;
+    }
+}
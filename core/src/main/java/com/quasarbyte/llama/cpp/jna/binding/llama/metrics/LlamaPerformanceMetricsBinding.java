@@ -0,0 +1,65 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.metrics;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceSnapshot;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request performance metrics from {@code llama_perf_context} and {@code llama_perf_sampler}.
+ * <p>
+ * A request is measured as the difference of two snapshots, so contexts and samplers shared
+ * between requests never need to be reset. Deltas are published to the configured
+ * {@link LlamaMetricsRegistry} under these names:
+ * <ul>
+ *     <li>{@code llama.requests}, {@code llama.prompt.tokens}, {@code llama.generated.tokens},
+ *     {@code llama.sampled.tokens}, {@code llama.graphs.reused} - counters</li>
+ *     <li>{@code llama.prompt.eval.ms}, {@code llama.eval.ms}, {@code llama.sample.ms},
+ *     {@code llama.request.ms} - histograms of time per request</li>
+ *     <li>{@code llama.prompt.tokens_per_second}, {@code llama.eval.tokens_per_second} - histograms of rates</li>
+ * </ul>
+ * Timings are only collected by contexts and sampler chains created with {@code no_perf = false}.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaPerformanceSnapshot before = metricsService.snapshot(context, samplerChain);
+ * // prefill and generate ...
+ * LlamaPerformanceSnapshot delta = metricsService.record(before, metricsService.snapshot(context, samplerChain), "model", "qwen3-8b");
+ * logger.info("eval: {} tokens/s", delta.getEvalTokensPerSecond());
+ * }</pre>
+ */
+public interface LlamaPerformanceMetricsBinding {
+
+    /**
+     * Capture the current counters.
+     *
+     * @param context context to read
+     * @param sampler head of a sampler chain, or null to skip sampler counters
+     * @return snapshot
+     */
+    LlamaPerformanceSnapshot snapshot(LlamaContext context, LlamaSampler sampler);
+
+    /**
+     * Compute the delta between two snapshots and publish it.
+     *
+     * @param before snapshot taken when the request started
+     * @param after  snapshot taken when the request ended
+     * @param tags   alternating tag keys and values
+     * @return delta
+     */
+    LlamaPerformanceSnapshot record(LlamaPerformanceSnapshot before, LlamaPerformanceSnapshot after, String... tags);
+
+    /**
+     * Run a request and publish its delta.
+     *
+     * @param context context used by the request
+     * @param sampler head of the sampler chain used by the request, or null
+     * @param request request to run
+     * @param tags    alternating tag keys and values
+     * @return result of the request
+     */
+    <T> T measure(LlamaContext context, LlamaSampler sampler, Supplier<T> request, String... tags);
+
+    LlamaMetricsRegistry getRegistry();
+}
@@ -0,0 +1,26 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.metrics;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+public class LlamaPerformanceMetricsBindingFactory {
+
+    /**
+     * Create the binding with the first registry found through {@link ServiceLoader}, or the no-op registry.
+     */
+    public LlamaPerformanceMetricsBinding create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, discoverRegistry());
+    }
+
+    public LlamaPerformanceMetricsBinding create(LlamaLibrary llamaLibrary, LlamaMetricsRegistry registry) {
+        return new LlamaPerformanceMetricsBindingImpl(new LlamaPerformanceBindingFactory().create(llamaLibrary), registry);
+    }
+
+    public static LlamaMetricsRegistry discoverRegistry() {
+        Iterator<LlamaMetricsRegistry> registries = ServiceLoader.load(LlamaMetricsRegistry.class).iterator();
+        return registries.hasNext() ? registries.next() : LlamaNoopMetricsRegistry.INSTANCE;
+    }
+}
@@ -0,0 +1,93 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.metrics;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceContextDataNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceSamplerDataNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceSnapshot;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class LlamaPerformanceMetricsBindingImpl implements LlamaPerformanceMetricsBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaPerformanceMetricsBindingImpl.class);
+
+    private final LlamaPerformanceBinding llamaPerformanceBinding;
+    private final LlamaMetricsRegistry registry;
+
+    public LlamaPerformanceMetricsBindingImpl(LlamaPerformanceBinding llamaPerformanceBinding, LlamaMetricsRegistry registry) {
+        this.llamaPerformanceBinding = llamaPerformanceBinding;
+        this.registry = registry;
+    }
+
+    @Override
+    public LlamaPerformanceSnapshot snapshot(LlamaContext context, LlamaSampler sampler) {
+        Objects.requireNonNull(context);
+
+        try {
+            LlamaPerformanceContextDataNative contextData = llamaPerformanceBinding.getContextPerformance(context);
+            LlamaPerformanceSamplerDataNative samplerData = sampler != null ? llamaPerformanceBinding.getSamplerPerformance(sampler) : null;
+            return LlamaPerformanceSnapshot.of(contextData, samplerData);
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to capture performance snapshot, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to capture performance snapshot, error: %s", e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public LlamaPerformanceSnapshot record(LlamaPerformanceSnapshot before, LlamaPerformanceSnapshot after, String... tags) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+
+        LlamaPerformanceSnapshot delta = after.minus(before);
+
+        try {
+            registry.counter("llama.requests", tags).increment(1);
+            registry.counter("llama.prompt.tokens", tags).increment(delta.getPromptEvalTokens());
+            registry.counter("llama.generated.tokens", tags).increment(delta.getEvalTokens());
+            registry.counter("llama.sampled.tokens", tags).increment(delta.getSampleCount());
+            registry.counter("llama.graphs.reused", tags).increment(delta.getReusedGraphs());
+
+            registry.histogram("llama.prompt.eval.ms", tags).record(delta.getPromptEvalMs());
+            registry.histogram("llama.eval.ms", tags).record(delta.getEvalMs());
+            registry.histogram("llama.sample.ms", tags).record(delta.getSampleMs());
+            registry.histogram("llama.request.ms", tags).record(delta.getWallNanos() / 1_000_000.0);
+
+            if (delta.getPromptEvalTokens() > 0) {
+                registry.histogram("llama.prompt.tokens_per_second", tags).record(delta.getPromptTokensPerSecond());
+            }
+            if (delta.getEvalTokens() > 0) {
+                registry.histogram("llama.eval.tokens_per_second", tags).record(delta.getEvalTokensPerSecond());
+            }
+        } catch (RuntimeException e) {
+            // A broken metrics adapter must not fail inference
+            logger.warn("Failed to publish performance metrics, error: {}", e.getMessage(), e);
+        }
+
+        return delta;
+    }
+
+    @Override
+    public <T> T measure(LlamaContext context, LlamaSampler sampler, Supplier<T> request, String... tags) {
+        Objects.requireNonNull(request);
+
+        LlamaPerformanceSnapshot before = snapshot(context, sampler);
+        try {
+            return request.get();
+        } finally {
+            record(before, snapshot(context, sampler), tags);
+        }
+    }
+
+    @Override
+    public LlamaMetricsRegistry getRegistry() {
+        return registry;
+    }
+}
@@ -1,5 +1,7 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.model;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvent;
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvents;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallIntResultException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallLongResultException;
@@ -43,8 +45,12 @@ public class LlamaModelBindingImpl implements LlamaModelBinding {
 
         String absoluteModelPathAsString = absoluteModelPath.toString();
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.modelLoad();
+
         LlamaModelNative modelPointer = llamaLibrary.llama_model_load_from_file(absoluteModelPath.toString(), params);
 
+        commitModelLoadEvent(event, absoluteModelPathAsString, modelPointer);
+
         if (modelPointer == null) {
             logger.error("The Llama model could not be loaded, model path: '{}', model absolute path: '{}'", modelPath, absoluteModelPathAsString);
             throw new LlamaCppJnaException(String.format("Failed to load model from path: '%s', absolute path: '%s'", modelPath, absoluteModelPathAsString));
@@ -88,7 +94,11 @@ public class LlamaModelBindingImpl implements LlamaModelBinding {
             filesArray[i] = absolutePathAsString;
         }
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.modelLoad();
+
         LlamaModelNative modelPointer = llamaLibrary.llama_model_load_from_splits(filesArray, filesArray.length, params);
+
+        commitModelLoadEvent(event, filesArray[0], modelPointer);
         
         if (modelPointer == null) {
             logger.error("Failed to load model from splits, result is null");
@@ -282,6 +292,17 @@ public class LlamaModelBindingImpl implements LlamaModelBinding {
         return this.llamaStringBufferReader.readString(buffer,length);
     }
 
+    private void commitModelLoadEvent(LlamaInferenceEvent event, String path, LlamaModelNative modelPointer) {
+        if (event == LlamaInferenceEvents.NOOP) {
+            return;
+        }
+
+        event.setPath(path)
+                .setSize(modelPointer != null ? llamaLibrary.llama_model_size(modelPointer) : 0)
+                .setResult(modelPointer != null ? 1 : 0)
+                .commit();
+    }
+
     @Override
     public long getSize(LlamaModel model) {
         Objects.requireNonNull(model);
@@ -0,0 +1,77 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNode;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaRouterParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaTopology;
+import com.quasarbyte.llama.cpp.jna.model.library.ggml.GgmlNumaStrategy;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * NUMA-aware deployment of models and contexts.
+ * <p>
+ * On multi-socket machines a decode that reads weights or KV cache from the other socket is
+ * limited by the interconnect. The router keeps everything of a request on one node: a model
+ * replica loaded by a thread pinned to the node, contexts created there, and threadpools pinned
+ * to the node CPUs. Requests are routed to the least loaded node.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * numaService.initNuma(GgmlNumaStrategy.GGML_NUMA_STRATEGY_ISOLATE);
+ * LlamaNumaTopology topology = numaService.readTopology();
+ *
+ * LlamaNumaRouter router = numaService.createRouter(topology, new LlamaNumaRouterParams().setContextsPerNode(2),
+ *         node -> modelService.loadFromFile(modelPath, noMmapParams),
+ *         (node, model) -> contextService.create(model, 4096, 512, false));
+ *
+ * try (LlamaNumaLease lease = router.acquire()) {
+ *     // generate with lease.getModel() and lease.getContext()
+ *     lease.addTokens(promptTokens.length, generated);
+ * }
+ * logger.info("Per node: {}", router.getStats());
+ * }</pre>
+ */
+public interface LlamaNumaBinding {
+
+    /**
+     * Initialize the ggml NUMA strategy; call once, after backend initialization and before loading models.
+     *
+     * @param strategy NUMA strategy
+     */
+    void initNuma(GgmlNumaStrategy strategy);
+
+    /**
+     * Read the NUMA topology from sysfs. Other platforms are reported as one node with all CPUs.
+     *
+     * @return topology
+     */
+    LlamaNumaTopology readTopology();
+
+    /**
+     * Run a task on the calling thread while it is pinned to the CPUs of the node.
+     * The previous affinity is restored afterwards. Runs unpinned where affinity is not supported.
+     *
+     * @param node node to run on
+     * @param task task
+     * @return result of the task
+     */
+    <T> T callOnNode(LlamaNumaNode node, Supplier<T> task);
+
+    /**
+     * Create a router with one model replica per node.
+     *
+     * @param topology       nodes to deploy on
+     * @param params         replica settings
+     * @param modelLoader    loads a replica, runs pinned to the node
+     * @param contextFactory creates a context of a replica, runs pinned to the node
+     * @return router, close it to free replicas, contexts and threadpools
+     */
+    LlamaNumaRouter createRouter(LlamaNumaTopology topology,
+                                 LlamaNumaRouterParams params,
+                                 Function<LlamaNumaNode, LlamaModel> modelLoader,
+                                 BiFunction<LlamaNumaNode, LlamaModel, LlamaContext> contextFactory);
+}
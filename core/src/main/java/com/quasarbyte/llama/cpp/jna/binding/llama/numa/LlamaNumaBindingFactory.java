@@ -0,0 +1,21 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.system.LlamaSystemBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.threadpool.LlamaThreadPoolBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.libc.LibcLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaNumaBindingFactory {
+
+    public LlamaNumaBinding create(LlamaLibrary llamaLibrary) {
+        // ggml-cpu and libc are resolved on first use, so the binding works without them
+        return new LlamaNumaBindingImpl(
+                new LlamaSystemBindingFactory().create(llamaLibrary),
+                new LlamaModelBindingFactory().create(llamaLibrary),
+                new LlamaContextBindingFactory().create(llamaLibrary),
+                () -> new LlamaThreadPoolBindingFactory().create(llamaLibrary),
+                () -> new LibcLibraryFactory().getInstance());
+    }
+}
@@ -0,0 +1,250 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.system.LlamaSystemBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.threadpool.LlamaThreadPoolBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.threadpool.LlamaThreadPoolPolicy;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.libc.LibcLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNode;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaRouterParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaTopology;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolParams;
+import com.quasarbyte.llama.cpp.jna.model.library.ggml.GgmlNumaStrategy;
+import com.sun.jna.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LlamaNumaBindingImpl implements LlamaNumaBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaNumaBindingImpl.class);
+
+    private static final Path NODE_DIRECTORY = Paths.get("/sys/devices/system/node");
+
+    /** sizeof(cpu_set_t) for 1024 CPUs */
+    private static final int CPU_SET_SIZE = 128;
+
+    private final LlamaSystemBinding llamaSystemBinding;
+    private final LlamaModelBinding llamaModelBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final Supplier<LlamaThreadPoolBinding> llamaThreadPoolBindingSupplier;
+    private final Supplier<LibcLibrary> libcLibrarySupplier;
+
+    public LlamaNumaBindingImpl(LlamaSystemBinding llamaSystemBinding,
+                                LlamaModelBinding llamaModelBinding,
+                                LlamaContextBinding llamaContextBinding,
+                                Supplier<LlamaThreadPoolBinding> llamaThreadPoolBindingSupplier,
+                                Supplier<LibcLibrary> libcLibrarySupplier) {
+        this.llamaSystemBinding = llamaSystemBinding;
+        this.llamaModelBinding = llamaModelBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaThreadPoolBindingSupplier = llamaThreadPoolBindingSupplier;
+        this.libcLibrarySupplier = libcLibrarySupplier;
+    }
+
+    @Override
+    public void initNuma(GgmlNumaStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        logger.info("Initializing NUMA strategy: {}", strategy);
+        llamaSystemBinding.initNuma(strategy.getValue());
+    }
+
+    @Override
+    public LlamaNumaTopology readTopology() {
+        List<LlamaNumaNode> nodes = new ArrayList<>();
+
+        if (Files.isDirectory(NODE_DIRECTORY)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(NODE_DIRECTORY, "node[0-9]*")) {
+                for (Path nodePath : stream) {
+                    Path cpuList = nodePath.resolve("cpulist");
+                    if (Files.isReadable(cpuList)) {
+                        int id = Integer.parseInt(nodePath.getFileName().toString().substring("node".length()));
+                        BitSet cpus = parseCpuList(new String(Files.readAllBytes(cpuList), StandardCharsets.US_ASCII).trim());
+                        if (!cpus.isEmpty()) {
+                            nodes.add(new LlamaNumaNode(id, cpus));
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to read NUMA topology, assuming a single node, error: {}", e.getMessage());
+                nodes.clear();
+            }
+        }
+
+        if (nodes.isEmpty()) {
+            BitSet cpus = new BitSet();
+            cpus.set(0, Runtime.getRuntime().availableProcessors());
+            nodes.add(new LlamaNumaNode(0, cpus));
+        }
+
+        nodes.sort(Comparator.comparingInt(LlamaNumaNode::getId));
+        LlamaNumaTopology topology = new LlamaNumaTopology(nodes);
+        logger.debug("NUMA topology: {}", topology);
+        return topology;
+    }
+
+    @Override
+    public <T> T callOnNode(LlamaNumaNode node, Supplier<T> task) {
+        Objects.requireNonNull(node);
+        Objects.requireNonNull(task);
+
+        byte[] previous = pinCurrentThread(node);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                libcLibrarySupplier.get().sched_setaffinity(0, previous.length, previous);
+            }
+        }
+    }
+
+    @Override
+    public LlamaNumaRouter createRouter(LlamaNumaTopology topology,
+                                        LlamaNumaRouterParams params,
+                                        Function<LlamaNumaNode, LlamaModel> modelLoader,
+                                        BiFunction<LlamaNumaNode, LlamaModel, LlamaContext> contextFactory) {
+        Objects.requireNonNull(topology);
+        Objects.requireNonNull(params);
+        Objects.requireNonNull(modelLoader);
+        Objects.requireNonNull(contextFactory);
+
+        if (params.getContextsPerNode() < 1) {
+            throw new LlamaCppJnaException(String.format("Contexts per node must be positive, value: %d", params.getContextsPerNode()));
+        }
+
+        List<LlamaNumaRouterImpl.NodeReplica> replicas = new ArrayList<>(topology.getNodeCount());
+
+        try {
+            for (LlamaNumaNode node : topology.getNodes()) {
+                replicas.add(createReplica(node, params, modelLoader, contextFactory));
+            }
+        } catch (RuntimeException e) {
+            for (LlamaNumaRouterImpl.NodeReplica replica : replicas) {
+                replica.free(llamaModelBinding, llamaContextBinding);
+            }
+            logger.error("Failed to create NUMA router, error: {}", e.getMessage(), e);
+            throw e instanceof LlamaCppJnaException ? e : new LlamaCppJnaException(String.format("Failed to create NUMA router, error: %s", e.getMessage()), e);
+        }
+
+        logger.info("NUMA router created, nodes: {}, contexts per node: {}", replicas.size(), params.getContextsPerNode());
+        return new LlamaNumaRouterImpl(topology, replicas, llamaModelBinding, llamaContextBinding);
+    }
+
+    private LlamaNumaRouterImpl.NodeReplica createReplica(LlamaNumaNode node,
+                                                          LlamaNumaRouterParams params,
+                                                          Function<LlamaNumaNode, LlamaModel> modelLoader,
+                                                          BiFunction<LlamaNumaNode, LlamaModel, LlamaContext> contextFactory) {
+        Supplier<LlamaNumaRouterImpl.NodeReplica> create = () -> {
+            long start = System.nanoTime();
+            LlamaModel model = Objects.requireNonNull(modelLoader.apply(node), "Model loader returned null");
+            List<LlamaContext> contexts = new ArrayList<>(params.getContextsPerNode());
+            LlamaThreadPoolPolicy policy = null;
+
+            try {
+                for (int i = 0; i < params.getContextsPerNode(); i++) {
+                    contexts.add(Objects.requireNonNull(contextFactory.apply(node, model), "Context factory returned null"));
+                }
+                if (params.isUseThreadPools()) {
+                    policy = createThreadPoolPolicy(node, params);
+                }
+            } catch (RuntimeException e) {
+                new LlamaNumaRouterImpl.NodeReplica(node, model, contexts, null).free(llamaModelBinding, llamaContextBinding);
+                throw e;
+            }
+
+            logger.info("NUMA node {} replica ready, cpus: {}, contexts: {}, threadpools: {}, time ms: {}",
+                    node.getId(), node.getCpuCount(), contexts.size(), policy != null, (System.nanoTime() - start) / 1_000_000);
+            return new LlamaNumaRouterImpl.NodeReplica(node, model, contexts, policy);
+        };
+
+        return params.isPinLoaderThread() ? callOnNode(node, create) : create.get();
+    }
+
+    private LlamaThreadPoolPolicy createThreadPoolPolicy(LlamaNumaNode node, LlamaNumaRouterParams params) {
+        int share = Math.max(1, node.getCpuCount() / params.getContextsPerNode());
+
+        LlamaThreadPoolParams decodeParams = new LlamaThreadPoolParams()
+                .setCpuMask(node.getCpus())
+                .setThreadCount(params.getDecodeThreadCount() > 0 ? params.getDecodeThreadCount() : share)
+                .setPoll(params.getPoll())
+                .setStrictCpu(params.isStrictCpu());
+
+        LlamaThreadPoolParams prefillParams = decodeParams.copy()
+                .setThreadCount(params.getPrefillThreadCount() > 0 ? params.getPrefillThreadCount() : share);
+
+        return llamaThreadPoolBindingSupplier.get().createPolicy(decodeParams, prefillParams, params.getContextsPerNode());
+    }
+
+    /**
+     * @return the previous affinity mask, or null when the thread was not pinned
+     */
+    private byte[] pinCurrentThread(LlamaNumaNode node) {
+        if (!Platform.isLinux()) {
+            logger.debug("Thread affinity is only supported on Linux, node {} task runs unpinned", node.getId());
+            return null;
+        }
+
+        try {
+            LibcLibrary libc = libcLibrarySupplier.get();
+            byte[] previous = new byte[CPU_SET_SIZE];
+            if (libc.sched_getaffinity(0, previous.length, previous) != 0) {
+                logger.warn("Failed to read thread affinity, node {} task runs unpinned", node.getId());
+                return null;
+            }
+
+            byte[] mask = new byte[CPU_SET_SIZE];
+            BitSet cpus = node.getCpus();
+            for (int cpu = cpus.nextSetBit(0); cpu >= 0 && cpu < CPU_SET_SIZE * 8; cpu = cpus.nextSetBit(cpu + 1)) {
+                mask[cpu / 8] |= (byte) (1 << (cpu % 8));
+            }
+
+            if (libc.sched_setaffinity(0, mask.length, mask) != 0) {
+                logger.warn("Failed to pin thread to node {}, task runs unpinned", node.getId());
+                return null;
+            }
+            return previous;
+        } catch (RuntimeException | UnsatisfiedLinkError e) {
+            logger.warn("Thread affinity unavailable, node {} task runs unpinned, error: {}", node.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse a Linux CPU list such as {@code 0-15,32-47}.
+     */
+    static BitSet parseCpuList(String cpuList) {
+        BitSet cpus = new BitSet();
+        if (cpuList.isEmpty()) {
+            return cpus;
+        }
+        for (String range : cpuList.split(",")) {
+            String trimmed = range.trim();
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                cpus.set(Integer.parseInt(trimmed));
+            } else {
+                cpus.set(Integer.parseInt(trimmed.substring(0, dash)), Integer.parseInt(trimmed.substring(dash + 1)) + 1);
+            }
+        }
+        return cpus;
+    }
+}
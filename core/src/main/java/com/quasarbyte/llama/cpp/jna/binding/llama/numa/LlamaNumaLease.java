@@ -0,0 +1,59 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNode;
+
+/**
+ * Exclusive use of one context of a node replica. Not thread-safe.
+ */
+public final class LlamaNumaLease implements AutoCloseable {
+
+    private final LlamaNumaRouterImpl router;
+    private final LlamaNumaRouterImpl.NodeReplica replica;
+    private final LlamaContext context;
+    private final long startNanos;
+
+    private long promptTokens;
+    private long generatedTokens;
+    private boolean closed;
+
+    LlamaNumaLease(LlamaNumaRouterImpl router, LlamaNumaRouterImpl.NodeReplica replica, LlamaContext context) {
+        this.router = router;
+        this.replica = replica;
+        this.context = context;
+        this.startNanos = System.nanoTime();
+    }
+
+    public LlamaNumaNode getNode() {
+        return replica.node;
+    }
+
+    public LlamaModel getModel() {
+        return replica.model;
+    }
+
+    public LlamaContext getContext() {
+        return context;
+    }
+
+    /**
+     * Record tokens processed under this lease for the node statistics.
+     */
+    public LlamaNumaLease addTokens(long promptTokens, long generatedTokens) {
+        this.promptTokens += promptTokens;
+        this.generatedTokens += generatedTokens;
+        return this;
+    }
+
+    /**
+     * Return the context to its node. The caller is responsible for clearing its memory.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            router.release(replica, context, promptTokens, generatedTokens, System.nanoTime() - startNanos);
+        }
+    }
+}
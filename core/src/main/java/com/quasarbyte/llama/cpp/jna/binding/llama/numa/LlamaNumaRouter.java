@@ -0,0 +1,43 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNodeStats;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaTopology;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes requests to per-node model replicas.
+ */
+public interface LlamaNumaRouter extends AutoCloseable {
+
+    /**
+     * Lease a context on the node with the most idle contexts, waiting until one is free.
+     *
+     * @return lease, close it when the request completes
+     */
+    LlamaNumaLease acquire();
+
+    /**
+     * Lease a context, waiting at most the given time.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return lease, or empty on timeout
+     */
+    Optional<LlamaNumaLease> tryAcquire(long timeout, TimeUnit unit);
+
+    LlamaNumaTopology getTopology();
+
+    /**
+     * @return throughput counters, one entry per node
+     */
+    List<LlamaNumaNodeStats> getStats();
+
+    /**
+     * Free threadpools, contexts and replicas. Fails while leases are held.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,210 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.numa;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.threadpool.LlamaThreadPoolPolicy;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNode;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaNodeStats;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaNumaTopology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class LlamaNumaRouterImpl implements LlamaNumaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaNumaRouterImpl.class);
+
+    private final LlamaNumaTopology topology;
+    private final List<NodeReplica> replicas;
+    private final LlamaModelBinding llamaModelBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final long createdNanos = System.nanoTime();
+    private boolean closed;
+
+    LlamaNumaRouterImpl(LlamaNumaTopology topology,
+                        List<NodeReplica> replicas,
+                        LlamaModelBinding llamaModelBinding,
+                        LlamaContextBinding llamaContextBinding) {
+        this.topology = topology;
+        this.replicas = replicas;
+        this.llamaModelBinding = llamaModelBinding;
+        this.llamaContextBinding = llamaContextBinding;
+    }
+
+    @Override
+    public LlamaNumaLease acquire() {
+        return tryAcquire(Long.MAX_VALUE, TimeUnit.NANOSECONDS)
+                .orElseThrow(() -> new LlamaCppJnaException("Failed to acquire a NUMA node context"));
+    }
+
+    @Override
+    public Optional<LlamaNumaLease> tryAcquire(long timeout, TimeUnit unit) {
+        Objects.requireNonNull(unit);
+
+        NodeReplica replica;
+        LlamaContext context;
+
+        synchronized (this) {
+            long remaining = unit.toNanos(timeout);
+            long deadline = System.nanoTime() + remaining;
+
+            while (!closed && leastLoaded() == null) {
+                if (remaining <= 0) {
+                    return Optional.empty();
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new LlamaCppJnaException("Interrupted while waiting for a NUMA node context", e);
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            if (closed) {
+                throw new LlamaCppJnaException("NUMA router is closed");
+            }
+
+            replica = leastLoaded();
+            context = replica.idle.poll();
+            replica.active++;
+        }
+
+        if (replica.threadPoolPolicy != null) {
+            try {
+                replica.threadPoolPolicy.attach(context);
+            } catch (RuntimeException e) {
+                returnContext(replica, context);
+                throw e;
+            }
+        }
+
+        return Optional.of(new LlamaNumaLease(this, replica, context));
+    }
+
+    @Override
+    public LlamaNumaTopology getTopology() {
+        return topology;
+    }
+
+    @Override
+    public synchronized List<LlamaNumaNodeStats> getStats() {
+        long uptime = System.nanoTime() - createdNanos;
+        List<LlamaNumaNodeStats> stats = new ArrayList<>(replicas.size());
+        for (NodeReplica replica : replicas) {
+            stats.add(new LlamaNumaNodeStats()
+                    .setNodeId(replica.node.getId())
+                    .setRequestCount(replica.requestCount)
+                    .setActiveCount(replica.active)
+                    .setPromptTokenCount(replica.promptTokens)
+                    .setGeneratedTokenCount(replica.generatedTokens)
+                    .setBusyNanos(replica.busyNanos)
+                    .setUptimeNanos(uptime));
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            for (NodeReplica replica : replicas) {
+                if (replica.active > 0) {
+                    throw new LlamaCppJnaException(String.format("Cannot close NUMA router, node %d has %d active leases", replica.node.getId(), replica.active));
+                }
+            }
+            closed = true;
+            notifyAll();
+        }
+
+        for (NodeReplica replica : replicas) {
+            replica.free(llamaModelBinding, llamaContextBinding);
+        }
+        logger.info("NUMA router closed, nodes: {}", replicas.size());
+    }
+
+    void release(NodeReplica replica, LlamaContext context, long promptTokens, long generatedTokens, long durationNanos) {
+        try {
+            if (replica.threadPoolPolicy != null) {
+                replica.threadPoolPolicy.detach(context);
+            }
+        } finally {
+            synchronized (this) {
+                replica.requestCount++;
+                replica.promptTokens += promptTokens;
+                replica.generatedTokens += generatedTokens;
+                replica.busyNanos += durationNanos;
+            }
+            returnContext(replica, context);
+        }
+    }
+
+    private synchronized void returnContext(NodeReplica replica, LlamaContext context) {
+        replica.active--;
+        replica.idle.push(context);
+        notifyAll();
+    }
+
+    /**
+     * Node with the most idle contexts; ties go to the node that served fewer requests.
+     */
+    private NodeReplica leastLoaded() {
+        NodeReplica best = null;
+        for (NodeReplica replica : replicas) {
+            if (replica.idle.isEmpty()) {
+                continue;
+            }
+            if (best == null
+                    || replica.idle.size() > best.idle.size()
+                    || (replica.idle.size() == best.idle.size() && replica.requestCount < best.requestCount)) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    static final class NodeReplica {
+        final LlamaNumaNode node;
+        final LlamaModel model;
+        final List<LlamaContext> contexts;
+        final ArrayDeque<LlamaContext> idle;
+        final LlamaThreadPoolPolicy threadPoolPolicy;
+
+        int active;
+        long requestCount;
+        long promptTokens;
+        long generatedTokens;
+        long busyNanos;
+
+        NodeReplica(LlamaNumaNode node, LlamaModel model, List<LlamaContext> contexts, LlamaThreadPoolPolicy threadPoolPolicy) {
+            this.node = node;
+            this.model = model;
+            this.contexts = contexts;
+            this.idle = new ArrayDeque<>(contexts);
+            this.threadPoolPolicy = threadPoolPolicy;
+        }
+
+        void free(LlamaModelBinding llamaModelBinding, LlamaContextBinding llamaContextBinding) {
+            if (threadPoolPolicy != null) {
+                threadPoolPolicy.close();
+            }
+            for (LlamaContext context : contexts) {
+                llamaContextBinding.freeContext(context);
+            }
+            if (model != null) {
+                llamaModelBinding.freeModel(model);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.parallel;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaParallelSamplingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaParallelSamplingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * N-best generation sharing one prompt prefill.
+ * <p>
+ * The prompt is decoded once into sequence 0 and its KV entries are copied to sequences
+ * 1..N-1 with {@code llama_memory_seq_cp}. Every candidate samples with its own clone of the
+ * prototype sampler, and all unfinished candidates are advanced by one multi-sequence
+ * {@code llama_decode} per step.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaContextParamsNative contextParams = llamaLibrary.llama_context_default_params();
+ * contextParams.n_ctx = 4096;
+ * contextParams.n_seq_max = 4;
+ * contextParams.kv_unified = 1;
+ * LlamaContext context = contextService.create(model, contextParams);
+ *
+ * // filters only, a distribution sampler with a distinct seed is appended per candidate
+ * LlamaSampler prototype = samplerService.createChainSampler(false);
+ * samplerService.addSamplerToChain(samplerService.createTopKSampler(40), prototype);
+ * samplerService.addSamplerToChain(samplerService.createTemperatureSampler(0.8f), prototype);
+ *
+ * LlamaParallelSamplingResult result = parallelService.generate(context, prototype, vocabulary, prompt,
+ *         new LlamaParallelSamplingParams().setSequenceCount(4).setMaxTokens(128));
+ *
+ * for (LlamaParallelSamplingCandidate candidate : result.getCandidates()) {
+ *     System.out.println(candidate.getText());
+ * }
+ * }</pre>
+ */
+public interface LlamaParallelSamplingBinding {
+
+    /**
+     * Generate N candidate completions for the prompt.
+     * <p>
+     * Sequences 0..N-1 are cleared before the prompt is processed and keep the candidate
+     * KV entries afterwards.
+     *
+     * @param context      context created with {@code n_seq_max} of at least N
+     * @param sampler      prototype sampler chain, cloned per candidate and owned by the caller
+     * @param vocabulary   vocabulary of the model
+     * @param promptTokens tokenized prompt, must not be empty
+     * @param params       parallel sampling settings
+     * @return candidates ordered by sequence id and throughput statistics
+     */
+    LlamaParallelSamplingResult generate(LlamaContext context,
+                                         LlamaSampler sampler,
+                                         LlamaVocabulary vocabulary,
+                                         int[] promptTokens,
+                                         LlamaParallelSamplingParams params);
+}
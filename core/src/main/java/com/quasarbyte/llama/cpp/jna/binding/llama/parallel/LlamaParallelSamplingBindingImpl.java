@@ -0,0 +1,248 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.parallel;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.UInt32;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaMemoryManager;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaParallelSamplingCandidate;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaParallelSamplingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaParallelSamplingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class LlamaParallelSamplingBindingImpl implements LlamaParallelSamplingBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaParallelSamplingBindingImpl.class);
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final LlamaMemoryBinding llamaMemoryBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaTokenBinding llamaTokenBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    public LlamaParallelSamplingBindingImpl(LlamaBatchBinding llamaBatchBinding,
+                                            LlamaContextBinding llamaContextBinding,
+                                            LlamaMemoryBinding llamaMemoryBinding,
+                                            LlamaProcessingBinding llamaProcessingBinding,
+                                            LlamaSamplerBinding llamaSamplerBinding,
+                                            LlamaTokenBinding llamaTokenBinding,
+                                            LlamaVocabularyBinding llamaVocabularyBinding) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaMemoryBinding = llamaMemoryBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaTokenBinding = llamaTokenBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+    }
+
+    @Override
+    public LlamaParallelSamplingResult generate(LlamaContext context,
+                                                LlamaSampler sampler,
+                                                LlamaVocabulary vocabulary,
+                                                int[] promptTokens,
+                                                LlamaParallelSamplingParams params) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(sampler);
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(promptTokens);
+        Objects.requireNonNull(params);
+
+        if (promptTokens.length == 0) {
+            throw new LlamaCppJnaException("Prompt tokens cannot be empty");
+        }
+
+        if (params.getMaxTokens() < 1) {
+            throw new LlamaCppJnaException(String.format("Max tokens must be positive, value: %d", params.getMaxTokens()));
+        }
+
+        int sequenceCount = params.getSequenceCount();
+        long maxSequences = llamaContextBinding.getMaxNumberOfSequences(context);
+        int batchSize = (int) llamaBatchBinding.getBatchSize(context);
+        long contextSize = llamaContextBinding.getContextSize(context);
+
+        if (sequenceCount < 1 || sequenceCount > maxSequences || sequenceCount > batchSize) {
+            logger.error("Invalid sequence count: {}, max sequences: {}, batch size: {}", sequenceCount, maxSequences, batchSize);
+            throw new LlamaCppJnaException(String.format("Invalid sequence count: %d, max sequences: %d, batch size: %d", sequenceCount, maxSequences, batchSize));
+        }
+
+        LlamaMemoryManager memory = llamaMemoryBinding.getMemory(context);
+
+        for (int s = 0; s < sequenceCount; s++) {
+            llamaMemoryBinding.sequenceRemove(memory, s, -1, -1);
+        }
+
+        int maxTokens = params.getMaxTokens();
+        int[][] generated = new int[sequenceCount][maxTokens];
+        int[] generatedCounts = new int[sequenceCount];
+        int[] lastTokens = new int[sequenceCount];
+        boolean[] active = new boolean[sequenceCount];
+        boolean[] endOfGeneration = new boolean[sequenceCount];
+        int[] batchIndexes = new int[sequenceCount];
+
+        LlamaSampler[] samplers = new LlamaSampler[sequenceCount];
+        LlamaBatch batch = null;
+
+        try {
+            for (int s = 0; s < sequenceCount; s++) {
+                samplers[s] = createCandidateSampler(sampler, params, s);
+            }
+
+            batch = llamaBatchBinding.createBatch(batchSize, sequenceCount);
+
+            long promptStart = System.nanoTime();
+
+            // One prefill, shared by all candidates through KV copies
+            int promptResult = llamaProcessingBinding.decodeTokens(context, batch, promptTokens, 0, 0);
+            boolean aborted = llamaProcessingBinding.isAborted(promptResult);
+            boolean prefilled = promptResult == 0;
+            if (!prefilled) {
+                logger.warn("Stopping parallel sampling, prompt decode result: {}", llamaProcessingBinding.getResultDescription(promptResult));
+            }
+            for (int s = 1; s < sequenceCount && prefilled; s++) {
+                llamaMemoryBinding.sequenceCopy(memory, 0, s, -1, -1);
+            }
+
+            long generationStart = System.nanoTime();
+            long promptTimeNanos = generationStart - promptStart;
+
+            // The first token of every candidate is sampled from the shared prompt logits
+            int activeCount = 0;
+            for (int s = 0; s < sequenceCount && prefilled; s++) {
+                activeCount += acceptSampled(s, llamaSamplerBinding.sampleToken(samplers[s], context, -1), vocabulary, maxTokens,
+                        generated, generatedCounts, lastTokens, active, endOfGeneration) ? 1 : 0;
+            }
+
+            int position = promptTokens.length;
+            int decodeCount = 0;
+
+            while (activeCount > 0) {
+
+                if (position >= contextSize) {
+                    logger.warn("Context size exceeded, context size: {}", contextSize);
+                    break;
+                }
+
+                llamaBatchBinding.clearBatch(batch);
+                for (int s = 0; s < sequenceCount; s++) {
+                    if (active[s]) {
+                        batchIndexes[s] = llamaBatchBinding.addToken(batch, lastTokens[s], position, s, true);
+                    }
+                }
+
+                int result = llamaProcessingBinding.decodeBatch(context, batch);
+                decodeCount++;
+
+                if (result != 0) {
+                    aborted = llamaProcessingBinding.isAborted(result);
+                    logger.warn("Stopping parallel sampling, decode result: {}", llamaProcessingBinding.getResultDescription(result));
+                    break;
+                }
+
+                position++;
+                activeCount = 0;
+
+                for (int s = 0; s < sequenceCount; s++) {
+                    if (active[s]) {
+                        activeCount += acceptSampled(s, llamaSamplerBinding.sampleToken(samplers[s], context, batchIndexes[s]), vocabulary, maxTokens,
+                                generated, generatedCounts, lastTokens, active, endOfGeneration) ? 1 : 0;
+                    }
+                }
+            }
+
+            long generationTimeNanos = System.nanoTime() - generationStart;
+
+            List<LlamaParallelSamplingCandidate> candidates = new ArrayList<>(sequenceCount);
+            for (int s = 0; s < sequenceCount; s++) {
+                int[] tokens = Arrays.copyOf(generated[s], generatedCounts[s]);
+                candidates.add(new LlamaParallelSamplingCandidate()
+                        .setSequenceId(s)
+                        .setTokens(tokens)
+                        .setText(tokens.length > 0 ? llamaTokenBinding.detokenize(vocabulary, tokens, false, false, params.getDetokenizeBytesPerToken()) : "")
+                        .setEndOfGeneration(endOfGeneration[s]));
+            }
+
+            LlamaParallelSamplingResult result = new LlamaParallelSamplingResult()
+                    .setCandidates(candidates)
+                    .setDecodeCount(decodeCount)
+                    .setPromptTimeNanos(promptTimeNanos)
+                    .setGenerationTimeNanos(generationTimeNanos)
+                    .setAborted(aborted);
+
+            logger.info("Parallel sampling completed, candidates: {}, generated: {}, decodes: {}, tokens/s: {}",
+                    sequenceCount, result.getGeneratedTokenCount(), decodeCount, String.format("%.2f", result.getTokensPerSecond()));
+
+            return result;
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run parallel sampling, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run parallel sampling, error: %s", e.getMessage()), e);
+        } finally {
+            for (LlamaSampler candidateSampler : samplers) {
+                if (candidateSampler != null) {
+                    llamaSamplerBinding.freeSampler(candidateSampler);
+                }
+            }
+            if (batch != null) {
+                llamaBatchBinding.freeBatch(batch);
+            }
+        }
+    }
+
+    private LlamaSampler createCandidateSampler(LlamaSampler prototype, LlamaParallelSamplingParams params, int sequenceId) {
+        LlamaSampler candidateSampler = llamaSamplerBinding.cloneSampler(prototype);
+
+        if (params.isAppendDistributionSampler()) {
+            long seed = params.getSeed() == LlamaLibrary.LLAMA_DEFAULT_SEED
+                    ? LlamaLibrary.LLAMA_DEFAULT_SEED
+                    : (params.getSeed() + sequenceId) & 0xFFFFFFFFL;
+            llamaSamplerBinding.addSamplerToChain(llamaSamplerBinding.createDistributionSampler(new UInt32(seed)), candidateSampler);
+        }
+
+        return candidateSampler;
+    }
+
+    /**
+     * Record a sampled token and report whether the candidate continues.
+     */
+    private boolean acceptSampled(int sequenceId,
+                                  int token,
+                                  LlamaVocabulary vocabulary,
+                                  int maxTokens,
+                                  int[][] generated,
+                                  int[] generatedCounts,
+                                  int[] lastTokens,
+                                  boolean[] active,
+                                  boolean[] endOfGeneration) {
+        if (llamaVocabularyBinding.isEndOfGeneration(vocabulary, token)) {
+            endOfGeneration[sequenceId] = true;
+            active[sequenceId] = false;
+            return false;
+        }
+
+        generated[sequenceId][generatedCounts[sequenceId]++] = token;
+        lastTokens[sequenceId] = token;
+        active[sequenceId] = generatedCounts[sequenceId] < maxTokens;
+        return active[sequenceId];
+    }
+}
@@ -11,6 +11,12 @@ import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
  */
 public interface LlamaProcessingBinding {
 
+    /** llama_decode() result: no KV slot was found for the batch */
+    int DECODE_RESULT_NO_MEMORY_SLOT = 1;
+
+    /** llama_decode() result: computation stopped by the abort callback */
+    int DECODE_RESULT_ABORTED = 2;
+
     /**
      * Encode input batch for embeddings generation.
      * <p>
@@ -37,6 +43,23 @@ public interface LlamaProcessingBinding {
      */
     int decodeBatch(LlamaContext context, LlamaBatch batch);
 
+    /**
+     * Decode a token sequence into one KV sequence, reusing a batch created with
+     * {@code LlamaBatchBinding.createBatch(int, int)}.
+     * <p>
+     * Tokens are submitted in chunks of the batch capacity at consecutive positions
+     * starting from {@code startPosition}. Logits are requested for the last token only,
+     * so it can be sampled with index {@code -1} afterwards.
+     *
+     * @param context the context to process with
+     * @param batch reusable batch, cleared before each chunk
+     * @param tokens tokens to decode
+     * @param startPosition position of the first token
+     * @param sequenceId target sequence
+     * @return result of the last decode call; chunking stops at the first non-zero result, which is returned
+     */
+    int decodeTokens(LlamaContext context, LlamaBatch batch, int[] tokens, int startPosition, int sequenceId);
+
     /**
      * Check if the last processing operation was successful.
      *
@@ -61,6 +84,14 @@ public interface LlamaProcessingBinding {
      */
     boolean hasError(int result);
 
+    /**
+     * Check if the last decode was stopped by the context abort callback.
+     *
+     * @param result the result code from decodeBatch
+     * @return true if the computation was aborted
+     */
+    boolean isAborted(int result);
+
     /**
      * Get a human-readable description of the processing result.
      *
@@ -1,10 +1,13 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.processing;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
 import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
 
 public class LlamaProcessingBindingFactory {
 
     public LlamaProcessingBinding create(LlamaLibrary llamaLibrary) {
-        return new LlamaProcessingBindingImpl(llamaLibrary);
+        LlamaBatchBinding llamaBatchBinding = new LlamaBatchBindingFactory().create(llamaLibrary);
+        return new LlamaProcessingBindingImpl(llamaLibrary, llamaBatchBinding);
     }
 }
\ No newline at end of file
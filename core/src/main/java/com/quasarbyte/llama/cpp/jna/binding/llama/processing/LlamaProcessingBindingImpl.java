@@ -1,5 +1,9 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.processing;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvent;
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvents;
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.executor.LlamaVirtualThreads;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallIntResultException;
 import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
@@ -18,9 +22,11 @@ public class LlamaProcessingBindingImpl implements LlamaProcessingBinding {
     private static final Logger logger = LoggerFactory.getLogger(LlamaProcessingBindingImpl.class);
 
     private final LlamaLibrary llamaLibrary;
+    private final LlamaBatchBinding llamaBatchBinding;
 
-    public LlamaProcessingBindingImpl(LlamaLibrary llamaLibrary) {
+    public LlamaProcessingBindingImpl(LlamaLibrary llamaLibrary, LlamaBatchBinding llamaBatchBinding) {
         this.llamaLibrary = llamaLibrary;
+        this.llamaBatchBinding = llamaBatchBinding;
     }
 
     @Override
@@ -31,13 +37,15 @@ public class LlamaProcessingBindingImpl implements LlamaProcessingBinding {
         Objects.requireNonNull(batch.getNativeBatch());
         // Note: tokensMemory can be null for batches created with llama_batch_init
 
+        LlamaVirtualThreads.warnIfVirtual("llama_encode");
+
         try {
 
             int result = llamaLibrary.llama_encode(context.getContextPointer(), batch.getNativeBatch());
 
             if (result < 0) {
                 logger.error("Failed to encode batch, result: {}", result);
-                throw new LlamaFunctionCallIntResultException(result, String.format("Failed to encode batch, resultFailed to encode batch, result: %d", result));
+                throw new LlamaFunctionCallIntResultException(result, String.format("Failed to encode batch, result: %d", result));
             }
 
             if (result > 0) {
@@ -59,13 +67,19 @@ public class LlamaProcessingBindingImpl implements LlamaProcessingBinding {
         Objects.requireNonNull(batch.getNativeBatch());
         // Note: tokensMemory can be null for batches created with llama_batch_init
 
+        LlamaVirtualThreads.warnIfVirtual("llama_decode");
+
         try {
 
+            LlamaInferenceEvent event = LlamaInferenceEvents.decode();
+
             int result = llamaLibrary.llama_decode(context.getContextPointer(), batch.getNativeBatch());
 
+            event.setCount(batch.getNativeBatch().n_tokens).setResult(result).commit();
+
             if (result < 0) {
-                logger.error("Failed to decoded batch, result: {}", result);
-                throw new LlamaFunctionCallIntResultException(result, String.format("Failed to encode batch, resultFailed to encode batch, result: %d", result));
+                logger.error("Failed to decode batch, result: {}", result);
+                throw new LlamaFunctionCallIntResultException(result, String.format("Failed to decode batch, result: %d", result));
             }
 
             if (result > 0) {
@@ -79,6 +93,45 @@ public class LlamaProcessingBindingImpl implements LlamaProcessingBinding {
         }
     }
 
+    @Override
+    public int decodeTokens(LlamaContext context, LlamaBatch batch, int[] tokens, int startPosition, int sequenceId) {
+        Objects.requireNonNull(batch);
+        Objects.requireNonNull(tokens);
+
+        if (tokens.length == 0) {
+            throw new LlamaCppJnaException("Tokens array cannot be empty");
+        }
+
+        int chunkSize = batch.getCapacity();
+        if (chunkSize <= 0) {
+            throw new LlamaCppJnaException("Batch was not created with llama_batch_init");
+        }
+
+        int result = 0;
+
+        for (int chunkStart = 0; chunkStart < tokens.length; chunkStart += chunkSize) {
+            int chunkEnd = Math.min(chunkStart + chunkSize, tokens.length);
+
+            llamaBatchBinding.clearBatch(batch);
+            for (int i = chunkStart; i < chunkEnd; i++) {
+                llamaBatchBinding.addToken(batch, tokens[i], startPosition + i, sequenceId, i == tokens.length - 1);
+            }
+
+            result = decodeBatch(context, batch);
+
+            if (result != 0) {
+                if (result == DECODE_RESULT_ABORTED) {
+                    logger.debug("Token decoding aborted after {} of {} tokens", chunkStart, tokens.length);
+                } else {
+                    logger.warn("Token decoding stopped after {} of {} tokens, result: {}", chunkStart, tokens.length, result);
+                }
+                break;
+            }
+        }
+
+        return result;
+    }
+
     @Override
     public boolean isSuccess(int result) {
         return result == 0;
@@ -94,10 +147,19 @@ public class LlamaProcessingBindingImpl implements LlamaProcessingBinding {
         return result < 0;
     }
 
+    @Override
+    public boolean isAborted(int result) {
+        return result == DECODE_RESULT_ABORTED;
+    }
+
     @Override
     public String getResultDescription(int result) {
         if (result == 0) {
             return "Success";
+        } else if (result == DECODE_RESULT_NO_MEMORY_SLOT) {
+            return "Warning: no memory slot for the batch (code: " + result + ")";
+        } else if (result == DECODE_RESULT_ABORTED) {
+            return "Warning: aborted (code: " + result + ")";
         } else if (result > 0) {
             return "Warning (code: " + result + ")";
         } else {
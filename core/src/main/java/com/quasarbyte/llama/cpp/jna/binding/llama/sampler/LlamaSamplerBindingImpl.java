@@ -1,5 +1,7 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvent;
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvents;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallLongResultException;
 import com.quasarbyte.llama.cpp.jna.library.declaration.UInt32;
@@ -120,7 +122,10 @@ public class LlamaSamplerBindingImpl implements LlamaSamplerBinding {
         Objects.requireNonNull(sampler.getSamplerPointer());
         Objects.requireNonNull(context);
         Objects.requireNonNull(context.getContextPointer());
-        return llamaLibrary.llama_sampler_sample(sampler.getSamplerPointer(), context.getContextPointer(), index);
+        LlamaInferenceEvent event = LlamaInferenceEvents.sample();
+        int token = llamaLibrary.llama_sampler_sample(sampler.getSamplerPointer(), context.getContextPointer(), index);
+        event.setCount(index).setResult(token).commit();
+        return token;
     }
 
     @Override
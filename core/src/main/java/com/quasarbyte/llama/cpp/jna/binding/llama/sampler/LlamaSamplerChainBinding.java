@@ -0,0 +1,34 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+
+/**
+ * Compiles a {@link LlamaSamplerConfig} into a sampler chain.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaSamplerConfig config = new LlamaSamplerConfig()
+ *         .setTopK(40)
+ *         .setTopP(0.9f)
+ *         .setTemperature(0.7f)
+ *         .setPenaltyRepeat(1.1f)
+ *         .setSeed(42);
+ *
+ * LlamaSampler chain = samplerChainService.build(model, config);
+ * // ... sampleToken(chain, ctx, -1) ...
+ * samplerService.freeSampler(chain);
+ * }</pre>
+ */
+public interface LlamaSamplerChainBinding {
+
+    /**
+     * Build a new sampler chain.
+     *
+     * @param model  model providing the vocabulary and the training context size used by DRY
+     * @param config chain description
+     * @return chain head owned by the caller
+     */
+    LlamaSampler build(LlamaModel model, LlamaSamplerConfig config);
+}
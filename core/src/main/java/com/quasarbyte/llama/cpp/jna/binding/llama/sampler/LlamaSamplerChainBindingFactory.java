@@ -0,0 +1,21 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaGrammarSamplerCache;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaSamplerChainBindingFactory {
+
+    public LlamaSamplerChainBinding create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, null);
+    }
+
+    public LlamaSamplerChainBinding create(LlamaLibrary llamaLibrary, LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        return new LlamaSamplerChainBindingImpl(
+                new LlamaModelBindingFactory().create(llamaLibrary),
+                new LlamaSamplerBindingFactory().create(llamaLibrary),
+                new LlamaVocabularyBindingFactory().create(llamaLibrary),
+                llamaGrammarSamplerCache);
+    }
+}
@@ -0,0 +1,129 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaGrammarSamplerCache;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.UInt32;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+public class LlamaSamplerChainBindingImpl implements LlamaSamplerChainBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaSamplerChainBindingImpl.class);
+
+    private final LlamaModelBinding llamaModelBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+    private final LlamaGrammarSamplerCache llamaGrammarSamplerCache;
+
+    /**
+     * @param llamaGrammarSamplerCache optional cache of parsed grammars, may be null
+     */
+    public LlamaSamplerChainBindingImpl(LlamaModelBinding llamaModelBinding,
+                                        LlamaSamplerBinding llamaSamplerBinding,
+                                        LlamaVocabularyBinding llamaVocabularyBinding,
+                                        LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        this.llamaModelBinding = llamaModelBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+        this.llamaGrammarSamplerCache = llamaGrammarSamplerCache;
+    }
+
+    @Override
+    public LlamaSampler build(LlamaModel model, LlamaSamplerConfig config) {
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(config);
+
+        LlamaVocabulary vocabulary = llamaVocabularyBinding.getVocabulary(model);
+        int vocabularySize = llamaVocabularyBinding.getVocabularyTokenCount(vocabulary);
+        UInt32 seed = new UInt32(config.getSeed());
+
+        LlamaSampler chain = llamaSamplerBinding.createChainSampler(false);
+
+        try {
+            if (!config.getLogitBias().isEmpty()) {
+                add(chain, llamaSamplerBinding.createLogitBiasSampler(vocabularySize, config.getLogitBias()));
+            }
+
+            if (config.getGrammar() != null) {
+                add(chain, llamaGrammarSamplerCache != null
+                        ? llamaGrammarSamplerCache.acquire(vocabulary, config.getGrammar(), config.getGrammarRoot())
+                        : llamaSamplerBinding.createGrammarSampler(vocabulary, config.getGrammar(), config.getGrammarRoot()));
+            }
+
+            if (config.getPenaltyLastN() != 0
+                    && (config.getPenaltyRepeat() != 1.0f || config.getPenaltyFrequency() != 0.0f || config.getPenaltyPresent() != 0.0f)) {
+                add(chain, llamaSamplerBinding.createPenaltiesSampler(config.getPenaltyLastN(),
+                        config.getPenaltyRepeat(), config.getPenaltyFrequency(), config.getPenaltyPresent()));
+            }
+
+            if (config.getDryMultiplier() > 0.0f) {
+                add(chain, llamaSamplerBinding.createDontRepeatYourselfSampler(vocabulary, llamaModelBinding.getTrainContextSize(model),
+                        config.getDryMultiplier(), config.getDryBase(), config.getDryAllowedLength(), config.getDryPenaltyLastN(),
+                        config.getDrySequenceBreakers()));
+            }
+
+            switch (config.getMirostat()) {
+                case 0:
+                    addSelection(chain, config, seed);
+                    break;
+                case 1:
+                    add(chain, llamaSamplerBinding.createTemperatureSampler(config.getTemperature()));
+                    add(chain, llamaSamplerBinding.createMirostatSampler(vocabularySize, (int) config.getSeed(),
+                            config.getMirostatTau(), config.getMirostatEta(), new UInt32(config.getMirostatM())));
+                    break;
+                case 2:
+                    add(chain, llamaSamplerBinding.createTemperatureSampler(config.getTemperature()));
+                    add(chain, llamaSamplerBinding.createMirostatV2Sampler(seed, config.getMirostatTau(), config.getMirostatEta()));
+                    break;
+                default:
+                    throw new LlamaCppJnaException(String.format("Unsupported mirostat version: %d", config.getMirostat()));
+            }
+
+            logger.debug("Sampler chain built, stages: {}, config: {}", llamaSamplerBinding.getChainSamplerCount(chain), config);
+
+            return chain;
+
+        } catch (RuntimeException e) {
+            llamaSamplerBinding.freeSampler(chain);
+            throw e;
+        }
+    }
+
+    private void addSelection(LlamaSampler chain, LlamaSamplerConfig config, UInt32 seed) {
+        if (config.getTemperature() <= 0.0f) {
+            add(chain, llamaSamplerBinding.createGreedySampler());
+            return;
+        }
+
+        if (config.getTopK() > 0) {
+            add(chain, llamaSamplerBinding.createTopKSampler(config.getTopK()));
+        }
+        if (config.getTypicalP() < 1.0f) {
+            add(chain, llamaSamplerBinding.createTypicalSampler(config.getTypicalP(), config.getMinKeep()));
+        }
+        if (config.getTopP() < 1.0f) {
+            add(chain, llamaSamplerBinding.createTopPSampler(config.getTopP(), config.getMinKeep()));
+        }
+        if (config.getMinP() > 0.0f) {
+            add(chain, llamaSamplerBinding.createMinPSampler(config.getMinP(), config.getMinKeep()));
+        }
+        if (config.getXtcProbability() > 0.0f) {
+            add(chain, llamaSamplerBinding.createXtcSampler(config.getXtcProbability(), config.getXtcThreshold(), config.getMinKeep(), seed));
+        }
+
+        add(chain, llamaSamplerBinding.createTemperatureSampler(config.getTemperature()));
+        add(chain, llamaSamplerBinding.createDistributionSampler(seed));
+    }
+
+    private void add(LlamaSampler chain, LlamaSampler stage) {
+        llamaSamplerBinding.addSamplerToChain(stage, chain);
+    }
+}
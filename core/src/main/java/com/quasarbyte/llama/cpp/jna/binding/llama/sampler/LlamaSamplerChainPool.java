@@ -0,0 +1,76 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+
+/**
+ * Pool of sampler chains keyed by model and {@link LlamaSamplerConfig}.
+ * <p>
+ * Released chains are reset with {@code llama_sampler_reset} (penalty history, grammar state,
+ * RNG) and handed out again for an equal config, so services do not build and free a chain
+ * per request. Idle chains are bounded per config and overall; when the overall limit is
+ * exceeded the chains of the least recently used configs are freed, so configs that vary per
+ * request (e.g. a random seed) do not keep native memory alive. Implementations are thread-safe;
+ * a leased chain must only be used by one generation at a time.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaSamplerChainPool pool = new LlamaSamplerChainPoolFactory().create(llamaLibrary, 8);
+ *
+ * LlamaSampler chain = pool.acquire(model, requestConfig);
+ * try {
+ *     // ... generate with chain ...
+ * } finally {
+ *     pool.release(chain);
+ * }
+ * }</pre>
+ */
+public interface LlamaSamplerChainPool {
+
+    /**
+     * Lease a chain for the config, reusing an idle one when available.
+     *
+     * @param model  model the chain samples for
+     * @param config chain description, copied by the pool
+     * @return chain in its initial state
+     */
+    LlamaSampler acquire(LlamaModel model, LlamaSamplerConfig config);
+
+    /**
+     * Return a leased chain. It is reset and kept for reuse, or freed when the idle limit
+     * for its config is reached. Keeping it may free idle chains of the least recently used configs.
+     *
+     * @param sampler chain obtained from {@link #acquire(LlamaModel, LlamaSamplerConfig)}
+     */
+    void release(LlamaSampler sampler);
+
+    /**
+     * Number of idle chains over all configs.
+     */
+    int getIdleCount();
+
+    /**
+     * Number of chains currently leased.
+     */
+    int getLeasedCount();
+
+    long getCreatedCount();
+
+    long getReusedCount();
+
+    /**
+     * Number of idle chains freed to stay within the overall idle limit.
+     */
+    long getEvictedCount();
+
+    /**
+     * Number of configs with idle chains.
+     */
+    int getConfigCount();
+
+    /**
+     * Free all idle chains. Leased chains stay valid and return to the pool when released.
+     */
+    void clear();
+}
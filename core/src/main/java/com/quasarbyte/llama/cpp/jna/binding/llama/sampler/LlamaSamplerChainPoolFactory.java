@@ -0,0 +1,30 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaGrammarSamplerCache;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaSamplerChainPoolFactory {
+
+    private static final int DEFAULT_MAX_IDLE_PER_CONFIG = 8;
+    private static final int DEFAULT_MAX_IDLE = 64;
+
+    public LlamaSamplerChainPool create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, DEFAULT_MAX_IDLE_PER_CONFIG);
+    }
+
+    public LlamaSamplerChainPool create(LlamaLibrary llamaLibrary, int maxIdlePerConfig) {
+        return create(llamaLibrary, maxIdlePerConfig, null);
+    }
+
+    public LlamaSamplerChainPool create(LlamaLibrary llamaLibrary, int maxIdlePerConfig, LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        return create(llamaLibrary, maxIdlePerConfig, Math.max(DEFAULT_MAX_IDLE, maxIdlePerConfig), llamaGrammarSamplerCache);
+    }
+
+    public LlamaSamplerChainPool create(LlamaLibrary llamaLibrary, int maxIdlePerConfig, int maxIdle, LlamaGrammarSamplerCache llamaGrammarSamplerCache) {
+        return new LlamaSamplerChainPoolImpl(
+                new LlamaSamplerBindingFactory().create(llamaLibrary),
+                new LlamaSamplerChainBindingFactory().create(llamaLibrary, llamaGrammarSamplerCache),
+                maxIdlePerConfig,
+                maxIdle);
+    }
+}
@@ -0,0 +1,199 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.sampler;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+import com.sun.jna.Pointer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class LlamaSamplerChainPoolImpl implements LlamaSamplerChainPool {
+
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaSamplerChainBinding llamaSamplerChainBinding;
+    private final int maxIdlePerConfig;
+    private final int maxIdle;
+
+    // Access-ordered: the first bucket is the least recently used config
+    private final Map<PoolKey, ArrayDeque<LlamaSampler>> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<LlamaSampler, PoolKey> leased = new IdentityHashMap<>();
+
+    private int idleCount;
+    private long createdCount;
+    private long reusedCount;
+    private long evictedCount;
+
+    public LlamaSamplerChainPoolImpl(LlamaSamplerBinding llamaSamplerBinding,
+                                     LlamaSamplerChainBinding llamaSamplerChainBinding,
+                                     int maxIdlePerConfig,
+                                     int maxIdle) {
+        if (maxIdlePerConfig < 0) {
+            throw new LlamaCppJnaException(String.format("Max idle chains per config must not be negative, value: %d", maxIdlePerConfig));
+        }
+        if (maxIdle < 0) {
+            throw new LlamaCppJnaException(String.format("Max idle chains must not be negative, value: %d", maxIdle));
+        }
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaSamplerChainBinding = llamaSamplerChainBinding;
+        this.maxIdlePerConfig = maxIdlePerConfig;
+        this.maxIdle = maxIdle;
+    }
+
+    @Override
+    public LlamaSampler acquire(LlamaModel model, LlamaSamplerConfig config) {
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(model.getModelPointer());
+        Objects.requireNonNull(config);
+
+        PoolKey key = new PoolKey(Pointer.nativeValue(model.getModelPointer().getPointer()), config.copy());
+
+        synchronized (this) {
+            ArrayDeque<LlamaSampler> chains = idle.get(key);
+            if (chains != null) {
+                LlamaSampler chain = chains.pop();
+                if (chains.isEmpty()) {
+                    idle.remove(key);
+                }
+                idleCount--;
+                reusedCount++;
+                leased.put(chain, key);
+                return chain;
+            }
+        }
+
+        // Building may parse a grammar, keep it outside the lock
+        LlamaSampler chain = llamaSamplerChainBinding.build(model, key.config);
+
+        synchronized (this) {
+            createdCount++;
+            leased.put(chain, key);
+        }
+        return chain;
+    }
+
+    @Override
+    public void release(LlamaSampler sampler) {
+        Objects.requireNonNull(sampler);
+
+        List<LlamaSampler> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            PoolKey key = leased.remove(sampler);
+            if (key == null) {
+                throw new LlamaCppJnaException("Sampler chain was not acquired from this pool");
+            }
+
+            ArrayDeque<LlamaSampler> chains = idle.get(key);
+            int size = chains != null ? chains.size() : 0;
+            if (size < maxIdlePerConfig && maxIdle > 0) {
+                if (chains == null) {
+                    chains = new ArrayDeque<>();
+                    idle.put(key, chains);
+                }
+                llamaSamplerBinding.resetSampler(sampler);
+                chains.push(sampler);
+                idleCount++;
+                evictLeastRecentlyUsed(evicted);
+            } else {
+                evicted.add(sampler);
+            }
+        }
+
+        for (LlamaSampler chain : evicted) {
+            llamaSamplerBinding.freeSampler(chain);
+        }
+    }
+
+    /**
+     * Take chains from the least recently used configs until the overall idle limit holds,
+     * dropping the buckets that become empty. The caller frees the chains outside the lock.
+     */
+    private void evictLeastRecentlyUsed(List<LlamaSampler> evicted) {
+        Iterator<ArrayDeque<LlamaSampler>> buckets = idle.values().iterator();
+        while (idleCount > maxIdle && buckets.hasNext()) {
+            ArrayDeque<LlamaSampler> chains = buckets.next();
+            while (idleCount > maxIdle && !chains.isEmpty()) {
+                evicted.add(chains.pollLast());
+                idleCount--;
+                evictedCount++;
+            }
+            if (chains.isEmpty()) {
+                buckets.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized int getIdleCount() {
+        return idleCount;
+    }
+
+    @Override
+    public synchronized int getLeasedCount() {
+        return leased.size();
+    }
+
+    @Override
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    @Override
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    @Override
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+
+    @Override
+    public synchronized int getConfigCount() {
+        return idle.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (ArrayDeque<LlamaSampler> chains : idle.values()) {
+            for (LlamaSampler chain : chains) {
+                llamaSamplerBinding.freeSampler(chain);
+            }
+        }
+        idle.clear();
+        idleCount = 0;
+    }
+
+    private static final class PoolKey {
+        private final long modelAddress;
+        private final LlamaSamplerConfig config;
+        private final int hash;
+
+        private PoolKey(long modelAddress, LlamaSamplerConfig config) {
+            this.modelAddress = modelAddress;
+            this.config = config;
+            this.hash = 31 * Long.hashCode(modelAddress) + config.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PoolKey)) return false;
+            PoolKey that = (PoolKey) o;
+            return modelAddress == that.modelAddress && hash == that.hash && config.equals(that.config);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.session;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatConversation;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGenerator;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGeneratorListener;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorOptions;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorResult;
+
+/**
+ * Multi-turn chat over one context that keeps the KV cache aligned with the conversation.
+ * <p>
+ * The session records the exact tokens committed to the generator's sequence: the templated
+ * prompt and the generated tokens that were decoded. Each turn templates the conversation,
+ * compares the tokens with that history, removes the sequence from the first position that
+ * differs and decodes only the tokens after it. A new message costs only its own tokens, and an
+ * edited or regenerated message only the tokens from the edit on.
+ * <p>
+ * {@link LlamaGeneratorOptions#isClearMemory()} is ignored, the session decides what is kept.
+ * Instances are not thread-safe. The model and context stay owned by the caller.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * try (LlamaChatSession session = new LlamaChatSessionFactory().create(llamaLibrary, model, context,
+ *         new LlamaSamplerConfig().setTemperature(0.7f))) {
+ *
+ *     LlamaGeneratorOptions options = new LlamaGeneratorOptions().setMaxTokens(512);
+ *
+ *     System.out.println(session.send("Name three rivers.", options).getText());
+ *     System.out.println(session.send("Which one is the longest?", options).getText());
+ *
+ *     // Only the tokens of the last answer are decoded again
+ *     System.out.println(session.regenerate(options).getText());
+ * }
+ * }</pre>
+ */
+public interface LlamaChatSession extends AutoCloseable {
+
+    /**
+     * Add a user message and generate the answer.
+     */
+    LlamaGeneratorResult send(String content, LlamaGeneratorOptions options);
+
+    /**
+     * Add a user message and generate the answer, reporting tokens as they are produced.
+     */
+    LlamaGeneratorResult send(String content, LlamaGeneratorOptions options, LlamaGeneratorListener listener);
+
+    /**
+     * Generate the answer to the conversation as it is, e.g. after it was edited through
+     * {@link #getConversation()}. The answer is added as an assistant message.
+     */
+    LlamaGeneratorResult respond(LlamaGeneratorOptions options, LlamaGeneratorListener listener);
+
+    /**
+     * Remove the last assistant message, if any, and generate it again.
+     */
+    LlamaGeneratorResult regenerate(LlamaGeneratorOptions options);
+
+    LlamaGeneratorResult regenerate(LlamaGeneratorOptions options, LlamaGeneratorListener listener);
+
+    /**
+     * Messages of the session; changes are applied to the KV cache by the next turn.
+     */
+    LlamaChatConversation getConversation();
+
+    LlamaGenerator getGenerator();
+
+    /**
+     * Tokens committed to the sequence, in position order.
+     */
+    int[] getHistory();
+
+    int getHistoryLength();
+
+    /**
+     * Tokens of the last turn's prompt that were already in the KV cache.
+     */
+    int getLastReusedTokenCount();
+
+    /**
+     * Tokens decoded for the last turn's prompt.
+     */
+    int getLastPrefillTokenCount();
+
+    long getTotalReusedTokenCount();
+
+    long getTotalPrefillTokenCount();
+
+    /**
+     * Remove all messages and clear the sequence.
+     */
+    void reset();
+
+    /**
+     * Free the generator.
+     */
+    @Override
+    void close();
+}
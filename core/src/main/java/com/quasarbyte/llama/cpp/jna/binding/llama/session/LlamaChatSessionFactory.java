@@ -0,0 +1,43 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.session;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGenerator;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGeneratorFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+
+public class LlamaChatSessionFactory {
+
+    /**
+     * Create a session that uses the model's default chat template.
+     */
+    public LlamaChatSession create(LlamaLibrary llamaLibrary, LlamaModel model, LlamaContext context, LlamaSamplerConfig samplerConfig) {
+        LlamaChatBinding chatBinding = new LlamaChatBindingFactory().create(llamaLibrary);
+        String template = chatBinding.getChatTemplate(model, null)
+                .orElseThrow(() -> new LlamaCppJnaException("Model has no default chat template"));
+        return create(llamaLibrary, model, context, template, samplerConfig);
+    }
+
+    /**
+     * @param model         model of the context
+     * @param context       context to chat with, owned by the caller
+     * @param template      chat template string
+     * @param samplerConfig initial sampler chain
+     */
+    public LlamaChatSession create(LlamaLibrary llamaLibrary, LlamaModel model, LlamaContext context, String template, LlamaSamplerConfig samplerConfig) {
+        LlamaChatBinding chatBinding = new LlamaChatBindingFactory().create(llamaLibrary);
+        LlamaGenerator generator = new LlamaGeneratorFactory().create(llamaLibrary, model, context, samplerConfig);
+        try {
+            return new LlamaChatSessionImpl(generator,
+                    chatBinding.createConversation(template, new LlamaVocabularyBindingFactory().create(llamaLibrary).getVocabulary(model)));
+        } catch (RuntimeException e) {
+            generator.close();
+            throw e;
+        }
+    }
+}
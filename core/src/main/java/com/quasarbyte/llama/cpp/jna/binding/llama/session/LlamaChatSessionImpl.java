@@ -0,0 +1,188 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.session;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatConversation;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGenerator;
+import com.quasarbyte.llama.cpp.jna.binding.llama.generator.LlamaGeneratorListener;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaFinishReason;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorOptions;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaGeneratorResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class LlamaChatSessionImpl implements LlamaChatSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaChatSessionImpl.class);
+
+    private static final String USER_ROLE = "user";
+    private static final String ASSISTANT_ROLE = "assistant";
+
+    private final LlamaGenerator generator;
+    private final LlamaChatConversation conversation;
+
+    private int[] history = new int[1024];
+    private int historyLength;
+
+    private int lastReusedTokenCount;
+    private int lastPrefillTokenCount;
+    private long totalReusedTokenCount;
+    private long totalPrefillTokenCount;
+    private boolean closed;
+
+    LlamaChatSessionImpl(LlamaGenerator generator, LlamaChatConversation conversation) {
+        this.generator = Objects.requireNonNull(generator);
+        this.conversation = Objects.requireNonNull(conversation);
+    }
+
+    @Override
+    public LlamaGeneratorResult send(String content, LlamaGeneratorOptions options) {
+        return send(content, options, LlamaGeneratorListener.NONE);
+    }
+
+    @Override
+    public LlamaGeneratorResult send(String content, LlamaGeneratorOptions options, LlamaGeneratorListener listener) {
+        Objects.requireNonNull(content);
+        conversation.add(USER_ROLE, content);
+        return respond(options, listener);
+    }
+
+    @Override
+    public LlamaGeneratorResult respond(LlamaGeneratorOptions options, LlamaGeneratorListener listener) {
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(listener);
+
+        if (closed) {
+            throw new LlamaCppJnaException("Chat session is closed");
+        }
+
+        if (conversation.getMessages().isEmpty()) {
+            throw new LlamaCppJnaException("Conversation cannot be empty");
+        }
+
+        conversation.update(true);
+        int[] templated = conversation.getTokens();
+
+        int common = 0;
+        int limit = Math.min(historyLength, templated.length);
+        while (common < limit && history[common] == templated[common]) {
+            common++;
+        }
+
+        // At least one prompt token is decoded, its logits give the first sampled token
+        int previousLength = historyLength;
+        int start = generator.rewind(Math.min(common, templated.length - 1));
+        historyLength = start;
+
+        int[] suffix = Arrays.copyOfRange(templated, start, templated.length);
+        lastReusedTokenCount = start;
+        lastPrefillTokenCount = suffix.length;
+        totalReusedTokenCount += start;
+        totalPrefillTokenCount += suffix.length;
+
+        logger.debug("Chat turn, history tokens: {}, prompt tokens: {}, reused: {}, prefill: {}",
+                previousLength, templated.length, start, suffix.length);
+
+        LlamaGeneratorResult result = generator.generate(suffix, options.copy().setClearMemory(false), listener);
+
+        int[] generated = result.getTokens();
+        if (generated.length == 0
+                && (result.getFinishReason() == LlamaFinishReason.ABORTED || result.getFinishReason() == LlamaFinishReason.CONTEXT_FULL)) {
+            // The prompt was not decoded completely, the next turn decodes it again
+            return result;
+        }
+
+        // The last sampled token is not decoded when generation stops on it
+        int decodedGenerated = Math.min(generated.length, generator.getPosition() - start - suffix.length);
+        ensureHistoryCapacity(start + suffix.length + decodedGenerated);
+        System.arraycopy(suffix, 0, history, start, suffix.length);
+        System.arraycopy(generated, 0, history, start + suffix.length, decodedGenerated);
+        historyLength = start + suffix.length + decodedGenerated;
+
+        conversation.add(ASSISTANT_ROLE, result.getText());
+        return result;
+    }
+
+    @Override
+    public LlamaGeneratorResult regenerate(LlamaGeneratorOptions options) {
+        return regenerate(options, LlamaGeneratorListener.NONE);
+    }
+
+    @Override
+    public LlamaGeneratorResult regenerate(LlamaGeneratorOptions options, LlamaGeneratorListener listener) {
+        List<LlamaChatMessage> messages = conversation.getMessages();
+        if (!messages.isEmpty() && ASSISTANT_ROLE.equals(messages.get(messages.size() - 1).getRole())) {
+            conversation.truncate(messages.size() - 1);
+        }
+        return respond(options, listener);
+    }
+
+    @Override
+    public LlamaChatConversation getConversation() {
+        return conversation;
+    }
+
+    @Override
+    public LlamaGenerator getGenerator() {
+        return generator;
+    }
+
+    @Override
+    public int[] getHistory() {
+        return Arrays.copyOf(history, historyLength);
+    }
+
+    @Override
+    public int getHistoryLength() {
+        return historyLength;
+    }
+
+    @Override
+    public int getLastReusedTokenCount() {
+        return lastReusedTokenCount;
+    }
+
+    @Override
+    public int getLastPrefillTokenCount() {
+        return lastPrefillTokenCount;
+    }
+
+    @Override
+    public long getTotalReusedTokenCount() {
+        return totalReusedTokenCount;
+    }
+
+    @Override
+    public long getTotalPrefillTokenCount() {
+        return totalPrefillTokenCount;
+    }
+
+    @Override
+    public void reset() {
+        if (closed) {
+            throw new LlamaCppJnaException("Chat session is closed");
+        }
+        conversation.clear();
+        generator.rewind(0);
+        historyLength = 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        generator.close();
+    }
+
+    private void ensureHistoryCapacity(int capacity) {
+        if (capacity > history.length) {
+            history = Arrays.copyOf(history, Math.max(capacity, history.length * 2));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.speculative;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSpeculativeDecodingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSpeculativeDecodingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * Speculative decoding with a small draft model.
+ * <p>
+ * The draft context greedily proposes up to K tokens, the target context verifies
+ * the last committed token and all proposals in one multi-token {@code llama_decode}
+ * with logits for every position. Tokens are sampled from the target logits in order;
+ * drafts are accepted while they match, and KV entries of rejected drafts are removed
+ * with {@code llama_memory_seq_rm}. The output distribution is the one of the target sampler.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaContext target = contextService.create(targetModel, 4096, 512, false);
+ * LlamaContext draft = contextService.create(draftModel, 4096, 512, false);
+ *
+ * int[] prompt = tokenService.tokenize(targetModel, vocabulary, text, true, true);
+ *
+ * LlamaSpeculativeDecodingResult result = speculativeService.generate(target, sampler, draft, vocabulary,
+ *         prompt, new LlamaSpeculativeDecodingParams().setDraftTokenCount(8).setMaxTokens(512));
+ *
+ * System.out.println(result.getText());
+ * System.out.printf("acceptance: %.2f, tokens/s: %.1f%n", result.getAcceptanceRate(), result.getTokensPerSecond());
+ * }</pre>
+ */
+public interface LlamaSpeculativeDecodingBinding {
+
+    /**
+     * Generate a completion for the prompt.
+     * <p>
+     * The configured sequence is cleared in both contexts before the prompt is processed.
+     * Both models must share the same vocabulary.
+     *
+     * @param targetContext context of the target (large) model
+     * @param targetSampler sampler used to pick tokens from the target logits, owned by the caller
+     * @param draftContext  context of the draft (small) model
+     * @param vocabulary    vocabulary of the target model
+     * @param promptTokens  tokenized prompt, must not be empty
+     * @param params        speculative decoding settings
+     * @return generated tokens, text and acceptance statistics
+     */
+    LlamaSpeculativeDecodingResult generate(LlamaContext targetContext,
+                                            LlamaSampler targetSampler,
+                                            LlamaContext draftContext,
+                                            LlamaVocabulary vocabulary,
+                                            int[] promptTokens,
+                                            LlamaSpeculativeDecodingParams params);
+
+    /**
+     * Generate a completion using prompt lookup instead of a draft model.
+     * <p>
+     * Proposals are continuations of the longest n-gram (between
+     * {@link LlamaSpeculativeDecodingParams#getNgramMinSize()} and
+     * {@link LlamaSpeculativeDecodingParams#getNgramMaxSize()} tokens) that matches the end of
+     * the prompt and generated history. They are verified in one batched decode like draft-model
+     * proposals, so the output is the one of the sampler chain. Works best when the output copies
+     * spans from the prompt, e.g. code editing or answers grounded in retrieved documents.
+     * <p>
+     * The configured sequence is cleared before the prompt is processed.
+     *
+     * @param context      context of the model
+     * @param sampler      sampler used to pick tokens from the logits, owned by the caller
+     * @param vocabulary   vocabulary of the model
+     * @param promptTokens tokenized prompt, must not be empty
+     * @param params       speculative decoding settings
+     * @return generated tokens, text and acceptance statistics
+     */
+    LlamaSpeculativeDecodingResult generateWithPromptLookup(LlamaContext context,
+                                                            LlamaSampler sampler,
+                                                            LlamaVocabulary vocabulary,
+                                                            int[] promptTokens,
+                                                            LlamaSpeculativeDecodingParams params);
+}
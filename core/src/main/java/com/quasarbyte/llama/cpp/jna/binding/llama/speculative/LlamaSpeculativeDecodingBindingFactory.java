@@ -0,0 +1,26 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.speculative;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaSpeculativeDecodingBindingFactory {
+
+    public LlamaSpeculativeDecodingBinding create(LlamaLibrary llamaLibrary) {
+        return new LlamaSpeculativeDecodingBindingImpl(
+                new LlamaBatchBindingFactory().create(llamaLibrary),
+                new LlamaContextBindingFactory().create(llamaLibrary),
+                new LlamaMemoryBindingFactory().create(llamaLibrary),
+                new LlamaProcessingBindingFactory().create(llamaLibrary),
+                new LlamaResultBindingFactory().create(llamaLibrary),
+                new LlamaSamplerBindingFactory().create(llamaLibrary),
+                new LlamaTokenBindingFactory().create(llamaLibrary),
+                new LlamaVocabularyBindingFactory().create(llamaLibrary));
+    }
+}
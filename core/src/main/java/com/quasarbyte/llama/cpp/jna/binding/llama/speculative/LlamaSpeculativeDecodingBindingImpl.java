@@ -0,0 +1,429 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.speculative;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaFinishReason;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaMemoryManager;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSpeculativeDecodingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSpeculativeDecodingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class LlamaSpeculativeDecodingBindingImpl implements LlamaSpeculativeDecodingBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaSpeculativeDecodingBindingImpl.class);
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final LlamaMemoryBinding llamaMemoryBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaResultBinding llamaResultBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaTokenBinding llamaTokenBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    public LlamaSpeculativeDecodingBindingImpl(LlamaBatchBinding llamaBatchBinding,
+                                               LlamaContextBinding llamaContextBinding,
+                                               LlamaMemoryBinding llamaMemoryBinding,
+                                               LlamaProcessingBinding llamaProcessingBinding,
+                                               LlamaResultBinding llamaResultBinding,
+                                               LlamaSamplerBinding llamaSamplerBinding,
+                                               LlamaTokenBinding llamaTokenBinding,
+                                               LlamaVocabularyBinding llamaVocabularyBinding) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaMemoryBinding = llamaMemoryBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaResultBinding = llamaResultBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaTokenBinding = llamaTokenBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+    }
+
+    @Override
+    public LlamaSpeculativeDecodingResult generate(LlamaContext targetContext,
+                                                   LlamaSampler targetSampler,
+                                                   LlamaContext draftContext,
+                                                   LlamaVocabulary vocabulary,
+                                                   int[] promptTokens,
+                                                   LlamaSpeculativeDecodingParams params) {
+        validateArguments(targetContext, targetSampler, vocabulary, promptTokens, params);
+        Objects.requireNonNull(draftContext);
+
+        int targetVocabularySize = llamaResultBinding.getVocabularySize(targetContext);
+        int draftVocabularySize = llamaResultBinding.getVocabularySize(draftContext);
+
+        if (targetVocabularySize != draftVocabularySize) {
+            logger.error("Draft and target vocabularies differ, target: {}, draft: {}", targetVocabularySize, draftVocabularySize);
+            throw new LlamaCppJnaException(String.format("Draft and target vocabularies differ, target: %d, draft: %d", targetVocabularySize, draftVocabularySize));
+        }
+
+        int sequenceId = params.getSequenceId();
+        int targetBatchSize = (int) llamaBatchBinding.getBatchSize(targetContext);
+        int draftBatchSize = (int) llamaBatchBinding.getBatchSize(draftContext);
+        long targetContextSize = llamaContextBinding.getContextSize(targetContext);
+        long draftContextSize = llamaContextBinding.getContextSize(draftContext);
+
+        // The verification batch holds the last committed token plus all drafts
+        int draftTokenCount = Math.min(params.getDraftTokenCount(), targetBatchSize - 1);
+
+        LlamaMemoryManager targetMemory = llamaMemoryBinding.getMemory(targetContext);
+        LlamaMemoryManager draftMemory = llamaMemoryBinding.getMemory(draftContext);
+
+        llamaMemoryBinding.sequenceRemove(targetMemory, sequenceId, -1, -1);
+        llamaMemoryBinding.sequenceRemove(draftMemory, sequenceId, -1, -1);
+
+        SpeculationState state = new SpeculationState(promptTokens, params.getMaxTokens(), draftTokenCount);
+
+        // Tokens currently stored in the draft KV cache, used to resynchronize after rejections
+        int[] draftCache = new int[state.history.length + draftTokenCount];
+        int draftCacheLength = 0;
+
+        LlamaBatch targetBatch = null;
+        LlamaBatch draftBatch = null;
+        LlamaSampler draftSampler = null;
+
+        try {
+            targetBatch = llamaBatchBinding.createBatch(targetBatchSize, 1);
+            draftBatch = llamaBatchBinding.createBatch(draftBatchSize, 1);
+            draftSampler = llamaSamplerBinding.createGreedySampler();
+
+            processPrompt(targetContext, targetBatch, sequenceId, state);
+
+            while (!state.finished && state.generatedCount < params.getMaxTokens()) {
+
+                if (state.targetPast + 1 > targetContextSize) {
+                    logger.warn("Target context size exceeded, context size: {}", targetContextSize);
+                    state.finishReason = LlamaFinishReason.CONTEXT_FULL;
+                    break;
+                }
+
+                // Draft budget: do not draft past max tokens or the end of either context
+                int budget = draftBudget(state, draftTokenCount, params.getMaxTokens(), targetContextSize);
+                budget = (int) Math.min(budget, draftContextSize - state.historyLength);
+
+                int drafted = 0;
+
+                if (budget > 0) {
+                    // Resynchronize the draft cache with the committed history
+                    int valid = 0;
+                    while (valid < draftCacheLength && valid < state.historyLength - 1 && draftCache[valid] == state.history[valid]) {
+                        valid++;
+                    }
+
+                    llamaMemoryBinding.sequenceRemove(draftMemory, sequenceId, valid, -1);
+                    if (checkDecode(llamaProcessingBinding.decodeTokens(draftContext, draftBatch,
+                            Arrays.copyOfRange(state.history, valid, state.historyLength), valid, sequenceId), state)) {
+                        break;
+                    }
+                    System.arraycopy(state.history, valid, draftCache, valid, state.historyLength - valid);
+                    draftCacheLength = state.historyLength;
+
+                    while (drafted < budget) {
+                        int draftToken = llamaSamplerBinding.sampleToken(draftSampler, draftContext, -1);
+                        state.drafts[drafted++] = draftToken;
+
+                        if (drafted == budget || llamaVocabularyBinding.isEndOfGeneration(vocabulary, draftToken)) {
+                            break;
+                        }
+
+                        llamaBatchBinding.clearBatch(draftBatch);
+                        llamaBatchBinding.addToken(draftBatch, draftToken, draftCacheLength, sequenceId, true);
+                        if (checkDecode(llamaProcessingBinding.decodeBatch(draftContext, draftBatch), state)) {
+                            break;
+                        }
+                        draftCache[draftCacheLength++] = draftToken;
+                    }
+                }
+
+                if (state.finished) {
+                    break;
+                }
+
+                verify(targetContext, targetSampler, vocabulary, targetMemory, targetBatch, sequenceId, drafted, params.getMaxTokens(), state);
+            }
+
+            return createResult("Speculative decoding", vocabulary, params, state);
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run speculative decoding, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run speculative decoding, error: %s", e.getMessage()), e);
+        } finally {
+            if (draftSampler != null) {
+                llamaSamplerBinding.freeSampler(draftSampler);
+            }
+            if (draftBatch != null) {
+                llamaBatchBinding.freeBatch(draftBatch);
+            }
+            if (targetBatch != null) {
+                llamaBatchBinding.freeBatch(targetBatch);
+            }
+        }
+    }
+
+    @Override
+    public LlamaSpeculativeDecodingResult generateWithPromptLookup(LlamaContext context,
+                                                                   LlamaSampler sampler,
+                                                                   LlamaVocabulary vocabulary,
+                                                                   int[] promptTokens,
+                                                                   LlamaSpeculativeDecodingParams params) {
+        validateArguments(context, sampler, vocabulary, promptTokens, params);
+
+        if (params.getNgramMinSize() < 1 || params.getNgramMaxSize() < params.getNgramMinSize()) {
+            throw new LlamaCppJnaException(String.format("Invalid n-gram size range, min: %d, max: %d", params.getNgramMinSize(), params.getNgramMaxSize()));
+        }
+
+        int sequenceId = params.getSequenceId();
+        int batchSize = (int) llamaBatchBinding.getBatchSize(context);
+        long contextSize = llamaContextBinding.getContextSize(context);
+
+        int draftTokenCount = Math.min(params.getDraftTokenCount(), batchSize - 1);
+
+        LlamaMemoryManager memory = llamaMemoryBinding.getMemory(context);
+        llamaMemoryBinding.sequenceRemove(memory, sequenceId, -1, -1);
+
+        SpeculationState state = new SpeculationState(promptTokens, params.getMaxTokens(), draftTokenCount);
+
+        LlamaTokenNgramIndex index = new LlamaTokenNgramIndex(params.getNgramMinSize(), params.getNgramMaxSize(), state.history.length);
+        int indexedEnd = -1;
+
+        LlamaBatch batch = null;
+
+        try {
+            batch = llamaBatchBinding.createBatch(batchSize, 1);
+
+            processPrompt(context, batch, sequenceId, state);
+
+            while (!state.finished && state.generatedCount < params.getMaxTokens()) {
+
+                if (state.targetPast + 1 > contextSize) {
+                    logger.warn("Context size exceeded, context size: {}", contextSize);
+                    state.finishReason = LlamaFinishReason.CONTEXT_FULL;
+                    break;
+                }
+
+                // Index every n-gram whose following token is known
+                for (int end = indexedEnd + 1; end <= state.historyLength - 2; end++) {
+                    index.add(state.history, end);
+                }
+                indexedEnd = state.historyLength - 2;
+
+                int budget = draftBudget(state, draftTokenCount, params.getMaxTokens(), contextSize);
+
+                int drafted = 0;
+
+                if (budget > 0) {
+                    int continuation = index.findContinuation(state.history, state.historyLength);
+                    if (continuation >= 0) {
+                        drafted = Math.min(budget, state.historyLength - continuation);
+                        System.arraycopy(state.history, continuation, state.drafts, 0, drafted);
+                    }
+                }
+
+                verify(context, sampler, vocabulary, memory, batch, sequenceId, drafted, params.getMaxTokens(), state);
+            }
+
+            return createResult("Prompt lookup decoding", vocabulary, params, state);
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run prompt lookup decoding, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run prompt lookup decoding, error: %s", e.getMessage()), e);
+        } finally {
+            if (batch != null) {
+                llamaBatchBinding.freeBatch(batch);
+            }
+        }
+    }
+
+    private static void validateArguments(LlamaContext context,
+                                          LlamaSampler sampler,
+                                          LlamaVocabulary vocabulary,
+                                          int[] promptTokens,
+                                          LlamaSpeculativeDecodingParams params) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(sampler);
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(promptTokens);
+        Objects.requireNonNull(params);
+
+        if (promptTokens.length == 0) {
+            throw new LlamaCppJnaException("Prompt tokens cannot be empty");
+        }
+
+        if (params.getDraftTokenCount() < 1) {
+            throw new LlamaCppJnaException(String.format("Draft token count must be positive, value: %d", params.getDraftTokenCount()));
+        }
+
+        if (params.getMaxTokens() < 1) {
+            throw new LlamaCppJnaException(String.format("Max tokens must be positive, value: %d", params.getMaxTokens()));
+        }
+    }
+
+    /**
+     * Decode all prompt tokens except the last one, which is submitted with the first verification batch.
+     */
+    private void processPrompt(LlamaContext context, LlamaBatch batch, int sequenceId, SpeculationState state) {
+        long promptStart = System.nanoTime();
+
+        if (state.historyLength > 1) {
+            checkDecode(llamaProcessingBinding.decodeTokens(context, batch, Arrays.copyOf(state.history, state.historyLength - 1), 0, sequenceId), state);
+        }
+
+        state.targetPast = state.historyLength - 1;
+        state.generationStart = System.nanoTime();
+        state.promptTimeNanos = state.generationStart - promptStart;
+    }
+
+    /**
+     * Finish the generation on any non-zero decode result: the logits of the batch were not computed.
+     * An abort by the context callback is reported as aborted, other failures (no free KV slot) as context full.
+     */
+    private boolean checkDecode(int decodeResult, SpeculationState state) {
+        if (decodeResult == 0) {
+            return false;
+        }
+        logger.warn("Stopping speculative decoding, decode result: {}", llamaProcessingBinding.getResultDescription(decodeResult));
+        state.aborted = llamaProcessingBinding.isAborted(decodeResult);
+        state.finishReason = state.aborted ? LlamaFinishReason.ABORTED : LlamaFinishReason.CONTEXT_FULL;
+        state.finished = true;
+        return true;
+    }
+
+    private static int draftBudget(SpeculationState state, int draftTokenCount, int maxTokens, long contextSize) {
+        int budget = Math.min(draftTokenCount, maxTokens - state.generatedCount - 1);
+        return (int) Math.min(budget, contextSize - state.targetPast - 1);
+    }
+
+    /**
+     * Decode the last committed token together with the drafts, sample from every position
+     * and keep drafts while they match the sampled tokens.
+     */
+    private void verify(LlamaContext context,
+                        LlamaSampler sampler,
+                        LlamaVocabulary vocabulary,
+                        LlamaMemoryManager memory,
+                        LlamaBatch batch,
+                        int sequenceId,
+                        int drafted,
+                        int maxTokens,
+                        SpeculationState state) {
+        int lastToken = state.history[state.historyLength - 1];
+
+        llamaBatchBinding.clearBatch(batch);
+        llamaBatchBinding.addToken(batch, lastToken, state.targetPast, sequenceId, true);
+        for (int i = 0; i < drafted; i++) {
+            llamaBatchBinding.addToken(batch, state.drafts[i], state.targetPast + 1 + i, sequenceId, true);
+        }
+        if (checkDecode(llamaProcessingBinding.decodeBatch(context, batch), state)) {
+            return;
+        }
+        state.verificationCount++;
+
+        int accepted = 0;
+
+        for (int i = 0; i <= drafted; i++) {
+            // llama_sampler_sample() also accepts the token into the sampler state
+            int token = llamaSamplerBinding.sampleToken(sampler, context, i);
+
+            if (llamaVocabularyBinding.isEndOfGeneration(vocabulary, token)) {
+                state.finishReason = LlamaFinishReason.END_OF_GENERATION;
+                state.finished = true;
+                break;
+            }
+
+            state.history[state.historyLength++] = token;
+            state.generated[state.generatedCount++] = token;
+
+            if (state.generatedCount >= maxTokens) {
+                state.finishReason = LlamaFinishReason.MAX_TOKENS;
+                state.finished = true;
+            }
+
+            if (state.finished || i == drafted || token != state.drafts[i]) {
+                break;
+            }
+
+            accepted++;
+        }
+
+        state.draftedTotal += drafted;
+        state.acceptedTotal += accepted;
+
+        // Keep the last committed token and the accepted drafts, drop rejected entries
+        state.targetPast += 1 + accepted;
+        llamaMemoryBinding.sequenceRemove(memory, sequenceId, state.targetPast, -1);
+    }
+
+    private LlamaSpeculativeDecodingResult createResult(String mode,
+                                                        LlamaVocabulary vocabulary,
+                                                        LlamaSpeculativeDecodingParams params,
+                                                        SpeculationState state) {
+        long generationTimeNanos = System.nanoTime() - state.generationStart;
+
+        int[] tokens = Arrays.copyOf(state.generated, state.generatedCount);
+
+        LlamaSpeculativeDecodingResult result = new LlamaSpeculativeDecodingResult()
+                .setTokens(tokens)
+                .setText(tokens.length > 0 ? llamaTokenBinding.detokenize(vocabulary, tokens, false, false, params.getDetokenizeBytesPerToken()) : "")
+                .setDraftedTokenCount(state.draftedTotal)
+                .setAcceptedTokenCount(state.acceptedTotal)
+                .setVerificationCount(state.verificationCount)
+                .setPromptTimeNanos(state.promptTimeNanos)
+                .setGenerationTimeNanos(generationTimeNanos)
+                .setAborted(state.aborted)
+                .setFinishReason(state.finishReason != null ? state.finishReason : LlamaFinishReason.MAX_TOKENS);
+
+        logger.info("{} completed, generated: {}, drafted: {}, accepted: {}, acceptance rate: {}, tokens/s: {}",
+                mode, tokens.length, state.draftedTotal, state.acceptedTotal,
+                String.format("%.3f", result.getAcceptanceRate()), String.format("%.2f", result.getTokensPerSecond()));
+
+        return result;
+    }
+
+    /**
+     * Committed tokens (prompt + generated) and counters of one generation.
+     * The last history entry is not yet stored in the target KV cache.
+     */
+    private static final class SpeculationState {
+        private final int[] history;
+        private final int[] generated;
+        private final int[] drafts;
+        private int historyLength;
+        private int generatedCount;
+        private int targetPast;
+        private int draftedTotal;
+        private int acceptedTotal;
+        private int verificationCount;
+        private boolean finished;
+        private boolean aborted;
+        private LlamaFinishReason finishReason;
+        private long promptTimeNanos;
+        private long generationStart;
+
+        private SpeculationState(int[] promptTokens, int maxTokens, int draftTokenCount) {
+            this.history = new int[promptTokens.length + maxTokens + 1];
+            this.generated = new int[maxTokens];
+            this.drafts = new int[Math.max(draftTokenCount, 0)];
+            System.arraycopy(promptTokens, 0, history, 0, promptTokens.length);
+            this.historyLength = promptTokens.length;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.speculative;
+
+/**
+ * Open-addressing hash index of token n-grams used by prompt-lookup decoding.
+ * <p>
+ * For every indexed n-gram the index remembers the most recent position where it ended,
+ * so a continuation can be proposed from the tokens that followed it. Keys and positions
+ * are stored in primitive arrays; an n-gram is only indexed once the token after it is known.
+ */
+final class LlamaTokenNgramIndex {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int minSize;
+    private final int maxSize;
+
+    private long[] keys;
+    private int[] positions;
+    private int mask;
+    private int size;
+
+    LlamaTokenNgramIndex(int minSize, int maxSize, int expectedTokens) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+
+        int capacity = INITIAL_CAPACITY;
+        long required = 2L * expectedTokens * (maxSize - minSize + 1);
+        while (capacity < required && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Index all n-grams that end at {@code end}.
+     *
+     * @param tokens token history
+     * @param end    index of the last token of the n-grams, the token at {@code end + 1} must be known
+     */
+    void add(int[] tokens, int end) {
+        for (int n = minSize; n <= maxSize && end - n + 1 >= 0; n++) {
+            put(hash(tokens, end - n + 1, n), end);
+        }
+    }
+
+    /**
+     * Find the continuation of the longest indexed n-gram matching the end of the history.
+     *
+     * @param tokens token history
+     * @param length number of valid tokens in the history
+     * @return index of the first token that followed the matched n-gram, or -1 when nothing matches
+     */
+    int findContinuation(int[] tokens, int length) {
+        for (int n = Math.min(maxSize, length - 1); n >= minSize; n--) {
+            int start = length - n;
+            long key = hash(tokens, start, n);
+
+            for (int slot = mix(key) & mask; keys[slot] != EMPTY_KEY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    int end = positions[slot];
+                    if (matches(tokens, end - n + 1, start, n)) {
+                        return end + 1;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void put(long key, int position) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                positions[slot] = position;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        positions[slot] = position;
+
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldPositions = positions;
+
+        keys = new long[oldKeys.length * 2];
+        positions = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                positions[slot] = oldPositions[i];
+            }
+        }
+    }
+
+    private static boolean matches(int[] tokens, int first, int second, int n) {
+        for (int i = 0; i < n; i++) {
+            if (tokens[first + i] != tokens[second + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(int[] tokens, int start, int n) {
+        long h = n;
+        for (int i = start; i < start + n; i++) {
+            h = h * 0x9E3779B97F4A7C15L + tokens[i];
+        }
+        return h == EMPTY_KEY ? 1L : h;
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -1,5 +1,7 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.state;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvent;
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvents;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallLongResultException;
 import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
@@ -33,8 +35,12 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateSave();
+
         long length = llamaLibrary.llama_state_get_data(ctx, dst, size);
 
+        event.setSize(length).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to copy state data to a buffer, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to copy state data to a buffer, length: %d", length));
@@ -48,14 +54,18 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateLoad();
+
         long length = llamaLibrary.llama_state_set_data(ctx, src, size);
 
+        event.setSize(size).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to load state data from a buffer, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to load state data from a buffer, length: %d", length));
         }
 
-        return llamaLibrary.llama_state_set_data(ctx, src, size);
+        return length;
     }
 
     @Override
@@ -71,7 +81,17 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
             throw new LlamaCppJnaException(String.format("Path session does not exist: %s", absolutePath));
         }
 
-        return llamaLibrary.llama_state_load_file(ctx, pathSession.toAbsolutePath().toString(), tokensOut, nTokenCapacity, nTokenCountOut);
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateLoad();
+
+        boolean loaded = llamaLibrary.llama_state_load_file(ctx, absolutePath.toString(), tokensOut, nTokenCapacity, nTokenCountOut);
+
+        event.setPath(absolutePath.toString())
+                .setSize(absolutePath.toFile().length())
+                .setCount(loaded && nTokenCountOut != null ? nTokenCountOut.getLong(0) : 0)
+                .setResult(loaded ? 1 : 0)
+                .commit();
+
+        return loaded;
     }
 
     @Override
@@ -79,7 +99,17 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
         Objects.requireNonNull(pathSession);
-        return llamaLibrary.llama_state_save_file(ctx, pathSession.toString(), tokens, nTokenCount);
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateSave();
+
+        boolean saved = llamaLibrary.llama_state_save_file(ctx, pathSession.toString(), tokens, nTokenCount);
+
+        event.setPath(pathSession.toString())
+                .setSize(saved ? pathSession.toFile().length() : 0)
+                .setCount(nTokenCount)
+                .setResult(saved ? 1 : 0)
+                .commit();
+
+        return saved;
     }
 
     @Override
@@ -94,8 +124,12 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateLoad();
+
         long length = llamaLibrary.llama_state_seq_set_data(ctx, src, size, destSeqId);
 
+        event.setSize(size).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to load sequence state data from a buffer, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to load sequence state data from a buffer, length: %d", length));
@@ -110,8 +144,12 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx.getPointer());
         Objects.requireNonNull(filepath);
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateSave();
+
         long length = llamaLibrary.llama_state_seq_save_file(ctx, filepath.toString(), seqId, tokens, nTokenCount);
 
+        event.setPath(filepath.toString()).setSize(length).setCount(nTokenCount).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to Save sequence state to a file, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to Save sequence state to a file, length: %d", length));
@@ -126,8 +164,16 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx.getPointer());
         Objects.requireNonNull(filepath);
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateLoad();
+
         long length = llamaLibrary.llama_state_seq_load_file(ctx, filepath.toString(), destSeqId, tokensOut, nTokenCapacity, nTokenCountOut);
 
+        event.setPath(filepath.toString())
+                .setSize(length)
+                .setCount(length > 0 && nTokenCountOut != null ? nTokenCountOut.getLong(0) : 0)
+                .setResult(length)
+                .commit();
+
         if (length < 0) {
             logger.error("Failed to load sequence state from a file, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to load sequence state from a file, length: %d", length));
@@ -156,8 +202,12 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateSave();
+
         long length = llamaLibrary.llama_state_seq_get_data_ext(ctx, dst, size, seqId, flags);
 
+        event.setSize(length).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to copy extended sequence state data to a buffer, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to copy extended sequence state data to a buffer, length: %d", length));
@@ -171,8 +221,12 @@ public class LlamaStateBindingImpl implements LlamaStateBinding {
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(ctx.getPointer());
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.stateLoad();
+
         long length = llamaLibrary.llama_state_seq_set_data_ext(ctx, src, size, destSeqId, flags);
 
+        event.setSize(size).setResult(length).commit();
+
         if (length < 0) {
             logger.error("Failed to load extended sequence state data from a buffer, length: {}", length);
             throw new LlamaFunctionCallLongResultException(length, String.format("Failed to load extended sequence state data from a buffer, length: %d", length));
@@ -0,0 +1,87 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.executor.LlamaInferenceExecutor;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+
+/**
+ * Token-by-token generation with backpressure.
+ * <p>
+ * Every token is emitted as an event with its id, raw piece bytes, the text that became final,
+ * an optional log probability and timings. Decoding advances only when the consumer is ready:
+ * after a callback returns, or while a subscriber has outstanding demand.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaTokenPublisher publisher = streamingService.publish(executor, context, vocabulary, sampler, promptTokens,
+ *         new LlamaStreamingParams().setMaxTokens(256).setStopSequences(Collections.singletonList("</s>")));
+ *
+ * publisher.subscribe(new LlamaTokenSubscriber() {
+ *     private LlamaTokenSubscription subscription;
+ *
+ *     public void onSubscribe(LlamaTokenSubscription subscription) {
+ *         this.subscription = subscription;
+ *         subscription.request(16);
+ *     }
+ *
+ *     public void onNext(LlamaTokenEvent event) {
+ *         if (outbound.offer(event.getText())) {
+ *             subscription.request(1);
+ *         } // else request again once the consumer drained, decoding pauses meanwhile
+ *     }
+ *
+ *     public void onError(Throwable error) { ... }
+ *
+ *     public void onComplete(LlamaStreamingResult result) { ... }
+ * });
+ * }</pre>
+ * On Java 9 and later, {@code LlamaTokenFlows.toFlowPublisher} adapts a publisher to
+ * {@code java.util.concurrent.Flow}.
+ */
+public interface LlamaStreamingBinding {
+
+    /**
+     * Generate on the calling thread, passing every token to the callback.
+     * <p>
+     * The prompt is decoded into the sequence at the start position; the sequence is not cleared.
+     *
+     * @param context      context to decode with
+     * @param vocabulary   vocabulary of the model
+     * @param sampler      sampler chain, owned by the caller
+     * @param promptTokens tokens to decode before sampling, must not be empty
+     * @param params       stream settings
+     * @param callback     receives the tokens
+     * @return finish reason and statistics
+     */
+    LlamaStreamingResult generate(LlamaContext context,
+                                  LlamaVocabulary vocabulary,
+                                  LlamaSampler sampler,
+                                  int[] promptTokens,
+                                  LlamaStreamingParams params,
+                                  LlamaTokenCallback callback);
+
+    /**
+     * Create a publisher that generates on the executor lane of the context.
+     * <p>
+     * The lane is held only while events are requested, so a paused stream lets other contexts
+     * on the lane run. The context, sampler and sequence must not be used by anything else until
+     * the stream completes or is cancelled.
+     *
+     * @param executor     runs the native calls
+     * @param context      context to decode with
+     * @param vocabulary   vocabulary of the model
+     * @param sampler      sampler chain, owned by the caller
+     * @param promptTokens tokens to decode before sampling, must not be empty
+     * @param params       stream settings
+     * @return cold single-subscriber publisher
+     */
+    LlamaTokenPublisher publish(LlamaInferenceExecutor executor,
+                                LlamaContext context,
+                                LlamaVocabulary vocabulary,
+                                LlamaSampler sampler,
+                                int[] promptTokens,
+                                LlamaStreamingParams params);
+}
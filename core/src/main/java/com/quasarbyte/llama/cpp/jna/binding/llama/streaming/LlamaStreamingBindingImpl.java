@@ -0,0 +1,127 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.executor.LlamaInferenceExecutor;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+public class LlamaStreamingBindingImpl implements LlamaStreamingBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaStreamingBindingImpl.class);
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaContextBinding llamaContextBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaResultBinding llamaResultBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaTokenBinding llamaTokenBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    public LlamaStreamingBindingImpl(LlamaBatchBinding llamaBatchBinding,
+                                     LlamaContextBinding llamaContextBinding,
+                                     LlamaProcessingBinding llamaProcessingBinding,
+                                     LlamaResultBinding llamaResultBinding,
+                                     LlamaSamplerBinding llamaSamplerBinding,
+                                     LlamaTokenBinding llamaTokenBinding,
+                                     LlamaVocabularyBinding llamaVocabularyBinding) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaResultBinding = llamaResultBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaTokenBinding = llamaTokenBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+    }
+
+    @Override
+    public LlamaStreamingResult generate(LlamaContext context,
+                                         LlamaVocabulary vocabulary,
+                                         LlamaSampler sampler,
+                                         int[] promptTokens,
+                                         LlamaStreamingParams params,
+                                         LlamaTokenCallback callback) {
+        Objects.requireNonNull(callback);
+
+        try (LlamaTokenStream stream = createStream(context, vocabulary, sampler, promptTokens, params)) {
+            LlamaTokenEvent event;
+            while ((event = stream.next()) != null) {
+                if (!callback.onToken(event)) {
+                    stream.cancel();
+                    break;
+                }
+            }
+
+            LlamaStreamingResult result = stream.finish();
+            logger.debug("Streaming generation completed, result: {}", result);
+            return result;
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to run streaming generation, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to run streaming generation, error: %s", e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public LlamaTokenPublisher publish(LlamaInferenceExecutor executor,
+                                       LlamaContext context,
+                                       LlamaVocabulary vocabulary,
+                                       LlamaSampler sampler,
+                                       int[] promptTokens,
+                                       LlamaStreamingParams params) {
+        Objects.requireNonNull(executor);
+        validate(context, vocabulary, sampler, promptTokens, params);
+
+        // Context size and batch size are read on the lane, together with the prefill
+        return new LlamaTokenPublisherImpl(executor, context,
+                () -> createStream(context, vocabulary, sampler, promptTokens, params));
+    }
+
+    private LlamaTokenStream createStream(LlamaContext context,
+                                          LlamaVocabulary vocabulary,
+                                          LlamaSampler sampler,
+                                          int[] promptTokens,
+                                          LlamaStreamingParams params) {
+        validate(context, vocabulary, sampler, promptTokens, params);
+
+        return new LlamaTokenStream(llamaBatchBinding, llamaProcessingBinding, llamaResultBinding, llamaSamplerBinding,
+                llamaTokenBinding, llamaVocabularyBinding, context, vocabulary, sampler, promptTokens, params,
+                llamaContextBinding.getContextSize(context), (int) llamaBatchBinding.getBatchSize(context));
+    }
+
+    private static void validate(LlamaContext context,
+                                 LlamaVocabulary vocabulary,
+                                 LlamaSampler sampler,
+                                 int[] promptTokens,
+                                 LlamaStreamingParams params) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(sampler);
+        Objects.requireNonNull(promptTokens);
+        Objects.requireNonNull(params);
+
+        if (promptTokens.length == 0) {
+            throw new LlamaCppJnaException("Prompt tokens cannot be empty");
+        }
+
+        if (params.getMaxTokens() < 1) {
+            throw new LlamaCppJnaException(String.format("Max tokens must be positive, value: %d", params.getMaxTokens()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+
+/**
+ * Receives tokens of a blocking generation. The next token is decoded only after the callback
+ * returns, so a slow callback slows generation instead of queueing tokens.
+ */
+@FunctionalInterface
+public interface LlamaTokenCallback {
+
+    /**
+     * @param event generated token
+     * @return true to continue, false to cancel the generation
+     */
+    boolean onToken(LlamaTokenEvent event);
+}
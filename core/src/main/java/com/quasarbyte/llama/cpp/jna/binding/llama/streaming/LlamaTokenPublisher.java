@@ -0,0 +1,13 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+/**
+ * Cold, single-subscriber source of token events. The prompt is processed when the subscriber
+ * first requests an event.
+ */
+public interface LlamaTokenPublisher {
+
+    /**
+     * Start the stream for the subscriber. A second subscriber receives an error.
+     */
+    void subscribe(LlamaTokenSubscriber subscriber);
+}
@@ -0,0 +1,202 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.executor.LlamaInferenceExecutor;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publisher whose drain loop runs on the executor lane of the context.
+ * <p>
+ * {@code request} and {@code cancel} only update counters and schedule a drain when none is
+ * running. The drain decodes while demand is outstanding and returns when it reaches zero,
+ * leaving the stream paused in the KV cache until more is requested.
+ */
+final class LlamaTokenPublisherImpl implements LlamaTokenPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaTokenPublisherImpl.class);
+
+    private final LlamaInferenceExecutor executor;
+    private final LlamaContext context;
+    private final Supplier<LlamaTokenStream> streamFactory;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    LlamaTokenPublisherImpl(LlamaInferenceExecutor executor, LlamaContext context, Supplier<LlamaTokenStream> streamFactory) {
+        this.executor = executor;
+        this.context = context;
+        this.streamFactory = streamFactory;
+    }
+
+    @Override
+    public void subscribe(LlamaTokenSubscriber subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new LlamaTokenSubscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Token publisher supports a single subscriber"));
+            return;
+        }
+
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class Subscription implements LlamaTokenSubscription {
+
+        private final LlamaTokenSubscriber subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Confined to the drain
+        private LlamaTokenStream stream;
+        private boolean done;
+
+        private Subscription(LlamaTokenSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException(String.format("Requested event count must be positive, n: %d", n));
+            } else {
+                long current;
+                do {
+                    current = requested.get();
+                } while (current != Long.MAX_VALUE && !requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.submit(context, () -> {
+                    drain();
+                    return null;
+                }).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        // The drain never ran: the executor is closed or the lane queue is full
+                        fail(error);
+                        wip.set(0);
+                    }
+                });
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            for (; ; ) {
+                if (!done) {
+                    try {
+                        step();
+                    } catch (Throwable e) {
+                        fail(e);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void step() {
+            if (cancelled) {
+                done = true;
+                release();
+                return;
+            }
+
+            if (invalidRequest != null) {
+                fail(invalidRequest);
+                return;
+            }
+
+            long demand = requested.get();
+            if (demand == 0) {
+                return;
+            }
+
+            if (stream == null) {
+                stream = streamFactory.get();
+            }
+
+            long emitted = 0;
+            while (emitted != demand && !cancelled) {
+                LlamaTokenEvent event = stream.next();
+                if (event == null) {
+                    break;
+                }
+                subscriber.onNext(event);
+                emitted++;
+            }
+
+            if (demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (cancelled) {
+                done = true;
+                release();
+            } else if (stream.isFinished()) {
+                done = true;
+                LlamaTokenStream finished = stream;
+                stream = null;
+                try {
+                    subscriber.onComplete(finished.finish());
+                } finally {
+                    finished.close();
+                }
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            release();
+            try {
+                subscriber.onError(error);
+            } catch (Throwable e) {
+                logger.warn("Token subscriber failed in onError, error: {}", e.getMessage(), e);
+            }
+        }
+
+        private void release() {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (Throwable e) {
+                    logger.warn("Failed to release token stream, error: {}", e.getMessage(), e);
+                }
+                stream = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStopSequenceMatcher;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStreamingDetokenizer;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaFinishReason;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import com.sun.jna.Pointer;
+
+/**
+ * Step-wise generation state shared by the callback and the publisher API.
+ * Not thread-safe; every call must come from the thread that owns the context at that moment.
+ */
+final class LlamaTokenStream implements AutoCloseable {
+
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaResultBinding llamaResultBinding;
+    private final LlamaSamplerBinding llamaSamplerBinding;
+    private final LlamaVocabularyBinding llamaVocabularyBinding;
+
+    private final LlamaContext context;
+    private final LlamaVocabulary vocabulary;
+    private final LlamaSampler sampler;
+    private final int[] promptTokens;
+    private final LlamaStreamingParams params;
+    private final long contextSize;
+    private final int batchCapacity;
+    private final LlamaStreamingDetokenizer detokenizer;
+
+    private LlamaBatch batch;
+    private float[] logits;
+
+    private boolean started;
+    private LlamaFinishReason finishReason;
+    private int position;
+    private int logitsIndex;
+    private int generated;
+    private int lastToken;
+
+    private long startNanos;
+    private long promptTimeNanos;
+    private long generationTimeNanos;
+
+    LlamaTokenStream(LlamaBatchBinding llamaBatchBinding,
+                     LlamaProcessingBinding llamaProcessingBinding,
+                     LlamaResultBinding llamaResultBinding,
+                     LlamaSamplerBinding llamaSamplerBinding,
+                     LlamaTokenBinding llamaTokenBinding,
+                     LlamaVocabularyBinding llamaVocabularyBinding,
+                     LlamaContext context,
+                     LlamaVocabulary vocabulary,
+                     LlamaSampler sampler,
+                     int[] promptTokens,
+                     LlamaStreamingParams params,
+                     long contextSize,
+                     int batchSize) {
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaResultBinding = llamaResultBinding;
+        this.llamaSamplerBinding = llamaSamplerBinding;
+        this.llamaVocabularyBinding = llamaVocabularyBinding;
+        this.context = context;
+        this.vocabulary = vocabulary;
+        this.sampler = sampler;
+        this.promptTokens = promptTokens;
+        this.params = params;
+        this.contextSize = contextSize;
+        this.batchCapacity = Math.max(1, Math.min(batchSize, promptTokens.length));
+        this.detokenizer = llamaTokenBinding.createStreamingDetokenizer(vocabulary, params.isSpecial(),
+                LlamaStopSequenceMatcher.compile(params.getStopSequences(), params.getStopTokens()));
+    }
+
+    /**
+     * Decode the prompt.
+     */
+    void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        startNanos = System.nanoTime();
+
+        if (params.getStartPosition() + promptTokens.length > contextSize) {
+            throw new LlamaCppJnaException(String.format("Prompt does not fit the context, start position: %d, prompt tokens: %d, context size: %d",
+                    params.getStartPosition(), promptTokens.length, contextSize));
+        }
+
+        batch = llamaBatchBinding.createBatch(batchCapacity, 1);
+
+        int result = llamaProcessingBinding.decodeTokens(context, batch, promptTokens, params.getStartPosition(), params.getSequenceId());
+
+        promptTimeNanos = System.nanoTime() - startNanos;
+        position = params.getStartPosition() + promptTokens.length;
+        // decodeTokens requests logits for the last prompt token only
+        logitsIndex = (promptTokens.length - 1) % batchCapacity;
+
+        if (result != 0) {
+            finishReason = llamaProcessingBinding.isAborted(result) ? LlamaFinishReason.ABORTED : LlamaFinishReason.CONTEXT_FULL;
+        }
+    }
+
+    /**
+     * Decode the previous token and sample the next one.
+     *
+     * @return the next event, or null when the stream has finished
+     */
+    LlamaTokenEvent next() {
+        start();
+
+        if (finishReason != null) {
+            return null;
+        }
+
+        long stepStart = System.nanoTime();
+
+        if (generated > 0) {
+            if (position >= contextSize) {
+                finishReason = LlamaFinishReason.CONTEXT_FULL;
+                return null;
+            }
+
+            llamaBatchBinding.clearBatch(batch);
+            llamaBatchBinding.addToken(batch, lastToken, position, params.getSequenceId(), true);
+
+            int result = llamaProcessingBinding.decodeBatch(context, batch);
+            if (result != 0) {
+                finishReason = llamaProcessingBinding.isAborted(result) ? LlamaFinishReason.ABORTED : LlamaFinishReason.CONTEXT_FULL;
+                return null;
+            }
+
+            position++;
+            logitsIndex = 0;
+        }
+
+        float logprob = Float.NaN;
+        int token = llamaSamplerBinding.sampleToken(sampler, context, logitsIndex);
+
+        if (params.isLogprobs()) {
+            logprob = logprob(token);
+        }
+
+        if (llamaVocabularyBinding.isEndOfGeneration(vocabulary, token)) {
+            finishReason = LlamaFinishReason.END_OF_GENERATION;
+            return null;
+        }
+
+        String text = detokenizer.push(token);
+
+        if (detokenizer.isStopped() && detokenizer.getStopToken() == token) {
+            finishReason = LlamaFinishReason.STOP_SEQUENCE;
+            return null;
+        }
+
+        lastToken = token;
+        generated++;
+
+        long now = System.nanoTime();
+        long tokenNanos = generated == 1 ? now - startNanos : now - stepStart;
+        generationTimeNanos += generated == 1 ? now - startNanos - promptTimeNanos : tokenNanos;
+
+        if (detokenizer.isStopped()) {
+            finishReason = LlamaFinishReason.STOP_SEQUENCE;
+        } else if (generated >= params.getMaxTokens()) {
+            finishReason = LlamaFinishReason.MAX_TOKENS;
+        }
+
+        return new LlamaTokenEvent(generated - 1, token, position, detokenizer.getLastPiece(), text, logprob, tokenNanos, now - startNanos);
+    }
+
+    boolean isFinished() {
+        return finishReason != null;
+    }
+
+    void cancel() {
+        if (finishReason == null) {
+            finishReason = LlamaFinishReason.CANCELLED;
+        }
+    }
+
+    LlamaStreamingResult finish() {
+        return new LlamaStreamingResult()
+                .setFinishReason(finishReason)
+                .setStopSequence(detokenizer.getStopSequence())
+                .setTrailingText(detokenizer.flush())
+                .setPromptTokenCount(promptTokens.length)
+                .setGeneratedTokenCount(generated)
+                .setEndPosition(position)
+                .setPromptTimeNanos(promptTimeNanos)
+                .setGenerationTimeNanos(generationTimeNanos);
+    }
+
+    @Override
+    public void close() {
+        if (batch != null) {
+            llamaBatchBinding.freeBatch(batch);
+            batch = null;
+        }
+    }
+
+    /**
+     * Log probability of the token under the raw logits, via a stable log-sum-exp.
+     */
+    private float logprob(int token) {
+        Pointer row = llamaResultBinding.getLogitsRawAt(context, logitsIndex)
+                .orElseThrow(() -> new LlamaCppJnaException("Logits are not available"));
+
+        if (logits == null) {
+            logits = new float[llamaResultBinding.getVocabularySize(context)];
+        }
+        row.read(0, logits, 0, logits.length);
+
+        float max = Float.NEGATIVE_INFINITY;
+        for (float logit : logits) {
+            if (logit > max) {
+                max = logit;
+            }
+        }
+
+        double sum = 0.0;
+        for (float logit : logits) {
+            sum += Math.exp(logit - max);
+        }
+
+        return (float) (logits[token] - max - Math.log(sum));
+    }
+}
@@ -0,0 +1,24 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+
+/**
+ * Receives the events of a {@link LlamaTokenPublisher}, following the Reactive Streams protocol:
+ * {@code onSubscribe}, then at most as many {@code onNext} calls as requested, then either
+ * {@code onComplete} or {@code onError}. Signals are delivered on the inference thread and never
+ * concurrently.
+ */
+public interface LlamaTokenSubscriber {
+
+    void onSubscribe(LlamaTokenSubscription subscription);
+
+    void onNext(LlamaTokenEvent event);
+
+    void onError(Throwable error);
+
+    /**
+     * @param result finish reason, trailing text and statistics of the stream
+     */
+    void onComplete(LlamaStreamingResult result);
+}
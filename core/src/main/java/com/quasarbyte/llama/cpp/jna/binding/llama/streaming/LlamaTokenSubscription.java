@@ -0,0 +1,19 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+/**
+ * Demand of a {@link LlamaTokenSubscriber}. Decoding runs only while requested events are
+ * outstanding, so a subscriber that stops requesting pauses generation instead of buffering tokens.
+ */
+public interface LlamaTokenSubscription {
+
+    /**
+     * Allow {@code n} more events; {@link Long#MAX_VALUE} for unbounded demand.
+     * A non-positive {@code n} fails the stream with {@link IllegalArgumentException}.
+     */
+    void request(long n);
+
+    /**
+     * Stop generating and release the stream resources; no further signals are sent.
+     */
+    void cancel();
+}
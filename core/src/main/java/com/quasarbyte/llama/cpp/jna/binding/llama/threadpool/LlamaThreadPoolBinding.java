@@ -0,0 +1,78 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.threadpool;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPool;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolParams;
+
+/**
+ * Creation and lifecycle of ggml CPU threadpools.
+ * <p>
+ * By default every {@code llama_decode()} call spins up and tears down a disposable threadpool.
+ * Explicit threadpools keep their workers alive between calls, with CPU affinity, polling and
+ * priority under control, and can be attached to contexts with
+ * {@code LlamaSystemBinding.attachThreadpool}. A threadpool computes one graph at a time, so it
+ * must not be attached to two contexts that decode concurrently; {@link LlamaThreadPoolPolicy}
+ * hands out threadpools to contexts exclusively.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * // 64 cores: 4 slots of 16 CPUs, decode on 8 pinned threads, prefill on all 16
+ * LlamaThreadPoolPolicy policy = threadPoolService.createPolicy(
+ *         new LlamaThreadPoolParams().setThreadCount(8).setCpuRange(0, 64).setPoll(100),
+ *         new LlamaThreadPoolParams().setThreadCount(16).setCpuRange(0, 64).setPoll(0),
+ *         4);
+ *
+ * policy.attach(context);
+ * try {
+ *     // decode ...
+ * } finally {
+ *     policy.detach(context);
+ * }
+ * }</pre>
+ */
+public interface LlamaThreadPoolBinding {
+
+    /**
+     * Create a threadpool for single-token (decode) graphs.
+     *
+     * @param params threadpool settings
+     * @return threadpool, free it with {@link #freeThreadPool(LlamaThreadPool)}
+     */
+    LlamaThreadPool createThreadPool(LlamaThreadPoolParams params);
+
+    /**
+     * Create a threadpool for multi-token (prefill) graphs.
+     *
+     * @param params threadpool settings
+     * @return threadpool, free it with {@link #freeThreadPool(LlamaThreadPoolBatch)}
+     */
+    LlamaThreadPoolBatch createBatchThreadPool(LlamaThreadPoolParams params);
+
+    void freeThreadPool(LlamaThreadPool threadPool);
+
+    void freeThreadPool(LlamaThreadPoolBatch threadPool);
+
+    int getThreadCount(LlamaThreadPool threadPool);
+
+    int getThreadCount(LlamaThreadPoolBatch threadPool);
+
+    void pause(LlamaThreadPool threadPool);
+
+    void pause(LlamaThreadPoolBatch threadPool);
+
+    void resume(LlamaThreadPool threadPool);
+
+    void resume(LlamaThreadPoolBatch threadPool);
+
+    /**
+     * Create a policy owning {@code slotCount} pairs of decode and prefill threadpools.
+     * When the parameters have a CPU mask, the set CPUs are split into {@code slotCount}
+     * contiguous shares so slots never compete for a core; thread counts are capped by the share.
+     *
+     * @param decodeParams  settings of the decode threadpool of each slot
+     * @param prefillParams settings of the prefill threadpool of each slot
+     * @param slotCount     number of contexts that can decode concurrently
+     * @return policy, close it to free the threadpools
+     */
+    LlamaThreadPoolPolicy createPolicy(LlamaThreadPoolParams decodeParams, LlamaThreadPoolParams prefillParams, int slotCount);
+}
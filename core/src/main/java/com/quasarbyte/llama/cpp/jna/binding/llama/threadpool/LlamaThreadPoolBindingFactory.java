@@ -0,0 +1,21 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.threadpool;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.system.LlamaSystemBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.cpu.GgmlCpuLibrary;
+import com.quasarbyte.llama.cpp.jna.library.declaration.cpu.GgmlCpuLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaThreadPoolBindingFactory {
+
+    public LlamaThreadPoolBinding create(LlamaLibrary llamaLibrary) {
+        return create(llamaLibrary, new GgmlCpuLibraryFactory().getInstance());
+    }
+
+    public LlamaThreadPoolBinding create(LlamaLibrary llamaLibrary, GgmlCpuLibrary ggmlCpuLibrary) {
+        return new LlamaThreadPoolBindingImpl(
+                ggmlCpuLibrary,
+                new LlamaSystemBindingFactory().create(llamaLibrary),
+                new LlamaContextBindingFactory().create(llamaLibrary));
+    }
+}
@@ -0,0 +1,224 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.threadpool;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.system.LlamaSystemBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.cpu.GgmlCpuLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPool;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolBatchNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolParams;
+import com.quasarbyte.llama.cpp.jna.model.library.ggml.GgmlThreadpoolParamsNative;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+public class LlamaThreadPoolBindingImpl implements LlamaThreadPoolBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaThreadPoolBindingImpl.class);
+
+    private final GgmlCpuLibrary ggmlCpuLibrary;
+    private final LlamaSystemBinding llamaSystemBinding;
+    private final LlamaContextBinding llamaContextBinding;
+
+    public LlamaThreadPoolBindingImpl(GgmlCpuLibrary ggmlCpuLibrary,
+                                      LlamaSystemBinding llamaSystemBinding,
+                                      LlamaContextBinding llamaContextBinding) {
+        this.ggmlCpuLibrary = ggmlCpuLibrary;
+        this.llamaSystemBinding = llamaSystemBinding;
+        this.llamaContextBinding = llamaContextBinding;
+    }
+
+    @Override
+    public LlamaThreadPool createThreadPool(LlamaThreadPoolParams params) {
+        LlamaThreadPoolNative threadPoolNative = new LlamaThreadPoolNative();
+        threadPoolNative.setPointer(createNative(params));
+        return new LlamaThreadPool(threadPoolNative);
+    }
+
+    @Override
+    public LlamaThreadPoolBatch createBatchThreadPool(LlamaThreadPoolParams params) {
+        LlamaThreadPoolBatchNative threadPoolNative = new LlamaThreadPoolBatchNative();
+        threadPoolNative.setPointer(createNative(params));
+        return new LlamaThreadPoolBatch(threadPoolNative);
+    }
+
+    @Override
+    public void freeThreadPool(LlamaThreadPool threadPool) {
+        freeNative(pointerOf(threadPool));
+    }
+
+    @Override
+    public void freeThreadPool(LlamaThreadPoolBatch threadPool) {
+        freeNative(pointerOf(threadPool));
+    }
+
+    @Override
+    public int getThreadCount(LlamaThreadPool threadPool) {
+        return ggmlCpuLibrary.ggml_threadpool_get_n_threads(pointerOf(threadPool));
+    }
+
+    @Override
+    public int getThreadCount(LlamaThreadPoolBatch threadPool) {
+        return ggmlCpuLibrary.ggml_threadpool_get_n_threads(pointerOf(threadPool));
+    }
+
+    @Override
+    public void pause(LlamaThreadPool threadPool) {
+        ggmlCpuLibrary.ggml_threadpool_pause(pointerOf(threadPool));
+    }
+
+    @Override
+    public void pause(LlamaThreadPoolBatch threadPool) {
+        ggmlCpuLibrary.ggml_threadpool_pause(pointerOf(threadPool));
+    }
+
+    @Override
+    public void resume(LlamaThreadPool threadPool) {
+        ggmlCpuLibrary.ggml_threadpool_resume(pointerOf(threadPool));
+    }
+
+    @Override
+    public void resume(LlamaThreadPoolBatch threadPool) {
+        ggmlCpuLibrary.ggml_threadpool_resume(pointerOf(threadPool));
+    }
+
+    @Override
+    public LlamaThreadPoolPolicy createPolicy(LlamaThreadPoolParams decodeParams, LlamaThreadPoolParams prefillParams, int slotCount) {
+        Objects.requireNonNull(decodeParams);
+        Objects.requireNonNull(prefillParams);
+
+        if (slotCount < 1) {
+            throw new LlamaCppJnaException(String.format("Slot count must be positive, value: %d", slotCount));
+        }
+
+        List<LlamaThreadPoolPolicyImpl.Slot> slots = new ArrayList<>(slotCount);
+        try {
+            for (int i = 0; i < slotCount; i++) {
+                LlamaThreadPoolParams slotDecodeParams = partition(decodeParams, i, slotCount);
+                LlamaThreadPoolParams slotPrefillParams = partition(prefillParams, i, slotCount);
+
+                LlamaThreadPool decodePool = createThreadPool(slotDecodeParams);
+                LlamaThreadPoolBatch prefillPool;
+                try {
+                    prefillPool = createBatchThreadPool(slotPrefillParams);
+                } catch (LlamaCppJnaException e) {
+                    freeThreadPool(decodePool);
+                    throw e;
+                }
+
+                slots.add(new LlamaThreadPoolPolicyImpl.Slot(i, decodePool, prefillPool,
+                        slotDecodeParams.getThreadCount(), slotPrefillParams.getThreadCount()));
+                logger.debug("Threadpool slot {} created, decode: {}, prefill: {}", i, slotDecodeParams, slotPrefillParams);
+            }
+        } catch (LlamaCppJnaException e) {
+            for (LlamaThreadPoolPolicyImpl.Slot slot : slots) {
+                freeThreadPool(slot.decodePool);
+                freeThreadPool(slot.prefillPool);
+            }
+            throw e;
+        }
+
+        return new LlamaThreadPoolPolicyImpl(this, llamaSystemBinding, llamaContextBinding, slots);
+    }
+
+    /**
+     * Settings of one slot: the i-th contiguous share of the CPUs in the mask.
+     */
+    private static LlamaThreadPoolParams partition(LlamaThreadPoolParams params, int slot, int slotCount) {
+        LlamaThreadPoolParams slotParams = params.copy();
+        BitSet mask = params.getCpuMask();
+        int cpuCount = mask.cardinality();
+
+        if (cpuCount == 0 || slotCount == 1) {
+            return slotParams;
+        }
+
+        if (cpuCount < slotCount) {
+            throw new LlamaCppJnaException(String.format("CPU mask has %d CPUs, not enough for %d slots", cpuCount, slotCount));
+        }
+
+        int from = (int) ((long) cpuCount * slot / slotCount);
+        int to = (int) ((long) cpuCount * (slot + 1) / slotCount);
+
+        BitSet slotMask = new BitSet();
+        int index = 0;
+        for (int cpu = mask.nextSetBit(0); cpu >= 0; cpu = mask.nextSetBit(cpu + 1), index++) {
+            if (index >= from && index < to) {
+                slotMask.set(cpu);
+            }
+        }
+
+        return slotParams
+                .setCpuMask(slotMask)
+                .setThreadCount(Math.min(params.getThreadCount(), to - from));
+    }
+
+    private Pointer createNative(LlamaThreadPoolParams params) {
+        Objects.requireNonNull(params);
+
+        if (params.getThreadCount() < 1 || params.getThreadCount() > GgmlThreadpoolParamsNative.GGML_MAX_N_THREADS) {
+            throw new LlamaCppJnaException(String.format("Thread count must be in range [1, %d], value: %d", GgmlThreadpoolParamsNative.GGML_MAX_N_THREADS, params.getThreadCount()));
+        }
+        if (params.getPoll() < 0 || params.getPoll() > 100) {
+            throw new LlamaCppJnaException(String.format("Poll level must be in range [0, 100], value: %d", params.getPoll()));
+        }
+        if (params.getCpuMask().length() > GgmlThreadpoolParamsNative.GGML_MAX_N_THREADS) {
+            throw new LlamaCppJnaException(String.format("CPU mask exceeds %d CPUs", GgmlThreadpoolParamsNative.GGML_MAX_N_THREADS));
+        }
+
+        // Filled in Java rather than through ggml_threadpool_params_init, which lives in ggml-base
+        GgmlThreadpoolParamsNative nativeParams = new GgmlThreadpoolParamsNative();
+        BitSet mask = params.getCpuMask();
+        for (int cpu = mask.nextSetBit(0); cpu >= 0; cpu = mask.nextSetBit(cpu + 1)) {
+            nativeParams.cpumask[cpu] = 1;
+        }
+        nativeParams.n_threads = params.getThreadCount();
+        nativeParams.prio = params.getPriority().getValue();
+        nativeParams.poll = params.getPoll();
+        nativeParams.strict_cpu = (byte) (params.isStrictCpu() ? 1 : 0);
+        nativeParams.paused = (byte) (params.isPaused() ? 1 : 0);
+
+        final Pointer threadPool;
+        try {
+            threadPool = ggmlCpuLibrary.ggml_threadpool_new(nativeParams);
+        } catch (Exception e) {
+            logger.error("Failed to create threadpool, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to create threadpool, error: %s", e.getMessage()), e);
+        }
+
+        if (threadPool == null) {
+            logger.error("Failed to create threadpool, params: {}", params);
+            throw new LlamaCppJnaException(String.format("Failed to create threadpool, params: %s", params));
+        }
+
+        return threadPool;
+    }
+
+    private void freeNative(Pointer threadPool) {
+        try {
+            ggmlCpuLibrary.ggml_threadpool_free(threadPool);
+        } catch (Exception e) {
+            logger.error("Failed to free threadpool, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to free threadpool, error: %s", e.getMessage()), e);
+        }
+    }
+
+    private static Pointer pointerOf(LlamaThreadPool threadPool) {
+        Objects.requireNonNull(threadPool);
+        Objects.requireNonNull(threadPool.getLlamaThreadPoolNative());
+        return Objects.requireNonNull(threadPool.getLlamaThreadPoolNative().getPointer());
+    }
+
+    private static Pointer pointerOf(LlamaThreadPoolBatch threadPool) {
+        Objects.requireNonNull(threadPool);
+        Objects.requireNonNull(threadPool.getLlamaThreadPoolNative());
+        return Objects.requireNonNull(threadPool.getLlamaThreadPoolNative().getPointer());
+    }
+}
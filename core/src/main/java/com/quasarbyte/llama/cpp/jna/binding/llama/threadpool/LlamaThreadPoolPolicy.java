@@ -0,0 +1,57 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.threadpool;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attaches threadpools owned by the policy to pooled contexts.
+ * <p>
+ * Each slot holds a decode and a prefill threadpool. A context gets a free slot when it is
+ * attached (e.g. when leased from a context pool) and gives it back when detached, so a slot
+ * is never used by two contexts at once. The context thread counts are set to the slot
+ * threadpool sizes while attached.
+ */
+public interface LlamaThreadPoolPolicy extends AutoCloseable {
+
+    /**
+     * Attach a free slot to the context, waiting until one is available.
+     * Attaching an already attached context does nothing.
+     *
+     * @param context context about to decode
+     */
+    void attach(LlamaContext context);
+
+    /**
+     * Attach a free slot to the context, waiting at most the given time.
+     *
+     * @param context context about to decode
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true if the context is attached
+     */
+    boolean tryAttach(LlamaContext context, long timeout, TimeUnit unit);
+
+    /**
+     * Detach the slot from the context and make it available to other contexts.
+     * The context falls back to a disposable threadpool.
+     *
+     * @param context attached context
+     */
+    void detach(LlamaContext context);
+
+    int getSlotCount();
+
+    int getAttachedCount();
+
+    /**
+     * Put the workers of every idle slot to sleep, e.g. when the service goes idle with polling enabled.
+     */
+    void pauseIdle();
+
+    /**
+     * Free all threadpools. Fails if a context is still attached.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,190 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.threadpool;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.system.LlamaSystemBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPool;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadPoolBatch;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class LlamaThreadPoolPolicyImpl implements LlamaThreadPoolPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaThreadPoolPolicyImpl.class);
+
+    private final LlamaThreadPoolBinding llamaThreadPoolBinding;
+    private final LlamaSystemBinding llamaSystemBinding;
+    private final LlamaContextBinding llamaContextBinding;
+
+    private final List<Slot> slots;
+    private final ArrayDeque<Slot> freeSlots;
+    private final Map<Long, Slot> attached = new HashMap<>();
+    private boolean closed;
+
+    LlamaThreadPoolPolicyImpl(LlamaThreadPoolBinding llamaThreadPoolBinding,
+                              LlamaSystemBinding llamaSystemBinding,
+                              LlamaContextBinding llamaContextBinding,
+                              List<Slot> slots) {
+        this.llamaThreadPoolBinding = llamaThreadPoolBinding;
+        this.llamaSystemBinding = llamaSystemBinding;
+        this.llamaContextBinding = llamaContextBinding;
+        this.slots = slots;
+        this.freeSlots = new ArrayDeque<>(slots);
+    }
+
+    @Override
+    public void attach(LlamaContext context) {
+        tryAttach(context, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAttach(LlamaContext context, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+        Objects.requireNonNull(unit);
+
+        long key = contextAddress(context);
+        Slot slot;
+
+        synchronized (this) {
+            if (attached.containsKey(key)) {
+                return true;
+            }
+
+            long remaining = unit.toNanos(timeout);
+            long deadline = System.nanoTime() + remaining;
+
+            while (!closed && freeSlots.isEmpty()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new LlamaCppJnaException("Interrupted while waiting for a threadpool slot", e);
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            if (closed) {
+                throw new LlamaCppJnaException("Threadpool policy is closed");
+            }
+
+            slot = freeSlots.poll();
+            attached.put(key, slot);
+        }
+
+        try {
+            llamaSystemBinding.attachThreadpool(context, slot.decodePool, slot.prefillPool);
+            llamaContextBinding.setThreadCount(context, slot.decodeThreads, slot.prefillThreads);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                attached.remove(key);
+            }
+            returnSlot(slot);
+            logger.error("Failed to attach threadpool slot {}, error: {}", slot.index, e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to attach threadpool slot %d, error: %s", slot.index, e.getMessage()), e);
+        }
+
+        logger.debug("Threadpool slot {} attached to context: {}", slot.index, context.getContextPointer());
+        return true;
+    }
+
+    @Override
+    public void detach(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        long key = contextAddress(context);
+        Slot slot;
+        synchronized (this) {
+            slot = attached.remove(key);
+        }
+
+        if (slot == null) {
+            return;
+        }
+
+        try {
+            llamaSystemBinding.detachThreadpool(context);
+        } finally {
+            returnSlot(slot);
+        }
+
+        logger.debug("Threadpool slot {} detached from context: {}", slot.index, context.getContextPointer());
+    }
+
+    @Override
+    public int getSlotCount() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized int getAttachedCount() {
+        return attached.size();
+    }
+
+    @Override
+    public synchronized void pauseIdle() {
+        // A paused threadpool resumes by itself when the next graph is computed
+        for (Slot slot : freeSlots) {
+            llamaThreadPoolBinding.pause(slot.decodePool);
+            llamaThreadPoolBinding.pause(slot.prefillPool);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!attached.isEmpty()) {
+                throw new LlamaCppJnaException(String.format("Cannot close threadpool policy, attached contexts: %d", attached.size()));
+            }
+            closed = true;
+            notifyAll();
+        }
+
+        for (Slot slot : slots) {
+            llamaThreadPoolBinding.freeThreadPool(slot.decodePool);
+            llamaThreadPoolBinding.freeThreadPool(slot.prefillPool);
+        }
+        logger.debug("Threadpool policy closed, slots: {}", slots.size());
+    }
+
+    private synchronized void returnSlot(Slot slot) {
+        freeSlots.push(slot);
+        notifyAll();
+    }
+
+    private static long contextAddress(LlamaContext context) {
+        return Pointer.nativeValue(context.getContextPointer().getPointer());
+    }
+
+    static final class Slot {
+        final int index;
+        final LlamaThreadPool decodePool;
+        final LlamaThreadPoolBatch prefillPool;
+        final int decodeThreads;
+        final int prefillThreads;
+
+        Slot(int index, LlamaThreadPool decodePool, LlamaThreadPoolBatch prefillPool, int decodeThreads, int prefillThreads) {
+            this.index = index;
+            this.decodePool = decodePool;
+            this.prefillPool = prefillPool;
+            this.decodeThreads = decodeThreads;
+            this.prefillThreads = prefillThreads;
+        }
+    }
+}
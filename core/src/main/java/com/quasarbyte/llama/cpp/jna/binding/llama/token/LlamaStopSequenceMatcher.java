@@ -0,0 +1,199 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.token;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Aho-Corasick automaton over the UTF-8 bytes of a set of stop sequences, plus a set of stop tokens.
+ * <p>
+ * The automaton is compiled into a dense transition table, so matching costs one array lookup per
+ * generated byte regardless of how many stop sequences there are or how long the output gets.
+ * Instances are immutable and can be shared; the matching state lives in {@link LlamaStreamingDetokenizer}.
+ */
+public final class LlamaStopSequenceMatcher {
+
+    private static final int ALPHABET_SIZE = 256;
+    private static final int NO_MATCH = -1;
+
+    private static final LlamaStopSequenceMatcher EMPTY = new LlamaStopSequenceMatcher(Collections.emptyList(), new int[0]);
+
+    private final List<String> sequences;
+    private final int[] sequenceLengths;
+    private final int[] stopTokens;
+
+    private final int[] transitions;
+    private final int[] depths;
+    private final int[] matches;
+
+    private LlamaStopSequenceMatcher(List<String> sequences, int[] stopTokens) {
+        this.sequences = Collections.unmodifiableList(new ArrayList<>(sequences));
+        this.stopTokens = stopTokens.clone();
+        Arrays.sort(this.stopTokens);
+
+        List<byte[]> patterns = new ArrayList<>(sequences.size());
+        int maxStates = 1;
+        for (String sequence : sequences) {
+            byte[] bytes = sequence.getBytes(StandardCharsets.UTF_8);
+            patterns.add(bytes);
+            maxStates += bytes.length;
+        }
+
+        this.sequenceLengths = new int[patterns.size()];
+        int[] goTo = new int[maxStates * ALPHABET_SIZE];
+        Arrays.fill(goTo, -1);
+        int[] stateDepths = new int[maxStates];
+        int[] stateMatches = new int[maxStates];
+        Arrays.fill(stateMatches, NO_MATCH);
+        int stateCount = 1;
+
+        // Trie of all patterns
+        for (int i = 0; i < patterns.size(); i++) {
+            byte[] pattern = patterns.get(i);
+            sequenceLengths[i] = pattern.length;
+
+            int state = 0;
+            for (byte b : pattern) {
+                int slot = state * ALPHABET_SIZE + (b & 0xFF);
+                if (goTo[slot] < 0) {
+                    stateDepths[stateCount] = stateDepths[state] + 1;
+                    goTo[slot] = stateCount++;
+                }
+                state = goTo[slot];
+            }
+            if (stateMatches[state] == NO_MATCH) {
+                stateMatches[state] = i;
+            }
+        }
+
+        // Breadth-first pass turning failure links into a complete transition table
+        int[] failure = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            int next = goTo[c];
+            if (next < 0) {
+                goTo[c] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            // A state matching nothing itself reports the longest pattern that is a suffix of it
+            if (stateMatches[state] == NO_MATCH) {
+                stateMatches[state] = stateMatches[failure[state]];
+            }
+
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int slot = state * ALPHABET_SIZE + c;
+                int next = goTo[slot];
+                if (next < 0) {
+                    goTo[slot] = goTo[failure[state] * ALPHABET_SIZE + c];
+                } else {
+                    failure[next] = goTo[failure[state] * ALPHABET_SIZE + c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(goTo, stateCount * ALPHABET_SIZE);
+        this.depths = Arrays.copyOf(stateDepths, stateCount);
+        this.matches = Arrays.copyOf(stateMatches, stateCount);
+    }
+
+    /**
+     * Matcher that never stops.
+     */
+    public static LlamaStopSequenceMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compile a matcher for stop sequences.
+     *
+     * @param sequences stop strings, empty strings are ignored
+     * @return compiled matcher
+     */
+    public static LlamaStopSequenceMatcher compile(Collection<String> sequences) {
+        return compile(sequences, new int[0]);
+    }
+
+    /**
+     * Compile a matcher for stop sequences and stop tokens.
+     *
+     * @param sequences  stop strings, empty strings are ignored
+     * @param stopTokens tokens ending the generation as soon as they are produced (not rendered)
+     * @return compiled matcher
+     */
+    public static LlamaStopSequenceMatcher compile(Collection<String> sequences, int[] stopTokens) {
+        Objects.requireNonNull(sequences);
+        Objects.requireNonNull(stopTokens);
+
+        List<String> nonEmpty = new ArrayList<>(sequences.size());
+        for (String sequence : sequences) {
+            if (sequence != null && !sequence.isEmpty()) {
+                nonEmpty.add(sequence);
+            }
+        }
+        return new LlamaStopSequenceMatcher(nonEmpty, stopTokens);
+    }
+
+    public List<String> getSequences() {
+        return sequences;
+    }
+
+    public String getSequence(int index) {
+        return sequences.get(index);
+    }
+
+    public boolean isEmpty() {
+        return sequences.isEmpty() && stopTokens.length == 0;
+    }
+
+    public boolean isStopToken(int token) {
+        return stopTokens.length > 0 && Arrays.binarySearch(stopTokens, token) >= 0;
+    }
+
+    int initialState() {
+        return 0;
+    }
+
+    int next(int state, byte b) {
+        return transitions[state * ALPHABET_SIZE + (b & 0xFF)];
+    }
+
+    /**
+     * Length in bytes of the longest stop sequence prefix ending at this state.
+     */
+    int depth(int state) {
+        return depths[state];
+    }
+
+    /**
+     * Index of the longest stop sequence ending at this state, or -1.
+     */
+    int match(int state) {
+        return matches[state];
+    }
+
+    int sequenceLength(int index) {
+        return sequenceLengths[index];
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaStopSequenceMatcher{" +
+                "sequences=" + sequences +
+                ", stopTokens=" + Arrays.toString(stopTokens) +
+                ", states=" + depths.length +
+                '}';
+    }
+}
@@ -0,0 +1,314 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.token;
+
+import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallIntResultException;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabularyNative;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Incremental token-to-text conversion for one generation stream.
+ * <p>
+ * Each {@link #push(int)} renders the token piece into a reused byte buffer and returns only the
+ * text that is safe to show: bytes of an incomplete UTF-8 character and bytes that may still turn
+ * into a stop sequence are held back until the next token decides them. When a stop sequence
+ * completes, the text before it is returned, the stop sequence itself is dropped and
+ * {@link #isStopped()} becomes {@code true}. Matching is incremental, earlier output is never
+ * scanned again.
+ * <p>
+ * Instances are not thread-safe; create one per generation with
+ * {@link LlamaTokenBinding#createStreamingDetokenizer}.
+ */
+public final class LlamaStreamingDetokenizer {
+
+    private static final int INITIAL_PIECE_BUFFER_SIZE = 64;
+    private static final int INITIAL_PENDING_BUFFER_SIZE = 64;
+
+    private final LlamaLibrary llamaLibrary;
+    private final LlamaVocabularyNative vocabulary;
+    private final LlamaStopSequenceMatcher stopMatcher;
+    private final boolean special;
+
+    private byte[] piece = new byte[INITIAL_PIECE_BUFFER_SIZE];
+    private int pieceLength;
+    private byte[] pending = new byte[INITIAL_PENDING_BUFFER_SIZE];
+    private int pendingLength;
+
+    private int state;
+    private int stopSequenceIndex = -1;
+    private int stopToken = -1;
+    private boolean stopped;
+    private long tokenCount;
+    private long releasedBytes;
+
+    LlamaStreamingDetokenizer(LlamaLibrary llamaLibrary, LlamaVocabularyNative vocabulary, LlamaStopSequenceMatcher stopMatcher, boolean special) {
+        this.llamaLibrary = llamaLibrary;
+        this.vocabulary = vocabulary;
+        this.stopMatcher = stopMatcher;
+        this.special = special;
+        this.state = stopMatcher.initialState();
+    }
+
+    /**
+     * Add a generated token.
+     *
+     * @param token generated token
+     * @return text that became final with this token, empty when everything is held back or the stream is stopped
+     */
+    public String push(int token) {
+        int end = advance(token);
+        String text = release(end);
+        discardAfterStopSequence();
+        return text;
+    }
+
+    /**
+     * Add a generated token, appending the text that became final to {@code out}.
+     * Unlike {@link #push(int)} this does not allocate, apart from growing {@code out}.
+     *
+     * @param token generated token
+     * @param out   receives the released text
+     * @return number of chars appended
+     */
+    public int push(int token, StringBuilder out) {
+        int end = advance(token);
+        int appended = releaseTo(end, out);
+        discardAfterStopSequence();
+        return appended;
+    }
+
+    /**
+     * Release all held-back text, e.g. after an end-of-generation token.
+     * Incomplete UTF-8 bytes are replaced with U+FFFD.
+     *
+     * @return remaining text
+     */
+    public String flush() {
+        String text = release(pendingLength);
+        state = stopMatcher.initialState();
+        return text;
+    }
+
+    /**
+     * Release all held-back text into {@code out}.
+     *
+     * @return number of chars appended
+     */
+    public int flush(StringBuilder out) {
+        int appended = releaseTo(pendingLength, out);
+        state = stopMatcher.initialState();
+        return appended;
+    }
+
+    /**
+     * Prepare for a new generation, discarding held-back text.
+     */
+    public void reset() {
+        pendingLength = 0;
+        pieceLength = 0;
+        state = stopMatcher.initialState();
+        stopSequenceIndex = -1;
+        stopToken = -1;
+        stopped = false;
+        tokenCount = 0;
+        releasedBytes = 0;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return the stop sequence that ended the stream, or null when none did
+     */
+    public String getStopSequence() {
+        return stopSequenceIndex >= 0 ? stopMatcher.getSequence(stopSequenceIndex) : null;
+    }
+
+    public int getStopSequenceIndex() {
+        return stopSequenceIndex;
+    }
+
+    /**
+     * @return the stop token that ended the stream, or -1 when none did
+     */
+    public int getStopToken() {
+        return stopToken;
+    }
+
+    /**
+     * @return raw piece bytes of the last pushed token, empty for a stop token
+     */
+    public byte[] getLastPiece() {
+        return Arrays.copyOf(piece, pieceLength);
+    }
+
+    public int getHeldBackByteCount() {
+        return pendingLength;
+    }
+
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    public long getReleasedByteCount() {
+        return releasedBytes;
+    }
+
+    /**
+     * Render the token into the pending bytes and advance the stop matcher.
+     *
+     * @return number of pending bytes that are final
+     */
+    private int advance(int token) {
+        if (stopped) {
+            pieceLength = 0;
+            return 0;
+        }
+        tokenCount++;
+
+        if (stopMatcher.isStopToken(token)) {
+            stopped = true;
+            stopToken = token;
+            pieceLength = 0;
+            return 0;
+        }
+
+        int length = renderPiece(token);
+        pieceLength = length;
+        ensurePendingCapacity(pendingLength + length);
+
+        for (int i = 0; i < length; i++) {
+            byte b = piece[i];
+            pending[pendingLength++] = b;
+            state = stopMatcher.next(state, b);
+
+            int match = stopMatcher.match(state);
+            if (match >= 0) {
+                stopped = true;
+                stopSequenceIndex = match;
+                // Everything up to the stop sequence is final, the rest of the piece is discarded
+                return pendingLength - stopMatcher.sequenceLength(match);
+            }
+        }
+
+        return utf8Boundary(pendingLength - stopMatcher.depth(state));
+    }
+
+    private void discardAfterStopSequence() {
+        if (stopSequenceIndex >= 0) {
+            pendingLength = 0;
+        }
+    }
+
+    private int renderPiece(int token) {
+        int length = llamaLibrary.llama_token_to_piece(vocabulary, token, piece, piece.length, 0, special);
+        if (length < 0) {
+            // Negative result is the required buffer size
+            piece = new byte[Math.max(-length, piece.length * 2)];
+            length = llamaLibrary.llama_token_to_piece(vocabulary, token, piece, piece.length, 0, special);
+            if (length < 0) {
+                throw new LlamaFunctionCallIntResultException(length, String.format("Failed to convert token to piece, token: %d, length: %d", token, length));
+            }
+        }
+        return length;
+    }
+
+    private void ensurePendingCapacity(int capacity) {
+        if (capacity > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(capacity, pending.length * 2));
+        }
+    }
+
+    /**
+     * Move {@code end} back so the released prefix does not end inside a UTF-8 character.
+     */
+    private int utf8Boundary(int end) {
+        for (int i = end - 1; i >= 0 && i >= end - 3; i--) {
+            int b = pending[i] & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                int size = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+                return i + size > end ? i : end;
+            }
+        }
+        return end;
+    }
+
+    private int releaseTo(int end, StringBuilder out) {
+        if (end <= 0) {
+            return 0;
+        }
+        int before = out.length();
+        appendUtf8(pending, end, out);
+        System.arraycopy(pending, end, pending, 0, pendingLength - end);
+        pendingLength -= end;
+        releasedBytes += end;
+        return out.length() - before;
+    }
+
+    /**
+     * Decode UTF-8 without an intermediate String; malformed bytes become U+FFFD.
+     */
+    private static void appendUtf8(byte[] bytes, int end, StringBuilder out) {
+        int i = 0;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                out.append((char) b);
+                i++;
+                continue;
+            }
+
+            int size;
+            int codePoint;
+            if (b >= 0xF5) {
+                size = 0;
+                codePoint = 0;
+            } else if (b >= 0xF0) {
+                size = 4;
+                codePoint = b & 0x07;
+            } else if (b >= 0xE0) {
+                size = 3;
+                codePoint = b & 0x0F;
+            } else if (b >= 0xC2) {
+                size = 2;
+                codePoint = b & 0x1F;
+            } else {
+                size = 0;
+                codePoint = 0;
+            }
+
+            boolean valid = size > 0 && i + size <= end;
+            for (int k = 1; valid && k < size; k++) {
+                int c = bytes[i + k] & 0xFF;
+                valid = (c & 0xC0) == 0x80;
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (valid && size == 3) {
+                valid = codePoint >= 0x800 && (codePoint < 0xD800 || codePoint > 0xDFFF);
+            } else if (valid && size == 4) {
+                valid = codePoint >= 0x10000 && codePoint <= 0x10FFFF;
+            }
+
+            if (valid) {
+                out.appendCodePoint(codePoint);
+                i += size;
+            } else {
+                out.append('\uFFFD');
+                i++;
+            }
+        }
+    }
+
+    private String release(int end) {
+        if (end <= 0) {
+            return "";
+        }
+        String text = new String(pending, 0, end, StandardCharsets.UTF_8);
+        System.arraycopy(pending, end, pending, 0, pendingLength - end);
+        pendingLength -= end;
+        releasedBytes += end;
+        return text;
+    }
+}
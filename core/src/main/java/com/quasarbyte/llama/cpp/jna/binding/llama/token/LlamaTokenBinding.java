@@ -24,4 +24,14 @@ public interface LlamaTokenBinding {
     String detokenize(LlamaVocabulary vocabulary, int[] tokens, boolean removeSpecial, boolean unparseSpecial, int bytesPerToken);
 
     int getUsedTokens(LlamaContext context);
+
+    /**
+     * Create an incremental detokenizer for one generation stream.
+     *
+     * @param vocabulary  the vocabulary to use
+     * @param special     if true, render special tokens as text
+     * @param stopMatcher stop sequences and stop tokens ending the stream
+     * @return a new detokenizer, not thread-safe
+     */
+    LlamaStreamingDetokenizer createStreamingDetokenizer(LlamaVocabulary vocabulary, boolean special, LlamaStopSequenceMatcher stopMatcher);
 }
@@ -1,5 +1,7 @@
 package com.quasarbyte.llama.cpp.jna.binding.llama.token;
 
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvent;
+import com.quasarbyte.llama.cpp.jna.binding.llama.jfr.LlamaInferenceEvents;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
 import com.quasarbyte.llama.cpp.jna.exception.LlamaFunctionCallIntResultException;
 import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
@@ -37,6 +39,8 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
         // Convert Java String into UTF-8 bytes (C function expects bytes + length)
         byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
 
+        LlamaInferenceEvent event = LlamaInferenceEvents.tokenize();
+
         // First call: probe how many tokens are needed (passing null for tokens)
         int probe = llamaLibrary.llama_tokenize(
                 llamaVocabulary.getVocabularyPointer(),
@@ -58,6 +62,7 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
         int required = (probe >= 0) ? probe : -probe;
 
         if (required == 0) {
+            event.setSize(utf8.length).setCount(0).commit();
             return new int[0]; // nothing to tokenize
         }
 
@@ -88,6 +93,8 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
             // Copy exactly 'result' ints from native memory into Java array
             tokenMem.read(0, tokens, 0, result);
 
+            event.setSize(utf8.length).setCount(result).commit();
+
             // If result < required, shrink the array
             if (result != required) {
                 return Arrays.copyOf(tokens, result);
@@ -162,6 +169,8 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
             int maxTextLen = bytesPerToken*tokens.length;
             byte[] textBuffer = new byte[maxTextLen];
 
+            LlamaInferenceEvent event = LlamaInferenceEvents.detokenize();
+
             int length = llamaLibrary.llama_detokenize(
                 vocabulary.getVocabularyPointer(),
                 tokenMemory,
@@ -177,6 +186,8 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
                 throw new LlamaFunctionCallIntResultException(length, String.format("Failed to detokenize tokens, length: %d", length));
             }
 
+            event.setCount(tokens.length).setSize(length).commit();
+
             return this.llamaStringBufferReader.readString(textBuffer, length);
 
         } catch (Exception e) {
@@ -206,4 +217,12 @@ public class LlamaTokenBindingImpl implements LlamaTokenBinding {
             throw new LlamaCppJnaException(String.format("Failed to get used tokens, error: %s",  e.getMessage()), e);
         }
     }
+
+    @Override
+    public LlamaStreamingDetokenizer createStreamingDetokenizer(LlamaVocabulary vocabulary, boolean special, LlamaStopSequenceMatcher stopMatcher) {
+        Objects.requireNonNull(vocabulary);
+        Objects.requireNonNull(vocabulary.getVocabularyPointer());
+        Objects.requireNonNull(stopMatcher);
+        return new LlamaStreamingDetokenizer(llamaLibrary, vocabulary.getVocabularyPointer(), stopMatcher, special);
+    }
 }
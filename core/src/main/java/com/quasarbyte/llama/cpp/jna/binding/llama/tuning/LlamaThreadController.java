@@ -0,0 +1,46 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.tuning;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+/**
+ * Adjusts context thread counts to the number of contexts decoding at the same time.
+ * <p>
+ * With one active context it gets the benchmarked optimum; with more, each gets an equal share
+ * of the CPU budget, never more than the optimum. Thread counts are only changed by the thread
+ * that owns the context, in {@link #begin} and {@link #refresh}, never while it decodes.
+ */
+public interface LlamaThreadController {
+
+    /**
+     * Mark the context as active and apply its current share.
+     */
+    void begin(LlamaContext context);
+
+    /**
+     * Apply the current share if it changed since the context last applied it. Cheap enough to
+     * call before every decode step.
+     */
+    void refresh(LlamaContext context);
+
+    /**
+     * Mark the context as idle.
+     */
+    void end(LlamaContext context);
+
+    int getActiveCount();
+
+    /**
+     * @return current decode thread share of an active context
+     */
+    int getDecodeThreadCount();
+
+    /**
+     * @return current prefill thread share of an active context
+     */
+    int getPrefillThreadCount();
+
+    /**
+     * @return number of thread count changes applied to contexts
+     */
+    long getAdjustmentCount();
+}
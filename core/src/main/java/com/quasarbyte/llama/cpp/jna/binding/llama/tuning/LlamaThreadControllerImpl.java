@@ -0,0 +1,113 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.tuning;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LlamaThreadControllerImpl implements LlamaThreadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaThreadControllerImpl.class);
+
+    private final LlamaContextBinding llamaContextBinding;
+    private final int bestDecodeThreads;
+    private final int bestPrefillThreads;
+    private final int cpuBudget;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong adjustmentCount = new AtomicLong();
+
+    // Shares applied per context, decode and prefill packed into one value so refresh() compares a single long
+    private final Map<Long, Long> appliedShares = new ConcurrentHashMap<>();
+
+    LlamaThreadControllerImpl(LlamaContextBinding llamaContextBinding, int bestDecodeThreads, int bestPrefillThreads, int cpuBudget) {
+        this.llamaContextBinding = llamaContextBinding;
+        this.bestDecodeThreads = bestDecodeThreads;
+        this.bestPrefillThreads = bestPrefillThreads;
+        this.cpuBudget = cpuBudget;
+    }
+
+    @Override
+    public void begin(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        activeCount.incrementAndGet();
+        refresh(context);
+    }
+
+    @Override
+    public void refresh(LlamaContext context) {
+        // Derived from the count on every call: a cached share could be published out of order by concurrent begin/end
+        long current = currentShare();
+        Long key = contextAddress(context);
+        Long applied = appliedShares.get(key);
+
+        if (applied == null || applied != current) {
+            llamaContextBinding.setThreadCount(context, decodeThreads(current), prefillThreads(current));
+            appliedShares.put(key, current);
+            adjustmentCount.incrementAndGet();
+            logger.debug("Thread counts of context {} set to decode: {}, prefill: {}, active contexts: {}",
+                    context.getContextPointer(), decodeThreads(current), prefillThreads(current), activeCount.get());
+        }
+    }
+
+    @Override
+    public void end(LlamaContext context) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+
+        appliedShares.remove(contextAddress(context));
+        activeCount.decrementAndGet();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    @Override
+    public int getDecodeThreadCount() {
+        return decodeThreads(currentShare());
+    }
+
+    @Override
+    public int getPrefillThreadCount() {
+        return prefillThreads(currentShare());
+    }
+
+    @Override
+    public long getAdjustmentCount() {
+        return adjustmentCount.get();
+    }
+
+    private long currentShare() {
+        return computeShare(activeCount.get());
+    }
+
+    private long computeShare(int active) {
+        int perContext = Math.max(1, cpuBudget / Math.max(1, active));
+        int decode = Math.min(bestDecodeThreads, perContext);
+        int prefill = Math.min(bestPrefillThreads, perContext);
+        return ((long) decode << 32) | (prefill & 0xFFFFFFFFL);
+    }
+
+    private static int decodeThreads(long share) {
+        return (int) (share >>> 32);
+    }
+
+    private static int prefillThreads(long share) {
+        return (int) share;
+    }
+
+    private static long contextAddress(LlamaContext context) {
+        return Pointer.nativeValue(context.getContextPointer().getPointer());
+    }
+}
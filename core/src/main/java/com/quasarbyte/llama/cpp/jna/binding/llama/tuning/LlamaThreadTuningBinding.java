@@ -0,0 +1,57 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.tuning;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadTuningParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadTuningResult;
+
+/**
+ * Picks {@code n_threads} and {@code n_threads_batch} from measurements instead of guesses.
+ * <p>
+ * Decode steps are memory-bound and usually peak well below the core count, while prefill is
+ * compute-bound and keeps scaling, so the two are tuned separately. Throughput is read from
+ * {@code llama_perf_context}; contexts created with {@code no_perf} fall back to wall-clock time.
+ * The resulting {@link LlamaThreadController} then shrinks per-context thread counts while
+ * several contexts decode at once, so the process does not oversubscribe the CPUs.
+ * <p>
+ * Usage Example:
+ * <pre>{@code
+ * LlamaThreadTuningResult tuning = threadTuningService.benchmark(context, new LlamaThreadTuningParams());
+ * LlamaThreadController controller = threadTuningService.createController(tuning, Runtime.getRuntime().availableProcessors());
+ *
+ * controller.begin(context);
+ * try {
+ *     while (generating) {
+ *         controller.refresh(context);
+ *         processingService.decodeBatch(context, batch);
+ *         // sample ...
+ *     }
+ * } finally {
+ *     controller.end(context);
+ * }
+ * }</pre>
+ */
+public interface LlamaThreadTuningBinding {
+
+    /**
+     * Benchmark prefill and decode throughput for each candidate thread count.
+     * Uses synthetic tokens in a scratch sequence and restores the original thread counts.
+     * <p>
+     * Side effects: the scratch sequence is cleared when the benchmark ends, so it must be empty
+     * when called (a non-empty sequence is refused), and the context performance counters of
+     * {@code llama_perf_context} are reset, since llama.cpp offers no way to restore them.
+     *
+     * @param context context to measure, must not be used concurrently
+     * @param params  benchmark settings
+     * @return measurements and the selected thread counts
+     */
+    LlamaThreadTuningResult benchmark(LlamaContext context, LlamaThreadTuningParams params);
+
+    /**
+     * Create a controller sharing {@code cpuBudget} threads among the active contexts.
+     *
+     * @param tuning    benchmark result giving the per-context optimum
+     * @param cpuBudget threads available to all contexts together
+     * @return controller
+     */
+    LlamaThreadController createController(LlamaThreadTuningResult tuning, int cpuBudget);
+}
@@ -0,0 +1,22 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.tuning;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+public class LlamaThreadTuningBindingFactory {
+
+    public LlamaThreadTuningBinding create(LlamaLibrary llamaLibrary) {
+        return new LlamaThreadTuningBindingImpl(
+                new LlamaContextBindingFactory().create(llamaLibrary),
+                new LlamaPerformanceBindingFactory().create(llamaLibrary),
+                new LlamaBatchBindingFactory().create(llamaLibrary),
+                new LlamaProcessingBindingFactory().create(llamaLibrary),
+                new LlamaMemoryBindingFactory().create(llamaLibrary),
+                new LlamaResultBindingFactory().create(llamaLibrary));
+    }
+}
@@ -0,0 +1,251 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.tuning;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaMemoryManager;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceContextDataNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadTuningParams;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaThreadTuningResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class LlamaThreadTuningBindingImpl implements LlamaThreadTuningBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaThreadTuningBindingImpl.class);
+
+    private final LlamaContextBinding llamaContextBinding;
+    private final LlamaPerformanceBinding llamaPerformanceBinding;
+    private final LlamaBatchBinding llamaBatchBinding;
+    private final LlamaProcessingBinding llamaProcessingBinding;
+    private final LlamaMemoryBinding llamaMemoryBinding;
+    private final LlamaResultBinding llamaResultBinding;
+
+    public LlamaThreadTuningBindingImpl(LlamaContextBinding llamaContextBinding,
+                                        LlamaPerformanceBinding llamaPerformanceBinding,
+                                        LlamaBatchBinding llamaBatchBinding,
+                                        LlamaProcessingBinding llamaProcessingBinding,
+                                        LlamaMemoryBinding llamaMemoryBinding,
+                                        LlamaResultBinding llamaResultBinding) {
+        this.llamaContextBinding = llamaContextBinding;
+        this.llamaPerformanceBinding = llamaPerformanceBinding;
+        this.llamaBatchBinding = llamaBatchBinding;
+        this.llamaProcessingBinding = llamaProcessingBinding;
+        this.llamaMemoryBinding = llamaMemoryBinding;
+        this.llamaResultBinding = llamaResultBinding;
+    }
+
+    @Override
+    public LlamaThreadTuningResult benchmark(LlamaContext context, LlamaThreadTuningParams params) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+        Objects.requireNonNull(params);
+
+        if (params.getDecodeTokenCount() < 1) {
+            throw new LlamaCppJnaException(String.format("Decode token count must be positive, value: %d", params.getDecodeTokenCount()));
+        }
+
+        int[] threadCounts = candidates(params);
+        long contextSize = llamaContextBinding.getContextSize(context);
+        int prefillCount = (int) Math.min(Math.min(params.getPrefillTokenCount(), llamaBatchBinding.getBatchSize(context)),
+                contextSize - params.getDecodeTokenCount());
+
+        if (prefillCount < 2) {
+            throw new LlamaCppJnaException(String.format("Context is too small for the benchmark, context size: %d", contextSize));
+        }
+
+        LlamaMemoryManager memory = llamaMemoryBinding.getMemory(context);
+        int lastPosition = llamaMemoryBinding.sequencePositionMax(memory, params.getSequenceId());
+        if (lastPosition >= 0) {
+            throw new LlamaCppJnaException(String.format("Benchmark sequence %d is not empty, last position: %d", params.getSequenceId(), lastPosition));
+        }
+
+        int originalThreads = llamaContextBinding.getThreadCount(context);
+        int originalBatchThreads = llamaContextBinding.getBatchThreadCount(context);
+
+        int[] tokens = syntheticTokens(llamaResultBinding.getVocabularySize(context), prefillCount + params.getDecodeTokenCount());
+        int[] prompt = new int[prefillCount];
+        System.arraycopy(tokens, 0, prompt, 0, prefillCount);
+
+        Map<Integer, Double> decodeRates = new TreeMap<>();
+        Map<Integer, Double> prefillRates = new TreeMap<>();
+        LlamaBatch batch = null;
+        long start = System.nanoTime();
+
+        try {
+            batch = llamaBatchBinding.createBatch(prefillCount, 1);
+
+            // Untimed run with the largest count to page in the weights
+            measure(context, memory, batch, prompt, tokens, 1, threadCounts[threadCounts.length - 1], params.getSequenceId(), null, null);
+
+            for (int threads : threadCounts) {
+                measure(context, memory, batch, prompt, tokens, params.getDecodeTokenCount(), threads, params.getSequenceId(), prefillRates, decodeRates);
+                logger.debug("Thread benchmark, threads: {}, prefill tokens/s: {}, decode tokens/s: {}",
+                        threads, String.format("%.2f", prefillRates.get(threads)), String.format("%.2f", decodeRates.get(threads)));
+            }
+
+            LlamaThreadTuningResult result = new LlamaThreadTuningResult()
+                    .setDecodeThreadCount(select(decodeRates, params.getMinImprovement()))
+                    .setPrefillThreadCount(select(prefillRates, params.getMinImprovement()))
+                    .setDecodeTokensPerSecond(decodeRates)
+                    .setPrefillTokensPerSecond(prefillRates)
+                    .setBenchmarkTimeNanos(System.nanoTime() - start);
+
+            logger.info("Thread tuning completed, decode threads: {}, prefill threads: {}, time ms: {}",
+                    result.getDecodeThreadCount(), result.getPrefillThreadCount(), result.getBenchmarkTimeNanos() / 1_000_000);
+
+            return result;
+
+        } catch (LlamaCppJnaException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to benchmark thread counts, error: {}", e.getMessage(), e);
+            throw new LlamaCppJnaException(String.format("Failed to benchmark thread counts, error: %s", e.getMessage()), e);
+        } finally {
+            llamaMemoryBinding.sequenceRemove(memory, params.getSequenceId(), -1, -1);
+            llamaContextBinding.setThreadCount(context, originalThreads, originalBatchThreads);
+            llamaPerformanceBinding.resetContextPerformance(context);
+            if (batch != null) {
+                llamaBatchBinding.freeBatch(batch);
+            }
+        }
+    }
+
+    @Override
+    public LlamaThreadController createController(LlamaThreadTuningResult tuning, int cpuBudget) {
+        Objects.requireNonNull(tuning);
+
+        if (cpuBudget < 1) {
+            throw new LlamaCppJnaException(String.format("CPU budget must be positive, value: %d", cpuBudget));
+        }
+
+        return new LlamaThreadControllerImpl(llamaContextBinding,
+                Math.max(1, tuning.getDecodeThreadCount()), Math.max(1, tuning.getPrefillThreadCount()), cpuBudget);
+    }
+
+    /**
+     * One trial: prefill the prompt in one batch, then decode single tokens.
+     * Rates come from the perf counters when available, otherwise from wall-clock time.
+     */
+    private void measure(LlamaContext context,
+                         LlamaMemoryManager memory,
+                         LlamaBatch batch,
+                         int[] prompt,
+                         int[] tokens,
+                         int decodeCount,
+                         int threads,
+                         int sequenceId,
+                         Map<Integer, Double> prefillRates,
+                         Map<Integer, Double> decodeRates) {
+        llamaContextBinding.setThreadCount(context, threads, threads);
+        llamaMemoryBinding.sequenceRemove(memory, sequenceId, -1, -1);
+
+        llamaPerformanceBinding.resetContextPerformance(context);
+        long prefillStart = System.nanoTime();
+        checkResult(llamaProcessingBinding.decodeTokens(context, batch, prompt, 0, sequenceId));
+        llamaContextBinding.synchronize(context);
+        long prefillNanos = System.nanoTime() - prefillStart;
+        LlamaPerformanceContextDataNative prefillPerf = llamaPerformanceBinding.getContextPerformance(context);
+
+        llamaPerformanceBinding.resetContextPerformance(context);
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < decodeCount; i++) {
+            llamaBatchBinding.clearBatch(batch);
+            llamaBatchBinding.addToken(batch, tokens[prompt.length + i], prompt.length + i, sequenceId, true);
+            checkResult(llamaProcessingBinding.decodeBatch(context, batch));
+            llamaContextBinding.synchronize(context);
+        }
+        long decodeNanos = System.nanoTime() - decodeStart;
+        LlamaPerformanceContextDataNative decodePerf = llamaPerformanceBinding.getContextPerformance(context);
+
+        llamaMemoryBinding.sequenceRemove(memory, sequenceId, -1, -1);
+
+        if (prefillRates != null) {
+            prefillRates.put(threads, rate(prefillPerf.n_p_eval, prefillPerf.t_p_eval_ms, prompt.length, prefillNanos));
+        }
+        if (decodeRates != null) {
+            decodeRates.put(threads, rate(decodePerf.n_eval, decodePerf.t_eval_ms, decodeCount, decodeNanos));
+        }
+    }
+
+    private void checkResult(int result) {
+        if (result != 0) {
+            throw new LlamaCppJnaException(String.format("Benchmark decode failed: %s", llamaProcessingBinding.getResultDescription(result)));
+        }
+    }
+
+    private static double rate(int perfTokens, double perfMillis, int tokens, long nanos) {
+        if (perfTokens > 0 && perfMillis > 0) {
+            return perfTokens * 1000.0 / perfMillis;
+        }
+        return nanos > 0 ? tokens * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+    /**
+     * Smallest thread count within {@code minImprovement} of the best rate.
+     */
+    private static int select(Map<Integer, Double> rates, double minImprovement) {
+        double best = 0.0;
+        for (double rate : rates.values()) {
+            best = Math.max(best, rate);
+        }
+
+        for (Map.Entry<Integer, Double> entry : rates.entrySet()) {
+            if (entry.getValue() * (1.0 + minImprovement) >= best) {
+                return entry.getKey();
+            }
+        }
+        return 1;
+    }
+
+    private static int[] candidates(LlamaThreadTuningParams params) {
+        TreeSet<Integer> counts = new TreeSet<>();
+
+        if (params.getThreadCounts() != null && params.getThreadCounts().length > 0) {
+            for (int count : params.getThreadCounts()) {
+                if (count < 1) {
+                    throw new LlamaCppJnaException(String.format("Thread count must be positive, value: %d", count));
+                }
+                counts.add(count);
+            }
+        } else {
+            int max = Math.max(1, params.getMaxThreadCount());
+            for (int count = 1; count < max; count <<= 1) {
+                counts.add(count);
+            }
+            counts.add(Math.max(1, max * 3 / 4));
+            counts.add(max);
+        }
+
+        int[] result = new int[counts.size()];
+        int i = 0;
+        for (int count : counts) {
+            result[i++] = count;
+        }
+        return result;
+    }
+
+    /**
+     * Deterministic pseudo-random tokens: realistic attention and embedding lookups without a tokenizer.
+     */
+    private static int[] syntheticTokens(int vocabularySize, int count) {
+        Random random = new Random(42);
+        int[] tokens = new int[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = random.nextInt(Math.max(1, vocabularySize));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,355 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaAsyncLogParams;
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous bridge from llama.cpp logging to SLF4J.
+ * <p>
+ * Unlike {@link CustomLlamaLoggerBinding}, the native callback does no logging itself: it checks
+ * the target logger's level, copies the raw message bytes into a bounded lock-free ring and
+ * returns. A background thread decodes the messages, merges {@code GGML_LOG_LEVEL_CONT}
+ * continuations into the message they continue and dispatches complete lines.
+ * <p>
+ * Lines are attributed and rate limited through {@link LlamaLogAttribution}; the scope of the
+ * emitting thread is captured in the callback and applied on the dispatch thread.
+ * Disabled levels are rejected before anything is copied, including the continuations of a
+ * rejected message. When the ring is full the message is dropped rather than blocking model
+ * load or decode; drops are counted and reported.
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * LlamaLibrary llamaLibrary = new LlamaLibraryFactory().getInstance();
+ * AsyncLlamaLoggerBinding bridge = AsyncLlamaLoggerBinding.setupAsyncLogging(llamaLibrary);
+ * // ...
+ * logger.info("dropped log messages: {}", bridge.getDroppedCount());
+ * AsyncLlamaLoggerBinding.disableAsyncLogging(llamaLibrary);
+ * }</pre>
+ */
+public final class AsyncLlamaLoggerBinding {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLlamaLoggerBinding.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Keep a strong reference to prevent garbage collection of the callback
+    private static AsyncLlamaLoggerBinding active;
+
+    private final LlamaLogScope registration;
+    private final LlamaLogRingBuffer ring;
+    private final long idleFlushNanos;
+    private final LlamaLibrary.LlamaRawLogCallback callback;
+    private final Thread consumer;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long dispatched;
+    private volatile long truncated;
+
+    private volatile boolean running = true;
+    private volatile boolean consumerParked;
+
+    // Outcome of the last message that was not a continuation, applied to its continuations
+    private volatile int continuation = CONTINUATION_ACCEPT;
+
+    private static final int CONTINUATION_ACCEPT = 0;
+    private static final int CONTINUATION_FILTER = 1;
+    private static final int CONTINUATION_DROP = 2;
+
+    // Consumer thread state
+    private byte[] pending = new byte[256];
+    private int pendingLength;
+    private int pendingLevel = LlamaLibrary.GGML_LOG_LEVEL_INFO;
+    private LlamaLogScope pendingScope;
+    private long pendingSince;
+
+    private AsyncLlamaLoggerBinding(LlamaAsyncLogParams params) {
+        this.registration = LlamaLogAttribution.registerRoot(params.getLoggerName());
+        this.ring = new LlamaLogRingBuffer(params.getCapacity(), params.getMaxMessageBytes());
+        this.idleFlushNanos = TimeUnit.MILLISECONDS.toNanos(params.getIdleFlushMillis());
+        this.callback = this::onNativeMessage;
+        this.consumer = new Thread(this::consume, "llama-log");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * Setup asynchronous logging for llama.cpp with default settings.
+     *
+     * @param llamaLibrary the llama library instance
+     * @return the active bridge
+     */
+    public static AsyncLlamaLoggerBinding setupAsyncLogging(LlamaLibrary llamaLibrary) {
+        return setupAsyncLogging(llamaLibrary, new LlamaAsyncLogParams());
+    }
+
+    /**
+     * Setup asynchronous logging for llama.cpp, replacing any previously installed bridge.
+     *
+     * @param llamaLibrary the llama library instance
+     * @param params       ring buffer and dispatch settings
+     * @return the active bridge
+     */
+    public static synchronized AsyncLlamaLoggerBinding setupAsyncLogging(LlamaLibrary llamaLibrary, LlamaAsyncLogParams params) {
+        Objects.requireNonNull(llamaLibrary);
+        Objects.requireNonNull(params);
+
+        if (params.getCapacity() <= 0 || params.getMaxMessageBytes() <= 0) {
+            throw new IllegalArgumentException(String.format("Capacity and max message bytes must be positive, params: %s", params));
+        }
+
+        disableAsyncLogging(llamaLibrary);
+
+        logger.info("Setting up asynchronous llama.cpp logging, params: {}", params);
+
+        AsyncLlamaLoggerBinding bridge = new AsyncLlamaLoggerBinding(params);
+        Native.setCallbackThreadInitializer(bridge.callback, new CallbackThreadInitializer(true, false, "llama-log-native"));
+        bridge.consumer.start();
+
+        llamaLibrary.llama_log_set_raw(bridge.callback, LlamaLogAttribution.toUserData(bridge.registration));
+        active = bridge;
+
+        return bridge;
+    }
+
+    /**
+     * Unregister the bridge, dispatch the messages still buffered and stop the background thread.
+     * Native output goes back to stderr.
+     *
+     * @param llamaLibrary the llama library instance
+     */
+    public static synchronized void disableAsyncLogging(LlamaLibrary llamaLibrary) {
+        Objects.requireNonNull(llamaLibrary);
+
+        AsyncLlamaLoggerBinding bridge = active;
+        if (bridge == null) {
+            return;
+        }
+
+        llamaLibrary.llama_log_set_raw(null, null);
+        active = null;
+        bridge.stop();
+        LlamaLogAttribution.unregisterRoot(bridge.registration);
+
+        logger.info("Asynchronous llama.cpp logging disabled, accepted: {}, dispatched: {}, filtered: {}, dropped: {}, truncated: {}",
+                bridge.getAcceptedCount(), bridge.getDispatchedCount(), bridge.getFilteredCount(), bridge.getDroppedCount(), bridge.getTruncatedCount());
+    }
+
+    /**
+     * @return the installed bridge, or null
+     */
+    public static synchronized AsyncLlamaLoggerBinding getActive() {
+        return active;
+    }
+
+    /**
+     * Messages copied into the ring.
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * Messages rejected by the level filter without being copied.
+     */
+    public long getFilteredCount() {
+        return filtered.sum();
+    }
+
+    /**
+     * Messages dropped because the ring was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Log lines written to SLF4J after continuation merging.
+     */
+    public long getDispatchedCount() {
+        return dispatched;
+    }
+
+    /**
+     * Messages cut at {@link LlamaAsyncLogParams#getMaxMessageBytes()}.
+     */
+    public long getTruncatedCount() {
+        return truncated;
+    }
+
+    private void onNativeMessage(int level, Pointer text, Pointer userData) {
+        LlamaLogScope scope = LlamaLogAttribution.resolve(userData, registration);
+
+        if (level == LlamaLibrary.GGML_LOG_LEVEL_CONT) {
+            int state = continuation;
+            if (state == CONTINUATION_FILTER) {
+                filtered.increment();
+                return;
+            }
+            if (state == CONTINUATION_DROP) {
+                dropped.increment();
+                return;
+            }
+        } else if (!LlamaLogAttribution.isEnabled(scope.getSource().getLogger(), level)) {
+            continuation = CONTINUATION_FILTER;
+            filtered.increment();
+            return;
+        }
+
+        if (text == null) {
+            return;
+        }
+
+        if (!ring.offer(level, text, scope)) {
+            if (level != LlamaLibrary.GGML_LOG_LEVEL_CONT) {
+                continuation = CONTINUATION_DROP;
+            }
+            dropped.increment();
+            return;
+        }
+
+        if (level != LlamaLibrary.GGML_LOG_LEVEL_CONT) {
+            continuation = CONTINUATION_ACCEPT;
+        }
+        accepted.increment();
+
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            int slot = ring.peek();
+
+            if (slot >= 0) {
+                append(slot);
+                ring.release(slot);
+                continue;
+            }
+
+            if (pendingLength > 0 && System.nanoTime() - pendingSince >= idleFlushNanos) {
+                dispatchPending();
+            }
+
+            if (!running) {
+                break;
+            }
+
+            consumerParked = true;
+            if (ring.peek() < 0 && running) {
+                LockSupport.parkNanos(this, pendingLength > 0 ? idleFlushNanos : IDLE_PARK_NANOS);
+            }
+            consumerParked = false;
+        }
+
+        dispatchPending();
+    }
+
+    private void append(int slot) {
+        int level = ring.getLevel(slot);
+
+        if (level != LlamaLibrary.GGML_LOG_LEVEL_CONT) {
+            dispatchPending();
+            pendingLevel = level;
+            pendingScope = ring.getScope(slot);
+            pendingSince = System.nanoTime();
+        } else if (pendingLength == 0) {
+            pendingScope = ring.getScope(slot);
+            pendingSince = System.nanoTime();
+        }
+
+        if (ring.isTruncated(slot)) {
+            truncated++;
+        }
+
+        int length = ring.getLength(slot);
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(ring.getData(), ring.getOffset(slot), pending, pendingLength, length);
+        pendingLength += length;
+
+        if (pendingLength > 0 && pending[pendingLength - 1] == '\n') {
+            dispatchPending();
+        }
+    }
+
+    private void dispatchPending() {
+        int start = 0;
+        int end = pendingLength;
+        pendingLength = 0;
+
+        while (start < end && (pending[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (pending[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        if (start == end) {
+            return;
+        }
+
+        LlamaLogScope scope = pendingScope != null ? pendingScope : registration;
+        pendingScope = null;
+        if (!LlamaLogAttribution.acquire(scope)) {
+            return;
+        }
+
+        String text = new String(pending, start, end - start, StandardCharsets.UTF_8);
+        Logger target = scope.getSource().getLogger();
+
+        LlamaLogAttribution.putMdc(scope);
+        try {
+            switch (pendingLevel) {
+                case LlamaLibrary.GGML_LOG_LEVEL_DEBUG:
+                    target.debug("[llama.cpp] {}", text);
+                    break;
+                case LlamaLibrary.GGML_LOG_LEVEL_INFO:
+                    target.info("[llama.cpp] {}", text);
+                    break;
+                case LlamaLibrary.GGML_LOG_LEVEL_WARN:
+                    target.warn("[llama.cpp] {}", text);
+                    break;
+                case LlamaLibrary.GGML_LOG_LEVEL_ERROR:
+                    target.error("[llama.cpp] {}", text);
+                    break;
+                case LlamaLibrary.GGML_LOG_LEVEL_NONE:
+                    target.debug("[llama.cpp] (none) {}", text);
+                    break;
+                default:
+                    target.info("[llama.cpp] (level={}) {}", pendingLevel, text);
+                    break;
+            }
+        } finally {
+            LlamaLogAttribution.clearMdc(scope);
+        }
+
+        dispatched++;
+    }
+
+    private void stop() {
+        running = false;
+        LockSupport.unpark(consumer);
+
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for the log dispatch thread");
+        }
+    }
+}
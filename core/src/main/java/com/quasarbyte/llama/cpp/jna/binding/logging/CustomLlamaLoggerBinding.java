@@ -11,11 +11,19 @@ import org.slf4j.LoggerFactory;
  * This class provides a bridge between llama.cpp's native logging system and
  * Java's SLF4J logging framework. It captures all log messages from the native
  * library and routes them through the appropriate SLF4J log levels.
+ * <p>
+ * Messages emitted inside a {@link LlamaLogScope} go to the logger of the scope's
+ * {@link LlamaLogSource} with the model, context and request id in the MDC; other messages go
+ * to the registration's logger. Every source is rate limited, see {@link LlamaLogAttribution}.
  *
  * <p><strong>Usage:</strong></p>
  * <pre>{@code
  * LlamaLibrary llamaLibrary = new LlamaLibraryFactory().getInstance();
  * CustomLlamaLoggerBinding.setupCustomLogging(llamaLibrary);
+ *
+ * try (LlamaLogScope scope = LlamaLogAttribution.enter(LlamaLogAttribution.getSource("qwen3-8b", context), requestId)) {
+ *     // native calls on this thread are logged to "llama.cpp.qwen3-8b"
+ * }
  * }</pre>
  */
 public class CustomLlamaLoggerBinding {
@@ -25,6 +33,9 @@ public class CustomLlamaLoggerBinding {
     // Keep a strong reference to prevent garbage collection
     private static LlamaLibrary.LlamaLogCallback activeCallback;
 
+    // Fallback attribution of the active registration, passed to llama.cpp as user_data
+    private static LlamaLogScope registration;
+
     /**
      * Setup custom logging for llama.cpp.
      * <p>
@@ -34,6 +45,16 @@ public class CustomLlamaLoggerBinding {
      * @param llamaLibrary the llama library instance
      */
     public static void setupCustomLogging(LlamaLibrary llamaLibrary) {
+        setupCustomLogging(llamaLibrary, CustomLlamaLoggerBinding.class.getName());
+    }
+
+    /**
+     * Setup custom logging for llama.cpp with the given logger for unattributed messages.
+     *
+     * @param llamaLibrary the llama library instance
+     * @param loggerName   logger used for messages emitted outside a {@link LlamaLogScope}
+     */
+    public static synchronized void setupCustomLogging(LlamaLibrary llamaLibrary, String loggerName) {
         if (llamaLibrary == null) {
             logger.warn("Cannot setup custom logging: llamaLibrary is null");
             return;
@@ -41,16 +62,24 @@ public class CustomLlamaLoggerBinding {
 
         logger.info("Setting up custom llama.cpp logging");
 
+        LlamaLogScope previousRegistration = registration;
+        LlamaLogScope newRegistration = LlamaLogAttribution.registerRoot(loggerName);
+
         // Create the callback implementation
         activeCallback = new LlamaLibrary.LlamaLogCallback() {
             @Override
             public void invoke(int level, String text, Pointer userData) {
-                handleLogMessage(level, text, userData);
+                handleLogMessage(level, text, userData, newRegistration);
             }
         };
 
         // Register the callback with llama.cpp
-        llamaLibrary.llama_log_set(activeCallback, null);
+        llamaLibrary.llama_log_set(activeCallback, LlamaLogAttribution.toUserData(newRegistration));
+        registration = newRegistration;
+
+        if (previousRegistration != null) {
+            LlamaLogAttribution.unregisterRoot(previousRegistration);
+        }
 
         logger.info("Custom llama.cpp logging enabled");
     }
@@ -60,7 +89,7 @@ public class CustomLlamaLoggerBinding {
      *
      * @param llamaLibrary the llama library instance
      */
-    public static void disableCustomLogging(LlamaLibrary llamaLibrary) {
+    public static synchronized void disableCustomLogging(LlamaLibrary llamaLibrary) {
         if (llamaLibrary == null) {
             logger.warn("Cannot disable custom logging: llamaLibrary is null");
             return;
@@ -72,6 +101,11 @@ public class CustomLlamaLoggerBinding {
         llamaLibrary.llama_log_set(null, null);
         activeCallback = null;
 
+        if (registration != null) {
+            LlamaLogAttribution.unregisterRoot(registration);
+            registration = null;
+        }
+
         logger.info("Custom llama.cpp logging disabled");
     }
 
@@ -83,9 +117,18 @@ public class CustomLlamaLoggerBinding {
      *
      * @param level the GGML log level constant
      * @param text the log message text
-     * @param userData user data pointer (unused)
+     * @param userData user data pointer identifying the registration
+     * @param fallback attribution used when neither the thread nor the user data provide one
      */
-    private static void handleLogMessage(int level, String text, Pointer userData) {
+    private static void handleLogMessage(int level, String text, Pointer userData, LlamaLogScope fallback) {
+        LlamaLogScope scope = LlamaLogAttribution.resolve(userData, fallback);
+        Logger target = scope.getSource().getLogger();
+
+        // Skip disabled levels before any string work
+        if (!LlamaLogAttribution.isEnabled(target, level)) {
+            return;
+        }
+
         // Remove trailing newlines for cleaner logging
         String cleanText = text != null ? text.trim() : "";
 
@@ -94,37 +137,51 @@ public class CustomLlamaLoggerBinding {
             return;
         }
 
+        // Drop lines of sources exceeding their rate limit
+        if (!LlamaLogAttribution.acquire(scope)) {
+            return;
+        }
+
+        LlamaLogAttribution.putMdc(scope);
+        try {
+            log(target, level, cleanText);
+        } finally {
+            LlamaLogAttribution.clearMdc(scope);
+        }
+    }
+
+    private static void log(Logger target, int level, String cleanText) {
         // Route to appropriate log level
         switch (level) {
             case LlamaLibrary.GGML_LOG_LEVEL_DEBUG:
-                logger.debug("[llama.cpp] {}", cleanText);
+                target.debug("[llama.cpp] {}", cleanText);
                 break;
 
             case LlamaLibrary.GGML_LOG_LEVEL_INFO:
-                logger.info("[llama.cpp] {}", cleanText);
+                target.info("[llama.cpp] {}", cleanText);
                 break;
 
             case LlamaLibrary.GGML_LOG_LEVEL_WARN:
-                logger.warn("[llama.cpp] {}", cleanText);
+                target.warn("[llama.cpp] {}", cleanText);
                 break;
 
             case LlamaLibrary.GGML_LOG_LEVEL_ERROR:
-                logger.error("[llama.cpp] {}", cleanText);
+                target.error("[llama.cpp] {}", cleanText);
                 break;
 
             case LlamaLibrary.GGML_LOG_LEVEL_CONT:
                 // Continue previous log - treat as debug level
-                logger.debug("[llama.cpp] {}", cleanText);
+                target.debug("[llama.cpp] {}", cleanText);
                 break;
 
             case LlamaLibrary.GGML_LOG_LEVEL_NONE:
                 // Should not happen, but log as debug if it does
-                logger.debug("[llama.cpp] (none) {}", cleanText);
+                target.debug("[llama.cpp] (none) {}", cleanText);
                 break;
 
             default:
                 // Unknown log level - log as info with level indicator
-                logger.info("[llama.cpp] (level={}) {}", level, cleanText);
+                target.info("[llama.cpp] (level={}) {}", level, cleanText);
                 break;
         }
     }
@@ -0,0 +1,238 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.sun.jna.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Attribution of llama.cpp log lines to models, contexts and requests.
+ * <p>
+ * llama.cpp has a single process-wide log callback and its {@code user_data} is fixed at
+ * registration, so it can only identify the registration. Finer attribution relies on the fact
+ * that most messages are emitted on the thread calling into llama.cpp: a caller opens a scope
+ * around its native calls and the log bridges pick it up from a thread local. Messages from
+ * threads without a scope (for example ggml worker threads) fall back to the registration's
+ * source carried in {@code user_data}.
+ * <p>
+ * Attributed lines go to the source's logger with {@link #MDC_MODEL}, {@link #MDC_CONTEXT} and
+ * {@link #MDC_REQUEST} set, and are rate limited per source.
+ *
+ * <p><strong>Usage:</strong></p>
+ * <pre>{@code
+ * LlamaLogSource source = LlamaLogAttribution.getSource("qwen3-8b", context);
+ * try (LlamaLogScope scope = LlamaLogAttribution.enter(source, requestId)) {
+ *     processingBinding.decodeBatch(context, batch);
+ * }
+ * }</pre>
+ */
+public final class LlamaLogAttribution {
+
+    public static final String MDC_MODEL = "llama.model";
+    public static final String MDC_CONTEXT = "llama.context";
+    public static final String MDC_REQUEST = "llama.request";
+
+    /**
+     * Prefix of the per-model logger names.
+     */
+    public static final String LOGGER_PREFIX = "llama.cpp.";
+
+    private static final ThreadLocal<LlamaLogScope> CURRENT = new ThreadLocal<>();
+
+    private static final AtomicInteger nextSourceId = new AtomicInteger(1);
+    private static final Map<String, LlamaLogSource> sourcesByKey = new ConcurrentHashMap<>();
+    private static final Map<Integer, LlamaLogScope> rootScopesById = new ConcurrentHashMap<>();
+
+    private static volatile double permitsPerSecond = 200.0;
+    private static volatile int burst = 1000;
+
+    private LlamaLogAttribution() {
+    }
+
+    /**
+     * Model-wide source logging to {@code llama.cpp.<modelName>}.
+     */
+    public static LlamaLogSource getSource(String modelName) {
+        Objects.requireNonNull(modelName);
+        return getSource(modelName, 0L);
+    }
+
+    /**
+     * Source for one context of a model, logging to the model's logger with its own rate limit.
+     */
+    public static LlamaLogSource getSource(String modelName, LlamaContext context) {
+        Objects.requireNonNull(modelName);
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(context.getContextPointer());
+        return getSource(modelName, Pointer.nativeValue(context.getContextPointer().getPointer()));
+    }
+
+    /**
+     * Forget the source of a context, typically before the context is freed.
+     */
+    public static void removeSource(String modelName, LlamaContext context) {
+        Objects.requireNonNull(modelName);
+        Objects.requireNonNull(context);
+        sourcesByKey.remove(key(modelName, Pointer.nativeValue(context.getContextPointer().getPointer())));
+    }
+
+    /**
+     * Attribute the native log lines of the current thread to a source until the scope is closed.
+     *
+     * @param source    source of the lines
+     * @param requestId request id put into the MDC, may be null
+     * @return scope to close, preferably with try-with-resources
+     */
+    public static LlamaLogScope enter(LlamaLogSource source, String requestId) {
+        Objects.requireNonNull(source);
+        LlamaLogScope scope = new LlamaLogScope(source, requestId, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return the innermost open scope of the current thread, or null
+     */
+    public static LlamaLogScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Per-source rate limit applied by the log bridges; a non-positive rate disables limiting.
+     *
+     * @param permitsPerSecond sustained lines per second
+     * @param burst            lines allowed in a burst
+     */
+    public static void setRateLimit(double permitsPerSecond, int burst) {
+        LlamaLogAttribution.permitsPerSecond = permitsPerSecond;
+        LlamaLogAttribution.burst = Math.max(1, burst);
+    }
+
+    static void exit(LlamaLogScope scope) {
+        if (CURRENT.get() == scope) {
+            if (scope.getPrevious() != null) {
+                CURRENT.set(scope.getPrevious());
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Fallback source of a log registration, identified through the callback {@code user_data}.
+     */
+    static LlamaLogScope registerRoot(String loggerName) {
+        int id = nextSourceId.getAndIncrement();
+        LlamaLogScope scope = new LlamaLogScope(new LlamaLogSource(id, null, 0L, loggerName), null, null);
+        rootScopesById.put(id, scope);
+        return scope;
+    }
+
+    static void unregisterRoot(LlamaLogScope scope) {
+        rootScopesById.remove(scope.getSource().getId());
+    }
+
+    /**
+     * Encode a source id as the callback {@code user_data}; no memory is behind the pointer.
+     */
+    static Pointer toUserData(LlamaLogScope scope) {
+        return new Pointer(scope.getSource().getId());
+    }
+
+    /**
+     * Scope a native message is attributed to: the thread's scope, else the registration's.
+     */
+    static LlamaLogScope resolve(Pointer userData, LlamaLogScope fallback) {
+        LlamaLogScope scope = CURRENT.get();
+        if (scope != null) {
+            return scope;
+        }
+
+        if (userData != null) {
+            LlamaLogScope root = rootScopesById.get((int) Pointer.nativeValue(userData));
+            if (root != null) {
+                return root;
+            }
+        }
+
+        return fallback;
+    }
+
+    /**
+     * Apply the rate limit of the scope's source.
+     *
+     * @return false when the line must be suppressed
+     */
+    static boolean acquire(LlamaLogScope scope) {
+        LlamaLogSource source = scope.getSource();
+        long released = source.getRateLimiter().tryAcquire(permitsPerSecond, burst);
+
+        if (released < 0) {
+            return false;
+        }
+
+        if (released > 0) {
+            source.getLogger().warn("[llama.cpp] {} log lines suppressed by the rate limit of {}", released, source);
+        }
+
+        return true;
+    }
+
+    /**
+     * Put the scope's attribution into the MDC; undone by {@link #clearMdc(LlamaLogScope)}.
+     */
+    static void putMdc(LlamaLogScope scope) {
+        LlamaLogSource source = scope.getSource();
+        if (source.getModelName() != null) {
+            MDC.put(MDC_MODEL, source.getModelName());
+        }
+        if (scope.getContextIdText() != null) {
+            MDC.put(MDC_CONTEXT, scope.getContextIdText());
+        }
+        if (scope.getRequestId() != null) {
+            MDC.put(MDC_REQUEST, scope.getRequestId());
+        }
+    }
+
+    static void clearMdc(LlamaLogScope scope) {
+        if (scope.getSource().getModelName() != null) {
+            MDC.remove(MDC_MODEL);
+        }
+        if (scope.getContextIdText() != null) {
+            MDC.remove(MDC_CONTEXT);
+        }
+        if (scope.getRequestId() != null) {
+            MDC.remove(MDC_REQUEST);
+        }
+    }
+
+    static boolean isEnabled(Logger logger, int level) {
+        switch (level) {
+            case LlamaLibrary.GGML_LOG_LEVEL_NONE:
+            case LlamaLibrary.GGML_LOG_LEVEL_DEBUG:
+            case LlamaLibrary.GGML_LOG_LEVEL_CONT:
+                return logger.isDebugEnabled();
+            case LlamaLibrary.GGML_LOG_LEVEL_WARN:
+                return logger.isWarnEnabled();
+            case LlamaLibrary.GGML_LOG_LEVEL_ERROR:
+                return logger.isErrorEnabled();
+            default:
+                return logger.isInfoEnabled();
+        }
+    }
+
+    private static LlamaLogSource getSource(String modelName, long contextId) {
+        return sourcesByKey.computeIfAbsent(key(modelName, contextId),
+                k -> new LlamaLogSource(nextSourceId.getAndIncrement(), modelName, contextId, LOGGER_PREFIX + modelName));
+    }
+
+    private static String key(String modelName, long contextId) {
+        return modelName + '#' + contextId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+/**
+ * Token bucket limiting the log lines of one {@link LlamaLogSource}.
+ * Rate and burst are read from {@link LlamaLogAttribution} on every call, so changes apply immediately.
+ */
+final class LlamaLogRateLimiter {
+
+    private double tokens = -1;
+    private long lastRefillNanos;
+    private long suppressed;
+    private long totalSuppressed;
+
+    /**
+     * @return -1 when the line must be suppressed, otherwise the number of lines suppressed since the previous accepted one
+     */
+    synchronized long tryAcquire(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+
+        if (tokens < 0) {
+            tokens = burst;
+        } else {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000.0);
+        }
+        lastRefillNanos = now;
+
+        if (tokens < 1) {
+            suppressed++;
+            totalSuppressed++;
+            return -1;
+        }
+
+        tokens -= 1;
+
+        long released = suppressed;
+        suppressed = 0;
+        return released;
+    }
+
+    synchronized long getTotalSuppressed() {
+        return totalSuppressed;
+    }
+}
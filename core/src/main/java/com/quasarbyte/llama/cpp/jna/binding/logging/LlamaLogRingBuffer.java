@@ -0,0 +1,133 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+import com.sun.jna.Pointer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of fixed-size log message slots.
+ * <p>
+ * Any number of native threads may offer, a single thread polls. Each slot carries a sequence
+ * number: a producer claims a position with a CAS on the tail, copies the message bytes into the
+ * slot's region of a shared array and publishes the slot by advancing its sequence. Offering never
+ * blocks; when the ring is full the message is rejected.
+ */
+final class LlamaLogRingBuffer {
+
+    private final int mask;
+    private final int slotBytes;
+
+    private final byte[] data;
+    private final int[] levels;
+    private final int[] lengths;
+    private final boolean[] truncated;
+    private final LlamaLogScope[] scopes;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    LlamaLogRingBuffer(int capacity, int slotBytes) {
+        int size = 1;
+        while (size < capacity && size < (1 << 20)) {
+            size <<= 1;
+        }
+
+        this.mask = size - 1;
+        this.slotBytes = slotBytes;
+        this.data = new byte[size * slotBytes];
+        this.levels = new int[size];
+        this.lengths = new int[size];
+        this.truncated = new boolean[size];
+        this.scopes = new LlamaLogScope[size];
+        this.sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Copy a NUL-terminated message into the next free slot.
+     *
+     * @return false when the ring is full
+     */
+    boolean offer(int level, Pointer text, LlamaLogScope scope) {
+        long position;
+        int slot;
+
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+
+        long end = text.indexOf(0, (byte) 0);
+        int length = (int) Math.min(end < 0 ? 0 : end, slotBytes);
+
+        if (length > 0) {
+            text.read(0, data, slot * slotBytes, length);
+        }
+
+        levels[slot] = level;
+        lengths[slot] = length;
+        truncated[slot] = end > slotBytes;
+        scopes[slot] = scope;
+
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Slot of the oldest published message, or -1 when the ring is empty. Consumer thread only.
+     */
+    int peek() {
+        int slot = (int) head & mask;
+        return sequences.get(slot) == head + 1 ? slot : -1;
+    }
+
+    /**
+     * Free the slot returned by {@link #peek()}. Consumer thread only.
+     */
+    void release(int slot) {
+        scopes[slot] = null;
+        sequences.lazySet(slot, head + mask + 1);
+        head++;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    int getOffset(int slot) {
+        return slot * slotBytes;
+    }
+
+    int getLevel(int slot) {
+        return levels[slot];
+    }
+
+    int getLength(int slot) {
+        return lengths[slot];
+    }
+
+    boolean isTruncated(int slot) {
+        return truncated[slot];
+    }
+
+    /**
+     * Attribution captured on the emitting thread.
+     */
+    LlamaLogScope getScope(int slot) {
+        return scopes[slot];
+    }
+}
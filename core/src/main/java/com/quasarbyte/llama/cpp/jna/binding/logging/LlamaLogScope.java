@@ -0,0 +1,45 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+/**
+ * Attribution of the native log lines emitted by the current thread, opened with
+ * {@link LlamaLogAttribution#enter(LlamaLogSource, String)} and restored to the enclosing
+ * scope on {@link #close()}.
+ */
+public final class LlamaLogScope implements AutoCloseable {
+
+    private final LlamaLogSource source;
+    private final String requestId;
+    private final LlamaLogScope previous;
+    private final String contextIdText;
+
+    LlamaLogScope(LlamaLogSource source, String requestId, LlamaLogScope previous) {
+        this.source = source;
+        this.requestId = requestId;
+        this.previous = previous;
+        this.contextIdText = source.getContextId() != 0 ? Long.toHexString(source.getContextId()) : null;
+    }
+
+    public LlamaLogSource getSource() {
+        return source;
+    }
+
+    /**
+     * Caller supplied request id, may be null.
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    String getContextIdText() {
+        return contextIdText;
+    }
+
+    LlamaLogScope getPrevious() {
+        return previous;
+    }
+
+    @Override
+    public void close() {
+        LlamaLogAttribution.exit(this);
+    }
+}
@@ -0,0 +1,69 @@
+package com.quasarbyte.llama.cpp.jna.binding.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Origin of native log lines: a model, optionally narrowed to one context.
+ * <p>
+ * Each source routes to its own SLF4J logger ({@code llama.cpp.<model>} for model sources)
+ * and has its own rate limit. Sources are created and cached by {@link LlamaLogAttribution}.
+ */
+public final class LlamaLogSource {
+
+    private final int id;
+    private final String modelName;
+    private final long contextId;
+    private final Logger logger;
+    private final LlamaLogRateLimiter rateLimiter = new LlamaLogRateLimiter();
+
+    LlamaLogSource(int id, String modelName, long contextId, String loggerName) {
+        this.id = id;
+        this.modelName = modelName;
+        this.contextId = contextId;
+        this.logger = LoggerFactory.getLogger(loggerName);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Model name, or null for the fallback source of a log registration.
+     */
+    public String getModelName() {
+        return modelName;
+    }
+
+    /**
+     * Native address of the context, or 0 for a model-wide source.
+     */
+    public long getContextId() {
+        return contextId;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Lines dropped by the rate limit since the source was created.
+     */
+    public long getSuppressedCount() {
+        return rateLimiter.getTotalSuppressed();
+    }
+
+    LlamaLogRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaLogSource{" +
+                "id=" + id +
+                ", modelName='" + modelName + '\'' +
+                ", contextId=" + contextId +
+                ", logger='" + logger.getName() + '\'' +
+                '}';
+    }
+}
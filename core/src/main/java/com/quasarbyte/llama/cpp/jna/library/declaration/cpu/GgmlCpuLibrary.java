@@ -0,0 +1,44 @@
+package com.quasarbyte.llama.cpp.jna.library.declaration.cpu;
+
+import com.quasarbyte.llama.cpp.jna.library.declaration.LlamaCppBase;
+import com.quasarbyte.llama.cpp.jna.model.library.ggml.GgmlThreadpoolParamsNative;
+import com.sun.jna.Pointer;
+
+// Interface for CPU backend functions from ggml-cpu.h
+public interface GgmlCpuLibrary extends LlamaCppBase<GgmlCpuLibrary> {
+
+    /**
+     * Create a threadpool. Worker threads start immediately unless {@code params.paused} is set.
+     *
+     * @param params threadpool parameters
+     * @return threadpool handle ({@code ggml_threadpool_t}), or null on failure
+     */
+    Pointer ggml_threadpool_new(GgmlThreadpoolParamsNative params);
+
+    /**
+     * Stop the worker threads and free the threadpool. It must not be attached to any context.
+     *
+     * @param threadpool threadpool handle
+     */
+    void ggml_threadpool_free(Pointer threadpool);
+
+    /**
+     * @param threadpool threadpool handle
+     * @return maximum number of threads of the threadpool
+     */
+    int ggml_threadpool_get_n_threads(Pointer threadpool);
+
+    /**
+     * Put idle worker threads to sleep until resumed or the next graph is computed.
+     *
+     * @param threadpool threadpool handle
+     */
+    void ggml_threadpool_pause(Pointer threadpool);
+
+    /**
+     * Wake the worker threads of a paused threadpool.
+     *
+     * @param threadpool threadpool handle
+     */
+    void ggml_threadpool_resume(Pointer threadpool);
+}
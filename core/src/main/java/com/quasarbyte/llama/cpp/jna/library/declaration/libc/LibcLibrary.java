@@ -0,0 +1,27 @@
+package com.quasarbyte.llama.cpp.jna.library.declaration.libc;
+
+import com.sun.jna.Library;
+
+// Linux C library functions used for CPU placement
+public interface LibcLibrary extends Library {
+
+    /**
+     * Set the CPU affinity mask of a thread.
+     *
+     * @param pid        thread id, 0 for the calling thread
+     * @param cpusetsize size of the mask in bytes
+     * @param mask       cpu_set_t bit mask, bit n of byte n / 8 selects CPU n
+     * @return 0 on success, -1 on error
+     */
+    int sched_setaffinity(int pid, long cpusetsize, byte[] mask);
+
+    /**
+     * Get the CPU affinity mask of a thread.
+     *
+     * @param pid        thread id, 0 for the calling thread
+     * @param cpusetsize size of the mask in bytes
+     * @param mask       receives the cpu_set_t bit mask
+     * @return 0 on success, -1 on error
+     */
+    int sched_getaffinity(int pid, long cpusetsize, byte[] mask);
+}
@@ -0,0 +1,15 @@
+package com.quasarbyte.llama.cpp.jna.library.declaration.libc;
+
+import com.quasarbyte.llama.cpp.jna.library.holder.LibraryInstanceHolder;
+import com.quasarbyte.llama.cpp.jna.library.holder.LibraryInstanceHolderFactory;
+
+public class LibcLibraryFactory {
+
+    private final static String LIBRARY_NAME = "c";
+
+    private final static LibraryInstanceHolder<LibcLibrary> INSTANCE_HOLDER = LibraryInstanceHolderFactory.create(LIBRARY_NAME, null, LibcLibrary.class);
+
+    public LibcLibrary getInstance() {
+        return INSTANCE_HOLDER.getInstance();
+    }
+}
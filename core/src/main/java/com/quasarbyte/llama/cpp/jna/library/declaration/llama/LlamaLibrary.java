@@ -83,6 +83,35 @@ public interface LlamaLibrary extends LlamaCppBase<LlamaLibrary> {
         void invoke(int level, String text, Pointer userData);
     }
 
+    /**
+     * Log callback receiving the raw {@code const char *}, so the text is only copied when needed.
+     * Same C signature as {@link LlamaLogCallback}.
+     */
+    interface LlamaRawLogCallback extends Callback {
+        /**
+         * Called when llama.cpp wants to log a message
+         *
+         * @param level Log level (GGML_LOG_LEVEL_*)
+         * @param text Pointer to the NUL-terminated UTF-8 message, valid only during the call
+         * @param userData User data pointer (can be null)
+         */
+        void invoke(int level, Pointer text, Pointer userData);
+    }
+
+    /**
+     * Callback interface for aborting graph computation.
+     * Matches the C signature: bool (*ggml_abort_callback)(void * data)
+     */
+    interface GgmlAbortCallback extends Callback {
+        /**
+         * Called by the CPU backend between graph nodes
+         *
+         * @param data User data pointer (can be null)
+         * @return true to abort the computation
+         */
+        boolean invoke(Pointer data);
+    }
+
     //
     // Core Constants
     //
@@ -276,6 +305,17 @@ public interface LlamaLibrary extends LlamaCppBase<LlamaLibrary> {
      */
     void llama_log_set(LlamaLogCallback log_callback, Pointer user_data);
 
+    /**
+     * Set a raw callback for all future logging events.
+     * <p>
+     * Bound to the native {@code llama_log_set} symbol by {@link LlamaLibraryFactory}; the distinct
+     * name keeps {@code llama_log_set(null, null)} unambiguous.
+     *
+     * @param log_callback callback function for log messages (or null to disable)
+     * @param user_data    user data passed to the callback (or null)
+     */
+    void llama_log_set_raw(LlamaRawLogCallback log_callback, Pointer user_data);
+
     /**
      * Get the name of a flash attention type.
      *
@@ -640,6 +680,18 @@ public interface LlamaLibrary extends LlamaCppBase<LlamaLibrary> {
      */
     void llama_set_abort_callback(LlamaContextNative ctx, Pointer abort_callback, Pointer abort_callback_data);
 
+    /**
+     * Set abort callback function implemented in Java.
+     * <p>
+     * The caller must keep a strong reference to the callback while it is registered.
+     * Bound to the native {@code llama_set_abort_callback} symbol by {@link LlamaLibraryFactory}.
+     *
+     * @param ctx                 context pointer
+     * @param abort_callback      callback, or null to remove it
+     * @param abort_callback_data user data passed to callback
+     */
+    void llama_set_abort_callback_typed(LlamaContextNative ctx, GgmlAbortCallback abort_callback, Pointer abort_callback_data);
+
     /**
      * Wait for all operations on the context to complete.
      *
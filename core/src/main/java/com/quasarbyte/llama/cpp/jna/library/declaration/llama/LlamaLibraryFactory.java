@@ -3,6 +3,7 @@ package com.quasarbyte.llama.cpp.jna.library.declaration.llama;
 import com.quasarbyte.llama.cpp.jna.library.holder.LibraryInstanceHolder;
 import com.quasarbyte.llama.cpp.jna.library.holder.LibraryInstanceHolderFactory;
 import com.sun.jna.Function;
+import com.sun.jna.FunctionMapper;
 import com.sun.jna.Library;
 
 import java.util.HashMap;
@@ -12,9 +13,18 @@ public class LlamaLibraryFactory {
 
     private final static String LIBRARY_NAME = "llama";
 
+    // Java method names that differ from their native symbol, e.g. a second signature of the same function
+    private final static Map<String, String> FUNCTION_NAMES = new HashMap<String, String>() {{
+        put("llama_log_set_raw", "llama_log_set");
+        put("llama_set_abort_callback_typed", "llama_set_abort_callback");
+    }};
+
+    private final static FunctionMapper FUNCTION_MAPPER = (library, method) -> FUNCTION_NAMES.getOrDefault(method.getName(), method.getName());
+
     // Use explicit options to force cdecl calling convention
     private final static Map<String, Object> LIBRARY_OPTIONS = new HashMap<String, Object>() {{
         put(Library.OPTION_CALLING_CONVENTION, Function.C_CONVENTION);
+        put(Library.OPTION_FUNCTION_MAPPER, FUNCTION_MAPPER);
     }};
 
     private final static LibraryInstanceHolder<LlamaLibrary> INSTANCE_HOLDER = LibraryInstanceHolderFactory.create(LIBRARY_NAME, LIBRARY_OPTIONS, LlamaLibrary.class);
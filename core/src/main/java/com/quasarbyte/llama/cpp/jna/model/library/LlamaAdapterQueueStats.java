@@ -0,0 +1,93 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Queue statistics of one adapter set in {@code LlamaAdapterScheduler}.
+ */
+public class LlamaAdapterQueueStats {
+
+    private LlamaAdapterSet adapters;
+    private int queuedCount;
+    private int contextCount;
+    private long startedCount;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+
+    public LlamaAdapterSet getAdapters() {
+        return adapters;
+    }
+
+    public LlamaAdapterQueueStats setAdapters(LlamaAdapterSet adapters) {
+        this.adapters = adapters;
+        return this;
+    }
+
+    /**
+     * Requests waiting now.
+     */
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    public LlamaAdapterQueueStats setQueuedCount(int queuedCount) {
+        this.queuedCount = queuedCount;
+        return this;
+    }
+
+    /**
+     * Contexts currently assigned to the adapter set.
+     */
+    public int getContextCount() {
+        return contextCount;
+    }
+
+    public LlamaAdapterQueueStats setContextCount(int contextCount) {
+        this.contextCount = contextCount;
+        return this;
+    }
+
+    /**
+     * Requests taken from the queue so far.
+     */
+    public long getStartedCount() {
+        return startedCount;
+    }
+
+    public LlamaAdapterQueueStats setStartedCount(long startedCount) {
+        this.startedCount = startedCount;
+        return this;
+    }
+
+    public long getTotalQueueNanos() {
+        return totalQueueNanos;
+    }
+
+    public LlamaAdapterQueueStats setTotalQueueNanos(long totalQueueNanos) {
+        this.totalQueueNanos = totalQueueNanos;
+        return this;
+    }
+
+    public long getMaxQueueNanos() {
+        return maxQueueNanos;
+    }
+
+    public LlamaAdapterQueueStats setMaxQueueNanos(long maxQueueNanos) {
+        this.maxQueueNanos = maxQueueNanos;
+        return this;
+    }
+
+    public long getAverageQueueNanos() {
+        return startedCount > 0 ? totalQueueNanos / startedCount : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaAdapterQueueStats{" +
+                "adapters=" + adapters +
+                ", queued=" + queuedCount +
+                ", contexts=" + contextCount +
+                ", started=" + startedCount +
+                ", averageQueueNanos=" + getAverageQueueNanos() +
+                ", maxQueueNanos=" + maxQueueNanos +
+                '}';
+    }
+}
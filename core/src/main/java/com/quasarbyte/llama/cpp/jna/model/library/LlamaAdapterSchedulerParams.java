@@ -0,0 +1,70 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Fairness and queue settings of {@code LlamaAdapterScheduler}.
+ */
+public class LlamaAdapterSchedulerParams {
+
+    private int maxQueued = 0;
+    private int maxConsecutive = 8;
+    private long maxWaitMillis = 2000;
+    private String threadNamePrefix = "llama-adapter";
+
+    /**
+     * Requests that may wait over all adapter sets, 0 for no limit. Submissions beyond it fail immediately.
+     */
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public LlamaAdapterSchedulerParams setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+        return this;
+    }
+
+    /**
+     * Requests a context serves in a row for its current adapter set before it switches to an
+     * adapter set that no context is serving. Higher values mean fewer switches and longer waits
+     * for other tenants.
+     */
+    public int getMaxConsecutive() {
+        return maxConsecutive;
+    }
+
+    public LlamaAdapterSchedulerParams setMaxConsecutive(int maxConsecutive) {
+        this.maxConsecutive = maxConsecutive;
+        return this;
+    }
+
+    /**
+     * Time an adapter set may wait without a request being started, after which it is served next
+     * by any context regardless of the adapters it has; 0 disables the bound.
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public LlamaAdapterSchedulerParams setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        return this;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public LlamaAdapterSchedulerParams setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaAdapterSchedulerParams{" +
+                "maxQueued=" + maxQueued +
+                ", maxConsecutive=" + maxConsecutive +
+                ", maxWaitMillis=" + maxWaitMillis +
+                ", threadNamePrefix='" + threadNamePrefix + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,109 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable set of LoRA adapter paths with their scales, as applied to one context.
+ * <p>
+ * Entries are kept sorted by path, so two sets with the same adapters and scales are equal
+ * regardless of the order they were added in; the set can be used as a map key, e.g. to group
+ * requests that need the same adapters.
+ */
+public final class LlamaAdapterSet {
+
+    public static final LlamaAdapterSet EMPTY = new LlamaAdapterSet(new String[0], new float[0]);
+
+    private final String[] paths;
+    private final float[] scales;
+    private final int hash;
+
+    private LlamaAdapterSet(String[] paths, float[] scales) {
+        this.paths = paths;
+        this.scales = scales;
+        this.hash = 31 * Arrays.hashCode(paths) + Arrays.hashCode(scales);
+    }
+
+    public static LlamaAdapterSet of(String path, float scale) {
+        return EMPTY.with(path, scale);
+    }
+
+    /**
+     * Copy of this set with the adapter added, or with its scale replaced when the path is already present.
+     */
+    public LlamaAdapterSet with(String path, float scale) {
+        Objects.requireNonNull(path);
+
+        int index = Arrays.binarySearch(paths, path);
+        if (index >= 0) {
+            float[] newScales = scales.clone();
+            newScales[index] = scale;
+            return new LlamaAdapterSet(paths, newScales);
+        }
+
+        int insert = -index - 1;
+        String[] newPaths = new String[paths.length + 1];
+        float[] newScales = new float[paths.length + 1];
+        System.arraycopy(paths, 0, newPaths, 0, insert);
+        System.arraycopy(scales, 0, newScales, 0, insert);
+        newPaths[insert] = path;
+        newScales[insert] = scale;
+        System.arraycopy(paths, insert, newPaths, insert + 1, paths.length - insert);
+        System.arraycopy(scales, insert, newScales, insert + 1, paths.length - insert);
+        return new LlamaAdapterSet(newPaths, newScales);
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public boolean isEmpty() {
+        return paths.length == 0;
+    }
+
+    public String getPath(int index) {
+        return paths[index];
+    }
+
+    public float getScale(int index) {
+        return scales[index];
+    }
+
+    /**
+     * Index of the adapter, or a negative value when the path is not in the set.
+     */
+    public int indexOf(String path) {
+        return Arrays.binarySearch(paths, path);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LlamaAdapterSet)) {
+            return false;
+        }
+        LlamaAdapterSet other = (LlamaAdapterSet) o;
+        return hash == other.hash
+                && Arrays.equals(paths, other.paths)
+                && Arrays.equals(scales, other.scales);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("LlamaAdapterSet{");
+        for (int i = 0; i < paths.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(paths[i]).append('=').append(scales[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Settings of the asynchronous llama.cpp log bridge.
+ */
+public class LlamaAsyncLogParams {
+
+    private int capacity = 1024;
+    private int maxMessageBytes = 512;
+    private String loggerName = "llama.cpp";
+    private long idleFlushMillis = 100;
+
+    /**
+     * Number of messages the ring buffer holds, rounded up to a power of two. Messages arriving
+     * while it is full are dropped and counted.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public LlamaAsyncLogParams setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Bytes copied per message, longer messages are truncated and counted.
+     */
+    public int getMaxMessageBytes() {
+        return maxMessageBytes;
+    }
+
+    public LlamaAsyncLogParams setMaxMessageBytes(int maxMessageBytes) {
+        this.maxMessageBytes = maxMessageBytes;
+        return this;
+    }
+
+    /**
+     * SLF4J logger for messages not attributed to a {@code LlamaLogSource}; its levels also drive
+     * the filtering of those messages in the callback.
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public LlamaAsyncLogParams setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+        return this;
+    }
+
+    /**
+     * How long an unterminated message waits for {@code GGML_LOG_LEVEL_CONT} continuations
+     * before it is logged as is.
+     */
+    public long getIdleFlushMillis() {
+        return idleFlushMillis;
+    }
+
+    public LlamaAsyncLogParams setIdleFlushMillis(long idleFlushMillis) {
+        this.idleFlushMillis = idleFlushMillis;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaAsyncLogParams{" +
+                "capacity=" + capacity +
+                ", maxMessageBytes=" + maxMessageBytes +
+                ", loggerName='" + loggerName + '\'' +
+                ", idleFlushMillis=" + idleFlushMillis +
+                '}';
+    }
+}
@@ -6,6 +6,7 @@ import com.sun.jna.Memory;
 public class LlamaBatch {
     private LlamaBatchNative nativeBatch;
     private Memory tokensMemory;
+    private int capacity;
 
     public LlamaBatchNative getNativeBatch() {
         return nativeBatch;
@@ -25,6 +26,18 @@ public class LlamaBatch {
         return this;
     }
 
+    /**
+     * Maximum number of tokens for batches created with {@code llama_batch_init}, 0 for {@code llama_batch_get_one} batches.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public LlamaBatch setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
     public int getTokenCount() {
         return nativeBatch != null ? nativeBatch.n_tokens : 0;
     }
@@ -0,0 +1,81 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * One output sequence found by beam search.
+ */
+public class LlamaBeamSearchHypothesis {
+
+    private int[] tokens;
+    private String text;
+    private double logProbability;
+    private double score;
+    private boolean endOfGeneration;
+
+    /**
+     * Generated tokens, excluding the prompt and the end-of-generation token.
+     */
+    public int[] getTokens() {
+        return tokens;
+    }
+
+    public LlamaBeamSearchHypothesis setTokens(int[] tokens) {
+        this.tokens = tokens;
+        return this;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LlamaBeamSearchHypothesis setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Sum of the token log-probabilities, including the end-of-generation token when present.
+     */
+    public double getLogProbability() {
+        return logProbability;
+    }
+
+    public LlamaBeamSearchHypothesis setLogProbability(double logProbability) {
+        this.logProbability = logProbability;
+        return this;
+    }
+
+    /**
+     * Length-normalized log-probability used for ranking.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    public LlamaBeamSearchHypothesis setScore(double score) {
+        this.score = score;
+        return this;
+    }
+
+    /**
+     * True when the hypothesis ended with an end-of-generation token, false when it hit a limit.
+     */
+    public boolean isEndOfGeneration() {
+        return endOfGeneration;
+    }
+
+    public LlamaBeamSearchHypothesis setEndOfGeneration(boolean endOfGeneration) {
+        this.endOfGeneration = endOfGeneration;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaBeamSearchHypothesis{" +
+                "generatedTokens=" + (tokens != null ? tokens.length : 0) +
+                ", logProbability=" + logProbability +
+                ", score=" + score +
+                ", endOfGeneration=" + endOfGeneration +
+                ", text='" + text + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Settings for beam search decoding.
+ */
+public class LlamaBeamSearchParams {
+
+    private int beamWidth = 4;
+    private int maxTokens = 128;
+    private float lengthPenalty = 1.0f;
+    private boolean earlyStopping = true;
+    private int detokenizeBytesPerToken = 64;
+
+    /**
+     * Number of beams (W), each kept in its own KV sequence 0..W-1.
+     * The context must be created with {@code n_seq_max >= W}.
+     */
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public LlamaBeamSearchParams setBeamWidth(int beamWidth) {
+        this.beamWidth = beamWidth;
+        return this;
+    }
+
+    /**
+     * Maximum number of generated tokens per hypothesis.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaBeamSearchParams setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * Exponent applied to the hypothesis length when normalizing scores,
+     * {@code score = logProbability / length^lengthPenalty}.
+     * Values above 1 favour longer outputs, 0 disables normalization.
+     */
+    public float getLengthPenalty() {
+        return lengthPenalty;
+    }
+
+    public LlamaBeamSearchParams setLengthPenalty(float lengthPenalty) {
+        this.lengthPenalty = lengthPenalty;
+        return this;
+    }
+
+    /**
+     * Stop as soon as W hypotheses have finished. When disabled, search continues until
+     * no active beam can still beat the worst finished hypothesis.
+     */
+    public boolean isEarlyStopping() {
+        return earlyStopping;
+    }
+
+    public LlamaBeamSearchParams setEarlyStopping(boolean earlyStopping) {
+        this.earlyStopping = earlyStopping;
+        return this;
+    }
+
+    public int getDetokenizeBytesPerToken() {
+        return detokenizeBytesPerToken;
+    }
+
+    public LlamaBeamSearchParams setDetokenizeBytesPerToken(int detokenizeBytesPerToken) {
+        this.detokenizeBytesPerToken = detokenizeBytesPerToken;
+        return this;
+    }
+}
@@ -0,0 +1,86 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.List;
+
+/**
+ * Hypotheses and statistics of a beam search run.
+ */
+public class LlamaBeamSearchResult {
+
+    private List<LlamaBeamSearchHypothesis> hypotheses;
+    private int decodeCount;
+    private long promptTimeNanos;
+    private long generationTimeNanos;
+    private boolean aborted;
+
+    /**
+     * Best hypotheses, at most beam width, ordered by descending score.
+     */
+    public List<LlamaBeamSearchHypothesis> getHypotheses() {
+        return hypotheses;
+    }
+
+    public LlamaBeamSearchResult setHypotheses(List<LlamaBeamSearchHypothesis> hypotheses) {
+        this.hypotheses = hypotheses;
+        return this;
+    }
+
+    /**
+     * Hypothesis with the highest score, or null when nothing was generated.
+     */
+    public LlamaBeamSearchHypothesis getBest() {
+        return hypotheses != null && !hypotheses.isEmpty() ? hypotheses.get(0) : null;
+    }
+
+    /**
+     * Number of batched decode calls after the prompt was processed, one per step.
+     */
+    public int getDecodeCount() {
+        return decodeCount;
+    }
+
+    public LlamaBeamSearchResult setDecodeCount(int decodeCount) {
+        this.decodeCount = decodeCount;
+        return this;
+    }
+
+    public long getPromptTimeNanos() {
+        return promptTimeNanos;
+    }
+
+    public LlamaBeamSearchResult setPromptTimeNanos(long promptTimeNanos) {
+        this.promptTimeNanos = promptTimeNanos;
+        return this;
+    }
+
+    public long getGenerationTimeNanos() {
+        return generationTimeNanos;
+    }
+
+    public LlamaBeamSearchResult setGenerationTimeNanos(long generationTimeNanos) {
+        this.generationTimeNanos = generationTimeNanos;
+        return this;
+    }
+
+    /**
+     * Whether decoding was stopped by the context abort callback (cancellation or deadline).
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public LlamaBeamSearchResult setAborted(boolean aborted) {
+        this.aborted = aborted;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaBeamSearchResult{" +
+                "hypotheses=" + (hypotheses != null ? hypotheses.size() : 0) +
+                ", decodeCount=" + decodeCount +
+                ", best=" + getBest() +
+                ", aborted=" + aborted +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Part of a templated conversation that changed since the previous render, see
+ * {@code LlamaChatConversation#update(boolean)}.
+ */
+public class LlamaChatDelta {
+
+    private String text;
+    private int[] tokens;
+    private int firstTokenIndex;
+    private int discardedTokenCount;
+    private int totalTokenCount;
+
+    /**
+     * Newly rendered text, starting at the first byte that was not covered by the cached prefix.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public LlamaChatDelta setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Tokens of {@link #getText()}, to be decoded after the first {@link #getFirstTokenIndex()} tokens.
+     */
+    public int[] getTokens() {
+        return tokens;
+    }
+
+    public LlamaChatDelta setTokens(int[] tokens) {
+        this.tokens = tokens;
+        return this;
+    }
+
+    /**
+     * Number of cached tokens that are still valid, the position of the first delta token.
+     */
+    public int getFirstTokenIndex() {
+        return firstTokenIndex;
+    }
+
+    public LlamaChatDelta setFirstTokenIndex(int firstTokenIndex) {
+        this.firstTokenIndex = firstTokenIndex;
+        return this;
+    }
+
+    /**
+     * Number of cached tokens dropped because the template rendered the history differently, 0 when
+     * the new render only appended to the previous one.
+     */
+    public int getDiscardedTokenCount() {
+        return discardedTokenCount;
+    }
+
+    public LlamaChatDelta setDiscardedTokenCount(int discardedTokenCount) {
+        this.discardedTokenCount = discardedTokenCount;
+        return this;
+    }
+
+    /**
+     * Number of tokens of the whole templated conversation after this update.
+     */
+    public int getTotalTokenCount() {
+        return totalTokenCount;
+    }
+
+    public LlamaChatDelta setTotalTokenCount(int totalTokenCount) {
+        this.totalTokenCount = totalTokenCount;
+        return this;
+    }
+
+    public int getTokenCount() {
+        return tokens != null ? tokens.length : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaChatDelta{" +
+                "firstTokenIndex=" + firstTokenIndex +
+                ", tokens=" + getTokenCount() +
+                ", discardedTokens=" + discardedTokenCount +
+                ", totalTokens=" + totalTokenCount +
+                '}';
+    }
+}
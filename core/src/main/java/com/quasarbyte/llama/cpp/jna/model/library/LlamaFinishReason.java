@@ -0,0 +1,31 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Why a token stream ended.
+ */
+public enum LlamaFinishReason {
+    /**
+     * The model produced an end-of-generation token.
+     */
+    END_OF_GENERATION,
+    /**
+     * A stop sequence or stop token was produced.
+     */
+    STOP_SEQUENCE,
+    /**
+     * The maximum number of tokens was generated.
+     */
+    MAX_TOKENS,
+    /**
+     * The context has no room for another token.
+     */
+    CONTEXT_FULL,
+    /**
+     * The consumer cancelled the stream.
+     */
+    CANCELLED,
+    /**
+     * Decoding was stopped by the context abort callback.
+     */
+    ABORTED,
+}
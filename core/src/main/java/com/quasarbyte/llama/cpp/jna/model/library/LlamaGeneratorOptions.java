@@ -0,0 +1,133 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-call settings of {@code LlamaGenerator}.
+ */
+public class LlamaGeneratorOptions {
+
+    private int maxTokens = 256;
+    private List<String> stopSequences = Collections.emptyList();
+    private int[] stopTokens = new int[0];
+    private LlamaSamplerConfig samplerConfig;
+    private boolean special = false;
+    private boolean parseSpecial = true;
+    private boolean clearMemory = true;
+
+    /**
+     * Maximum number of generated tokens.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaGeneratorOptions setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * Strings that end the generation; they are not included in the text.
+     */
+    public List<String> getStopSequences() {
+        return stopSequences;
+    }
+
+    public LlamaGeneratorOptions setStopSequences(List<String> stopSequences) {
+        this.stopSequences = stopSequences != null ? stopSequences : Collections.<String>emptyList();
+        return this;
+    }
+
+    /**
+     * Tokens, besides end-of-generation tokens, that end the generation.
+     */
+    public int[] getStopTokens() {
+        return stopTokens;
+    }
+
+    public LlamaGeneratorOptions setStopTokens(int[] stopTokens) {
+        this.stopTokens = stopTokens != null ? stopTokens : new int[0];
+        return this;
+    }
+
+    /**
+     * Sampler chain for this call, or null to keep the generator's current chain.
+     * The chain is rebuilt only when the config differs from the current one.
+     */
+    public LlamaSamplerConfig getSamplerConfig() {
+        return samplerConfig;
+    }
+
+    public LlamaGeneratorOptions setSamplerConfig(LlamaSamplerConfig samplerConfig) {
+        this.samplerConfig = samplerConfig;
+        return this;
+    }
+
+    /**
+     * Render special tokens in the generated text.
+     */
+    public boolean isSpecial() {
+        return special;
+    }
+
+    public LlamaGeneratorOptions setSpecial(boolean special) {
+        this.special = special;
+        return this;
+    }
+
+    /**
+     * Parse special tokens written as text in a string prompt.
+     */
+    public boolean isParseSpecial() {
+        return parseSpecial;
+    }
+
+    public LlamaGeneratorOptions setParseSpecial(boolean parseSpecial) {
+        this.parseSpecial = parseSpecial;
+        return this;
+    }
+
+    /**
+     * Clear the generator's sequence before the prompt is decoded. Disable to continue from
+     * the tokens of the previous call, the prompt is then decoded after them.
+     */
+    public boolean isClearMemory() {
+        return clearMemory;
+    }
+
+    public LlamaGeneratorOptions setClearMemory(boolean clearMemory) {
+        this.clearMemory = clearMemory;
+        return this;
+    }
+
+    /**
+     * Shallow copy; the sampler config and stop lists are shared.
+     */
+    public LlamaGeneratorOptions copy() {
+        LlamaGeneratorOptions copy = new LlamaGeneratorOptions();
+        copy.maxTokens = maxTokens;
+        copy.stopSequences = stopSequences;
+        copy.stopTokens = stopTokens;
+        copy.samplerConfig = samplerConfig;
+        copy.special = special;
+        copy.parseSpecial = parseSpecial;
+        copy.clearMemory = clearMemory;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaGeneratorOptions{" +
+                "maxTokens=" + maxTokens +
+                ", stopSequences=" + stopSequences +
+                ", stopTokens=" + Arrays.toString(stopTokens) +
+                ", samplerConfig=" + samplerConfig +
+                ", special=" + special +
+                ", parseSpecial=" + parseSpecial +
+                ", clearMemory=" + clearMemory +
+                '}';
+    }
+}
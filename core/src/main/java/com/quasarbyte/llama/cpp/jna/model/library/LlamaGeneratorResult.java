@@ -0,0 +1,131 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Text, tokens and timings of one {@code LlamaGenerator} call.
+ */
+public class LlamaGeneratorResult {
+
+    private String text;
+    private int[] tokens;
+    private LlamaFinishReason finishReason;
+    private String stopSequence;
+    private int promptTokenCount;
+    private long promptTimeNanos;
+    private long timeToFirstTokenNanos;
+    private long generationTimeNanos;
+
+    /**
+     * Generated text, without a matched stop sequence.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public LlamaGeneratorResult setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Generated tokens, without end-of-generation and stop tokens.
+     */
+    public int[] getTokens() {
+        return tokens;
+    }
+
+    public LlamaGeneratorResult setTokens(int[] tokens) {
+        this.tokens = tokens;
+        return this;
+    }
+
+    public LlamaFinishReason getFinishReason() {
+        return finishReason;
+    }
+
+    public LlamaGeneratorResult setFinishReason(LlamaFinishReason finishReason) {
+        this.finishReason = finishReason;
+        return this;
+    }
+
+    /**
+     * The stop sequence that ended the generation, or null.
+     */
+    public String getStopSequence() {
+        return stopSequence;
+    }
+
+    public LlamaGeneratorResult setStopSequence(String stopSequence) {
+        this.stopSequence = stopSequence;
+        return this;
+    }
+
+    public int getPromptTokenCount() {
+        return promptTokenCount;
+    }
+
+    public LlamaGeneratorResult setPromptTokenCount(int promptTokenCount) {
+        this.promptTokenCount = promptTokenCount;
+        return this;
+    }
+
+    public int getGeneratedTokenCount() {
+        return tokens != null ? tokens.length : 0;
+    }
+
+    /**
+     * Time to decode the prompt.
+     */
+    public long getPromptTimeNanos() {
+        return promptTimeNanos;
+    }
+
+    public LlamaGeneratorResult setPromptTimeNanos(long promptTimeNanos) {
+        this.promptTimeNanos = promptTimeNanos;
+        return this;
+    }
+
+    /**
+     * Time from the start of the call to the first sampled token.
+     */
+    public long getTimeToFirstTokenNanos() {
+        return timeToFirstTokenNanos;
+    }
+
+    public LlamaGeneratorResult setTimeToFirstTokenNanos(long timeToFirstTokenNanos) {
+        this.timeToFirstTokenNanos = timeToFirstTokenNanos;
+        return this;
+    }
+
+    /**
+     * Time spent sampling and decoding after the prompt.
+     */
+    public long getGenerationTimeNanos() {
+        return generationTimeNanos;
+    }
+
+    public LlamaGeneratorResult setGenerationTimeNanos(long generationTimeNanos) {
+        this.generationTimeNanos = generationTimeNanos;
+        return this;
+    }
+
+    public double getPromptTokensPerSecond() {
+        return promptTimeNanos > 0 ? promptTokenCount * 1_000_000_000.0 / promptTimeNanos : 0.0;
+    }
+
+    public double getTokensPerSecond() {
+        return generationTimeNanos > 0 ? getGeneratedTokenCount() * 1_000_000_000.0 / generationTimeNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaGeneratorResult{" +
+                "finishReason=" + finishReason +
+                ", stopSequence='" + stopSequence + '\'' +
+                ", promptTokens=" + promptTokenCount +
+                ", generatedTokens=" + getGeneratedTokenCount() +
+                ", promptTokensPerSecond=" + getPromptTokensPerSecond() +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                ", timeToFirstTokenNanos=" + timeToFirstTokenNanos +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Settings of the platform threads managed by {@code LlamaInferenceExecutor}.
+ */
+public class LlamaInferenceExecutorParams {
+
+    private int laneCount = 1;
+    private int maxQueuedPerLane = 0;
+    private String threadNamePrefix = "llama-inference";
+    private Executor completionExecutor;
+
+    /**
+     * Number of inference threads. Every context is bound to one lane, so this is the number of
+     * contexts that can compute at the same time; use one per context or per group of cores
+     * given to a ggml threadpool.
+     */
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public LlamaInferenceExecutorParams setLaneCount(int laneCount) {
+        this.laneCount = laneCount;
+        return this;
+    }
+
+    /**
+     * Tasks a lane may hold waiting, 0 for no limit. Submissions beyond it fail immediately.
+     */
+    public int getMaxQueuedPerLane() {
+        return maxQueuedPerLane;
+    }
+
+    public LlamaInferenceExecutorParams setMaxQueuedPerLane(int maxQueuedPerLane) {
+        this.maxQueuedPerLane = maxQueuedPerLane;
+        return this;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public LlamaInferenceExecutorParams setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+        return this;
+    }
+
+    /**
+     * Executor completing the returned futures, or null to complete them on the inference thread.
+     * Dependent stages run where a future is completed, so set this when callers chain work that
+     * should not delay the next native call.
+     */
+    public Executor getCompletionExecutor() {
+        return completionExecutor;
+    }
+
+    public LlamaInferenceExecutorParams setCompletionExecutor(Executor completionExecutor) {
+        this.completionExecutor = completionExecutor;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaInferenceExecutorParams{" +
+                "laneCount=" + laneCount +
+                ", maxQueuedPerLane=" + maxQueuedPerLane +
+                ", threadNamePrefix='" + threadNamePrefix + '\'' +
+                ", completionExecutor=" + completionExecutor +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.BitSet;
+
+/**
+ * One NUMA node and the logical CPUs that belong to it.
+ */
+public class LlamaNumaNode {
+
+    private final int id;
+    private final BitSet cpus;
+
+    public LlamaNumaNode(int id, BitSet cpus) {
+        this.id = id;
+        this.cpus = (BitSet) cpus.clone();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return copy of the CPU set of the node
+     */
+    public BitSet getCpus() {
+        return (BitSet) cpus.clone();
+    }
+
+    public int getCpuCount() {
+        return cpus.cardinality();
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaNumaNode{" +
+                "id=" + id +
+                ", cpus=" + cpus +
+                '}';
+    }
+}
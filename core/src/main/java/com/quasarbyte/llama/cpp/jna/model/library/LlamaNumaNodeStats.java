@@ -0,0 +1,117 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Throughput counters of one NUMA node replica.
+ */
+public class LlamaNumaNodeStats {
+
+    private int nodeId;
+    private long requestCount;
+    private int activeCount;
+    private long promptTokenCount;
+    private long generatedTokenCount;
+    private long busyNanos;
+    private long uptimeNanos;
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public LlamaNumaNodeStats setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+        return this;
+    }
+
+    /**
+     * Completed leases.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public LlamaNumaNodeStats setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+        return this;
+    }
+
+    /**
+     * Leases currently held.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public LlamaNumaNodeStats setActiveCount(int activeCount) {
+        this.activeCount = activeCount;
+        return this;
+    }
+
+    public long getPromptTokenCount() {
+        return promptTokenCount;
+    }
+
+    public LlamaNumaNodeStats setPromptTokenCount(long promptTokenCount) {
+        this.promptTokenCount = promptTokenCount;
+        return this;
+    }
+
+    public long getGeneratedTokenCount() {
+        return generatedTokenCount;
+    }
+
+    public LlamaNumaNodeStats setGeneratedTokenCount(long generatedTokenCount) {
+        this.generatedTokenCount = generatedTokenCount;
+        return this;
+    }
+
+    /**
+     * Sum of the durations of completed leases.
+     */
+    public long getBusyNanos() {
+        return busyNanos;
+    }
+
+    public LlamaNumaNodeStats setBusyNanos(long busyNanos) {
+        this.busyNanos = busyNanos;
+        return this;
+    }
+
+    /**
+     * Time since the router was created.
+     */
+    public long getUptimeNanos() {
+        return uptimeNanos;
+    }
+
+    public LlamaNumaNodeStats setUptimeNanos(long uptimeNanos) {
+        this.uptimeNanos = uptimeNanos;
+        return this;
+    }
+
+    /**
+     * Generated tokens per second of the node over the router uptime.
+     */
+    public double getTokensPerSecond() {
+        return uptimeNanos > 0 ? generatedTokenCount * 1_000_000_000.0 / uptimeNanos : 0.0;
+    }
+
+    /**
+     * Generated tokens per second of a single lease, averaged over busy time.
+     */
+    public double getTokensPerSecondPerRequest() {
+        return busyNanos > 0 ? generatedTokenCount * 1_000_000_000.0 / busyNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaNumaNodeStats{" +
+                "nodeId=" + nodeId +
+                ", requestCount=" + requestCount +
+                ", activeCount=" + activeCount +
+                ", promptTokenCount=" + promptTokenCount +
+                ", generatedTokenCount=" + generatedTokenCount +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                ", tokensPerSecondPerRequest=" + getTokensPerSecondPerRequest() +
+                '}';
+    }
+}
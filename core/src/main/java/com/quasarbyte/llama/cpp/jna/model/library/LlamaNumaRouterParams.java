@@ -0,0 +1,100 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Settings of the per-node replicas managed by {@code LlamaNumaRouter}.
+ */
+public class LlamaNumaRouterParams {
+
+    private int contextsPerNode = 1;
+    private int decodeThreadCount = 0;
+    private int prefillThreadCount = 0;
+    private int poll = 50;
+    private boolean strictCpu;
+    private boolean useThreadPools = true;
+    private boolean pinLoaderThread = true;
+
+    /**
+     * Contexts created for every replica, i.e. requests a node serves concurrently.
+     * The CPUs of the node are split evenly among them.
+     */
+    public int getContextsPerNode() {
+        return contextsPerNode;
+    }
+
+    public LlamaNumaRouterParams setContextsPerNode(int contextsPerNode) {
+        this.contextsPerNode = contextsPerNode;
+        return this;
+    }
+
+    /**
+     * Decode threads per context, 0 for all CPUs of its share.
+     */
+    public int getDecodeThreadCount() {
+        return decodeThreadCount;
+    }
+
+    public LlamaNumaRouterParams setDecodeThreadCount(int decodeThreadCount) {
+        this.decodeThreadCount = decodeThreadCount;
+        return this;
+    }
+
+    /**
+     * Prefill threads per context, 0 for all CPUs of its share.
+     */
+    public int getPrefillThreadCount() {
+        return prefillThreadCount;
+    }
+
+    public LlamaNumaRouterParams setPrefillThreadCount(int prefillThreadCount) {
+        this.prefillThreadCount = prefillThreadCount;
+        return this;
+    }
+
+    /**
+     * Busy-wait level of the node threadpools, 0 to 100.
+     */
+    public int getPoll() {
+        return poll;
+    }
+
+    public LlamaNumaRouterParams setPoll(int poll) {
+        this.poll = poll;
+        return this;
+    }
+
+    public boolean isStrictCpu() {
+        return strictCpu;
+    }
+
+    public LlamaNumaRouterParams setStrictCpu(boolean strictCpu) {
+        this.strictCpu = strictCpu;
+        return this;
+    }
+
+    /**
+     * Attach threadpools pinned to the node CPUs while a context is leased. When disabled,
+     * only the loader thread is pinned and ggml places the compute threads itself.
+     */
+    public boolean isUseThreadPools() {
+        return useThreadPools;
+    }
+
+    public LlamaNumaRouterParams setUseThreadPools(boolean useThreadPools) {
+        this.useThreadPools = useThreadPools;
+        return this;
+    }
+
+    /**
+     * Pin the thread loading a replica and creating its contexts to the node (Linux only), so
+     * first-touch allocation puts weights and KV cache in node-local memory. Effective for weights
+     * when the model is loaded without mmap.
+     */
+    public boolean isPinLoaderThread() {
+        return pinLoaderThread;
+    }
+
+    public LlamaNumaRouterParams setPinLoaderThread(boolean pinLoaderThread) {
+        this.pinLoaderThread = pinLoaderThread;
+        return this;
+    }
+}
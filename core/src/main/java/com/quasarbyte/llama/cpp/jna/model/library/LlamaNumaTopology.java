@@ -0,0 +1,36 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NUMA nodes of the machine. Machines without NUMA information are reported as a single node.
+ */
+public class LlamaNumaTopology {
+
+    private final List<LlamaNumaNode> nodes;
+
+    public LlamaNumaTopology(List<LlamaNumaNode> nodes) {
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    public List<LlamaNumaNode> getNodes() {
+        return nodes;
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    public boolean isNuma() {
+        return nodes.size() > 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaNumaTopology{" +
+                "nodes=" + nodes +
+                '}';
+    }
+}
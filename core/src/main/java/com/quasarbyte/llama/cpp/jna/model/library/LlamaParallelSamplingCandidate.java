@@ -0,0 +1,64 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * One completion produced by parallel sampling.
+ */
+public class LlamaParallelSamplingCandidate {
+
+    private int sequenceId;
+    private int[] tokens;
+    private String text;
+    private boolean endOfGeneration;
+
+    public int getSequenceId() {
+        return sequenceId;
+    }
+
+    public LlamaParallelSamplingCandidate setSequenceId(int sequenceId) {
+        this.sequenceId = sequenceId;
+        return this;
+    }
+
+    /**
+     * Generated tokens, excluding the prompt and the end-of-generation token.
+     */
+    public int[] getTokens() {
+        return tokens;
+    }
+
+    public LlamaParallelSamplingCandidate setTokens(int[] tokens) {
+        this.tokens = tokens;
+        return this;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LlamaParallelSamplingCandidate setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * True when the candidate stopped on an end-of-generation token, false when it hit a limit.
+     */
+    public boolean isEndOfGeneration() {
+        return endOfGeneration;
+    }
+
+    public LlamaParallelSamplingCandidate setEndOfGeneration(boolean endOfGeneration) {
+        this.endOfGeneration = endOfGeneration;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaParallelSamplingCandidate{" +
+                "sequenceId=" + sequenceId +
+                ", generatedTokens=" + (tokens != null ? tokens.length : 0) +
+                ", endOfGeneration=" + endOfGeneration +
+                ", text='" + text + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+/**
+ * Settings for generating several candidate completions of one prompt.
+ */
+public class LlamaParallelSamplingParams {
+
+    private int sequenceCount = 4;
+    private int maxTokens = 256;
+    private boolean appendDistributionSampler = true;
+    private long seed = LlamaLibrary.LLAMA_DEFAULT_SEED;
+    private int detokenizeBytesPerToken = 64;
+
+    /**
+     * Number of candidates (N), each generated in its own KV sequence 0..N-1.
+     * The context must be created with {@code n_seq_max >= N}.
+     */
+    public int getSequenceCount() {
+        return sequenceCount;
+    }
+
+    public LlamaParallelSamplingParams setSequenceCount(int sequenceCount) {
+        this.sequenceCount = sequenceCount;
+        return this;
+    }
+
+    /**
+     * Maximum number of generated tokens per candidate.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaParallelSamplingParams setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * Append a distribution sampler to every cloned chain.
+     * <p>
+     * Cloned samplers keep the RNG state of the prototype, so identical clones pick identical
+     * tokens from the shared prompt logits. When enabled, the prototype chain should contain
+     * filters only (top-k, top-p, temperature, ...) and each candidate gets its own seed.
+     */
+    public boolean isAppendDistributionSampler() {
+        return appendDistributionSampler;
+    }
+
+    public LlamaParallelSamplingParams setAppendDistributionSampler(boolean appendDistributionSampler) {
+        this.appendDistributionSampler = appendDistributionSampler;
+        return this;
+    }
+
+    /**
+     * Base seed of the appended distribution samplers, candidate i uses {@code seed + i}.
+     * {@link LlamaLibrary#LLAMA_DEFAULT_SEED} selects a random seed for every candidate.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public LlamaParallelSamplingParams setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getDetokenizeBytesPerToken() {
+        return detokenizeBytesPerToken;
+    }
+
+    public LlamaParallelSamplingParams setDetokenizeBytesPerToken(int detokenizeBytesPerToken) {
+        this.detokenizeBytesPerToken = detokenizeBytesPerToken;
+        return this;
+    }
+}
@@ -0,0 +1,100 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.List;
+
+/**
+ * Candidates and statistics of a parallel sampling run.
+ */
+public class LlamaParallelSamplingResult {
+
+    private List<LlamaParallelSamplingCandidate> candidates;
+    private int decodeCount;
+    private long promptTimeNanos;
+    private long generationTimeNanos;
+    private boolean aborted;
+
+    /**
+     * Candidates ordered by sequence id.
+     */
+    public List<LlamaParallelSamplingCandidate> getCandidates() {
+        return candidates;
+    }
+
+    public LlamaParallelSamplingResult setCandidates(List<LlamaParallelSamplingCandidate> candidates) {
+        this.candidates = candidates;
+        return this;
+    }
+
+    /**
+     * Number of batched decode calls after the prompt was processed.
+     */
+    public int getDecodeCount() {
+        return decodeCount;
+    }
+
+    public LlamaParallelSamplingResult setDecodeCount(int decodeCount) {
+        this.decodeCount = decodeCount;
+        return this;
+    }
+
+    public long getPromptTimeNanos() {
+        return promptTimeNanos;
+    }
+
+    public LlamaParallelSamplingResult setPromptTimeNanos(long promptTimeNanos) {
+        this.promptTimeNanos = promptTimeNanos;
+        return this;
+    }
+
+    public long getGenerationTimeNanos() {
+        return generationTimeNanos;
+    }
+
+    public LlamaParallelSamplingResult setGenerationTimeNanos(long generationTimeNanos) {
+        this.generationTimeNanos = generationTimeNanos;
+        return this;
+    }
+
+    /**
+     * Whether decoding was stopped by the context abort callback (cancellation or deadline).
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public LlamaParallelSamplingResult setAborted(boolean aborted) {
+        this.aborted = aborted;
+        return this;
+    }
+
+    /**
+     * Total number of tokens generated over all candidates.
+     */
+    public int getGeneratedTokenCount() {
+        int count = 0;
+        if (candidates != null) {
+            for (LlamaParallelSamplingCandidate candidate : candidates) {
+                count += candidate.getTokens() != null ? candidate.getTokens().length : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generated tokens per second over all candidates, excluding prompt processing.
+     */
+    public double getTokensPerSecond() {
+        return generationTimeNanos > 0 ? getGeneratedTokenCount() * 1_000_000_000.0 / generationTimeNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaParallelSamplingResult{" +
+                "candidates=" + (candidates != null ? candidates.size() : 0) +
+                ", generatedTokens=" + getGeneratedTokenCount() +
+                ", decodeCount=" + decodeCount +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                ", aborted=" + aborted +
+                '}';
+    }
+}
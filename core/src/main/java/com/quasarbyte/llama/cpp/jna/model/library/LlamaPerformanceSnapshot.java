@@ -0,0 +1,159 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Immutable copy of the context and sampler performance counters at one point in time,
+ * or the difference between two such points.
+ * <p>
+ * The native counters are cumulative since the last reset, so per-request numbers are obtained
+ * with {@link #minus(LlamaPerformanceSnapshot)} rather than by resetting shared contexts.
+ */
+public final class LlamaPerformanceSnapshot {
+
+    private final long capturedNanos;
+    private final double loadMs;
+    private final double promptEvalMs;
+    private final double evalMs;
+    private final long promptEvalTokens;
+    private final long evalTokens;
+    private final long reusedGraphs;
+    private final double sampleMs;
+    private final long sampleCount;
+    private final long wallNanos;
+
+    public LlamaPerformanceSnapshot(long capturedNanos,
+                                    double loadMs,
+                                    double promptEvalMs,
+                                    double evalMs,
+                                    long promptEvalTokens,
+                                    long evalTokens,
+                                    long reusedGraphs,
+                                    double sampleMs,
+                                    long sampleCount,
+                                    long wallNanos) {
+        this.capturedNanos = capturedNanos;
+        this.loadMs = loadMs;
+        this.promptEvalMs = promptEvalMs;
+        this.evalMs = evalMs;
+        this.promptEvalTokens = promptEvalTokens;
+        this.evalTokens = evalTokens;
+        this.reusedGraphs = reusedGraphs;
+        this.sampleMs = sampleMs;
+        this.sampleCount = sampleCount;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * Snapshot of native counters; the sampler data may be null.
+     */
+    public static LlamaPerformanceSnapshot of(LlamaPerformanceContextDataNative context, LlamaPerformanceSamplerDataNative sampler) {
+        return new LlamaPerformanceSnapshot(System.nanoTime(),
+                context.t_load_ms,
+                context.t_p_eval_ms,
+                context.t_eval_ms,
+                context.n_p_eval,
+                context.n_eval,
+                context.n_reused,
+                sampler != null ? sampler.t_sample_ms : 0.0,
+                sampler != null ? sampler.n_sample : 0,
+                0L);
+    }
+
+    /**
+     * Counters accumulated between {@code earlier} and this snapshot. The load time is kept as is,
+     * and the wall time is the time between the two captures.
+     * A counter that went backwards (the context was reset in between) is taken from this snapshot.
+     */
+    public LlamaPerformanceSnapshot minus(LlamaPerformanceSnapshot earlier) {
+        boolean contextReset = promptEvalTokens < earlier.promptEvalTokens || evalTokens < earlier.evalTokens;
+        boolean samplerReset = sampleCount < earlier.sampleCount;
+
+        return new LlamaPerformanceSnapshot(capturedNanos,
+                loadMs,
+                contextReset ? promptEvalMs : promptEvalMs - earlier.promptEvalMs,
+                contextReset ? evalMs : evalMs - earlier.evalMs,
+                contextReset ? promptEvalTokens : promptEvalTokens - earlier.promptEvalTokens,
+                contextReset ? evalTokens : evalTokens - earlier.evalTokens,
+                contextReset ? reusedGraphs : reusedGraphs - earlier.reusedGraphs,
+                samplerReset ? sampleMs : sampleMs - earlier.sampleMs,
+                samplerReset ? sampleCount : sampleCount - earlier.sampleCount,
+                capturedNanos - earlier.capturedNanos);
+    }
+
+    public long getCapturedNanos() {
+        return capturedNanos;
+    }
+
+    public double getLoadMs() {
+        return loadMs;
+    }
+
+    public double getPromptEvalMs() {
+        return promptEvalMs;
+    }
+
+    public double getEvalMs() {
+        return evalMs;
+    }
+
+    public long getPromptEvalTokens() {
+        return promptEvalTokens;
+    }
+
+    public long getEvalTokens() {
+        return evalTokens;
+    }
+
+    /**
+     * Number of times a compute graph was reused instead of rebuilt.
+     */
+    public long getReusedGraphs() {
+        return reusedGraphs;
+    }
+
+    public double getSampleMs() {
+        return sampleMs;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Wall time covered by a delta, 0 for a plain snapshot.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getPromptTokensPerSecond() {
+        return promptEvalMs > 0 ? promptEvalTokens * 1000.0 / promptEvalMs : 0.0;
+    }
+
+    public double getEvalTokensPerSecond() {
+        return evalMs > 0 ? evalTokens * 1000.0 / evalMs : 0.0;
+    }
+
+    /**
+     * Average sampling time per sampled token in milliseconds.
+     */
+    public double getSampleMsPerToken() {
+        return sampleCount > 0 ? sampleMs / sampleCount : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaPerformanceSnapshot{" +
+                "loadMs=" + loadMs +
+                ", promptEvalMs=" + promptEvalMs +
+                ", evalMs=" + evalMs +
+                ", promptEvalTokens=" + promptEvalTokens +
+                ", evalTokens=" + evalTokens +
+                ", reusedGraphs=" + reusedGraphs +
+                ", sampleMs=" + sampleMs +
+                ", sampleCount=" + sampleCount +
+                ", wallNanos=" + wallNanos +
+                ", promptTokensPerSecond=" + getPromptTokensPerSecond() +
+                ", evalTokensPerSecond=" + getEvalTokensPerSecond() +
+                '}';
+    }
+}
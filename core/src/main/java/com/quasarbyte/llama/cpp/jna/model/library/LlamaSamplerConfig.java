@@ -0,0 +1,425 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Declarative description of a sampler chain.
+ * <p>
+ * Stages are added in the order used by llama.cpp's common sampling: logit bias, grammar,
+ * penalties, DRY, top-k, typical, top-p, min-p, XTC, temperature and finally the token
+ * selection (distribution, mirostat or greedy). A stage is skipped when its setting is neutral.
+ * Configs are value objects: equal configs produce equivalent chains and may share pooled chains.
+ */
+public class LlamaSamplerConfig {
+
+    private long seed = LlamaLibrary.LLAMA_DEFAULT_SEED;
+    private int minKeep;
+    private int topK = 40;
+    private float topP = 0.95f;
+    private float minP = 0.05f;
+    private float typicalP = 1.0f;
+    private float temperature = 0.8f;
+    private int penaltyLastN = 64;
+    private float penaltyRepeat = 1.0f;
+    private float penaltyFrequency = 0.0f;
+    private float penaltyPresent = 0.0f;
+    private float dryMultiplier = 0.0f;
+    private float dryBase = 1.75f;
+    private int dryAllowedLength = 2;
+    private int dryPenaltyLastN = -1;
+    private String[] drySequenceBreakers = new String[]{"\n", ":", "\"", "*"};
+    private float xtcProbability = 0.0f;
+    private float xtcThreshold = 0.1f;
+    private int mirostat = 0;
+    private float mirostatTau = 5.0f;
+    private float mirostatEta = 0.1f;
+    private int mirostatM = 100;
+    private List<LlamaLogitBias> logitBias = Collections.emptyList();
+    private String grammar;
+    private String grammarRoot = "root";
+
+    /**
+     * Seed of the random samplers, {@link LlamaLibrary#LLAMA_DEFAULT_SEED} selects a random seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public LlamaSamplerConfig setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Minimum number of candidates kept by top-p, min-p, typical and XTC.
+     */
+    public int getMinKeep() {
+        return minKeep;
+    }
+
+    public LlamaSamplerConfig setMinKeep(int minKeep) {
+        this.minKeep = minKeep;
+        return this;
+    }
+
+    /**
+     * Top-k cutoff, disabled when &lt;= 0.
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    public LlamaSamplerConfig setTopK(int topK) {
+        this.topK = topK;
+        return this;
+    }
+
+    /**
+     * Top-p (nucleus) cutoff, disabled when &gt;= 1.
+     */
+    public float getTopP() {
+        return topP;
+    }
+
+    public LlamaSamplerConfig setTopP(float topP) {
+        this.topP = topP;
+        return this;
+    }
+
+    /**
+     * Min-p cutoff relative to the most likely token, disabled when &lt;= 0.
+     */
+    public float getMinP() {
+        return minP;
+    }
+
+    public LlamaSamplerConfig setMinP(float minP) {
+        this.minP = minP;
+        return this;
+    }
+
+    /**
+     * Locally typical sampling cutoff, disabled when &gt;= 1.
+     */
+    public float getTypicalP() {
+        return typicalP;
+    }
+
+    public LlamaSamplerConfig setTypicalP(float typicalP) {
+        this.typicalP = typicalP;
+        return this;
+    }
+
+    /**
+     * Sampling temperature; the chain ends with a greedy sampler when &lt;= 0.
+     */
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public LlamaSamplerConfig setTemperature(float temperature) {
+        this.temperature = temperature;
+        return this;
+    }
+
+    /**
+     * Number of recent tokens considered by the penalties, 0 disables them, -1 uses the context size.
+     */
+    public int getPenaltyLastN() {
+        return penaltyLastN;
+    }
+
+    public LlamaSamplerConfig setPenaltyLastN(int penaltyLastN) {
+        this.penaltyLastN = penaltyLastN;
+        return this;
+    }
+
+    /**
+     * Repetition penalty, 1 is neutral.
+     */
+    public float getPenaltyRepeat() {
+        return penaltyRepeat;
+    }
+
+    public LlamaSamplerConfig setPenaltyRepeat(float penaltyRepeat) {
+        this.penaltyRepeat = penaltyRepeat;
+        return this;
+    }
+
+    /**
+     * Frequency penalty, 0 is neutral.
+     */
+    public float getPenaltyFrequency() {
+        return penaltyFrequency;
+    }
+
+    public LlamaSamplerConfig setPenaltyFrequency(float penaltyFrequency) {
+        this.penaltyFrequency = penaltyFrequency;
+        return this;
+    }
+
+    /**
+     * Presence penalty, 0 is neutral.
+     */
+    public float getPenaltyPresent() {
+        return penaltyPresent;
+    }
+
+    public LlamaSamplerConfig setPenaltyPresent(float penaltyPresent) {
+        this.penaltyPresent = penaltyPresent;
+        return this;
+    }
+
+    /**
+     * DRY (don't repeat yourself) penalty multiplier, disabled when &lt;= 0.
+     */
+    public float getDryMultiplier() {
+        return dryMultiplier;
+    }
+
+    public LlamaSamplerConfig setDryMultiplier(float dryMultiplier) {
+        this.dryMultiplier = dryMultiplier;
+        return this;
+    }
+
+    public float getDryBase() {
+        return dryBase;
+    }
+
+    public LlamaSamplerConfig setDryBase(float dryBase) {
+        this.dryBase = dryBase;
+        return this;
+    }
+
+    public int getDryAllowedLength() {
+        return dryAllowedLength;
+    }
+
+    public LlamaSamplerConfig setDryAllowedLength(int dryAllowedLength) {
+        this.dryAllowedLength = dryAllowedLength;
+        return this;
+    }
+
+    public int getDryPenaltyLastN() {
+        return dryPenaltyLastN;
+    }
+
+    public LlamaSamplerConfig setDryPenaltyLastN(int dryPenaltyLastN) {
+        this.dryPenaltyLastN = dryPenaltyLastN;
+        return this;
+    }
+
+    public String[] getDrySequenceBreakers() {
+        return drySequenceBreakers.clone();
+    }
+
+    public LlamaSamplerConfig setDrySequenceBreakers(String[] drySequenceBreakers) {
+        this.drySequenceBreakers = Objects.requireNonNull(drySequenceBreakers).clone();
+        return this;
+    }
+
+    /**
+     * XTC (exclude top choices) probability, disabled when &lt;= 0.
+     */
+    public float getXtcProbability() {
+        return xtcProbability;
+    }
+
+    public LlamaSamplerConfig setXtcProbability(float xtcProbability) {
+        this.xtcProbability = xtcProbability;
+        return this;
+    }
+
+    public float getXtcThreshold() {
+        return xtcThreshold;
+    }
+
+    public LlamaSamplerConfig setXtcThreshold(float xtcThreshold) {
+        this.xtcThreshold = xtcThreshold;
+        return this;
+    }
+
+    /**
+     * Mirostat version: 0 disabled, 1 mirostat, 2 mirostat v2. Replaces the top-k/top-p/min-p/typical/XTC stages.
+     */
+    public int getMirostat() {
+        return mirostat;
+    }
+
+    public LlamaSamplerConfig setMirostat(int mirostat) {
+        this.mirostat = mirostat;
+        return this;
+    }
+
+    public float getMirostatTau() {
+        return mirostatTau;
+    }
+
+    public LlamaSamplerConfig setMirostatTau(float mirostatTau) {
+        this.mirostatTau = mirostatTau;
+        return this;
+    }
+
+    public float getMirostatEta() {
+        return mirostatEta;
+    }
+
+    public LlamaSamplerConfig setMirostatEta(float mirostatEta) {
+        this.mirostatEta = mirostatEta;
+        return this;
+    }
+
+    public int getMirostatM() {
+        return mirostatM;
+    }
+
+    public LlamaSamplerConfig setMirostatM(int mirostatM) {
+        this.mirostatM = mirostatM;
+        return this;
+    }
+
+    public List<LlamaLogitBias> getLogitBias() {
+        return logitBias;
+    }
+
+    public LlamaSamplerConfig setLogitBias(List<LlamaLogitBias> logitBias) {
+        this.logitBias = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(logitBias)));
+        return this;
+    }
+
+    /**
+     * GBNF grammar constraining the output, null disables it.
+     */
+    public String getGrammar() {
+        return grammar;
+    }
+
+    public LlamaSamplerConfig setGrammar(String grammar) {
+        this.grammar = grammar;
+        return this;
+    }
+
+    public String getGrammarRoot() {
+        return grammarRoot;
+    }
+
+    public LlamaSamplerConfig setGrammarRoot(String grammarRoot) {
+        this.grammarRoot = grammarRoot;
+        return this;
+    }
+
+    /**
+     * Independent copy of this config.
+     */
+    public LlamaSamplerConfig copy() {
+        LlamaSamplerConfig copy = new LlamaSamplerConfig();
+        copy.seed = seed;
+        copy.minKeep = minKeep;
+        copy.topK = topK;
+        copy.topP = topP;
+        copy.minP = minP;
+        copy.typicalP = typicalP;
+        copy.temperature = temperature;
+        copy.penaltyLastN = penaltyLastN;
+        copy.penaltyRepeat = penaltyRepeat;
+        copy.penaltyFrequency = penaltyFrequency;
+        copy.penaltyPresent = penaltyPresent;
+        copy.dryMultiplier = dryMultiplier;
+        copy.dryBase = dryBase;
+        copy.dryAllowedLength = dryAllowedLength;
+        copy.dryPenaltyLastN = dryPenaltyLastN;
+        copy.drySequenceBreakers = drySequenceBreakers;
+        copy.xtcProbability = xtcProbability;
+        copy.xtcThreshold = xtcThreshold;
+        copy.mirostat = mirostat;
+        copy.mirostatTau = mirostatTau;
+        copy.mirostatEta = mirostatEta;
+        copy.mirostatM = mirostatM;
+        copy.logitBias = logitBias;
+        copy.grammar = grammar;
+        copy.grammarRoot = grammarRoot;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LlamaSamplerConfig that = (LlamaSamplerConfig) o;
+
+        return seed == that.seed
+                && minKeep == that.minKeep
+                && topK == that.topK
+                && Float.compare(topP, that.topP) == 0
+                && Float.compare(minP, that.minP) == 0
+                && Float.compare(typicalP, that.typicalP) == 0
+                && Float.compare(temperature, that.temperature) == 0
+                && penaltyLastN == that.penaltyLastN
+                && Float.compare(penaltyRepeat, that.penaltyRepeat) == 0
+                && Float.compare(penaltyFrequency, that.penaltyFrequency) == 0
+                && Float.compare(penaltyPresent, that.penaltyPresent) == 0
+                && Float.compare(dryMultiplier, that.dryMultiplier) == 0
+                && Float.compare(dryBase, that.dryBase) == 0
+                && dryAllowedLength == that.dryAllowedLength
+                && dryPenaltyLastN == that.dryPenaltyLastN
+                && Arrays.equals(drySequenceBreakers, that.drySequenceBreakers)
+                && Float.compare(xtcProbability, that.xtcProbability) == 0
+                && Float.compare(xtcThreshold, that.xtcThreshold) == 0
+                && mirostat == that.mirostat
+                && Float.compare(mirostatTau, that.mirostatTau) == 0
+                && Float.compare(mirostatEta, that.mirostatEta) == 0
+                && mirostatM == that.mirostatM
+                && Objects.equals(logitBias, that.logitBias)
+                && Objects.equals(grammar, that.grammar)
+                && Objects.equals(grammarRoot, that.grammarRoot);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(seed, minKeep, topK, topP, minP, typicalP, temperature,
+                penaltyLastN, penaltyRepeat, penaltyFrequency, penaltyPresent,
+                dryMultiplier, dryBase, dryAllowedLength, dryPenaltyLastN,
+                xtcProbability, xtcThreshold, mirostat, mirostatTau, mirostatEta, mirostatM,
+                logitBias, grammar, grammarRoot);
+        result = 31 * result + Arrays.hashCode(drySequenceBreakers);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaSamplerConfig{" +
+                "seed=" + seed +
+                ", minKeep=" + minKeep +
+                ", topK=" + topK +
+                ", topP=" + topP +
+                ", minP=" + minP +
+                ", typicalP=" + typicalP +
+                ", temperature=" + temperature +
+                ", penaltyLastN=" + penaltyLastN +
+                ", penaltyRepeat=" + penaltyRepeat +
+                ", penaltyFrequency=" + penaltyFrequency +
+                ", penaltyPresent=" + penaltyPresent +
+                ", dryMultiplier=" + dryMultiplier +
+                ", dryBase=" + dryBase +
+                ", dryAllowedLength=" + dryAllowedLength +
+                ", dryPenaltyLastN=" + dryPenaltyLastN +
+                ", drySequenceBreakers=" + Arrays.toString(drySequenceBreakers) +
+                ", xtcProbability=" + xtcProbability +
+                ", xtcThreshold=" + xtcThreshold +
+                ", mirostat=" + mirostat +
+                ", mirostatTau=" + mirostatTau +
+                ", mirostatEta=" + mirostatEta +
+                ", mirostatM=" + mirostatM +
+                ", logitBias=" + logitBias +
+                ", grammar=" + (grammar != null ? grammar.length() + " chars" : null) +
+                ", grammarRoot=" + grammarRoot +
+                '}';
+    }
+}
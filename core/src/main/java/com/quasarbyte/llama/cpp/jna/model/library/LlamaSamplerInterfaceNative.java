@@ -0,0 +1,53 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import com.sun.jna.Callback;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+
+/**
+ * JNA mapping of {@code llama_sampler_i}, the function table of a custom sampler.
+ * <p>
+ * Optional callbacks may be left null. A sampler created with a null context and no
+ * {@code clone} callback is cloned by sharing this table, so state must not be kept per sampler.
+ * The structure and its callbacks must stay strongly reachable while any sampler uses them.
+ */
+@Structure.FieldOrder({"name", "accept", "apply", "reset", "clone", "free"})
+public class LlamaSamplerInterfaceNative extends Structure {
+
+    public NameCallback name;
+    public AcceptCallback accept;
+    public ApplyCallback apply;
+    public ResetCallback reset;
+    public CloneCallback clone;
+    public FreeCallback free;
+
+    /** {@code const char * (*name)(const struct llama_sampler * smpl)} */
+    public interface NameCallback extends Callback {
+        Pointer invoke(Pointer sampler);
+    }
+
+    /** {@code void (*accept)(struct llama_sampler * smpl, llama_token token)} */
+    public interface AcceptCallback extends Callback {
+        void invoke(Pointer sampler, int token);
+    }
+
+    /** {@code void (*apply)(struct llama_sampler * smpl, llama_token_data_array * cur_p)} */
+    public interface ApplyCallback extends Callback {
+        void invoke(Pointer sampler, Pointer tokenDataArray);
+    }
+
+    /** {@code void (*reset)(struct llama_sampler * smpl)} */
+    public interface ResetCallback extends Callback {
+        void invoke(Pointer sampler);
+    }
+
+    /** {@code struct llama_sampler * (*clone)(const struct llama_sampler * smpl)} */
+    public interface CloneCallback extends Callback {
+        Pointer invoke(Pointer sampler);
+    }
+
+    /** {@code void (*free)(struct llama_sampler * smpl)} */
+    public interface FreeCallback extends Callback {
+        void invoke(Pointer sampler);
+    }
+}
@@ -0,0 +1,80 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Settings for speculative decoding with a draft model or with prompt lookup.
+ */
+public class LlamaSpeculativeDecodingParams {
+
+    private int draftTokenCount = 5;
+    private int maxTokens = 256;
+    private int sequenceId;
+    private int detokenizeBytesPerToken = 64;
+    private int ngramMinSize = 2;
+    private int ngramMaxSize = 4;
+
+    /**
+     * Number of tokens the draft model proposes per verification step (K).
+     */
+    public int getDraftTokenCount() {
+        return draftTokenCount;
+    }
+
+    public LlamaSpeculativeDecodingParams setDraftTokenCount(int draftTokenCount) {
+        this.draftTokenCount = draftTokenCount;
+        return this;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaSpeculativeDecodingParams setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * KV sequence used in both the target and the draft context.
+     */
+    public int getSequenceId() {
+        return sequenceId;
+    }
+
+    public LlamaSpeculativeDecodingParams setSequenceId(int sequenceId) {
+        this.sequenceId = sequenceId;
+        return this;
+    }
+
+    public int getDetokenizeBytesPerToken() {
+        return detokenizeBytesPerToken;
+    }
+
+    public LlamaSpeculativeDecodingParams setDetokenizeBytesPerToken(int detokenizeBytesPerToken) {
+        this.detokenizeBytesPerToken = detokenizeBytesPerToken;
+        return this;
+    }
+
+    /**
+     * Shortest n-gram matched against the prompt and history (prompt lookup only).
+     */
+    public int getNgramMinSize() {
+        return ngramMinSize;
+    }
+
+    public LlamaSpeculativeDecodingParams setNgramMinSize(int ngramMinSize) {
+        this.ngramMinSize = ngramMinSize;
+        return this;
+    }
+
+    /**
+     * Longest n-gram matched against the prompt and history (prompt lookup only).
+     */
+    public int getNgramMaxSize() {
+        return ngramMaxSize;
+    }
+
+    public LlamaSpeculativeDecodingParams setNgramMaxSize(int ngramMaxSize) {
+        this.ngramMaxSize = ngramMaxSize;
+        return this;
+    }
+}
@@ -0,0 +1,145 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Output and statistics of a speculative decoding run.
+ */
+public class LlamaSpeculativeDecodingResult {
+
+    private int[] tokens;
+    private String text;
+    private int draftedTokenCount;
+    private int acceptedTokenCount;
+    private int verificationCount;
+    private long promptTimeNanos;
+    private long generationTimeNanos;
+    private boolean aborted;
+    private LlamaFinishReason finishReason;
+
+    /**
+     * Generated tokens, excluding the prompt.
+     */
+    public int[] getTokens() {
+        return tokens;
+    }
+
+    public LlamaSpeculativeDecodingResult setTokens(int[] tokens) {
+        this.tokens = tokens;
+        return this;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LlamaSpeculativeDecodingResult setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Number of tokens proposed by the draft model.
+     */
+    public int getDraftedTokenCount() {
+        return draftedTokenCount;
+    }
+
+    public LlamaSpeculativeDecodingResult setDraftedTokenCount(int draftedTokenCount) {
+        this.draftedTokenCount = draftedTokenCount;
+        return this;
+    }
+
+    /**
+     * Number of drafted tokens confirmed by the target model.
+     */
+    public int getAcceptedTokenCount() {
+        return acceptedTokenCount;
+    }
+
+    public LlamaSpeculativeDecodingResult setAcceptedTokenCount(int acceptedTokenCount) {
+        this.acceptedTokenCount = acceptedTokenCount;
+        return this;
+    }
+
+    /**
+     * Number of batched target decode calls used to verify drafts.
+     */
+    public int getVerificationCount() {
+        return verificationCount;
+    }
+
+    public LlamaSpeculativeDecodingResult setVerificationCount(int verificationCount) {
+        this.verificationCount = verificationCount;
+        return this;
+    }
+
+    public long getPromptTimeNanos() {
+        return promptTimeNanos;
+    }
+
+    public LlamaSpeculativeDecodingResult setPromptTimeNanos(long promptTimeNanos) {
+        this.promptTimeNanos = promptTimeNanos;
+        return this;
+    }
+
+    public long getGenerationTimeNanos() {
+        return generationTimeNanos;
+    }
+
+    public LlamaSpeculativeDecodingResult setGenerationTimeNanos(long generationTimeNanos) {
+        this.generationTimeNanos = generationTimeNanos;
+        return this;
+    }
+
+    /**
+     * Whether decoding was stopped by the context abort callback (cancellation or deadline).
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public LlamaSpeculativeDecodingResult setAborted(boolean aborted) {
+        this.aborted = aborted;
+        return this;
+    }
+
+    /**
+     * Why generation ended; {@link LlamaFinishReason#CONTEXT_FULL} also covers a decode that found no free KV slot.
+     */
+    public LlamaFinishReason getFinishReason() {
+        return finishReason;
+    }
+
+    public LlamaSpeculativeDecodingResult setFinishReason(LlamaFinishReason finishReason) {
+        this.finishReason = finishReason;
+        return this;
+    }
+
+    /**
+     * Share of drafted tokens accepted by the target model, in range [0, 1].
+     */
+    public double getAcceptanceRate() {
+        return draftedTokenCount > 0 ? (double) acceptedTokenCount / draftedTokenCount : 0.0;
+    }
+
+    /**
+     * Generated tokens per second, excluding prompt processing.
+     */
+    public double getTokensPerSecond() {
+        int generated = tokens != null ? tokens.length : 0;
+        return generationTimeNanos > 0 ? generated * 1_000_000_000.0 / generationTimeNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaSpeculativeDecodingResult{" +
+                "generatedTokens=" + (tokens != null ? tokens.length : 0) +
+                ", draftedTokenCount=" + draftedTokenCount +
+                ", acceptedTokenCount=" + acceptedTokenCount +
+                ", verificationCount=" + verificationCount +
+                ", acceptanceRate=" + getAcceptanceRate() +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                ", aborted=" + aborted +
+                ", finishReason=" + finishReason +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Settings of one streamed generation.
+ */
+public class LlamaStreamingParams {
+
+    private int maxTokens = 256;
+    private int sequenceId = 0;
+    private int startPosition = 0;
+    private List<String> stopSequences = Collections.emptyList();
+    private int[] stopTokens = new int[0];
+    private boolean special = false;
+    private boolean logprobs = false;
+
+    /**
+     * Maximum number of generated tokens.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaStreamingParams setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * KV sequence the prompt and the generated tokens are decoded into.
+     */
+    public int getSequenceId() {
+        return sequenceId;
+    }
+
+    public LlamaStreamingParams setSequenceId(int sequenceId) {
+        this.sequenceId = sequenceId;
+        return this;
+    }
+
+    /**
+     * Position of the first prompt token. Use the end of the cached sequence to continue it;
+     * the sequence is not cleared.
+     */
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    public LlamaStreamingParams setStartPosition(int startPosition) {
+        this.startPosition = startPosition;
+        return this;
+    }
+
+    /**
+     * Strings that end the stream; they are not included in the emitted text.
+     */
+    public List<String> getStopSequences() {
+        return stopSequences;
+    }
+
+    public LlamaStreamingParams setStopSequences(List<String> stopSequences) {
+        this.stopSequences = stopSequences != null ? stopSequences : Collections.<String>emptyList();
+        return this;
+    }
+
+    /**
+     * Tokens, besides end-of-generation tokens, that end the stream.
+     */
+    public int[] getStopTokens() {
+        return stopTokens;
+    }
+
+    public LlamaStreamingParams setStopTokens(int[] stopTokens) {
+        this.stopTokens = stopTokens != null ? stopTokens : new int[0];
+        return this;
+    }
+
+    /**
+     * Render special tokens in the emitted text and pieces.
+     */
+    public boolean isSpecial() {
+        return special;
+    }
+
+    public LlamaStreamingParams setSpecial(boolean special) {
+        this.special = special;
+        return this;
+    }
+
+    /**
+     * Compute the log probability of every token, which reads the full logits row per token.
+     */
+    public boolean isLogprobs() {
+        return logprobs;
+    }
+
+    public LlamaStreamingParams setLogprobs(boolean logprobs) {
+        this.logprobs = logprobs;
+        return this;
+    }
+}
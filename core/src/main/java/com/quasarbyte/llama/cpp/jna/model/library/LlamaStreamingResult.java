@@ -0,0 +1,122 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Outcome and statistics of a finished token stream.
+ */
+public class LlamaStreamingResult {
+
+    private LlamaFinishReason finishReason;
+    private String stopSequence;
+    private String trailingText = "";
+    private int promptTokenCount;
+    private int generatedTokenCount;
+    private int endPosition;
+    private long promptTimeNanos;
+    private long generationTimeNanos;
+
+    public LlamaFinishReason getFinishReason() {
+        return finishReason;
+    }
+
+    public LlamaStreamingResult setFinishReason(LlamaFinishReason finishReason) {
+        this.finishReason = finishReason;
+        return this;
+    }
+
+    /**
+     * The stop sequence that ended the stream, or null.
+     */
+    public String getStopSequence() {
+        return stopSequence;
+    }
+
+    public LlamaStreamingResult setStopSequence(String stopSequence) {
+        this.stopSequence = stopSequence;
+        return this;
+    }
+
+    /**
+     * Text held back by the last events and released when the stream ended.
+     */
+    public String getTrailingText() {
+        return trailingText;
+    }
+
+    public LlamaStreamingResult setTrailingText(String trailingText) {
+        this.trailingText = trailingText;
+        return this;
+    }
+
+    public int getPromptTokenCount() {
+        return promptTokenCount;
+    }
+
+    public LlamaStreamingResult setPromptTokenCount(int promptTokenCount) {
+        this.promptTokenCount = promptTokenCount;
+        return this;
+    }
+
+    /**
+     * Number of emitted tokens.
+     */
+    public int getGeneratedTokenCount() {
+        return generatedTokenCount;
+    }
+
+    public LlamaStreamingResult setGeneratedTokenCount(int generatedTokenCount) {
+        this.generatedTokenCount = generatedTokenCount;
+        return this;
+    }
+
+    /**
+     * First KV position after the decoded tokens of the sequence. The last emitted token is
+     * not decoded, so continuing the sequence starts by decoding it at this position.
+     */
+    public int getEndPosition() {
+        return endPosition;
+    }
+
+    public LlamaStreamingResult setEndPosition(int endPosition) {
+        this.endPosition = endPosition;
+        return this;
+    }
+
+    public long getPromptTimeNanos() {
+        return promptTimeNanos;
+    }
+
+    public LlamaStreamingResult setPromptTimeNanos(long promptTimeNanos) {
+        this.promptTimeNanos = promptTimeNanos;
+        return this;
+    }
+
+    /**
+     * Time spent generating after the prompt, excluding time the stream was paused.
+     */
+    public long getGenerationTimeNanos() {
+        return generationTimeNanos;
+    }
+
+    public LlamaStreamingResult setGenerationTimeNanos(long generationTimeNanos) {
+        this.generationTimeNanos = generationTimeNanos;
+        return this;
+    }
+
+    public double getTokensPerSecond() {
+        return generationTimeNanos > 0 ? generatedTokenCount * 1_000_000_000.0 / generationTimeNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaStreamingResult{" +
+                "finishReason=" + finishReason +
+                ", stopSequence='" + stopSequence + '\'' +
+                ", promptTokens=" + promptTokenCount +
+                ", generatedTokens=" + generatedTokenCount +
+                ", endPosition=" + endPosition +
+                ", promptTimeNanos=" + promptTimeNanos +
+                ", generationTimeNanos=" + generationTimeNanos +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                '}';
+    }
+}
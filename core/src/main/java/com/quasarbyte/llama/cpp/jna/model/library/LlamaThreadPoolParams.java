@@ -0,0 +1,121 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import com.quasarbyte.llama.cpp.jna.model.library.ggml.GgmlSchedPriority;
+
+import java.util.BitSet;
+
+/**
+ * Settings of one ggml threadpool, mirrors {@code ggml_threadpool_params}.
+ * Defaults match {@code ggml_threadpool_params_default()}.
+ */
+public class LlamaThreadPoolParams {
+
+    private int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private BitSet cpuMask = new BitSet();
+    private GgmlSchedPriority priority = GgmlSchedPriority.GGML_SCHED_PRIO_NORMAL;
+    private int poll = 50;
+    private boolean strictCpu;
+    private boolean paused;
+
+    /**
+     * Number of worker threads, including the thread calling {@code llama_decode()}.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public LlamaThreadPoolParams setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+        return this;
+    }
+
+    /**
+     * CPUs the threads may run on; an empty mask leaves placement to the OS.
+     */
+    public BitSet getCpuMask() {
+        return cpuMask;
+    }
+
+    public LlamaThreadPoolParams setCpuMask(BitSet cpuMask) {
+        this.cpuMask = cpuMask != null ? cpuMask : new BitSet();
+        return this;
+    }
+
+    /**
+     * Restrict the threads to CPUs {@code [fromCpu, toCpu)}.
+     */
+    public LlamaThreadPoolParams setCpuRange(int fromCpu, int toCpu) {
+        BitSet mask = new BitSet();
+        mask.set(fromCpu, toCpu);
+        this.cpuMask = mask;
+        return this;
+    }
+
+    public GgmlSchedPriority getPriority() {
+        return priority;
+    }
+
+    public LlamaThreadPoolParams setPriority(GgmlSchedPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Busy-wait level while waiting for work, 0 (sleep at once) to 100 (spin aggressively).
+     * Polling lowers decode latency at the cost of burning idle CPU.
+     */
+    public int getPoll() {
+        return poll;
+    }
+
+    public LlamaThreadPoolParams setPoll(int poll) {
+        this.poll = poll;
+        return this;
+    }
+
+    /**
+     * Pin every thread to a single CPU of the mask instead of letting it float over the whole mask.
+     */
+    public boolean isStrictCpu() {
+        return strictCpu;
+    }
+
+    public LlamaThreadPoolParams setStrictCpu(boolean strictCpu) {
+        this.strictCpu = strictCpu;
+        return this;
+    }
+
+    /**
+     * Create the threadpool with sleeping workers; they start on the first computed graph.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public LlamaThreadPoolParams setPaused(boolean paused) {
+        this.paused = paused;
+        return this;
+    }
+
+    public LlamaThreadPoolParams copy() {
+        return new LlamaThreadPoolParams()
+                .setThreadCount(threadCount)
+                .setCpuMask((BitSet) cpuMask.clone())
+                .setPriority(priority)
+                .setPoll(poll)
+                .setStrictCpu(strictCpu)
+                .setPaused(paused);
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaThreadPoolParams{" +
+                "threadCount=" + threadCount +
+                ", cpuMask=" + cpuMask +
+                ", priority=" + priority +
+                ", poll=" + poll +
+                ", strictCpu=" + strictCpu +
+                ", paused=" + paused +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+/**
+ * Settings of the thread-count benchmark run by {@code LlamaThreadTuningBinding}.
+ */
+public class LlamaThreadTuningParams {
+
+    private int[] threadCounts;
+    private int maxThreadCount = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private int prefillTokenCount = 256;
+    private int decodeTokenCount = 32;
+    private int sequenceId = 0;
+    private double minImprovement = 0.03;
+
+    /**
+     * Thread counts to try. When null, powers of two up to {@link #getMaxThreadCount()} are tried,
+     * plus the maximum itself and three quarters of it.
+     */
+    public int[] getThreadCounts() {
+        return threadCounts;
+    }
+
+    public LlamaThreadTuningParams setThreadCounts(int[] threadCounts) {
+        this.threadCounts = threadCounts;
+        return this;
+    }
+
+    /**
+     * Largest thread count tried when no explicit candidates are given, all logical CPUs by default.
+     */
+    public int getMaxThreadCount() {
+        return maxThreadCount;
+    }
+
+    public LlamaThreadTuningParams setMaxThreadCount(int maxThreadCount) {
+        this.maxThreadCount = maxThreadCount;
+        return this;
+    }
+
+    /**
+     * Tokens decoded in one batch to measure prefill throughput, capped by the context batch size.
+     */
+    public int getPrefillTokenCount() {
+        return prefillTokenCount;
+    }
+
+    public LlamaThreadTuningParams setPrefillTokenCount(int prefillTokenCount) {
+        this.prefillTokenCount = prefillTokenCount;
+        return this;
+    }
+
+    /**
+     * Single-token decode steps measured after the prefill.
+     */
+    public int getDecodeTokenCount() {
+        return decodeTokenCount;
+    }
+
+    public LlamaThreadTuningParams setDecodeTokenCount(int decodeTokenCount) {
+        this.decodeTokenCount = decodeTokenCount;
+        return this;
+    }
+
+    /**
+     * Scratch sequence used by the benchmark, cleared before and after every trial; must be empty.
+     */
+    public int getSequenceId() {
+        return sequenceId;
+    }
+
+    public LlamaThreadTuningParams setSequenceId(int sequenceId) {
+        this.sequenceId = sequenceId;
+        return this;
+    }
+
+    /**
+     * Relative throughput gain required to prefer more threads, e.g. 0.03 for 3%.
+     * Keeps the tuner from taking cores for measurement noise.
+     */
+    public double getMinImprovement() {
+        return minImprovement;
+    }
+
+    public LlamaThreadTuningParams setMinImprovement(double minImprovement) {
+        this.minImprovement = minImprovement;
+        return this;
+    }
+}
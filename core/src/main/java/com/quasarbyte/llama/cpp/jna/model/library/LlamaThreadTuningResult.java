@@ -0,0 +1,83 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.Map;
+
+/**
+ * Measured throughput per thread count and the selected decode and prefill thread counts.
+ */
+public class LlamaThreadTuningResult {
+
+    private int decodeThreadCount;
+    private int prefillThreadCount;
+    private Map<Integer, Double> decodeTokensPerSecond;
+    private Map<Integer, Double> prefillTokensPerSecond;
+    private long benchmarkTimeNanos;
+
+    /**
+     * Best thread count for single-token decode steps ({@code n_threads}).
+     */
+    public int getDecodeThreadCount() {
+        return decodeThreadCount;
+    }
+
+    public LlamaThreadTuningResult setDecodeThreadCount(int decodeThreadCount) {
+        this.decodeThreadCount = decodeThreadCount;
+        return this;
+    }
+
+    /**
+     * Best thread count for prompt batches ({@code n_threads_batch}).
+     */
+    public int getPrefillThreadCount() {
+        return prefillThreadCount;
+    }
+
+    public LlamaThreadTuningResult setPrefillThreadCount(int prefillThreadCount) {
+        this.prefillThreadCount = prefillThreadCount;
+        return this;
+    }
+
+    /**
+     * Decode tokens per second by thread count, ordered by thread count.
+     */
+    public Map<Integer, Double> getDecodeTokensPerSecond() {
+        return decodeTokensPerSecond;
+    }
+
+    public LlamaThreadTuningResult setDecodeTokensPerSecond(Map<Integer, Double> decodeTokensPerSecond) {
+        this.decodeTokensPerSecond = decodeTokensPerSecond;
+        return this;
+    }
+
+    /**
+     * Prefill tokens per second by thread count, ordered by thread count.
+     */
+    public Map<Integer, Double> getPrefillTokensPerSecond() {
+        return prefillTokensPerSecond;
+    }
+
+    public LlamaThreadTuningResult setPrefillTokensPerSecond(Map<Integer, Double> prefillTokensPerSecond) {
+        this.prefillTokensPerSecond = prefillTokensPerSecond;
+        return this;
+    }
+
+    public long getBenchmarkTimeNanos() {
+        return benchmarkTimeNanos;
+    }
+
+    public LlamaThreadTuningResult setBenchmarkTimeNanos(long benchmarkTimeNanos) {
+        this.benchmarkTimeNanos = benchmarkTimeNanos;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaThreadTuningResult{" +
+                "decodeThreadCount=" + decodeThreadCount +
+                ", prefillThreadCount=" + prefillThreadCount +
+                ", decodeTokensPerSecond=" + decodeTokensPerSecond +
+                ", prefillTokensPerSecond=" + prefillTokensPerSecond +
+                ", benchmarkTimeNanos=" + benchmarkTimeNanos +
+                '}';
+    }
+}
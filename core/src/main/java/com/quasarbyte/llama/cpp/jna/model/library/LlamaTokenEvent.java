@@ -0,0 +1,98 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One generated token of a stream.
+ */
+public class LlamaTokenEvent {
+
+    private final int index;
+    private final int token;
+    private final int position;
+    private final byte[] piece;
+    private final String text;
+    private final float logprob;
+    private final long tokenNanos;
+    private final long elapsedNanos;
+
+    public LlamaTokenEvent(int index, int token, int position, byte[] piece, String text, float logprob, long tokenNanos, long elapsedNanos) {
+        this.index = index;
+        this.token = token;
+        this.position = position;
+        this.piece = piece;
+        this.text = text;
+        this.logprob = logprob;
+        this.tokenNanos = tokenNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Index of the token in the stream, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public int getToken() {
+        return token;
+    }
+
+    /**
+     * KV position the token will be decoded at.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Raw bytes of the token piece, which may end inside a UTF-8 character.
+     */
+    public byte[] getPiece() {
+        return piece;
+    }
+
+    /**
+     * Text that became final with this token: complete UTF-8 characters that cannot be part of a
+     * stop sequence. Often empty while bytes are held back, and may cover earlier tokens.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Natural log of the probability of the token under the model's raw distribution, before the
+     * sampler chain; {@code NaN} when log probabilities were not requested.
+     */
+    public float getLogprob() {
+        return logprob;
+    }
+
+    /**
+     * Time to produce this token: the decode of the previous token (or the prompt) and sampling.
+     */
+    public long getTokenNanos() {
+        return tokenNanos;
+    }
+
+    /**
+     * Time from the start of the stream to this token.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaTokenEvent{" +
+                "index=" + index +
+                ", token=" + token +
+                ", position=" + position +
+                ", piece='" + (piece != null ? new String(piece, StandardCharsets.UTF_8) : null) + '\'' +
+                ", text='" + text + '\'' +
+                ", logprob=" + logprob +
+                ", tokenNanos=" + tokenNanos +
+                ", elapsedNanos=" + elapsedNanos +
+                '}';
+    }
+}
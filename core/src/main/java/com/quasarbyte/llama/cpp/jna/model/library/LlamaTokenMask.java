@@ -0,0 +1,302 @@
+package com.quasarbyte.llama.cpp.jna.model.library;
+
+import java.util.Arrays;
+
+/**
+ * Immutable token mask: a vocabulary-sized bitset of banned tokens plus a sparse map of
+ * additive logit biases.
+ * <p>
+ * Banned tokens get a logit of negative infinity, biased tokens get their bias added.
+ * Masks are cheap to share between requests and can be combined with
+ * {@link #union(LlamaTokenMask)}, {@link #intersection(LlamaTokenMask)} and {@link #complement()}.
+ */
+public final class LlamaTokenMask {
+
+    private final int vocabularySize;
+    private final long[] banned;
+    private final int bannedCount;
+    private final int[] biasTokens;
+    private final float[] biasValues;
+
+    private LlamaTokenMask(int vocabularySize, long[] banned, int[] biasTokens, float[] biasValues) {
+        this.vocabularySize = vocabularySize;
+        this.banned = banned;
+        this.biasTokens = biasTokens;
+        this.biasValues = biasValues;
+
+        int count = 0;
+        for (long word : banned) {
+            count += Long.bitCount(word);
+        }
+        this.bannedCount = count;
+    }
+
+    public static Builder builder(int vocabularySize) {
+        return new Builder(vocabularySize);
+    }
+
+    public int getVocabularySize() {
+        return vocabularySize;
+    }
+
+    public int getBannedCount() {
+        return bannedCount;
+    }
+
+    public int getBiasCount() {
+        return biasTokens.length;
+    }
+
+    public boolean isEmpty() {
+        return bannedCount == 0 && biasTokens.length == 0;
+    }
+
+    public boolean isBanned(int token) {
+        return token >= 0 && token < vocabularySize && (banned[token >>> 6] & (1L << token)) != 0;
+    }
+
+    /**
+     * Index of the first banned token at or after {@code fromToken}, or -1.
+     */
+    public int nextBanned(int fromToken) {
+        if (fromToken >= vocabularySize) {
+            return -1;
+        }
+        int wordIndex = fromToken >>> 6;
+        long word = banned[wordIndex] & (-1L << fromToken);
+        while (true) {
+            if (word != 0) {
+                int token = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return token < vocabularySize ? token : -1;
+            }
+            if (++wordIndex == banned.length) {
+                return -1;
+            }
+            word = banned[wordIndex];
+        }
+    }
+
+    /**
+     * Additive bias of the token, 0 when the token has no bias.
+     */
+    public float getBias(int token) {
+        int index = Arrays.binarySearch(biasTokens, token);
+        return index >= 0 ? biasValues[index] : 0.0f;
+    }
+
+    /**
+     * Tokens with a bias, in ascending order. The returned array must not be modified.
+     */
+    public int[] getBiasTokens() {
+        return biasTokens;
+    }
+
+    /**
+     * Biases matching {@link #getBiasTokens()}. The returned array must not be modified.
+     */
+    public float[] getBiasValues() {
+        return biasValues;
+    }
+
+    /**
+     * Tokens banned by either mask; biases of both masks are added.
+     */
+    public LlamaTokenMask union(LlamaTokenMask other) {
+        requireSameVocabulary(other);
+        long[] words = banned.clone();
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.banned[i];
+        }
+        return mergeBiases(words, other, false);
+    }
+
+    /**
+     * Tokens banned by both masks; only tokens biased by both masks keep a bias, the sum of both.
+     */
+    public LlamaTokenMask intersection(LlamaTokenMask other) {
+        requireSameVocabulary(other);
+        long[] words = banned.clone();
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.banned[i];
+        }
+        return mergeBiases(words, other, true);
+    }
+
+    /**
+     * Mask banning every token this mask allows, e.g. to turn an allow-list into a ban-list.
+     * Biases are kept.
+     */
+    public LlamaTokenMask complement() {
+        long[] words = new long[banned.length];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ~banned[i];
+        }
+        clearTail(words, vocabularySize);
+        return new LlamaTokenMask(vocabularySize, words, biasTokens, biasValues);
+    }
+
+    private LlamaTokenMask mergeBiases(long[] words, LlamaTokenMask other, boolean commonOnly) {
+        int[] tokens = new int[biasTokens.length + other.biasTokens.length];
+        float[] values = new float[tokens.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < biasTokens.length || j < other.biasTokens.length) {
+            int left = i < biasTokens.length ? biasTokens[i] : Integer.MAX_VALUE;
+            int right = j < other.biasTokens.length ? other.biasTokens[j] : Integer.MAX_VALUE;
+
+            if (left == right) {
+                tokens[count] = left;
+                values[count++] = biasValues[i++] + other.biasValues[j++];
+            } else if (left < right) {
+                if (!commonOnly) {
+                    tokens[count] = left;
+                    values[count++] = biasValues[i];
+                }
+                i++;
+            } else {
+                if (!commonOnly) {
+                    tokens[count] = right;
+                    values[count++] = other.biasValues[j];
+                }
+                j++;
+            }
+        }
+
+        return new LlamaTokenMask(vocabularySize, words, Arrays.copyOf(tokens, count), Arrays.copyOf(values, count));
+    }
+
+    private void requireSameVocabulary(LlamaTokenMask other) {
+        if (other.vocabularySize != vocabularySize) {
+            throw new IllegalArgumentException(String.format("Token masks have different vocabulary sizes: %d and %d", vocabularySize, other.vocabularySize));
+        }
+    }
+
+    private static void clearTail(long[] words, int vocabularySize) {
+        int tail = vocabularySize & 63;
+        if (tail != 0 && words.length > 0) {
+            words[words.length - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LlamaTokenMask that = (LlamaTokenMask) o;
+
+        return vocabularySize == that.vocabularySize
+                && Arrays.equals(banned, that.banned)
+                && Arrays.equals(biasTokens, that.biasTokens)
+                && Arrays.equals(biasValues, that.biasValues);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = vocabularySize;
+        result = 31 * result + Arrays.hashCode(banned);
+        result = 31 * result + Arrays.hashCode(biasTokens);
+        result = 31 * result + Arrays.hashCode(biasValues);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaTokenMask{" +
+                "vocabularySize=" + vocabularySize +
+                ", bannedCount=" + bannedCount +
+                ", biasCount=" + biasTokens.length +
+                '}';
+    }
+
+    /**
+     * Mutable builder of {@link LlamaTokenMask}.
+     */
+    public static final class Builder {
+
+        private final int vocabularySize;
+        private final long[] banned;
+        private int[] biasTokens = new int[8];
+        private float[] biasValues = new float[8];
+        private int biasCount;
+
+        private Builder(int vocabularySize) {
+            if (vocabularySize < 1) {
+                throw new IllegalArgumentException(String.format("Vocabulary size must be positive, value: %d", vocabularySize));
+            }
+            this.vocabularySize = vocabularySize;
+            this.banned = new long[(vocabularySize + 63) >>> 6];
+        }
+
+        public Builder ban(int token) {
+            requireToken(token);
+            banned[token >>> 6] |= 1L << token;
+            return this;
+        }
+
+        public Builder ban(int[] tokens) {
+            for (int token : tokens) {
+                ban(token);
+            }
+            return this;
+        }
+
+        /**
+         * Ban every token except the given ones.
+         */
+        public Builder allowOnly(int[] tokens) {
+            Arrays.fill(banned, -1L);
+            clearTail(banned, vocabularySize);
+            for (int token : tokens) {
+                requireToken(token);
+                banned[token >>> 6] &= ~(1L << token);
+            }
+            return this;
+        }
+
+        /**
+         * Add a bias to the token logit; repeated calls for the same token accumulate.
+         */
+        public Builder bias(int token, float bias) {
+            requireToken(token);
+            if (biasCount == biasTokens.length) {
+                biasTokens = Arrays.copyOf(biasTokens, biasCount * 2);
+                biasValues = Arrays.copyOf(biasValues, biasCount * 2);
+            }
+            biasTokens[biasCount] = token;
+            biasValues[biasCount++] = bias;
+            return this;
+        }
+
+        public LlamaTokenMask build() {
+            // Sort biases by token and merge duplicates
+            Integer[] order = new Integer[biasCount];
+            for (int i = 0; i < biasCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(biasTokens[a], biasTokens[b]));
+
+            int[] tokens = new int[biasCount];
+            float[] values = new float[biasCount];
+            int count = 0;
+            for (Integer index : order) {
+                if (count > 0 && tokens[count - 1] == biasTokens[index]) {
+                    values[count - 1] += biasValues[index];
+                } else {
+                    tokens[count] = biasTokens[index];
+                    values[count++] = biasValues[index];
+                }
+            }
+
+            return new LlamaTokenMask(vocabularySize, banned.clone(), Arrays.copyOf(tokens, count), Arrays.copyOf(values, count));
+        }
+
+        private void requireToken(int token) {
+            if (token < 0 || token >= vocabularySize) {
+                throw new IllegalArgumentException(String.format("Token out of vocabulary range: %d, vocabulary size: %d", token, vocabularySize));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.quasarbyte.llama.cpp.jna.model.library.ggml;
+
+/**
+ * Enumeration of NUMA strategies.
+ * <p>
+ * This enum corresponds to the {@code ggml_numa_strategy} enumeration from ggml-cpu.h
+ * and is passed to {@code llama_numa_init}.
+ */
+public enum GgmlNumaStrategy {
+
+    /** No NUMA handling */
+    GGML_NUMA_STRATEGY_DISABLED(0),
+
+    /** Spread execution evenly over all nodes */
+    GGML_NUMA_STRATEGY_DISTRIBUTE(1),
+
+    /** Only run on the node the process was started on */
+    GGML_NUMA_STRATEGY_ISOLATE(2),
+
+    /** Use the CPU map provided by numactl */
+    GGML_NUMA_STRATEGY_NUMACTL(3),
+
+    /** Mirror mode, reserved in ggml */
+    GGML_NUMA_STRATEGY_MIRROR(4);
+
+    private final int value;
+
+    GgmlNumaStrategy(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the integer value corresponding to the native enum value.
+     *
+     * @return the integer value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the enum constant for the given integer value.
+     *
+     * @param value the integer value from the native enum
+     * @return the corresponding enum constant
+     * @throws IllegalArgumentException if no enum constant matches the value
+     */
+    public static GgmlNumaStrategy fromValue(int value) {
+        for (GgmlNumaStrategy strategy : values()) {
+            if (strategy.value == value) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown NUMA strategy value: " + value);
+    }
+}
@@ -0,0 +1,56 @@
+package com.quasarbyte.llama.cpp.jna.model.library.ggml;
+
+/**
+ * Enumeration of threadpool scheduling priorities.
+ * <p>
+ * This enum corresponds to the {@code ggml_sched_priority} enumeration from ggml.h.
+ * Priorities above normal may require elevated privileges and are ignored by the OS otherwise.
+ */
+public enum GgmlSchedPriority {
+
+    /** Below normal priority */
+    GGML_SCHED_PRIO_LOW(-1),
+
+    /** Default OS priority */
+    GGML_SCHED_PRIO_NORMAL(0),
+
+    /** Above normal priority */
+    GGML_SCHED_PRIO_MEDIUM(1),
+
+    /** High priority */
+    GGML_SCHED_PRIO_HIGH(2),
+
+    /** Realtime priority, use with care */
+    GGML_SCHED_PRIO_REALTIME(3);
+
+    private final int value;
+
+    GgmlSchedPriority(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the integer value corresponding to the native enum value.
+     *
+     * @return the integer value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the enum constant for the given integer value.
+     *
+     * @param value the integer value from the native enum
+     * @return the corresponding enum constant
+     * @throws IllegalArgumentException if no enum constant matches the value
+     */
+    public static GgmlSchedPriority fromValue(int value) {
+        for (GgmlSchedPriority priority : values()) {
+            if (priority.value == value) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scheduling priority value: " + value);
+    }
+}
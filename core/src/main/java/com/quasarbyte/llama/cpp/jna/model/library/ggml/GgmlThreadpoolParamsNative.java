@@ -0,0 +1,35 @@
+package com.quasarbyte.llama.cpp.jna.model.library.ggml;
+
+import com.sun.jna.Structure;
+
+/**
+ * JNA mapping of {@code struct ggml_threadpool_params} from ggml.h.
+ */
+@Structure.FieldOrder({"cpumask", "n_threads", "prio", "poll", "strict_cpu", "paused"})
+public class GgmlThreadpoolParamsNative extends Structure {
+
+    /** GGML_MAX_N_THREADS */
+    public static final int GGML_MAX_N_THREADS = 512;
+
+    /** CPU affinity mask, one bool per CPU; all false means no affinity */
+    public byte[] cpumask = new byte[GGML_MAX_N_THREADS];
+
+    /** Number of threads */
+    public int n_threads;
+
+    /** Thread priority (ggml_sched_priority) */
+    public int prio;
+
+    /** Polling (busywait) level, 0 - no polling, 100 - aggressive polling */
+    public int poll;
+
+    /** Strict CPU placement: pin each thread to one CPU of the mask */
+    public byte strict_cpu;
+
+    /** Start in paused state */
+    public byte paused;
+
+    public GgmlThreadpoolParamsNative() {
+        super();
+    }
+}
@@ -0,0 +1,29 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("llama.Decode")
+@Label("Decode")
+@Description("llama_decode call")
+final class LlamaDecodeEvent extends LlamaJfrEvent {
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Result")
+    long result;
+
+    @Override
+    public LlamaInferenceEvent setCount(long count) {
+        this.tokens = count;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setResult(long result) {
+        this.result = result;
+        return this;
+    }
+}
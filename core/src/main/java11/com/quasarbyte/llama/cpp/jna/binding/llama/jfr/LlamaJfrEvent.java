@@ -0,0 +1,31 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+
+/**
+ * Base of the Flight Recorder events; setters not meaningful for an event type are ignored.
+ */
+@Category({"llama.cpp", "Inference"})
+abstract class LlamaJfrEvent extends Event implements LlamaInferenceEvent {
+
+    @Override
+    public LlamaInferenceEvent setCount(long count) {
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setSize(long size) {
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setResult(long result) {
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setPath(String path) {
+        return this;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * Flight Recorder implementation, loaded by {@link LlamaInferenceEvents} on Java 11 and newer.
+ * The enabled flag of each event type is checked before anything is allocated.
+ */
+public final class LlamaJfrInferenceEventFactory implements LlamaInferenceEventFactory {
+
+    private static final EventType DECODE = EventType.getEventType(LlamaDecodeEvent.class);
+    private static final EventType SAMPLE = EventType.getEventType(LlamaSampleEvent.class);
+    private static final EventType TOKENIZE = EventType.getEventType(LlamaTokenizeEvent.class);
+    private static final EventType DETOKENIZE = EventType.getEventType(LlamaDetokenizeEvent.class);
+    private static final EventType MODEL_LOAD = EventType.getEventType(LlamaModelLoadEvent.class);
+    private static final EventType STATE_SAVE = EventType.getEventType(LlamaStateSaveEvent.class);
+    private static final EventType STATE_LOAD = EventType.getEventType(LlamaStateLoadEvent.class);
+
+    @Override
+    public LlamaInferenceEvent decode() {
+        return DECODE.isEnabled() ? begin(new LlamaDecodeEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent sample() {
+        return SAMPLE.isEnabled() ? begin(new LlamaSampleEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent tokenize() {
+        return TOKENIZE.isEnabled() ? begin(new LlamaTokenizeEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent detokenize() {
+        return DETOKENIZE.isEnabled() ? begin(new LlamaDetokenizeEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent modelLoad() {
+        return MODEL_LOAD.isEnabled() ? begin(new LlamaModelLoadEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent stateSave() {
+        return STATE_SAVE.isEnabled() ? begin(new LlamaStateSaveEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    @Override
+    public LlamaInferenceEvent stateLoad() {
+        return STATE_LOAD.isEnabled() ? begin(new LlamaStateLoadEvent()) : LlamaInferenceEvents.NOOP;
+    }
+
+    private static LlamaInferenceEvent begin(LlamaJfrEvent event) {
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,40 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("llama.ModelLoad")
+@Label("Model Load")
+@Description("Model loaded from a file or from splits")
+final class LlamaModelLoadEvent extends LlamaJfrEvent {
+
+    @Label("Path")
+    String path;
+
+    @Label("Model Size")
+    @DataAmount
+    long modelSize;
+
+    @Label("Success")
+    boolean success;
+
+    @Override
+    public LlamaInferenceEvent setSize(long size) {
+        this.modelSize = size;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setResult(long result) {
+        this.success = result != 0;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setPath(String path) {
+        this.path = path;
+        return this;
+    }
+}
@@ -0,0 +1,29 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("llama.Sample")
+@Label("Sample")
+@Description("llama_sampler_sample call")
+final class LlamaSampleEvent extends LlamaJfrEvent {
+
+    @Label("Logits Index")
+    long index;
+
+    @Label("Token")
+    long token;
+
+    @Override
+    public LlamaInferenceEvent setCount(long count) {
+        this.index = count;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setResult(long result) {
+        this.token = result;
+        return this;
+    }
+}
@@ -0,0 +1,49 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("llama.StateLoad")
+@Label("State Load")
+@Description("Context or sequence state load, path is empty for in-memory state")
+final class LlamaStateLoadEvent extends LlamaJfrEvent {
+
+    @Label("Path")
+    String path;
+
+    @Label("State Size")
+    @DataAmount
+    long stateSize;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Result")
+    long result;
+
+    @Override
+    public LlamaInferenceEvent setCount(long count) {
+        this.tokens = count;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setSize(long size) {
+        this.stateSize = size;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setResult(long result) {
+        this.result = result;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setPath(String path) {
+        this.path = path;
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("llama.Tokenize")
+@Label("Tokenize")
+@Description("llama_tokenize call")
+final class LlamaTokenizeEvent extends LlamaJfrEvent {
+
+    @Label("Text Size")
+    @DataAmount
+    long textSize;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Override
+    public LlamaInferenceEvent setCount(long count) {
+        this.tokens = count;
+        return this;
+    }
+
+    @Override
+    public LlamaInferenceEvent setSize(long size) {
+        this.textSize = size;
+        return this;
+    }
+}
@@ -0,0 +1,64 @@
+package com.quasarbyte.llama.cpp.jna.binding.llama.streaming;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaStreamingResult;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaTokenEvent;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Adapters between {@link LlamaTokenPublisher} and {@link Flow}, available on Java 9 and later.
+ * The demand of the Flow subscriber is passed through unchanged, so backpressure is preserved.
+ */
+public final class LlamaTokenFlows {
+
+    private LlamaTokenFlows() {
+    }
+
+    public static Flow.Publisher<LlamaTokenEvent> toFlowPublisher(LlamaTokenPublisher publisher) {
+        return toFlowPublisher(publisher, result -> {
+        });
+    }
+
+    /**
+     * @param onResult receives the stream result just before {@code onComplete}
+     */
+    public static Flow.Publisher<LlamaTokenEvent> toFlowPublisher(LlamaTokenPublisher publisher, Consumer<LlamaStreamingResult> onResult) {
+        Objects.requireNonNull(publisher);
+        Objects.requireNonNull(onResult);
+
+        return subscriber -> publisher.subscribe(new LlamaTokenSubscriber() {
+            @Override
+            public void onSubscribe(LlamaTokenSubscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(LlamaTokenEvent event) {
+                subscriber.onNext(event);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                subscriber.onError(error);
+            }
+
+            @Override
+            public void onComplete(LlamaStreamingResult result) {
+                onResult.accept(result);
+                subscriber.onComplete();
+            }
+        });
+    }
+}
@@ -0,0 +1,219 @@
+package com.quasarbyte.llama.cpp.jna.examples.grammar;
+
+import com.quasarbyte.llama.cpp.jna.binding.ggml.backend.loader.GgmlBackendLoader;
+import com.quasarbyte.llama.cpp.jna.binding.ggml.backend.loader.GgmlBackendLoaderFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.backend.LlamaBackendBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.backend.LlamaBackendBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaJsonSchemaGrammarBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaJsonSchemaGrammarBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.performance.LlamaPerformanceBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.ggml.GgmlLibrary;
+import com.quasarbyte.llama.cpp.jna.library.declaration.ggml.GgmlLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaPerformanceSamplerDataNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+
+/**
+ * Compares generation throughput with and without a JSON schema grammar.
+ * <p>
+ * Both runs use a greedy sampler on the same prompt; the constrained run adds the grammar
+ * sampler compiled from the schema. The report shows end-to-end tokens/s and the time spent
+ * in the sampler chain, where the grammar cost shows up.
+ */
+public class JsonSchemaBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(JsonSchemaBenchmark.class);
+
+    private static final String DEFAULT_PROMPT = "Describe a fictional person as JSON with the fields name, age, email and hobbies:\n";
+    private static final int DEFAULT_N_PREDICT = 128;
+    private static final int DEFAULT_N_GPU_LAYERS = 0;
+    private static final int DEFAULT_RUNS = 3;
+    private static final int CONTEXT_SIZE = 2048;
+    private static final int BATCH_SIZE = 512;
+
+    private static final String SCHEMA = "{"
+            + "\"type\": \"object\","
+            + "\"properties\": {"
+            + "  \"name\": {\"type\": \"string\", \"maxLength\": 40},"
+            + "  \"age\": {\"type\": \"integer\"},"
+            + "  \"email\": {\"type\": \"string\", \"pattern\": \"^[a-z0-9._]+@[a-z0-9]+\\\\.[a-z]{2,4}$\"},"
+            + "  \"hobbies\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}, \"maxItems\": 5},"
+            + "  \"status\": {\"enum\": [\"active\", \"inactive\"]}"
+            + "},"
+            + "\"required\": [\"name\", \"age\", \"email\", \"hobbies\"]"
+            + "}";
+
+    private final LlamaBatchBinding batchService;
+    private final LlamaMemoryBinding memoryService;
+    private final LlamaProcessingBinding processingService;
+    private final LlamaSamplerBinding samplerService;
+    private final LlamaTokenBinding tokenService;
+    private final LlamaPerformanceBinding performanceService;
+    private final LlamaVocabularyBinding vocabularyService;
+
+    private JsonSchemaBenchmark(LlamaLibrary llamaLibrary) {
+        this.batchService = new LlamaBatchBindingFactory().create(llamaLibrary);
+        this.memoryService = new LlamaMemoryBindingFactory().create(llamaLibrary);
+        this.processingService = new LlamaProcessingBindingFactory().create(llamaLibrary);
+        this.samplerService = new LlamaSamplerBindingFactory().create(llamaLibrary);
+        this.tokenService = new LlamaTokenBindingFactory().create(llamaLibrary);
+        this.performanceService = new LlamaPerformanceBindingFactory().create(llamaLibrary);
+        this.vocabularyService = new LlamaVocabularyBindingFactory().create(llamaLibrary);
+    }
+
+    private static void printUsage() {
+        System.out.println();
+        System.out.println("example usage:");
+        System.out.println();
+        System.out.printf("  %s -m model.gguf [-n n_predict] [-ngl n_gpu_layers] [-r runs]", JsonSchemaBenchmark.class.getName());
+        System.out.println();
+    }
+
+    public static void main(String[] args) {
+        String modelPath = null;
+        int nPredict = DEFAULT_N_PREDICT;
+        int nGpuLayers = DEFAULT_N_GPU_LAYERS;
+        int runs = DEFAULT_RUNS;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("-m".equals(args[i])) {
+                    modelPath = args[++i];
+                } else if ("-n".equals(args[i])) {
+                    nPredict = Integer.parseInt(args[++i]);
+                } else if ("-ngl".equals(args[i])) {
+                    nGpuLayers = Integer.parseInt(args[++i]);
+                } else if ("-r".equals(args[i])) {
+                    runs = Integer.parseInt(args[++i]);
+                } else {
+                    printUsage();
+                    System.exit(1);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            printUsage();
+            System.exit(1);
+        }
+
+        if (modelPath == null) {
+            printUsage();
+            System.exit(1);
+        }
+
+        GgmlLibrary ggmlLibrary = new GgmlLibraryFactory().getInstance();
+        GgmlBackendLoader backendLoader = new GgmlBackendLoaderFactory().create(ggmlLibrary);
+
+        LlamaLibrary llamaLibrary = new LlamaLibraryFactory().getInstance();
+        LlamaBackendBinding backendService = new LlamaBackendBindingFactory().create(llamaLibrary);
+        LlamaModelBinding modelService = new LlamaModelBindingFactory().create(llamaLibrary);
+        LlamaContextBinding contextService = new LlamaContextBindingFactory().create(llamaLibrary);
+        LlamaJsonSchemaGrammarBinding jsonSchemaService = new LlamaJsonSchemaGrammarBindingFactory().create(llamaLibrary);
+
+        JsonSchemaBenchmark benchmark = new JsonSchemaBenchmark(llamaLibrary);
+
+        backendLoader.loadBackend();
+        backendService.backendInit();
+
+        LlamaModel model = modelService.loadFromFile(Paths.get(modelPath), nGpuLayers);
+        LlamaContext context = contextService.create(model, CONTEXT_SIZE, BATCH_SIZE, false);
+
+        try {
+            LlamaVocabulary vocabulary = benchmark.vocabularyService.getVocabulary(model);
+            int[] promptTokens = benchmark.tokenService.tokenize(model, vocabulary, DEFAULT_PROMPT, true, true);
+
+            logger.info("Grammar:\n{}", jsonSchemaService.toGrammar(SCHEMA));
+
+            for (int run = 1; run <= runs; run++) {
+                LlamaSampler unconstrained = benchmark.samplerService.createChainSampler(false);
+                benchmark.samplerService.addSamplerToChain(benchmark.samplerService.createGreedySampler(), unconstrained);
+
+                LlamaSampler constrained = benchmark.samplerService.createChainSampler(false);
+                benchmark.samplerService.addSamplerToChain(jsonSchemaService.createSampler(vocabulary, SCHEMA), constrained);
+                benchmark.samplerService.addSamplerToChain(benchmark.samplerService.createGreedySampler(), constrained);
+
+                try {
+                    benchmark.runAndReport("unconstrained", run, context, vocabulary, unconstrained, promptTokens, nPredict);
+                    benchmark.runAndReport("constrained", run, context, vocabulary, constrained, promptTokens, nPredict);
+                } finally {
+                    benchmark.samplerService.freeSampler(unconstrained);
+                    benchmark.samplerService.freeSampler(constrained);
+                }
+            }
+        } finally {
+            contextService.freeContext(context);
+            modelService.freeModel(model);
+            backendService.freeBackend();
+        }
+    }
+
+    private void runAndReport(String label,
+                              int run,
+                              LlamaContext context,
+                              LlamaVocabulary vocabulary,
+                              LlamaSampler sampler,
+                              int[] promptTokens,
+                              int nPredict) {
+        memoryService.clear(memoryService.getMemory(context), true);
+        performanceService.resetSamplerPerformance(sampler);
+
+        LlamaBatch batch = batchService.createBatch(BATCH_SIZE, 1);
+        StringBuilder output = new StringBuilder();
+        int generated = 0;
+
+        try {
+            processingService.decodeTokens(context, batch, promptTokens, 0, 0);
+
+            long start = System.nanoTime();
+
+            for (int position = promptTokens.length; generated < nPredict; position++) {
+                int token = samplerService.sampleToken(sampler, context, -1);
+                if (vocabularyService.isEndOfGeneration(vocabulary, token)) {
+                    break;
+                }
+
+                output.append(tokenService.detokenize(vocabulary, new int[]{token}, false, false, 64));
+                generated++;
+
+                batchService.clearBatch(batch);
+                batchService.addToken(batch, token, position, 0, true);
+                processingService.decodeBatch(context, batch);
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            LlamaPerformanceSamplerDataNative samplerPerformance = performanceService.getSamplerPerformance(sampler);
+
+            System.out.printf("run %d %-13s tokens: %4d, tokens/s: %8.2f, sampling ms/token: %.3f%n",
+                    run, label, generated, generated / seconds,
+                    samplerPerformance.n_sample > 0 ? samplerPerformance.t_sample_ms / samplerPerformance.n_sample : 0.0);
+
+            logger.debug("{} output: {}", label, output);
+        } finally {
+            batchService.freeBatch(batch);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.quasarbyte.llama.cpp.jna.server;
+
+import com.quasarbyte.llama.cpp.jna.binding.ggml.backend.loader.GgmlBackendLoaderFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.backend.LlamaBackendBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.backend.LlamaBackendBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.model.LlamaModelBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.logging.AsyncLlamaLoggerBinding;
+import com.quasarbyte.llama.cpp.jna.library.declaration.ggml.GgmlLibrary;
+import com.quasarbyte.llama.cpp.jna.library.declaration.ggml.GgmlLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibraryFactory;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaInferenceEngine;
+import com.quasarbyte.llama.cpp.jna.server.http.LlamaCompletionsHandler;
+import com.quasarbyte.llama.cpp.jna.server.http.LlamaEmbeddingsHandler;
+import com.quasarbyte.llama.cpp.jna.server.http.LlamaHealthHandler;
+import com.quasarbyte.llama.cpp.jna.server.http.LlamaModelsHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI-compatible HTTP server for a single GGUF model.
+ * <p>
+ * Endpoints: {@code /v1/chat/completions}, {@code /v1/completions}, {@code /v1/embeddings},
+ * {@code /v1/models} and {@code /health}. Requests are served by a fixed number of slots, each with
+ * its own context; excess requests wait in a bounded queue and are rejected with 429 once it is full.
+ *
+ * <pre>{@code
+ * java -cp ... com.quasarbyte.llama.cpp.jna.server.LlamaServer -m model.gguf --port 8080 --parallel 4
+ * }</pre>
+ */
+public class LlamaServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaServer.class);
+
+    private static final int HTTP_SPARE_THREADS = 4;
+
+    private final LlamaServerConfig config;
+
+    private LlamaLibrary llamaLibrary;
+    private LlamaBackendBinding backendBinding;
+    private LlamaModelBinding modelBinding;
+    private LlamaModel model;
+    private LlamaInferenceEngine engine;
+    private ExecutorService httpExecutor;
+    private HttpServer httpServer;
+
+    public LlamaServer(LlamaServerConfig config) {
+        if (config.getModelPath() == null || config.getModelPath().isEmpty()) {
+            throw new IllegalArgumentException("Model path is required");
+        }
+        this.config = config;
+    }
+
+    /**
+     * Load the model, start the inference slots and bind the HTTP listener.
+     */
+    public synchronized void start() throws IOException {
+        if (httpServer != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+
+        GgmlLibrary ggmlLibrary = new GgmlLibraryFactory().getInstance();
+        new GgmlBackendLoaderFactory().create(ggmlLibrary).loadBackend();
+
+        llamaLibrary = new LlamaLibraryFactory().getInstance();
+        AsyncLlamaLoggerBinding.setupAsyncLogging(llamaLibrary);
+
+        backendBinding = new LlamaBackendBindingFactory().create(llamaLibrary);
+        backendBinding.backendInit();
+
+        modelBinding = new LlamaModelBindingFactory().create(llamaLibrary);
+        model = modelBinding.loadFromFile(Paths.get(config.getModelPath()), config.getGpuLayers());
+
+        engine = new LlamaInferenceEngine(llamaLibrary, model, config);
+
+        String modelId = getModelId();
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        // Every queued or running request holds an HTTP thread while it waits for its result
+        httpExecutor = Executors.newFixedThreadPool(config.getSlotCount() + config.getMaxQueueSize() + HTTP_SPARE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "llama-http-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        httpServer = HttpServer.create(new InetSocketAddress(config.getHost(), config.getPort()), 0);
+        httpServer.createContext("/v1/chat/completions", new LlamaCompletionsHandler(engine, config, modelId, true));
+        httpServer.createContext("/v1/completions", new LlamaCompletionsHandler(engine, config, modelId, false));
+        httpServer.createContext("/v1/embeddings", new LlamaEmbeddingsHandler(engine, config, modelId));
+        httpServer.createContext("/v1/models", new LlamaModelsHandler(modelId));
+        httpServer.createContext("/health", new LlamaHealthHandler(engine));
+        httpServer.setExecutor(httpExecutor);
+        httpServer.start();
+
+        logger.info("Server listening on http://{}:{}, model: {}", config.getHost(), config.getPort(), modelId);
+    }
+
+    /**
+     * Stop accepting requests, finish the running ones and free the native resources.
+     */
+    public synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(1);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdown();
+            try {
+                httpExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            httpExecutor = null;
+        }
+        if (engine != null) {
+            engine.close();
+            engine = null;
+        }
+        if (model != null) {
+            modelBinding.freeModel(model);
+            model = null;
+        }
+        if (backendBinding != null) {
+            backendBinding.freeBackend();
+            backendBinding = null;
+        }
+        if (llamaLibrary != null) {
+            AsyncLlamaLoggerBinding.disableAsyncLogging(llamaLibrary);
+            llamaLibrary = null;
+        }
+        logger.info("Server stopped");
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private String getModelId() {
+        if (config.getModelAlias() != null && !config.getModelAlias().isEmpty()) {
+            return config.getModelAlias();
+        }
+        return Paths.get(config.getModelPath()).getFileName().toString();
+    }
+
+    private static void printUsage() {
+        System.out.println();
+        System.out.println("example usage:");
+        System.out.println();
+        System.out.printf("  %s -m model.gguf [options]%n", LlamaServer.class.getName());
+        System.out.println();
+        System.out.println("Options:");
+        System.out.println("  -m               Model file path (required)");
+        System.out.println("  -a               Model alias reported to clients (default: model file name)");
+        System.out.println("  --host           Listen address (default: 127.0.0.1)");
+        System.out.println("  --port           Listen port (default: 8080)");
+        System.out.println("  -c               Context size per slot (default: 4096)");
+        System.out.println("  -b               Batch size (default: 512)");
+        System.out.println("  -ngl             Number of GPU layers (default: 99)");
+        System.out.println("  --parallel       Number of concurrent slots (default: 2)");
+        System.out.println("  --queue          Maximum queued requests, 0 to reject when busy (default: 16)");
+        System.out.println("  --queue-timeout  Maximum queue wait in milliseconds (default: 30000)");
+        System.out.println("  --max-tokens     Default completion length (default: 256)");
+        System.out.println();
+    }
+
+    static LlamaServerConfig parseCommandLineArgs(String[] args) {
+        LlamaServerConfig config = new LlamaServerConfig();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(String.format("Missing value for argument: %s", arg));
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "-m":
+                    config.setModelPath(value);
+                    break;
+                case "-a":
+                    config.setModelAlias(value);
+                    break;
+                case "--host":
+                    config.setHost(value);
+                    break;
+                case "--port":
+                    config.setPort(Integer.parseInt(value));
+                    break;
+                case "-c":
+                    config.setContextSize(Integer.parseInt(value));
+                    break;
+                case "-b":
+                    config.setBatchSize(Integer.parseInt(value));
+                    break;
+                case "-ngl":
+                    config.setGpuLayers(Integer.parseInt(value));
+                    break;
+                case "--parallel":
+                    config.setSlotCount(Integer.parseInt(value));
+                    break;
+                case "--queue":
+                    config.setMaxQueueSize(Integer.parseInt(value));
+                    break;
+                case "--queue-timeout":
+                    config.setQueueTimeoutMillis(Long.parseLong(value));
+                    break;
+                case "--max-tokens":
+                    config.setDefaultMaxTokens(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown argument: %s", arg));
+            }
+        }
+        return config;
+    }
+
+    public static void main(String[] args) {
+        LlamaServerConfig config;
+        try {
+            config = parseCommandLineArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        if (config.getModelPath() == null || config.getModelPath().isEmpty()) {
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        LlamaServer server = new LlamaServer(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "llama-server-shutdown"));
+
+        try {
+            server.start();
+        } catch (Exception e) {
+            logger.error("Failed to start the server, error: {}", e.getMessage(), e);
+            server.stop();
+            System.exit(1);
+        }
+    }
+}
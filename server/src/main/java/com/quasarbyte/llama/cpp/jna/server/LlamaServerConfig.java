@@ -0,0 +1,167 @@
+package com.quasarbyte.llama.cpp.jna.server;
+
+/**
+ * Settings of {@link LlamaServer}.
+ */
+public class LlamaServerConfig {
+
+    private String modelPath;
+    private String modelAlias;
+    private String host = "127.0.0.1";
+    private int port = 8080;
+    private int contextSize = 4096;
+    private int batchSize = 512;
+    private int gpuLayers = 99;
+    private int slotCount = 2;
+    private int maxQueueSize = 16;
+    private long queueTimeoutMillis = 30_000;
+    private int defaultMaxTokens = 256;
+    private int maxRequestBytes = 4 * 1024 * 1024;
+
+    public String getModelPath() {
+        return modelPath;
+    }
+
+    public LlamaServerConfig setModelPath(String modelPath) {
+        this.modelPath = modelPath;
+        return this;
+    }
+
+    /**
+     * Model id reported by {@code /v1/models} and in responses, the model file name by default.
+     */
+    public String getModelAlias() {
+        return modelAlias;
+    }
+
+    public LlamaServerConfig setModelAlias(String modelAlias) {
+        this.modelAlias = modelAlias;
+        return this;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public LlamaServerConfig setHost(String host) {
+        this.host = host;
+        return this;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public LlamaServerConfig setPort(int port) {
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * Context size of each slot.
+     */
+    public int getContextSize() {
+        return contextSize;
+    }
+
+    public LlamaServerConfig setContextSize(int contextSize) {
+        this.contextSize = contextSize;
+        return this;
+    }
+
+    /**
+     * Logical batch size of each slot; also the maximum input of one embedding.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public LlamaServerConfig setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getGpuLayers() {
+        return gpuLayers;
+    }
+
+    public LlamaServerConfig setGpuLayers(int gpuLayers) {
+        this.gpuLayers = gpuLayers;
+        return this;
+    }
+
+    /**
+     * Number of contexts, i.e. requests processed concurrently.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public LlamaServerConfig setSlotCount(int slotCount) {
+        this.slotCount = slotCount;
+        return this;
+    }
+
+    /**
+     * Requests waiting for a slot; further requests are rejected with HTTP 429.
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public LlamaServerConfig setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    /**
+     * Requests that waited longer for a slot are answered with HTTP 503 instead of being processed.
+     */
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public LlamaServerConfig setQueueTimeoutMillis(long queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Completion tokens generated when a request does not set {@code max_tokens}.
+     */
+    public int getDefaultMaxTokens() {
+        return defaultMaxTokens;
+    }
+
+    public LlamaServerConfig setDefaultMaxTokens(int defaultMaxTokens) {
+        this.defaultMaxTokens = defaultMaxTokens;
+        return this;
+    }
+
+    public int getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    public LlamaServerConfig setMaxRequestBytes(int maxRequestBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaServerConfig{" +
+                "modelPath='" + modelPath + '\'' +
+                ", modelAlias='" + modelAlias + '\'' +
+                ", host='" + host + '\'' +
+                ", port=" + port +
+                ", contextSize=" + contextSize +
+                ", batchSize=" + batchSize +
+                ", gpuLayers=" + gpuLayers +
+                ", slotCount=" + slotCount +
+                ", maxQueueSize=" + maxQueueSize +
+                ", queueTimeoutMillis=" + queueTimeoutMillis +
+                ", defaultMaxTokens=" + defaultMaxTokens +
+                ", maxRequestBytes=" + maxRequestBytes +
+                '}';
+    }
+}
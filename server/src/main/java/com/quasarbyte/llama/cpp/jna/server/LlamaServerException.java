@@ -0,0 +1,38 @@
+package com.quasarbyte.llama.cpp.jna.server;
+
+/**
+ * Request failure carrying the HTTP status and OpenAI error type to report.
+ */
+public class LlamaServerException extends RuntimeException {
+
+    public static final String INVALID_REQUEST = "invalid_request_error";
+    public static final String RATE_LIMIT = "rate_limit_exceeded";
+    public static final String SERVER_ERROR = "server_error";
+
+    private final int status;
+    private final String type;
+
+    public LlamaServerException(int status, String type, String message) {
+        super(message);
+        this.status = status;
+        this.type = type;
+    }
+
+    public LlamaServerException(int status, String type, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+        this.type = type;
+    }
+
+    public static LlamaServerException invalidRequest(String message) {
+        return new LlamaServerException(400, INVALID_REQUEST, message);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getType() {
+        return type;
+    }
+}
@@ -0,0 +1,23 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+/**
+ * L2-normalized embeddings, one per input, with the number of input tokens.
+ */
+public class LlamaEmbeddingResult {
+
+    private final float[][] embeddings;
+    private final int promptTokens;
+
+    public LlamaEmbeddingResult(float[][] embeddings, int promptTokens) {
+        this.embeddings = embeddings;
+        this.promptTokens = promptTokens;
+    }
+
+    public float[][] getEmbeddings() {
+        return embeddings;
+    }
+
+    public int getPromptTokens() {
+        return promptTokens;
+    }
+}
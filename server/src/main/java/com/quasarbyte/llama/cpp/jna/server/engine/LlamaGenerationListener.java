@@ -0,0 +1,15 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+import java.io.IOException;
+
+/**
+ * Receives generated text as it becomes final. Called on the slot thread, so a slow listener
+ * slows down its own generation; an {@link IOException} cancels the generation.
+ */
+public interface LlamaGenerationListener {
+
+    LlamaGenerationListener NONE = text -> {
+    };
+
+    void onText(String text) throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A text generation job: an already templated prompt plus sampling and stop settings.
+ */
+public class LlamaGenerationRequest {
+
+    private String prompt;
+    private LlamaSamplerConfig samplerConfig = new LlamaSamplerConfig();
+    private int maxTokens = 256;
+    private List<String> stop = Collections.emptyList();
+
+    public String getPrompt() {
+        return prompt;
+    }
+
+    public LlamaGenerationRequest setPrompt(String prompt) {
+        this.prompt = prompt;
+        return this;
+    }
+
+    public LlamaSamplerConfig getSamplerConfig() {
+        return samplerConfig;
+    }
+
+    public LlamaGenerationRequest setSamplerConfig(LlamaSamplerConfig samplerConfig) {
+        this.samplerConfig = samplerConfig;
+        return this;
+    }
+
+    /**
+     * Upper bound of generated tokens, further capped by the free context.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public LlamaGenerationRequest setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+        return this;
+    }
+
+    /**
+     * Stop sequences; generation ends before the first occurrence, which is not returned.
+     */
+    public List<String> getStop() {
+        return stop;
+    }
+
+    public LlamaGenerationRequest setStop(List<String> stop) {
+        this.stop = stop;
+        return this;
+    }
+}
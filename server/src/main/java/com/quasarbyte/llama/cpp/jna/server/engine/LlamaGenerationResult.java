@@ -0,0 +1,115 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+/**
+ * Outcome of a generation with its token counts and timings.
+ */
+public class LlamaGenerationResult {
+
+    public static final String FINISH_STOP = "stop";
+    public static final String FINISH_LENGTH = "length";
+    public static final String FINISH_CANCELLED = "cancelled";
+
+    private String text;
+    private String finishReason;
+    private int promptTokens;
+    private int completionTokens;
+    private long queueNanos;
+    private long timeToFirstTokenNanos;
+    private long durationNanos;
+
+    public String getText() {
+        return text;
+    }
+
+    public LlamaGenerationResult setText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * {@link #FINISH_STOP}, {@link #FINISH_LENGTH} or {@link #FINISH_CANCELLED}.
+     */
+    public String getFinishReason() {
+        return finishReason;
+    }
+
+    public LlamaGenerationResult setFinishReason(String finishReason) {
+        this.finishReason = finishReason;
+        return this;
+    }
+
+    public int getPromptTokens() {
+        return promptTokens;
+    }
+
+    public LlamaGenerationResult setPromptTokens(int promptTokens) {
+        this.promptTokens = promptTokens;
+        return this;
+    }
+
+    public int getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public LlamaGenerationResult setCompletionTokens(int completionTokens) {
+        this.completionTokens = completionTokens;
+        return this;
+    }
+
+    /**
+     * Time spent waiting for a slot.
+     */
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    public LlamaGenerationResult setQueueNanos(long queueNanos) {
+        this.queueNanos = queueNanos;
+        return this;
+    }
+
+    /**
+     * Time from submission until the first text was released, including queueing and prefill.
+     */
+    public long getTimeToFirstTokenNanos() {
+        return timeToFirstTokenNanos;
+    }
+
+    public LlamaGenerationResult setTimeToFirstTokenNanos(long timeToFirstTokenNanos) {
+        this.timeToFirstTokenNanos = timeToFirstTokenNanos;
+        return this;
+    }
+
+    /**
+     * Time from submission until the generation ended.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public LlamaGenerationResult setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+        return this;
+    }
+
+    /**
+     * Decode speed after the first token.
+     */
+    public double getTokensPerSecond() {
+        long decodeNanos = durationNanos - timeToFirstTokenNanos;
+        return completionTokens > 1 && decodeNanos > 0 ? (completionTokens - 1) * 1_000_000_000.0 / decodeNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "LlamaGenerationResult{" +
+                "finishReason='" + finishReason + '\'' +
+                ", promptTokens=" + promptTokens +
+                ", completionTokens=" + completionTokens +
+                ", queueMs=" + queueNanos / 1_000_000 +
+                ", timeToFirstTokenMs=" + timeToFirstTokenNanos / 1_000_000 +
+                ", durationMs=" + durationNanos / 1_000_000 +
+                ", tokensPerSecond=" + getTokensPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,477 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.batch.LlamaBatchBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.chat.LlamaChatBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.context.LlamaContextBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.memory.LlamaMemoryBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.processing.LlamaProcessingBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.result.LlamaResultBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerChainPool;
+import com.quasarbyte.llama.cpp.jna.binding.llama.sampler.LlamaSamplerChainPoolFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStopSequenceMatcher;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaStreamingDetokenizer;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.token.LlamaTokenBindingFactory;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBinding;
+import com.quasarbyte.llama.cpp.jna.binding.llama.vocabulary.LlamaVocabularyBindingFactory;
+import com.quasarbyte.llama.cpp.jna.library.declaration.llama.LlamaLibrary;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContextParamsNative;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaModel;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSampler;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaVocabulary;
+import com.quasarbyte.llama.cpp.jna.model.library.llama.LlamaPoolingType;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerConfig;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs generation and embedding requests on a fixed set of slots.
+ * <p>
+ * Every slot owns a context and a batch and is served by one thread, so the slot count is the
+ * concurrency limit. Requests beyond it wait in a bounded queue; when the queue is full new
+ * requests are rejected immediately (HTTP 429), and requests that waited longer than the queue
+ * timeout are answered with HTTP 503 instead of being run. Streaming listeners run on the slot
+ * thread, so a slow client holds back only its own generation.
+ */
+public class LlamaInferenceEngine implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaInferenceEngine.class);
+
+    private static final int SEQUENCE_ID = 0;
+    private static final int IDLE_CHAINS_PER_SLOT = 4;
+
+    private final LlamaServerConfig config;
+    private final LlamaModel model;
+    private final LlamaVocabulary vocabulary;
+
+    private final LlamaContextBinding contextBinding;
+    private final LlamaBatchBinding batchBinding;
+    private final LlamaMemoryBinding memoryBinding;
+    private final LlamaProcessingBinding processingBinding;
+    private final LlamaSamplerBinding samplerBinding;
+    private final LlamaSamplerChainPool samplerChainPool;
+    private final LlamaTokenBinding tokenBinding;
+    private final LlamaVocabularyBinding vocabularyBinding;
+    private final LlamaResultBinding resultBinding;
+    private final LlamaChatBinding chatBinding;
+
+    private final String chatTemplate;
+    private final List<LlamaInferenceSlot> slots = new ArrayList<>();
+    private final BlockingQueue<LlamaInferenceSlot> idleSlots;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+
+    public LlamaInferenceEngine(LlamaLibrary llamaLibrary, LlamaModel model, LlamaServerConfig config) {
+        this.config = config;
+        this.model = model;
+
+        this.contextBinding = new LlamaContextBindingFactory().create(llamaLibrary);
+        this.batchBinding = new LlamaBatchBindingFactory().create(llamaLibrary);
+        this.memoryBinding = new LlamaMemoryBindingFactory().create(llamaLibrary);
+        this.processingBinding = new LlamaProcessingBindingFactory().create(llamaLibrary);
+        this.samplerBinding = new LlamaSamplerBindingFactory().create(llamaLibrary);
+        // Sampler configs come from clients (seed, temperature...), so idle chains are bounded overall, not only per config
+        this.samplerChainPool = new LlamaSamplerChainPoolFactory().create(llamaLibrary, config.getSlotCount(), config.getSlotCount() * IDLE_CHAINS_PER_SLOT, null);
+        this.tokenBinding = new LlamaTokenBindingFactory().create(llamaLibrary);
+        this.vocabularyBinding = new LlamaVocabularyBindingFactory().create(llamaLibrary);
+        this.resultBinding = new LlamaResultBindingFactory().create(llamaLibrary);
+        this.chatBinding = new LlamaChatBindingFactory().create(llamaLibrary);
+
+        this.vocabulary = vocabularyBinding.getVocabulary(model);
+        this.chatTemplate = chatBinding.getChatTemplate(model, null).filter(t -> !t.trim().isEmpty()).orElse(null);
+
+        if (chatTemplate == null) {
+            logger.warn("The model has no chat template, chat completions use a plain role prefix format");
+        }
+
+        this.idleSlots = new ArrayBlockingQueue<>(config.getSlotCount());
+
+        for (int i = 0; i < config.getSlotCount(); i++) {
+            LlamaContextParamsNative params = llamaLibrary.llama_context_default_params();
+            params.n_ctx = config.getContextSize();
+            params.n_batch = config.getBatchSize();
+            params.n_ubatch = config.getBatchSize();
+            params.n_seq_max = 1;
+
+            LlamaContext context = contextBinding.create(model, params);
+            LlamaInferenceSlot slot = new LlamaInferenceSlot(i, context, batchBinding.createBatch(config.getBatchSize(), 1));
+            slots.add(slot);
+            idleSlots.add(slot);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getSlotCount(),
+                config.getSlotCount(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                config.getMaxQueueSize() > 0 ? new ArrayBlockingQueue<>(config.getMaxQueueSize()) : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "llama-slot-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        logger.info("Inference engine started, slots: {}, queue: {}, context size: {}", config.getSlotCount(), config.getMaxQueueSize(), config.getContextSize());
+    }
+
+    /**
+     * Render chat messages with the model's chat template and an assistant prompt.
+     */
+    public String applyChatTemplate(List<LlamaChatMessage> messages) {
+        if (chatTemplate == null) {
+            StringBuilder prompt = new StringBuilder();
+            for (LlamaChatMessage message : messages) {
+                prompt.append(message.getRole()).append(": ").append(message.getContent()).append('\n');
+            }
+            return prompt.append("assistant: ").toString();
+        }
+
+        int contentLength = 0;
+        for (LlamaChatMessage message : messages) {
+            contentLength += message.getContent() != null ? message.getContent().length() : 0;
+        }
+
+        String prompt = chatBinding.applyChatTemplate(chatTemplate, messages, true, 2 * contentLength + 4096);
+        if (prompt == null) {
+            throw new LlamaServerException(500, LlamaServerException.SERVER_ERROR, "Failed to apply the chat template");
+        }
+        return prompt;
+    }
+
+    /**
+     * Generate a completion, blocking until it is done.
+     *
+     * @param request  prompt and settings
+     * @param listener receives the text as it is generated
+     * @return result with the full text
+     * @throws LlamaServerException when the request is rejected or fails
+     */
+    public LlamaGenerationResult generate(LlamaGenerationRequest request, LlamaGenerationListener listener) {
+        long submittedNanos = System.nanoTime();
+        return await(submittedNanos, submit(() -> runWithSlot(submittedNanos, slot -> runGeneration(slot, request, listener, submittedNanos))));
+    }
+
+    /**
+     * Compute L2-normalized embeddings of the inputs, blocking until they are done.
+     *
+     * @param inputs texts to embed
+     * @return one embedding per input
+     * @throws LlamaServerException when the request is rejected or fails
+     */
+    public LlamaEmbeddingResult embed(List<String> inputs) {
+        long submittedNanos = System.nanoTime();
+        return await(submittedNanos, submit(() -> runWithSlot(submittedNanos, slot -> runEmbeddings(slot, inputs))));
+    }
+
+    public String getChatTemplate() {
+        return chatTemplate;
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return config.getSlotCount() - idleSlots.size();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Slot threads did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (LlamaInferenceSlot slot : slots) {
+            batchBinding.freeBatch(slot.getBatch());
+            contextBinding.freeContext(slot.getContext());
+        }
+        samplerChainPool.clear();
+        slots.clear();
+    }
+
+    private interface SlotTask<T> {
+        T run(LlamaInferenceSlot slot) throws Exception;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new LlamaServerException(429, LlamaServerException.RATE_LIMIT,
+                    String.format("Server is busy: %d requests running and %d queued", getActiveCount(), getQueuedCount()));
+        }
+    }
+
+    private <T> T await(long submittedNanos, Future<T> future) {
+        try {
+            long queueTimeoutMillis = config.getQueueTimeoutMillis();
+            if (queueTimeoutMillis > 0) {
+                long remainingMillis = queueTimeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedNanos);
+                try {
+                    return future.get(Math.max(remainingMillis, 0L), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Only a request that has not started yet can be cancelled; a running one is awaited to the end
+                    if (future.cancel(false)) {
+                        executor.remove((Runnable) future);
+                        timedOutCount.incrementAndGet();
+                        throw new LlamaServerException(503, LlamaServerException.SERVER_ERROR,
+                                String.format("Request waited for a free slot longer than the timeout: %d ms", queueTimeoutMillis));
+                    }
+                }
+            }
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LlamaServerException(503, LlamaServerException.SERVER_ERROR, "Interrupted while waiting for the request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LlamaServerException) {
+                throw (LlamaServerException) cause;
+            }
+            logger.error("Request failed, error: {}", cause.getMessage(), cause);
+            throw new LlamaServerException(500, LlamaServerException.SERVER_ERROR, String.format("Request failed, error: %s", cause.getMessage()), cause);
+        }
+    }
+
+    private <T> T runWithSlot(long submittedNanos, SlotTask<T> task) throws Exception {
+        // Backstop for a request that reached a slot just as its caller gave up waiting
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedNanos);
+        if (config.getQueueTimeoutMillis() > 0 && waitedMillis > config.getQueueTimeoutMillis()) {
+            timedOutCount.incrementAndGet();
+            throw new LlamaServerException(503, LlamaServerException.SERVER_ERROR,
+                    String.format("Request waited %d ms for a free slot, timeout: %d ms", waitedMillis, config.getQueueTimeoutMillis()));
+        }
+
+        // One thread per slot, so an idle slot is always available here
+        LlamaInferenceSlot slot = idleSlots.take();
+        try {
+            memoryBinding.clear(memoryBinding.getMemory(slot.getContext()), true);
+            T result = task.run(slot);
+            completedCount.incrementAndGet();
+            return result;
+        } finally {
+            idleSlots.add(slot);
+        }
+    }
+
+    private LlamaGenerationResult runGeneration(LlamaInferenceSlot slot,
+                                                LlamaGenerationRequest request,
+                                                LlamaGenerationListener listener,
+                                                long submittedNanos) {
+        long startNanos = System.nanoTime();
+        LlamaContext context = slot.getContext();
+
+        int[] promptTokens = tokenBinding.tokenize(model, vocabulary, request.getPrompt(), vocabularyBinding.getAddBos(vocabulary), true);
+        if (promptTokens.length == 0) {
+            throw LlamaServerException.invalidRequest("Prompt is empty");
+        }
+
+        int contextSize = config.getContextSize();
+        if (promptTokens.length >= contextSize) {
+            throw LlamaServerException.invalidRequest(String.format("Prompt has %d tokens, context size is %d", promptTokens.length, contextSize));
+        }
+
+        int maxTokens = Math.min(request.getMaxTokens(), contextSize - promptTokens.length);
+
+        LlamaGenerationResult result = new LlamaGenerationResult()
+                .setPromptTokens(promptTokens.length)
+                .setQueueNanos(startNanos - submittedNanos);
+
+        StringBuilder text = new StringBuilder();
+        LlamaStreamingDetokenizer detokenizer = tokenBinding.createStreamingDetokenizer(vocabulary, false, LlamaStopSequenceMatcher.compile(request.getStop()));
+        LlamaSampler sampler = samplerChainPool.acquire(model, request.getSamplerConfig());
+
+        try {
+            checkDecode(processingBinding.decodeTokens(context, slot.getBatch(), promptTokens, 0, SEQUENCE_ID));
+
+            int position = promptTokens.length;
+            int generated = 0;
+            String finishReason = LlamaGenerationResult.FINISH_LENGTH;
+
+            try {
+                while (generated < maxTokens) {
+                    int token = samplerBinding.sampleToken(sampler, context, -1);
+                    generated++;
+
+                    if (vocabularyBinding.isEndOfGeneration(vocabulary, token)) {
+                        finishReason = LlamaGenerationResult.FINISH_STOP;
+                        break;
+                    }
+
+                    emit(detokenizer.push(token), text, listener, result, submittedNanos);
+
+                    if (detokenizer.isStopped()) {
+                        finishReason = LlamaGenerationResult.FINISH_STOP;
+                        break;
+                    }
+
+                    if (generated < maxTokens) {
+                        batchBinding.clearBatch(slot.getBatch());
+                        batchBinding.addToken(slot.getBatch(), token, position++, SEQUENCE_ID, true);
+                        checkDecode(processingBinding.decodeBatch(context, slot.getBatch()));
+                    }
+                }
+
+                emit(detokenizer.flush(), text, listener, result, submittedNanos);
+            } catch (IOException e) {
+                logger.debug("Generation cancelled by the listener, error: {}", e.getMessage());
+                finishReason = LlamaGenerationResult.FINISH_CANCELLED;
+            }
+
+            return result
+                    .setText(text.toString())
+                    .setFinishReason(finishReason)
+                    .setCompletionTokens(generated)
+                    .setDurationNanos(System.nanoTime() - submittedNanos);
+        } finally {
+            samplerChainPool.release(sampler);
+        }
+    }
+
+    private void emit(String piece,
+                      StringBuilder text,
+                      LlamaGenerationListener listener,
+                      LlamaGenerationResult result,
+                      long submittedNanos) throws IOException {
+        if (piece.isEmpty()) {
+            return;
+        }
+        if (result.getTimeToFirstTokenNanos() == 0) {
+            result.setTimeToFirstTokenNanos(System.nanoTime() - submittedNanos);
+        }
+        text.append(piece);
+        listener.onText(piece);
+    }
+
+    private LlamaEmbeddingResult runEmbeddings(LlamaInferenceSlot slot, List<String> inputs) {
+        LlamaContext context = slot.getContext();
+        float[][] embeddings = new float[inputs.size()][];
+        int tokenCount = 0;
+
+        contextBinding.setEmbeddings(context, true);
+        try {
+            boolean pooled = contextBinding.getPoolingType(context) != LlamaPoolingType.LLAMA_POOLING_TYPE_NONE.getValue();
+
+            for (int i = 0; i < inputs.size(); i++) {
+                int[] tokens = tokenBinding.tokenize(model, vocabulary, inputs.get(i), vocabularyBinding.getAddBos(vocabulary), false);
+                if (tokens.length == 0) {
+                    throw LlamaServerException.invalidRequest(String.format("Input %d is empty", i));
+                }
+                if (tokens.length > config.getBatchSize()) {
+                    throw LlamaServerException.invalidRequest(String.format("Input %d has %d tokens, the limit is %d", i, tokens.length, config.getBatchSize()));
+                }
+                tokenCount += tokens.length;
+
+                memoryBinding.clear(memoryBinding.getMemory(context), true);
+                batchBinding.clearBatch(slot.getBatch());
+                for (int t = 0; t < tokens.length; t++) {
+                    batchBinding.addToken(slot.getBatch(), tokens[t], t, SEQUENCE_ID, true);
+                }
+                checkDecode(processingBinding.decodeBatch(context, slot.getBatch()));
+
+                embeddings[i] = normalize(pooled ? pooledEmbedding(context) : meanEmbedding(context, tokens.length));
+            }
+        } finally {
+            contextBinding.setEmbeddings(context, false);
+        }
+
+        return new LlamaEmbeddingResult(embeddings, tokenCount);
+    }
+
+    private float[] pooledEmbedding(LlamaContext context) {
+        return resultBinding.getEmbeddingsForSequence(context, SEQUENCE_ID)
+                .orElseThrow(() -> new LlamaServerException(500, LlamaServerException.SERVER_ERROR, "The model returned no sequence embedding"));
+    }
+
+    private float[] meanEmbedding(LlamaContext context, int tokenCount) {
+        float[] mean = null;
+        for (int t = 0; t < tokenCount; t++) {
+            Optional<float[]> embedding = resultBinding.getEmbeddingsAt(context, t);
+            if (!embedding.isPresent()) {
+                throw new LlamaServerException(500, LlamaServerException.SERVER_ERROR, "The model returned no token embedding");
+            }
+            float[] values = embedding.get();
+            if (mean == null) {
+                mean = new float[values.length];
+            }
+            for (int d = 0; d < values.length; d++) {
+                mean[d] += values[d] / tokenCount;
+            }
+        }
+        return mean;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum > 0) {
+            float scale = (float) (1.0 / Math.sqrt(sum));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void checkDecode(int result) {
+        if (result == LlamaProcessingBinding.DECODE_RESULT_NO_MEMORY_SLOT) {
+            throw new LlamaServerException(503, LlamaServerException.SERVER_ERROR, "No KV cache slot available for the batch");
+        }
+        if (result != 0) {
+            throw new LlamaServerException(500, LlamaServerException.SERVER_ERROR, String.format("Decode failed, result: %d", result));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.quasarbyte.llama.cpp.jna.server.engine;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaBatch;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaContext;
+
+/**
+ * A context with its preallocated batch, used by one request at a time.
+ */
+final class LlamaInferenceSlot {
+
+    private final int index;
+    private final LlamaContext context;
+    private final LlamaBatch batch;
+
+    LlamaInferenceSlot(int index, LlamaContext context, LlamaBatch batch) {
+        this.index = index;
+        this.context = context;
+        this.batch = batch;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    LlamaContext getContext() {
+        return context;
+    }
+
+    LlamaBatch getBatch() {
+        return batch;
+    }
+}
@@ -0,0 +1,321 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaChatMessage;
+import com.quasarbyte.llama.cpp.jna.model.library.LlamaSamplerConfig;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerConfig;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerException;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaGenerationListener;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaGenerationRequest;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaGenerationResult;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaInferenceEngine;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code POST /v1/chat/completions} and {@code POST /v1/completions}, with optional SSE streaming.
+ * <p>
+ * Supported request fields: {@code messages} or {@code prompt}, {@code max_tokens}
+ * ({@code max_completion_tokens}), {@code temperature}, {@code top_p}, {@code seed}, {@code stop},
+ * {@code presence_penalty}, {@code frequency_penalty}, {@code stream} and
+ * {@code stream_options.include_usage}, plus the llama.cpp extensions {@code top_k}, {@code min_p}
+ * and {@code repeat_penalty}. Only {@code n = 1} is supported.
+ */
+public class LlamaCompletionsHandler implements HttpHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaCompletionsHandler.class);
+
+    private final LlamaInferenceEngine engine;
+    private final LlamaServerConfig config;
+    private final String modelId;
+    private final boolean chat;
+
+    /**
+     * @param chat true for chat completions, false for text completions
+     */
+    public LlamaCompletionsHandler(LlamaInferenceEngine engine, LlamaServerConfig config, String modelId, boolean chat) {
+        this.engine = engine;
+        this.config = config;
+        this.modelId = modelId;
+        this.chat = chat;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        LlamaHttpSupport.handle(exchange, this::complete);
+    }
+
+    private void complete(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = LlamaHttpSupport.readJsonObject(exchange, config.getMaxRequestBytes());
+
+        LlamaGenerationRequest request = new LlamaGenerationRequest()
+                .setPrompt(chat ? engine.applyChatTemplate(readMessages(body)) : readPrompt(body))
+                .setSamplerConfig(readSamplerConfig(body))
+                .setMaxTokens(readMaxTokens(body))
+                .setStop(readStop(body));
+
+        String id = (chat ? "chatcmpl-" : "cmpl-") + UUID.randomUUID().toString().replace("-", "");
+        long created = System.currentTimeMillis() / 1000;
+
+        if (LlamaHttpSupport.getBoolean(body, "stream", false)) {
+            boolean includeUsage = false;
+            Object streamOptions = body.get("stream_options");
+            if (streamOptions instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> options = (Map<String, Object>) streamOptions;
+                includeUsage = LlamaHttpSupport.getBoolean(options, "include_usage", false);
+            }
+            stream(exchange, request, id, created, includeUsage);
+        } else {
+            LlamaGenerationResult result = engine.generate(request, LlamaGenerationListener.NONE);
+            log(id, result);
+            LlamaHttpSupport.sendJson(exchange, 200, response(id, created, result));
+        }
+    }
+
+    private void stream(HttpExchange exchange, LlamaGenerationRequest request, String id, long created, boolean includeUsage) throws IOException {
+        // Headers are sent lazily, so queue rejections can still be answered with 429
+        LlamaSseWriter[] writer = new LlamaSseWriter[1];
+
+        LlamaGenerationListener listener = text -> {
+            if (writer[0] == null) {
+                writer[0] = start(exchange, id, created);
+            }
+            writer[0].event(chunk(id, created, text, null, null));
+        };
+
+        LlamaGenerationResult result = engine.generate(request, listener);
+        log(id, result);
+
+        if (LlamaGenerationResult.FINISH_CANCELLED.equals(result.getFinishReason())) {
+            return;
+        }
+
+        if (writer[0] == null) {
+            writer[0] = start(exchange, id, created);
+        }
+        writer[0].event(chunk(id, created, null, result.getFinishReason(), null));
+        if (includeUsage) {
+            writer[0].event(chunk(id, created, null, null, result));
+        }
+        writer[0].done();
+    }
+
+    private LlamaSseWriter start(HttpExchange exchange, String id, long created) throws IOException {
+        LlamaSseWriter writer = new LlamaSseWriter(exchange);
+        if (chat) {
+            // The first chat chunk announces the role
+            LlamaJsonWriter json = chunkPrefix(id, created)
+                    .name("choices").beginArray()
+                    .beginObject()
+                    .name("index").value(0)
+                    .name("delta").beginObject().name("role").value("assistant").name("content").value("").endObject()
+                    .name("finish_reason").nullValue()
+                    .endObject()
+                    .endArray()
+                    .endObject();
+            writer.event(json.toString());
+        }
+        return writer;
+    }
+
+    /**
+     * A content chunk, a final chunk with the finish reason, or a usage chunk with no choices.
+     */
+    private String chunk(String id, long created, String text, String finishReason, LlamaGenerationResult usage) {
+        LlamaJsonWriter json = chunkPrefix(id, created).name("choices").beginArray();
+
+        if (usage == null) {
+            json.beginObject().name("index").value(0);
+            if (chat) {
+                json.name("delta").beginObject();
+                if (text != null) {
+                    json.name("content").value(text);
+                }
+                json.endObject();
+            } else {
+                json.name("text").value(text != null ? text : "");
+                json.name("logprobs").nullValue();
+            }
+            json.name("finish_reason").value(finishReason).endObject();
+        }
+
+        json.endArray();
+
+        if (usage != null) {
+            writeUsage(json, usage);
+        }
+
+        return json.endObject().toString();
+    }
+
+    private LlamaJsonWriter chunkPrefix(String id, long created) {
+        return new LlamaJsonWriter()
+                .beginObject()
+                .name("id").value(id)
+                .name("object").value(chat ? "chat.completion.chunk" : "text_completion")
+                .name("created").value(created)
+                .name("model").value(modelId);
+    }
+
+    private String response(String id, long created, LlamaGenerationResult result) {
+        LlamaJsonWriter json = new LlamaJsonWriter()
+                .beginObject()
+                .name("id").value(id)
+                .name("object").value(chat ? "chat.completion" : "text_completion")
+                .name("created").value(created)
+                .name("model").value(modelId)
+                .name("choices").beginArray()
+                .beginObject()
+                .name("index").value(0);
+
+        if (chat) {
+            json.name("message").beginObject()
+                    .name("role").value("assistant")
+                    .name("content").value(result.getText())
+                    .endObject();
+        } else {
+            json.name("text").value(result.getText());
+            json.name("logprobs").nullValue();
+        }
+
+        json.name("finish_reason").value(result.getFinishReason())
+                .endObject()
+                .endArray();
+
+        writeUsage(json, result);
+        return json.endObject().toString();
+    }
+
+    private static void writeUsage(LlamaJsonWriter json, LlamaGenerationResult result) {
+        json.name("usage").beginObject()
+                .name("prompt_tokens").value(result.getPromptTokens())
+                .name("completion_tokens").value(result.getCompletionTokens())
+                .name("total_tokens").value(result.getPromptTokens() + result.getCompletionTokens())
+                .endObject();
+    }
+
+    private List<LlamaChatMessage> readMessages(Map<String, Object> body) {
+        Object value = body.get("messages");
+        if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+            throw LlamaServerException.invalidRequest("'messages' must be a non-empty array");
+        }
+
+        List<LlamaChatMessage> messages = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (!(item instanceof Map)) {
+                throw LlamaServerException.invalidRequest("Each message must be an object");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> message = (Map<String, Object>) item;
+
+            String role = LlamaHttpSupport.getString(message, "role");
+            if (role == null) {
+                throw LlamaServerException.invalidRequest("Each message must have a 'role'");
+            }
+            messages.add(new LlamaChatMessage(role, readContent(message.get("content"))));
+        }
+        return messages;
+    }
+
+    /**
+     * Message content as a string or an array of text parts.
+     */
+    private static String readContent(Object content) {
+        if (content == null) {
+            return "";
+        }
+        if (content instanceof String) {
+            return (String) content;
+        }
+        if (content instanceof List) {
+            StringBuilder text = new StringBuilder();
+            for (Object part : (List<?>) content) {
+                if (part instanceof Map && "text".equals(((Map<?, ?>) part).get("type")) && ((Map<?, ?>) part).get("text") instanceof String) {
+                    text.append((String) ((Map<?, ?>) part).get("text"));
+                } else {
+                    throw LlamaServerException.invalidRequest("Only text content parts are supported");
+                }
+            }
+            return text.toString();
+        }
+        throw LlamaServerException.invalidRequest("Message 'content' must be a string or an array of parts");
+    }
+
+    private static String readPrompt(Map<String, Object> body) {
+        List<String> prompt = LlamaHttpSupport.getStringList(body, "prompt");
+        if (prompt == null || prompt.size() != 1) {
+            throw LlamaServerException.invalidRequest("'prompt' must be a string or an array with one string");
+        }
+        return prompt.get(0);
+    }
+
+    private int readMaxTokens(Map<String, Object> body) {
+        Number maxTokens = LlamaHttpSupport.getNumber(body, "max_completion_tokens");
+        if (maxTokens == null) {
+            maxTokens = LlamaHttpSupport.getNumber(body, "max_tokens");
+        }
+        if (maxTokens == null) {
+            return config.getDefaultMaxTokens();
+        }
+        if (maxTokens.intValue() <= 0) {
+            throw LlamaServerException.invalidRequest("'max_tokens' must be positive");
+        }
+        return maxTokens.intValue();
+    }
+
+    private static List<String> readStop(Map<String, Object> body) {
+        List<String> stop = LlamaHttpSupport.getStringList(body, "stop");
+        return stop != null ? stop : Collections.<String>emptyList();
+    }
+
+    private static LlamaSamplerConfig readSamplerConfig(Map<String, Object> body) {
+        Number n = LlamaHttpSupport.getNumber(body, "n");
+        if (n != null && n.intValue() != 1) {
+            throw LlamaServerException.invalidRequest("Only 'n' = 1 is supported");
+        }
+
+        LlamaSamplerConfig samplerConfig = new LlamaSamplerConfig();
+
+        Number value;
+        if ((value = LlamaHttpSupport.getNumber(body, "temperature")) != null) {
+            samplerConfig.setTemperature(value.floatValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "top_p")) != null) {
+            samplerConfig.setTopP(value.floatValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "top_k")) != null) {
+            samplerConfig.setTopK(value.intValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "min_p")) != null) {
+            samplerConfig.setMinP(value.floatValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "seed")) != null) {
+            samplerConfig.setSeed(value.longValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "presence_penalty")) != null) {
+            samplerConfig.setPenaltyPresent(value.floatValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "frequency_penalty")) != null) {
+            samplerConfig.setPenaltyFrequency(value.floatValue());
+        }
+        if ((value = LlamaHttpSupport.getNumber(body, "repeat_penalty")) != null) {
+            samplerConfig.setPenaltyRepeat(value.floatValue());
+        }
+
+        return samplerConfig;
+    }
+
+    private static void log(String id, LlamaGenerationResult result) {
+        logger.debug("Completion {} finished: {}", id, result);
+    }
+}
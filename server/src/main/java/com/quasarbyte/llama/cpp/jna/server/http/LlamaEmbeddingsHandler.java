@@ -0,0 +1,74 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerConfig;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerException;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaEmbeddingResult;
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaInferenceEngine;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code POST /v1/embeddings} with a string or an array of strings as {@code input}.
+ */
+public class LlamaEmbeddingsHandler implements HttpHandler {
+
+    private final LlamaInferenceEngine engine;
+    private final LlamaServerConfig config;
+    private final String modelId;
+
+    public LlamaEmbeddingsHandler(LlamaInferenceEngine engine, LlamaServerConfig config, String modelId) {
+        this.engine = engine;
+        this.config = config;
+        this.modelId = modelId;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        LlamaHttpSupport.handle(exchange, this::embed);
+    }
+
+    private void embed(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = LlamaHttpSupport.readJsonObject(exchange, config.getMaxRequestBytes());
+
+        List<String> inputs = LlamaHttpSupport.getStringList(body, "input");
+        if (inputs == null || inputs.isEmpty()) {
+            throw LlamaServerException.invalidRequest("'input' must be a string or a non-empty array of strings");
+        }
+
+        String encodingFormat = LlamaHttpSupport.getString(body, "encoding_format");
+        if (encodingFormat != null && !"float".equals(encodingFormat)) {
+            throw LlamaServerException.invalidRequest("Only the 'float' encoding format is supported");
+        }
+
+        LlamaEmbeddingResult result = engine.embed(inputs);
+
+        LlamaJsonWriter json = new LlamaJsonWriter()
+                .beginObject()
+                .name("object").value("list")
+                .name("model").value(modelId)
+                .name("data").beginArray();
+
+        float[][] embeddings = result.getEmbeddings();
+        for (int i = 0; i < embeddings.length; i++) {
+            json.beginObject()
+                    .name("object").value("embedding")
+                    .name("index").value(i)
+                    .name("embedding").value(embeddings[i])
+                    .endObject();
+        }
+
+        json.endArray()
+                .name("usage").beginObject()
+                .name("prompt_tokens").value(result.getPromptTokens())
+                .name("total_tokens").value(result.getPromptTokens())
+                .endObject()
+                .endObject();
+
+        LlamaHttpSupport.sendJson(exchange, 200, json.toString());
+    }
+}
@@ -0,0 +1,40 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.quasarbyte.llama.cpp.jna.server.engine.LlamaInferenceEngine;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+
+/**
+ * {@code GET /health}, reporting the scheduler state of the inference engine.
+ */
+public class LlamaHealthHandler implements HttpHandler {
+
+    private final LlamaInferenceEngine engine;
+
+    public LlamaHealthHandler(LlamaInferenceEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        LlamaHttpSupport.handle(exchange, this::health);
+    }
+
+    private void health(HttpExchange exchange) throws IOException {
+        String json = new LlamaJsonWriter()
+                .beginObject()
+                .name("status").value("ok")
+                .name("active").value(engine.getActiveCount())
+                .name("queued").value(engine.getQueuedCount())
+                .name("rejected").value(engine.getRejectedCount())
+                .name("timed_out").value(engine.getTimedOutCount())
+                .name("completed").value(engine.getCompletedCount())
+                .endObject()
+                .toString();
+
+        LlamaHttpSupport.sendJson(exchange, 200, json);
+    }
+}
@@ -0,0 +1,184 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaJsonParser;
+import com.quasarbyte.llama.cpp.jna.exception.LlamaCppJnaException;
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerException;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request parsing and response writing shared by the handlers.
+ */
+final class LlamaHttpSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlamaHttpSupport.class);
+
+    private LlamaHttpSupport() {
+    }
+
+    /**
+     * Read and parse a JSON object body.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readJsonObject(HttpExchange exchange, int maxBytes) throws IOException {
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            throw new LlamaServerException(405, LlamaServerException.INVALID_REQUEST, "Only POST is supported");
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (body.size() + read > maxBytes) {
+                    throw new LlamaServerException(413, LlamaServerException.INVALID_REQUEST, String.format("Request body exceeds %d bytes", maxBytes));
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+
+        Object value;
+        try {
+            value = LlamaJsonParser.parse(new String(body.toByteArray(), StandardCharsets.UTF_8));
+        } catch (LlamaCppJnaException e) {
+            throw LlamaServerException.invalidRequest(e.getMessage());
+        }
+
+        if (!(value instanceof Map)) {
+            throw LlamaServerException.invalidRequest("Request body must be a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static void sendError(HttpExchange exchange, LlamaServerException e) throws IOException {
+        if (e.getStatus() == 429 || e.getStatus() == 503) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+
+        String json = new LlamaJsonWriter()
+                .beginObject()
+                .name("error").beginObject()
+                .name("message").value(e.getMessage())
+                .name("type").value(e.getType())
+                .name("code").value(e.getStatus())
+                .endObject()
+                .endObject()
+                .toString();
+
+        sendJson(exchange, e.getStatus(), json);
+    }
+
+    /**
+     * Run a handler body and turn failures into OpenAI-style error responses.
+     */
+    static void handle(HttpExchange exchange, ExchangeHandler handler) {
+        try {
+            handler.handle(exchange);
+        } catch (LlamaServerException e) {
+            respondWithError(exchange, e);
+        } catch (IOException e) {
+            logger.debug("Client connection failed, error: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Request failed, error: {}", e.getMessage(), e);
+            respondWithError(exchange, new LlamaServerException(500, LlamaServerException.SERVER_ERROR, String.format("Request failed, error: %s", e.getMessage()), e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respondWithError(HttpExchange exchange, LlamaServerException e) {
+        if (exchange.getResponseCode() != -1) {
+            // Headers already sent, e.g. in the middle of a stream
+            logger.warn("Request failed after the response started, error: {}", e.getMessage());
+            return;
+        }
+        try {
+            sendError(exchange, e);
+        } catch (IOException ioException) {
+            logger.debug("Failed to send error response, error: {}", ioException.getMessage());
+        }
+    }
+
+    static String getString(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String)) {
+            throw LlamaServerException.invalidRequest(String.format("'%s' must be a string", name));
+        }
+        return (String) value;
+    }
+
+    static Number getNumber(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Number)) {
+            throw LlamaServerException.invalidRequest(String.format("'%s' must be a number", name));
+        }
+        return (Number) value;
+    }
+
+    static boolean getBoolean(Map<String, Object> body, String name, boolean defaultValue) {
+        Object value = body.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Boolean)) {
+            throw LlamaServerException.invalidRequest(String.format("'%s' must be a boolean", name));
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * A string or an array of strings.
+     */
+    static List<String> getStringList(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return Collections.singletonList((String) value);
+        }
+        if (value instanceof List) {
+            List<String> strings = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                if (!(item instanceof String)) {
+                    throw LlamaServerException.invalidRequest(String.format("'%s' must contain only strings", name));
+                }
+                strings.add((String) item);
+            }
+            return strings;
+        }
+        throw LlamaServerException.invalidRequest(String.format("'%s' must be a string or an array of strings", name));
+    }
+
+    interface ExchangeHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
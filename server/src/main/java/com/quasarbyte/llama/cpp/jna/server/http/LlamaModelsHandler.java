@@ -0,0 +1,49 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.quasarbyte.llama.cpp.jna.server.LlamaServerException;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+
+/**
+ * {@code GET /v1/models}, listing the single served model.
+ */
+public class LlamaModelsHandler implements HttpHandler {
+
+    private final String modelId;
+    private final long created;
+
+    public LlamaModelsHandler(String modelId) {
+        this.modelId = modelId;
+        this.created = System.currentTimeMillis() / 1000;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        LlamaHttpSupport.handle(exchange, this::list);
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            throw new LlamaServerException(405, LlamaServerException.INVALID_REQUEST, "Only GET is supported");
+        }
+
+        String json = new LlamaJsonWriter()
+                .beginObject()
+                .name("object").value("list")
+                .name("data").beginArray()
+                .beginObject()
+                .name("id").value(modelId)
+                .name("object").value("model")
+                .name("created").value(created)
+                .name("owned_by").value("llama.cpp")
+                .endObject()
+                .endArray()
+                .endObject()
+                .toString();
+
+        LlamaHttpSupport.sendJson(exchange, 200, json);
+    }
+}
@@ -0,0 +1,40 @@
+package com.quasarbyte.llama.cpp.jna.server.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Server-sent events stream in the OpenAI format: {@code data: <json>} events ending with {@code data: [DONE]}.
+ * Every event is flushed, so a client that stops reading blocks the writer and with it the generation.
+ */
+final class LlamaSseWriter {
+
+    private static final byte[] DATA = "data: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DONE = "data: [DONE]\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+
+    LlamaSseWriter(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        this.out = exchange.getResponseBody();
+    }
+
+    void event(String json) throws IOException {
+        out.write(DATA);
+        out.write(json.getBytes(StandardCharsets.UTF_8));
+        out.write(END);
+        out.flush();
+    }
+
+    void done() throws IOException {
+        out.write(DONE);
+        out.flush();
+        out.close();
+    }
+}
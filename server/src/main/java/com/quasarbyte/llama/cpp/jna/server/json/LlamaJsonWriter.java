@@ -0,0 +1,174 @@
+package com.quasarbyte.llama.cpp.jna.server.json;
+
+/**
+ * Streaming JSON writer producing compact output into a {@link StringBuilder}.
+ * <p>
+ * Commas are inserted automatically; callers are responsible for balanced begin/end calls.
+ * <pre>{@code
+ * String json = new LlamaJsonWriter()
+ *         .beginObject()
+ *         .name("object").value("list")
+ *         .name("data").beginArray().value(1).value(2).endArray()
+ *         .endObject()
+ *         .toString();
+ * }</pre>
+ */
+public final class LlamaJsonWriter {
+
+    private final StringBuilder out;
+
+    // Whether the current container already has an element, one bit per nesting level
+    private long hasElement;
+    private int depth;
+    private boolean afterName;
+
+    public LlamaJsonWriter() {
+        this(new StringBuilder(256));
+    }
+
+    public LlamaJsonWriter(StringBuilder out) {
+        this.out = out;
+    }
+
+    public LlamaJsonWriter beginObject() {
+        beforeValue();
+        out.append('{');
+        push();
+        return this;
+    }
+
+    public LlamaJsonWriter endObject() {
+        depth--;
+        out.append('}');
+        return this;
+    }
+
+    public LlamaJsonWriter beginArray() {
+        beforeValue();
+        out.append('[');
+        push();
+        return this;
+    }
+
+    public LlamaJsonWriter endArray() {
+        depth--;
+        out.append(']');
+        return this;
+    }
+
+    public LlamaJsonWriter name(String name) {
+        separate();
+        writeString(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    public LlamaJsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            out.append("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public LlamaJsonWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    public LlamaJsonWriter value(double value) {
+        beforeValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            out.append(value);
+        }
+        return this;
+    }
+
+    public LlamaJsonWriter value(boolean value) {
+        beforeValue();
+        out.append(value);
+        return this;
+    }
+
+    public LlamaJsonWriter nullValue() {
+        beforeValue();
+        out.append("null");
+        return this;
+    }
+
+    public LlamaJsonWriter value(float[] values) {
+        beginArray();
+        for (float value : values) {
+            value((double) value);
+        }
+        return endArray();
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void push() {
+        depth++;
+        hasElement &= ~(1L << depth);
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        separate();
+    }
+
+    private void separate() {
+        if (depth == 0) {
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasElement & bit) != 0) {
+            out.append(',');
+        } else {
+            hasElement |= bit;
+        }
+    }
+
+    private void writeString(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                    break;
+            }
+        }
+        out.append('"');
+    }
+}
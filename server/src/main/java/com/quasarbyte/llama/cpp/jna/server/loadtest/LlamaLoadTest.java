@@ -0,0 +1,309 @@
+package com.quasarbyte.llama.cpp.jna.server.loadtest;
+
+import com.quasarbyte.llama.cpp.jna.binding.llama.grammar.LlamaJsonParser;
+import com.quasarbyte.llama.cpp.jna.server.json.LlamaJsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for the server's streaming chat completions endpoint.
+ * <p>
+ * Runs a number of concurrent clients, each issuing streaming requests back to back, and reports
+ * p50/p99 time to first token, request latency, per-request and aggregate tokens per second,
+ * and the number of rejected (429) and failed requests.
+ *
+ * <pre>{@code
+ * java -cp ... com.quasarbyte.llama.cpp.jna.server.loadtest.LlamaLoadTest --clients 8 --requests 64
+ * }</pre>
+ */
+public class LlamaLoadTest {
+
+    private static final class Options {
+        String url = "http://127.0.0.1:8080";
+        String model = "default";
+        String prompt = "Write a short story about a lighthouse keeper.";
+        int clients = 4;
+        int requests = 32;
+        int maxTokens = 128;
+    }
+
+    private static final class Sample {
+        final long timeToFirstTokenNanos;
+        final long latencyNanos;
+        final int completionTokens;
+
+        Sample(long timeToFirstTokenNanos, long latencyNanos, int completionTokens) {
+            this.timeToFirstTokenNanos = timeToFirstTokenNanos;
+            this.latencyNanos = latencyNanos;
+            this.completionTokens = completionTokens;
+        }
+    }
+
+    private final Options options;
+    private final AtomicInteger remaining;
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private LlamaLoadTest(Options options) {
+        this.options = options;
+        this.remaining = new AtomicInteger(options.requests);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = parseCommandLineArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        new LlamaLoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients);
+        List<Future<List<Sample>>> futures = new ArrayList<>();
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < options.clients; i++) {
+            futures.add(executor.submit(this::runClient));
+        }
+
+        List<Sample> samples = new ArrayList<>();
+        for (Future<List<Sample>> future : futures) {
+            samples.addAll(future.get());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        report(samples, elapsedNanos);
+    }
+
+    private List<Sample> runClient() {
+        List<Sample> samples = new ArrayList<>();
+        while (remaining.getAndDecrement() > 0) {
+            try {
+                Sample sample = request();
+                if (sample != null) {
+                    samples.add(sample);
+                }
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.printf("Request failed, error: %s%n", e.getMessage());
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Issue one streaming request.
+     *
+     * @return the sample, or null when the request was rejected
+     */
+    private Sample request() throws IOException {
+        String body = new LlamaJsonWriter()
+                .beginObject()
+                .name("model").value(options.model)
+                .name("messages").beginArray()
+                .beginObject().name("role").value("user").name("content").value(options.prompt).endObject()
+                .endArray()
+                .name("max_tokens").value(options.maxTokens)
+                .name("stream").value(true)
+                .name("stream_options").beginObject().name("include_usage").value(true).endObject()
+                .endObject()
+                .toString();
+
+        long startNanos = System.nanoTime();
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(options.url + "/v1/chat/completions").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        int status = connection.getResponseCode();
+        if (status == 429) {
+            rejected.incrementAndGet();
+            drain(connection.getErrorStream());
+            return null;
+        }
+        if (status != 200) {
+            drain(connection.getErrorStream());
+            throw new IOException(String.format("Unexpected status: %d", status));
+        }
+
+        long firstTokenNanos = -1;
+        int contentChunks = 0;
+        int completionTokens = -1;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("data: ")) {
+                    continue;
+                }
+                String data = line.substring("data: ".length());
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+
+                Map<?, ?> chunk = (Map<?, ?>) LlamaJsonParser.parse(data);
+
+                Object usage = chunk.get("usage");
+                if (usage instanceof Map) {
+                    completionTokens = ((Number) ((Map<?, ?>) usage).get("completion_tokens")).intValue();
+                }
+
+                List<?> choices = (List<?>) chunk.get("choices");
+                if (choices != null && !choices.isEmpty()) {
+                    Map<?, ?> delta = (Map<?, ?>) ((Map<?, ?>) choices.get(0)).get("delta");
+                    Object content = delta != null ? delta.get("content") : null;
+                    if (content instanceof String && !((String) content).isEmpty()) {
+                        if (firstTokenNanos < 0) {
+                            firstTokenNanos = System.nanoTime();
+                        }
+                        contentChunks++;
+                    }
+                }
+            }
+        }
+
+        long endNanos = System.nanoTime();
+        return new Sample(
+                firstTokenNanos >= 0 ? firstTokenNanos - startNanos : endNanos - startNanos,
+                endNanos - startNanos,
+                completionTokens >= 0 ? completionTokens : contentChunks);
+    }
+
+    private void report(List<Sample> samples, long elapsedNanos) {
+        System.out.printf("Requests: %d completed, %d rejected (429), %d failed, %.2f s%n",
+                samples.size(), rejected.get(), failed.get(), elapsedNanos / 1e9);
+
+        if (samples.isEmpty()) {
+            return;
+        }
+
+        long[] ttft = new long[samples.size()];
+        long[] latency = new long[samples.size()];
+        double[] tokensPerSecond = new double[samples.size()];
+        long totalTokens = 0;
+
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            ttft[i] = sample.timeToFirstTokenNanos;
+            latency[i] = sample.latencyNanos;
+            long generationNanos = sample.latencyNanos - sample.timeToFirstTokenNanos;
+            tokensPerSecond[i] = sample.completionTokens > 1 && generationNanos > 0
+                    ? (sample.completionTokens - 1) * 1e9 / generationNanos
+                    : 0;
+            totalTokens += sample.completionTokens;
+        }
+
+        Arrays.sort(ttft);
+        Arrays.sort(latency);
+        Arrays.sort(tokensPerSecond);
+
+        System.out.printf("TTFT:       p50 %8.1f ms, p99 %8.1f ms%n", percentile(ttft, 50) / 1e6, percentile(ttft, 99) / 1e6);
+        System.out.printf("Latency:    p50 %8.1f ms, p99 %8.1f ms%n", percentile(latency, 50) / 1e6, percentile(latency, 99) / 1e6);
+        System.out.printf("Tokens/s:   p50 %8.1f,    p1  %8.1f (per request)%n", percentile(tokensPerSecond, 50), percentile(tokensPerSecond, 1));
+        System.out.printf("Throughput: %.1f tokens/s, %.2f requests/s%n", totalTokens * 1e9 / elapsedNanos, samples.size() * 1e9 / elapsedNanos);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[index(sorted.length, percentile)];
+    }
+
+    private static double percentile(double[] sorted, int percentile) {
+        return sorted[index(sorted.length, percentile)];
+    }
+
+    /**
+     * Nearest-rank index.
+     */
+    private static int index(int length, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * length);
+        return Math.max(0, Math.min(length - 1, rank - 1));
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        if (in == null) {
+            return;
+        }
+        try (InputStream stream = in) {
+            byte[] buffer = new byte[4096];
+            while (stream.read(buffer) >= 0) {
+                // discard
+            }
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println();
+        System.out.println("example usage:");
+        System.out.println();
+        System.out.printf("  %s [options]%n", LlamaLoadTest.class.getName());
+        System.out.println();
+        System.out.println("Options:");
+        System.out.println("  --url         Server base URL (default: http://127.0.0.1:8080)");
+        System.out.println("  --model       Model name sent with requests (default: default)");
+        System.out.println("  --prompt      User message (default: a short story request)");
+        System.out.println("  --clients     Concurrent clients (default: 4)");
+        System.out.println("  --requests    Total requests (default: 32)");
+        System.out.println("  --max-tokens  Completion length (default: 128)");
+        System.out.println();
+    }
+
+    private static Options parseCommandLineArgs(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(String.format("Missing value for argument: %s", arg));
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--url":
+                    options.url = value;
+                    break;
+                case "--model":
+                    options.model = value;
+                    break;
+                case "--prompt":
+                    options.prompt = value;
+                    break;
+                case "--clients":
+                    options.clients = Integer.parseInt(value);
+                    break;
+                case "--requests":
+                    options.requests = Integer.parseInt(value);
+                    break;
+                case "--max-tokens":
+                    options.maxTokens = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown argument: %s", arg));
+            }
+        }
+        return options;
+    }
+}